@@ -0,0 +1,111 @@
+package org.sfm.csv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.sfm.csv.impl.CellValueReaderFactoryImpl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read one cell with the reader the factory returns for each type,
+ * run with -prof gc and check gc.alloc.rate.norm to catch the allocation regressions of the cell readers.
+ * The value returned by the reader is part of the allocation for the boxed and object types.
+ */
+@State(Scope.Benchmark)
+public class CellValueReaderBenchmark {
+
+    private static final Map<String, Object[]> CELLS = new HashMap<String, Object[]>();
+
+    static {
+        cell("boolean", boolean.class, "false");
+        cell("byte", byte.class, "-12");
+        cell("char", char.class, "65");
+        cell("short", short.class, "1234");
+        cell("int", int.class, "123456");
+        cell("long", long.class, "12345678901");
+        cell("float", float.class, "101.25");
+        cell("double", double.class, "1234567.891");
+        cell("Boolean", Boolean.class, "false");
+        cell("Byte", Byte.class, "-12");
+        cell("Character", Character.class, "65");
+        cell("Short", Short.class, "1234");
+        cell("Integer", Integer.class, "123456");
+        cell("Long", Long.class, "12345678901");
+        cell("Float", Float.class, "101.25");
+        cell("Double", Double.class, "1234567.891");
+        cell("String", String.class, "some text");
+        cell("DedupString", String.class, "EUR", CsvColumnDefinition.dedupStringsDefinition(16));
+        cell("BigDecimal", BigDecimal.class, "-1234567.891");
+        cell("BigInteger", BigInteger.class, "12345678901");
+        cell("UUID", UUID.class, "f81d4fae-7dec-11d0-a765-00a0c91e6bf6");
+        cell("Enum", TimeUnit.class, "MILLISECONDS");
+        cell("EnumCaseInsensitive", TimeUnit.class, "milliseconds", CsvColumnDefinition.enumCaseInsensitiveDefinition());
+        cell("Date", Date.class, "2015-03-28 10:11:12", CsvColumnDefinition.dateFormatDefinition("yyyy-MM-dd HH:mm:ss"));
+        cell("Calendar", Calendar.class, "2015-03-28 10:11:12", CsvColumnDefinition.dateFormatDefinition("yyyy-MM-dd HH:mm:ss"));
+        cell("LocalDate", LocalDate.class, "2015-03-28", CsvColumnDefinition.dateFormatDefinition("yyyy-MM-dd"));
+        cell("LocalDateTime", LocalDateTime.class, "2015-03-28 10:11:12", CsvColumnDefinition.dateFormatDefinition("yyyy-MM-dd HH:mm:ss"));
+        cell("OffsetDateTime", OffsetDateTime.class, "2015-03-28T10:11:12.123+01:00", CsvColumnDefinition.dateFormatDefinition("yyyy-MM-dd'T'HH:mm:ss.SSSXXX"));
+        cell("Instant", Instant.class, "2015-03-28T10:11:12.123+01:00", CsvColumnDefinition.dateFormatDefinition("yyyy-MM-dd'T'HH:mm:ss.SSSXXX"));
+        cell("LocalTime", LocalTime.class, "10:11:12", CsvColumnDefinition.dateFormatDefinition("HH:mm:ss"));
+        cell("ZonedDateTime", ZonedDateTime.class, "2015-03-28T10:11:12.123+01:00", CsvColumnDefinition.dateFormatDefinition("yyyy-MM-dd'T'HH:mm:ss.SSSXXX"));
+        cell("OffsetTime", OffsetTime.class, "10:11:12.123+01:00", CsvColumnDefinition.dateFormatDefinition("HH:mm:ss.SSSXXX"));
+        cell("Year", Year.class, "2015", CsvColumnDefinition.dateFormatDefinition("yyyy"));
+        cell("YearMonth", YearMonth.class, "2015-03", CsvColumnDefinition.dateFormatDefinition("yyyy-MM"));
+        cell("JodaDateTime", org.joda.time.DateTime.class, "2015-03-28T10:11:12.123+01:00", CsvColumnDefinition.dateFormatDefinition("yyyy-MM-dd'T'HH:mm:ss.SSSZZ"));
+        cell("JodaLocalDate", org.joda.time.LocalDate.class, "2015-03-28", CsvColumnDefinition.dateFormatDefinition("yyyy-MM-dd"));
+        cell("JodaLocalDateTime", org.joda.time.LocalDateTime.class, "2015-03-28 10:11:12", CsvColumnDefinition.dateFormatDefinition("yyyy-MM-dd HH:mm:ss"));
+        cell("JodaLocalTime", org.joda.time.LocalTime.class, "10:11:12", CsvColumnDefinition.dateFormatDefinition("HH:mm:ss"));
+    }
+
+    @Param({"boolean", "byte", "char", "short", "int", "long", "float", "double",
+            "Boolean", "Byte", "Character", "Short", "Integer", "Long", "Float", "Double", "String", "DedupString",
+            "BigDecimal", "BigInteger", "UUID", "Enum", "EnumCaseInsensitive", "Date", "Calendar",
+            "LocalDate", "LocalDateTime", "OffsetDateTime", "Instant", "LocalTime", "ZonedDateTime", "OffsetTime",
+            "Year", "YearMonth", "JodaDateTime", "JodaLocalDate", "JodaLocalDateTime", "JodaLocalTime"})
+    public String type;
+
+    private CellValueReader<?> reader;
+    private ParsingContext parsingContext;
+    private char[] chars;
+
+    @Setup
+    public void setUp() {
+        Object[] cell = CELLS.get(type);
+        ParsingContextFactoryBuilder parsingContextFactoryBuilder = new ParsingContextFactoryBuilder(1);
+        reader = new CellValueReaderFactoryImpl().getReader((Class<?>) cell[0], 0, (CsvColumnDefinition) cell[2], parsingContextFactoryBuilder);
+        parsingContext = parsingContextFactoryBuilder.newFactory().newContext();
+        chars = ("," + cell[1] + ",").toCharArray();
+    }
+
+    @Benchmark
+    public Object read() {
+        return reader.read(chars, 1, chars.length - 2, parsingContext);
+    }
+
+    private static void cell(String name, Class<?> type, String value) {
+        cell(name, type, value, CsvColumnDefinition.identity());
+    }
+
+    private static void cell(String name, Class<?> type, String value, CsvColumnDefinition columnDefinition) {
+        CELLS.put(name, new Object[] { type, value, columnDefinition });
+    }
+}
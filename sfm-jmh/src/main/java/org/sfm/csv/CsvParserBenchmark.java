@@ -5,6 +5,9 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.infra.Blackhole;
 import org.sfm.csv.parser.CellConsumer;
+import org.sfm.csv.parser.CharSequenceCharBuffer;
+import org.sfm.csv.parser.ConfigurableCsvCharConsumer;
+import org.sfm.csv.parser.StandardCsvCharConsumer;
 
 import java.io.IOException;
 import java.util.List;
@@ -15,6 +18,8 @@ public class CsvParserBenchmark {
     public String csv = "val,val2  sdssddsds,lllll llll,sdkokokokokads<>Sddsdsds,adsdsadsad,1,3,4";
 
 
+    public String wideCsv = wideCsv();
+
     public static final CsvParser.DSL dsl = CsvParser.dsl();
 
     public static final CsvParser.DSL tdsl = CsvParser.dsl().trimSpaces();
@@ -29,6 +34,28 @@ public class CsvParserBenchmark {
         tdsl.parse(csv, new MyCellConsumer(blackhole));
     }
 
+    @Benchmark
+    public void parseWideStandard(Blackhole blackhole) throws IOException {
+        new CsvReader(new StandardCsvCharConsumer(new CharSequenceCharBuffer(wideCsv))).parseAll(new MyCellConsumer(blackhole));
+    }
+
+    @Benchmark
+    public void parseWideConfigurable(Blackhole blackhole) throws IOException {
+        new CsvReader(new ConfigurableCsvCharConsumer(new CharSequenceCharBuffer(wideCsv), ',', '"')).parseAll(new MyCellConsumer(blackhole));
+    }
+
+    private static String wideCsv() {
+        StringBuilder sb = new StringBuilder();
+        for(int row = 0; row < 100; row++) {
+            for(int col = 0; col < 20; col++) {
+                if (col > 0) sb.append(',');
+                sb.append("some plain text value without any special char ").append(row).append('-').append(col);
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
     private static class MyCellConsumer implements CellConsumer {
         private final Blackhole blackhole;
 
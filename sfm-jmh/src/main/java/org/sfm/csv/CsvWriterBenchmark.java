@@ -0,0 +1,106 @@
+package org.sfm.csv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.sfm.reflect.ReflectionService;
+
+import java.io.IOException;
+
+/**
+ * Write one row with the generated csv writer, asm=true, and with the field mapper loop, asm=false.
+ * The wide row repeats the columns of the narrow one to go over the size of one generated method.
+ */
+@State(Scope.Benchmark)
+public class CsvWriterBenchmark {
+
+    private static final String[] NARROW = { "id", "count", "name", "price", "quantity" };
+
+    @Param({"true", "false"})
+    public boolean asm;
+
+    @Param({"5", "200"})
+    public int nbColumns;
+
+    private CsvWriter<Item> csvWriter;
+    private StringBuilder output;
+    private Item item;
+
+    @Setup
+    public void setUp() throws IOException {
+        ReflectionService reflectionService = asm ? ReflectionService.newInstance() : ReflectionService.disableAsm();
+        String[] columns = new String[nbColumns];
+        for(int i = 0; i < nbColumns; i++) {
+            columns[i] = NARROW[i % NARROW.length];
+        }
+        output = new StringBuilder();
+        csvWriter = CsvWriter.from(Item.class)
+                .classMeta(reflectionService.<Item>getClassMeta(Item.class))
+                .columns(columns)
+                .skipHeaders()
+                .to(output);
+        item = new Item();
+        item.setId(123456);
+        item.setCount(1234567890123l);
+        item.setName("some product name");
+        item.setPrice(101.25);
+        item.setQuantity(-42);
+    }
+
+    @Benchmark
+    public StringBuilder append() throws IOException {
+        output.setLength(0);
+        csvWriter.append(item);
+        return output;
+    }
+
+    public static class Item {
+        private int id;
+        private long count;
+        private String name;
+        private double price;
+        private int quantity;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
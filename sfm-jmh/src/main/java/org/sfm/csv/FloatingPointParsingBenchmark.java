@@ -0,0 +1,71 @@
+package org.sfm.csv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sfm.csv.impl.cellreader.DoubleCellValueReaderImpl;
+import org.sfm.csv.impl.cellreader.FloatCellValueReaderImpl;
+
+/**
+ * Compare the char range parsing of the cell readers with the String based parsing,
+ * run with -prof gc to check that the readers do not allocate.
+ */
+@State(Scope.Benchmark)
+public class FloatingPointParsingBenchmark {
+
+    public char[] prices = "101.25,99.875,0.0001,-12.5,1234567.891,3.14159,0.5,42".toCharArray();
+
+    public int[] offsets = offsets(prices);
+
+    @Benchmark
+    public void parseDouble(Blackhole blackhole) {
+        for(int i = 0; i < offsets.length - 1; i++) {
+            int offset = offsets[i];
+            blackhole.consume(DoubleCellValueReaderImpl.parseDouble(prices, offset, offsets[i + 1] - offset - 1));
+        }
+    }
+
+    @Benchmark
+    public void parseDoubleFromString(Blackhole blackhole) {
+        for(int i = 0; i < offsets.length - 1; i++) {
+            int offset = offsets[i];
+            blackhole.consume(Double.parseDouble(new String(prices, offset, offsets[i + 1] - offset - 1)));
+        }
+    }
+
+    @Benchmark
+    public void parseFloat(Blackhole blackhole) {
+        for(int i = 0; i < offsets.length - 1; i++) {
+            int offset = offsets[i];
+            blackhole.consume(FloatCellValueReaderImpl.parseFloat(prices, offset, offsets[i + 1] - offset - 1));
+        }
+    }
+
+    @Benchmark
+    public void parseFloatFromString(Blackhole blackhole) {
+        for(int i = 0; i < offsets.length - 1; i++) {
+            int offset = offsets[i];
+            blackhole.consume(Float.parseFloat(new String(prices, offset, offsets[i + 1] - offset - 1)));
+        }
+    }
+
+    /**
+     * @return the start of each value and the end of the content plus one
+     */
+    private static int[] offsets(char[] chars) {
+        int nbValues = 1;
+        for(char c : chars) {
+            if (c == ',') nbValues++;
+        }
+        int[] offsets = new int[nbValues + 1];
+        int value = 1;
+        for(int i = 0; i < chars.length; i++) {
+            if (chars[i] == ',') {
+                offsets[value++] = i + 1;
+            }
+        }
+        offsets[nbValues] = chars.length + 1;
+        return offsets;
+    }
+}
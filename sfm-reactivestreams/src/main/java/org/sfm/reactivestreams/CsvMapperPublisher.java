@@ -0,0 +1,190 @@
+package org.sfm.reactivestreams;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.sfm.csv.CsvMapper;
+import org.sfm.csv.CsvParser;
+import org.sfm.csv.CsvReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publisher of the objects mapped from a CsvReader.
+ * <p>
+ * The rows are parsed on the thread calling {@link Subscription#request(long)} and only as many as requested,
+ * so a slow subscriber does not make the content buffered, the reading of the source waits for the demand.
+ * The resource is closed on completion, on error and on cancel.
+ * <p>
+ * The publisher reads the content once so it accepts only one subscriber.
+ * On java 9 and above it can be adapted to a java.util.concurrent.Flow.Publisher
+ * with org.reactivestreams.FlowAdapters.toFlowPublisher.
+ * @param <T> the type of the objects
+ */
+public final class CsvMapperPublisher<T> implements Publisher<T> {
+
+	private final CsvMapper<T> mapper;
+	private final CsvReader csvReader;
+	private final Closeable resource;
+	private final AtomicBoolean subscribed = new AtomicBoolean();
+
+	/**
+	 * @param mapper the mapper
+	 * @param csvReader the csvReader, the rows to skip need to be skipped already
+	 * @param resource the resource to close when done, can be null
+	 */
+	public CsvMapperPublisher(CsvMapper<T> mapper, CsvReader csvReader, Closeable resource) {
+		if (mapper == null || csvReader == null) {
+			throw new NullPointerException("mapper and csvReader need to be not null");
+		}
+		this.mapper = mapper;
+		this.csvReader = csvReader;
+		this.resource = resource;
+	}
+
+	/**
+	 * @param mapper the mapper
+	 * @param reader the reader, closed when done
+	 * @throws IOException if an error occurs creating the CsvReader
+	 */
+	public CsvMapperPublisher(CsvMapper<T> mapper, Reader reader) throws IOException {
+		this(mapper, CsvParser.reader(reader), reader);
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super T> subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException("subscriber is null");
+		}
+		if (subscribed.compareAndSet(false, true)) {
+			subscriber.onSubscribe(new CsvMapperSubscription(subscriber));
+		} else {
+			subscriber.onSubscribe(CANCELLED_SUBSCRIPTION);
+			subscriber.onError(new IllegalStateException("CsvMapperPublisher only supports one subscriber"));
+		}
+	}
+
+	private static final Subscription CANCELLED_SUBSCRIPTION = new Subscription() {
+		@Override
+		public void request(long n) {
+		}
+
+		@Override
+		public void cancel() {
+		}
+	};
+
+	/**
+	 * the parsing, the emission and the release of the reader are serialized by the drain loop,
+	 * request and cancel only record the demand and the cancellation before triggering it.
+	 */
+	private final class CsvMapperSubscription implements Subscription {
+		private final Subscriber<? super T> subscriber;
+		private final AtomicLong requested = new AtomicLong();
+		private final AtomicInteger wip = new AtomicInteger();
+		private volatile boolean cancelled;
+		private volatile Throwable invalidRequest;
+		private Iterator<T> iterator;
+
+		private CsvMapperSubscription(Subscriber<? super T> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				invalidRequest = new IllegalArgumentException("request needs to be positive " + n);
+			} else {
+				addDemand(n);
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			drain();
+		}
+
+		private void addDemand(long n) {
+			while(true) {
+				long current = requested.get();
+				long next = current + n;
+				if (next < 0) {
+					next = Long.MAX_VALUE;
+				}
+				if (requested.compareAndSet(current, next)) {
+					return;
+				}
+			}
+		}
+
+		/**
+		 * emit as many objects as requested, a request made during onNext is served by the loop instead of a recursive call.
+		 * On termination the loop exits without releasing wip so that it never runs again.
+		 */
+		private void drain() {
+			if (wip.getAndIncrement() != 0) {
+				return;
+			}
+			int missed = 1;
+			do {
+				long demand = requested.get();
+				long emitted = 0;
+				while(true) {
+					if (cancelled) {
+						close();
+						return;
+					}
+					if (invalidRequest != null) {
+						close();
+						subscriber.onError(invalidRequest);
+						return;
+					}
+					if (emitted == demand) {
+						break;
+					}
+					T next;
+					try {
+						if (iterator == null) {
+							iterator = mapper.iterator(csvReader);
+						}
+						if (!iterator.hasNext()) {
+							close();
+							subscriber.onComplete();
+							return;
+						}
+						next = iterator.next();
+					} catch (Throwable e) {
+						close();
+						subscriber.onError(e);
+						return;
+					}
+					subscriber.onNext(next);
+					emitted++;
+				}
+				if (emitted != 0 && demand != Long.MAX_VALUE) {
+					requested.addAndGet(-emitted);
+				}
+				missed = wip.addAndGet(-missed);
+			} while(missed != 0);
+		}
+
+		private void close() {
+			csvReader.release();
+			if (resource != null) {
+				try {
+					resource.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package org.sfm.reactivestreams;
+
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.sfm.csv.CsvMapper;
+import org.sfm.csv.CsvMapperFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CsvMapperPublisherTest {
+
+	private final CsvMapper<Long> mapper = CsvMapperFactory.newInstance().newMapper(Long.class);
+
+	@Test
+	public void testEmitsOnlyTheRequestedObjects() throws IOException {
+		TrackingReader reader = new TrackingReader(content(100000));
+		CollectingSubscriber subscriber = new CollectingSubscriber();
+		new CsvMapperPublisher<Long>(mapper, reader).subscribe(subscriber);
+
+		assertTrue(subscriber.values.isEmpty());
+		assertEquals(0, reader.read);
+
+		subscriber.subscription.request(2);
+		assertEquals(Arrays.asList(0l, 1l), subscriber.values);
+		assertTrue("content read " + reader.read, reader.read < 100000);
+		assertFalse(subscriber.completed);
+
+		subscriber.subscription.request(Long.MAX_VALUE);
+		assertEquals(100000, subscriber.values.size());
+		assertTrue(subscriber.completed);
+		assertNull(subscriber.error);
+		assertTrue(reader.closed);
+	}
+
+	@Test
+	public void testRequestFromOnNextDoesNotRecurse() throws IOException {
+		final int[] depth = new int[1];
+		final int[] maxDepth = new int[1];
+		CollectingSubscriber subscriber = new CollectingSubscriber() {
+			@Override
+			public void onNext(Long value) {
+				depth[0]++;
+				maxDepth[0] = Math.max(maxDepth[0], depth[0]);
+				super.onNext(value);
+				subscription.request(1);
+				depth[0]--;
+			}
+		};
+		new CsvMapperPublisher<Long>(mapper, new StringReader(content(1000))).subscribe(subscriber);
+		subscriber.subscription.request(1);
+
+		assertEquals(1000, subscriber.values.size());
+		assertEquals(1, maxDepth[0]);
+		assertTrue(subscriber.completed);
+	}
+
+	@Test
+	public void testCancelClosesTheReader() throws IOException {
+		TrackingReader reader = new TrackingReader(content(10));
+		CollectingSubscriber subscriber = new CollectingSubscriber();
+		new CsvMapperPublisher<Long>(mapper, reader).subscribe(subscriber);
+		subscriber.subscription.request(1);
+		subscriber.subscription.cancel();
+		subscriber.subscription.request(5);
+
+		assertEquals(Arrays.asList(0l), subscriber.values);
+		assertTrue(reader.closed);
+		assertFalse(subscriber.completed);
+	}
+
+	@Test
+	public void testInvalidRequestSignalsError() throws IOException {
+		TrackingReader reader = new TrackingReader(content(10));
+		CollectingSubscriber subscriber = new CollectingSubscriber();
+		new CsvMapperPublisher<Long>(mapper, reader).subscribe(subscriber);
+		subscriber.subscription.request(0);
+
+		assertTrue(subscriber.error instanceof IllegalArgumentException);
+		assertTrue(reader.closed);
+	}
+
+	@Test
+	public void testMappingErrorSignalsError() throws IOException {
+		CollectingSubscriber subscriber = new CollectingSubscriber();
+		new CsvMapperPublisher<Long>(mapper, new StringReader("value\n1\nnotanumber\n3")).subscribe(subscriber);
+		subscriber.subscription.request(10);
+
+		assertEquals(Arrays.asList(1l), subscriber.values);
+		assertNotNull(subscriber.error);
+		assertFalse(subscriber.completed);
+	}
+
+	@Test
+	public void testSecondSubscriberIsRejected() throws IOException {
+		CsvMapperPublisher<Long> publisher = new CsvMapperPublisher<Long>(mapper, new StringReader(content(1)));
+		publisher.subscribe(new CollectingSubscriber());
+		CollectingSubscriber subscriber = new CollectingSubscriber();
+		publisher.subscribe(subscriber);
+
+		assertNotNull(subscriber.subscription);
+		assertTrue(subscriber.error instanceof IllegalStateException);
+	}
+
+	private static String content(int nbRows) {
+		StringBuilder sb = new StringBuilder("value\n");
+		for(int i = 0; i < nbRows; i++) {
+			sb.append(i).append('\n');
+		}
+		return sb.toString();
+	}
+
+	private static class CollectingSubscriber implements Subscriber<Long> {
+		protected Subscription subscription;
+		private final List<Long> values = new ArrayList<Long>();
+		private boolean completed;
+		private Throwable error;
+
+		@Override
+		public void onSubscribe(Subscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(Long value) {
+			values.add(value);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+	}
+
+	private static class TrackingReader extends Reader {
+		private final StringReader delegate;
+		private int read;
+		private boolean closed;
+
+		private TrackingReader(String content) {
+			this.delegate = new StringReader(content);
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			int n = delegate.read(cbuf, off, len);
+			if (n > 0) {
+				read += n;
+			}
+			return n;
+		}
+
+		@Override
+		public void close() throws IOException {
+			closed = true;
+			delegate.close();
+		}
+	}
+}
@@ -44,6 +44,14 @@ public class CloseableCsvReader implements Closeable, Iterable<String[]> {
         return delegate.read(handler, limit);
     }
 
+    public <RH extends RowHandler<? super CsvRow>> RH forEachRow(RH handler) throws IOException {
+        return delegate.forEachRow(handler);
+    }
+
+    public <RH extends RowHandler<? super CsvRow>> RH forEachRow(RH handler, int limit) throws IOException {
+        return delegate.forEachRow(handler, limit);
+    }
+
     @Override
     public Iterator<String[]> iterator() {
         return delegate.iterator();
@@ -56,8 +64,17 @@ public class CloseableCsvReader implements Closeable, Iterable<String[]> {
     }
     //IFJAVA8_END
 
+    CsvReader getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * release the parse buffer and close the resource.
+     * @throws IOException if an error occurs closing the resource
+     */
     @Override
     public void close() throws IOException {
+        delegate.release();
         resource.close();
     }
 }
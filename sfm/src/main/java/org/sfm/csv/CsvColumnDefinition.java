@@ -2,6 +2,7 @@ package org.sfm.csv;
 
 import org.sfm.csv.column.CustomReaderFactoryProperty;
 import org.sfm.csv.column.CustomReaderProperty;
+import org.sfm.csv.column.DedupStringsProperty;
 import org.sfm.map.mapper.ColumnDefinition;
 import org.sfm.map.column.ColumnProperty;
 import org.sfm.map.column.DateFormatProperty;
@@ -10,6 +11,7 @@ import org.sfm.reflect.meta.PropertyMeta;
 import org.sfm.utils.Predicate;
 
 import java.lang.reflect.Type;
+import java.util.Map;
 import java.util.TimeZone;
 
 public class CsvColumnDefinition extends ColumnDefinition<CsvColumnKey, CsvColumnDefinition> {
@@ -87,6 +89,16 @@ public class CsvColumnDefinition extends ColumnDefinition<CsvColumnKey, CsvColum
         return add(new CustomReaderFactoryProperty(cellValueReaderFactory));
     }
 
+    /**
+     * return a shared String instance for the values already read in the column,
+     * for the columns with few distinct values.
+     * @param maxEntries the maximum number of distinct values kept
+     * @return the new definition
+     */
+    public CsvColumnDefinition addDedupStrings(int maxEntries) {
+        return add(new DedupStringsProperty(maxEntries));
+    }
+
     public static CsvColumnDefinition identity() {
         return IDENTITY;
     }
@@ -107,6 +119,18 @@ public class CsvColumnDefinition extends ColumnDefinition<CsvColumnKey, CsvColum
         return identity().addTimeZone(timeZone);
     }
 
+    public static CsvColumnDefinition dedupStringsDefinition(final int maxEntries) {
+        return identity().addDedupStrings(maxEntries);
+    }
+
+    public static CsvColumnDefinition enumCaseInsensitiveDefinition() {
+        return identity().addEnumCaseInsensitive();
+    }
+
+    public static CsvColumnDefinition enumAliasesDefinition(final Map<String, ? extends Enum<?>> aliases) {
+        return identity().addEnumAliases(aliases);
+    }
+
     public static CsvColumnDefinition ignoreDefinition() {
         return identity().addIgnore();
     }
@@ -0,0 +1,154 @@
+package org.sfm.csv;
+
+import org.sfm.csv.parser.CellConsumer;
+import org.sfm.utils.Supplier;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+//IFJAVA8_START
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+//IFJAVA8_END
+
+/**
+ * Follow the utf-8 content appended to a file, each poll only reads the bytes added since the previous one.
+ * <p>
+ * The parser keeps its state between the polls so a row is reported once its end of line is appended.
+ * When the file is truncated, or replaced by a new file at the same path on java 8 and above,
+ * the parser of the previous content is ended, calling {@link CellConsumer#end()}, and the new content is parsed from its start
+ * with a new CellConsumer from the supplier, the skipped rows and the header are read again.
+ * <p>
+ * poll can be called on a schedule or on the events of a java.nio.file.WatchService on the directory of the file.
+ * A CsvFileFollower is not thread safe.
+ * @see CsvParser.DSL#follow(File, CellConsumer)
+ */
+public final class CsvFileFollower implements Closeable {
+
+	private final CsvParser.DSL dsl;
+	private final File file;
+	private final Supplier<? extends CellConsumer> cellConsumerSupplier;
+	private final ByteBuffer bytes;
+
+	private FileChannel channel;
+	private Object fileKey;
+	private CsvPushParser pushParser;
+	private long position;
+
+	CsvFileFollower(CsvParser.DSL dsl, File file, Supplier<? extends CellConsumer> cellConsumerSupplier) {
+		this.dsl = dsl;
+		this.file = file;
+		this.cellConsumerSupplier = cellConsumerSupplier;
+		this.bytes = ByteBuffer.allocate(Math.max(dsl.bufferSize(), 4));
+	}
+
+	/**
+	 * parse the content appended since the previous poll.
+	 * @return the number of bytes read, 0 if the file does not exist or did not grow
+	 * @throws IOException if an error occurs reading the file
+	 */
+	public long poll() throws IOException {
+		long read = 0;
+		if (channel != null) {
+			long size = channel.size();
+			if (size < position) {
+				// truncated, the content starts again from the beginning
+				endContent();
+				open();
+			} else if (isReplaced()) {
+				// read the rows appended before the replacement
+				read += readToEnd();
+				endContent();
+			}
+		}
+		if (channel == null) {
+			if (!file.exists()) {
+				return read;
+			}
+			open();
+		}
+		return read + readToEnd();
+	}
+
+	/**
+	 * @return the position in the current file of the next byte to read
+	 */
+	public long position() {
+		return position;
+	}
+
+	private long readToEnd() throws IOException {
+		long start = position;
+		while(true) {
+			bytes.clear();
+			int length = channel.read(bytes, position);
+			if (length <= 0) {
+				return position - start;
+			}
+			position += length;
+			bytes.flip();
+			pushParser.feed(bytes);
+		}
+	}
+
+	private void open() throws IOException {
+		if (channel == null) {
+			RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+			channel = randomAccessFile.getChannel();
+			fileKey = currentFileKey();
+		}
+		position = 0;
+		pushParser = dsl.pushParser(cellConsumerSupplier.get());
+	}
+
+	private void endContent() throws IOException {
+		CsvPushParser previousParser = pushParser;
+		FileChannel previousChannel = channel;
+		pushParser = null;
+		channel = null;
+		try {
+			previousParser.endOfInput();
+		} finally {
+			previousChannel.close();
+		}
+	}
+
+	private boolean isReplaced() {
+		Object currentFileKey = currentFileKey();
+		return fileKey != null && currentFileKey != null && !fileKey.equals(currentFileKey);
+	}
+
+	/**
+	 * @return the identity of the file at the path, null if not available
+	 */
+	private Object currentFileKey() {
+		Object key = null;
+		//IFJAVA8_START
+		try {
+			key = Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey();
+		} catch (IOException e) {
+			// file removed, keep following the open file until a new one is created
+		}
+		//IFJAVA8_END
+		return key;
+	}
+
+	/**
+	 * close the file and release the parser buffer, the pending cells of an incomplete row are not reported.
+	 * @throws IOException if an error occurs closing the file
+	 */
+	@Override
+	public void close() throws IOException {
+		if (pushParser != null) {
+			pushParser.release();
+			pushParser = null;
+		}
+		if (channel != null) {
+			channel.close();
+			channel = null;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package org.sfm.csv;
+
+import org.sfm.csv.parser.FileRowScanner;
+import org.sfm.utils.ErrorHelper;
+import org.sfm.utils.IOFunction;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over a byte range of a utf-8 file with no multiline cells that can be split for parallel streams.
+ * <p>
+ * A split cuts the range in the middle and moves the cut after the next line break found by the {@link FileRowScanner},
+ * only the bytes from the middle to that line break are read.
+ * Each range gets its own CsvReader and its own spliterator built by the segmentSpliteratorFactory,
+ * so that a mapper gets a cell consumer per range.
+ * @param <T> the type of the element
+ */
+final class CsvFileSpliterator<T> implements Spliterator<T> {
+
+	public static final long DEFAULT_MIN_SPLIT_SIZE = 1 << 20;
+
+	private final CsvParser.DSL dsl;
+	private final FileChannel channel;
+	private final FileRowScanner rowScanner;
+	private final long minSplitSize;
+	private final IOFunction<CsvReader, Spliterator<T>> segmentSpliteratorFactory;
+
+	private long start;
+	private final long end;
+
+	private Spliterator<T> current;
+
+	public CsvFileSpliterator(CsvParser.DSL dsl, FileChannel channel, FileRowScanner rowScanner,
+							  long start, long end, long minSplitSize,
+							  IOFunction<CsvReader, Spliterator<T>> segmentSpliteratorFactory) {
+		this.dsl = dsl;
+		this.channel = channel;
+		this.rowScanner = rowScanner;
+		this.start = start;
+		this.end = end;
+		this.minSplitSize = minSplitSize;
+		this.segmentSpliteratorFactory = segmentSpliteratorFactory;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		return current().tryAdvance(action);
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super T> action) {
+		current().forEachRemaining(action);
+	}
+
+	private Spliterator<T> current() {
+		if (current == null) {
+			try {
+				current = segmentSpliteratorFactory.apply(dsl.segmentReader(channel, start, end));
+			} catch (IOException e) {
+				return ErrorHelper.rethrow(e);
+			}
+		}
+		return current;
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		if (current != null || end - start < 2 * minSplitSize) {
+			return null;
+		}
+		try {
+			long splitPoint = rowScanner.nextLineStart(start + (end - start) / 2, end);
+			if (splitPoint >= end) {
+				return null;
+			}
+			CsvFileSpliterator<T> prefix =
+					new CsvFileSpliterator<T>(dsl, channel, rowScanner, start, splitPoint, minSplitSize, segmentSpliteratorFactory);
+			start = splitPoint;
+			return prefix;
+		} catch (IOException e) {
+			return ErrorHelper.rethrow(e);
+		}
+	}
+
+	@Override
+	public long estimateSize() {
+		return end - start;
+	}
+
+	@Override
+	public int characteristics() {
+		return Spliterator.ORDERED | Spliterator.NONNULL;
+	}
+}
@@ -1,11 +1,13 @@
 package org.sfm.csv;
 
+import org.sfm.csv.parser.CellConsumer;
 import org.sfm.map.MappingException;
 import org.sfm.utils.RowHandler;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.util.Iterator;
+import java.util.concurrent.Executor;
 //IFJAVA8_START
 import java.util.stream.Stream;
 //IFJAVA8_END
@@ -188,4 +190,51 @@ public interface CsvMapper<T> {
 	Stream<T> stream(Reader reader, int skip) throws IOException;
 	//IFJAVA8_END
 
+	/**
+	 * Will map each row of the content of reader to an object of type T on the threads of the executor,
+	 * while the calling thread parses the following rows.
+	 * <p>
+	 * If ordered is true the objects are passed to the handle on the calling thread in the order of the rows,
+	 * otherwise they are passed on the executor threads in the order they are mapped, one call at a time.
+	 * The executor needs to be able to run workers tasks at the same time to get the full parallelism.
+	 * A mapper with join keys is run on the calling thread.
+	 *
+	 * @param reader the reader
+	 * @param handle the callback instance
+	 * @param executor the executor running the mapping
+	 * @param workers the maximum number of row batches mapped at the same time
+	 * @param ordered true if the objects have to be passed in the order of the rows
+	 * @param <H> the row handler type
+	 * @return the callback instance
+	 * @throws IOException if an io error occurs
+	 * @throws MappingException if an mapping error occurs
+	 */
+	<H extends RowHandler<? super T>> H forEachParallel(Reader reader, H handle, Executor executor, int workers, boolean ordered) throws IOException, MappingException;
+
+	/**
+	 * Will map each row of the content of reader to an object of type T on the threads of the executor,
+	 * while the calling thread parses the following rows.
+	 *
+	 * @param reader the reader
+	 * @param handle the callback instance
+	 * @param executor the executor running the mapping
+	 * @param workers the maximum number of row batches mapped at the same time
+	 * @param ordered true if the objects have to be passed in the order of the rows
+	 * @param <H> the row handler type
+	 * @return the callback instance
+	 * @throws IOException if an io error occurs
+	 * @throws MappingException if an mapping error occurs
+	 * @see #forEachParallel(Reader, RowHandler, Executor, int, boolean)
+	 */
+	<H extends RowHandler<? super T>> H forEachParallel(CsvReader reader, H handle, Executor executor, int workers, boolean ordered) throws IOException, MappingException;
+
+	/**
+	 * Create a CellConsumer mapping the rows it receives to objects passed to the handler, the objects are handled as their row completes.
+	 * A mapper resolving the columns from the header takes them from the first row the consumer receives.
+	 * @param handler the callback for each object
+	 * @return the cell consumer
+	 * @see CsvParser.DSL#pushParser(CellConsumer)
+	 */
+	CellConsumer newCellConsumer(RowHandler<? super T> handler);
+
 }
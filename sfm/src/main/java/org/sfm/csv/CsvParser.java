@@ -1,26 +1,40 @@
 package org.sfm.csv;
 
 import org.sfm.csv.impl.CsvColumnDefinitionProviderImpl;
+import org.sfm.csv.impl.CsvMapperImpl;
 import org.sfm.csv.impl.DynamicCsvMapper;
 import org.sfm.csv.parser.*;
 import org.sfm.map.impl.CaseInsensitiveFieldKeyNamePredicate;
 import org.sfm.reflect.ReflectionService;
 import org.sfm.reflect.TypeReference;
+import org.sfm.reflect.asm.AsmFactory;
 import org.sfm.reflect.meta.ClassMeta;
 import org.sfm.tuples.*;
 import org.sfm.utils.CloseableIterator;
+import org.sfm.utils.ConstantSupplier;
 import org.sfm.utils.IOFunction;
 import org.sfm.utils.Predicate;
 import org.sfm.utils.RowHandler;
+import org.sfm.utils.Supplier;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.io.Reader;
 import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.Executor;
 //IFJAVA8_START
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 //IFJAVA8_END
 
 /**
@@ -192,6 +206,23 @@ public final class CsvParser {
     }
 
 
+    /**
+     * @param inputStream the utf-8 content
+     * @return a csv reader based on the default setup.
+     * @throws java.io.IOException if an error occurs reading the data
+     */
+    public static CsvReader reader(InputStream inputStream) throws IOException {
+        return dsl().reader(inputStream);
+    }
+
+    public static Iterator<String[]> iterator(InputStream inputStream) throws IOException {
+        return dsl().iterator(inputStream);
+    }
+
+    public static <CC extends CellConsumer> CC parse(InputStream inputStream, CC cellConsumer) throws IOException {
+        return dsl().parse(inputStream, cellConsumer);
+    }
+
     public static CloseableCsvReader reader(File file) throws IOException {
 		return dsl().reader(file);
 	}
@@ -217,6 +248,26 @@ public final class CsvParser {
     public static Stream<String[]> stream(String content) throws IOException {
         return dsl().stream(content);
     }
+
+    public static Stream<String[]> stream(InputStream inputStream) throws IOException {
+        return dsl().stream(inputStream);
+    }
+
+    public static CloseableCsvReader reader(Path path) throws IOException {
+        return dsl().reader(path);
+    }
+
+    public static CloseableIterator<String[]> iterator(Path path) throws IOException {
+        return dsl().iterator(path);
+    }
+
+    public static <CC extends CellConsumer> CC parse(Path path, CC cellConsumer) throws IOException {
+        return dsl().parse(path, cellConsumer);
+    }
+
+    public static Stream<String[]> stream(Path path) throws IOException {
+        return dsl().stream(path);
+    }
 	//IFJAVA8_END
 
     /**
@@ -233,6 +284,13 @@ public final class CsvParser {
         private final int limit;
 		private final int maxBufferSize;
         private final boolean trimSpaces;
+        private final Executor readAheadExecutor;
+        private final CharArrayPool bufferPool;
+        private final ColumnProjection columnProjection;
+        private final int rowIndexInterval;
+        private final boolean multilineCells;
+
+        private volatile CsvCharConsumerFactory charConsumerFactory;
 
 		private DSL() {
 			separatorChar = ',';
@@ -242,9 +300,20 @@ public final class CsvParser {
 			limit = -1;
 			maxBufferSize = DEFAULT_MAX_BUFFER_SIZE_8M;
             trimSpaces = false;
+            readAheadExecutor = null;
+            bufferPool = null;
+            columnProjection = null;
+            rowIndexInterval = 0;
+            multilineCells = true;
 		}
 
 		public DSL(char separatorChar, char quoteChar, int bufferSize, int skip, int limit, int maxBufferSize, boolean trimSpaces) {
+			this(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces, null, null, null, 0, true);
+		}
+
+		private DSL(char separatorChar, char quoteChar, int bufferSize, int skip, int limit, int maxBufferSize, boolean trimSpaces,
+					Executor readAheadExecutor, CharArrayPool bufferPool, ColumnProjection columnProjection,
+					int rowIndexInterval, boolean multilineCells) {
 			this.separatorChar = separatorChar;
 			this.quoteChar = quoteChar;
 			this.bufferSize = bufferSize;
@@ -252,6 +321,11 @@ public final class CsvParser {
 			this.limit = limit;
 			this.maxBufferSize = maxBufferSize;
             this.trimSpaces = trimSpaces;
+            this.readAheadExecutor = readAheadExecutor;
+            this.bufferPool = bufferPool;
+            this.columnProjection = columnProjection;
+            this.rowIndexInterval = rowIndexInterval;
+            this.multilineCells = multilineCells;
         }
 
 		/**
@@ -260,7 +334,7 @@ public final class CsvParser {
          * @return this
          */
         public DSL separator(char c) {
-			return new DSL(c, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces);
+			return new DSL(c, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces, readAheadExecutor, bufferPool, columnProjection, rowIndexInterval, multilineCells);
         }
 
         /**
@@ -269,7 +343,7 @@ public final class CsvParser {
          * @return this
          */
         public DSL quote(char c) {
-			return new DSL(separatorChar, c, bufferSize, skip, limit, maxBufferSize, trimSpaces);
+			return new DSL(separatorChar, c, bufferSize, skip, limit, maxBufferSize, trimSpaces, readAheadExecutor, bufferPool, columnProjection, rowIndexInterval, multilineCells);
         }
 
         /**
@@ -278,7 +352,7 @@ public final class CsvParser {
          * @return this
          */
         public DSL bufferSize(int size) {
-			return new DSL(separatorChar, quoteChar, size, skip, limit, maxBufferSize, trimSpaces);
+			return new DSL(separatorChar, quoteChar, size, skip, limit, maxBufferSize, trimSpaces, readAheadExecutor, bufferPool, columnProjection, rowIndexInterval, multilineCells);
         }
 
         /**
@@ -287,7 +361,7 @@ public final class CsvParser {
          * @return this
          */
         public DSL skip(int skip) {
-			return new DSL(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces);
+			return new DSL(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces, readAheadExecutor, bufferPool, columnProjection, rowIndexInterval, multilineCells);
         }
 
         /**
@@ -296,7 +370,7 @@ public final class CsvParser {
          * @return this
          */
         public DSL limit(int limit) {
-			return new DSL(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces);
+			return new DSL(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces, readAheadExecutor, bufferPool, columnProjection, rowIndexInterval, multilineCells);
         }
 
 		/**
@@ -305,11 +379,103 @@ public final class CsvParser {
 		 * @return this
 		 */
 		public DSL maxBufferSize(int maxBufferSize) {
-			return new DSL(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces);
+			return new DSL(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces, readAheadExecutor, bufferPool, columnProjection, rowIndexInterval, multilineCells);
 		}
 
         public DSL trimSpaces() {
-            return new DSL(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, true);
+            return new DSL(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, true, readAheadExecutor, bufferPool, columnProjection, rowIndexInterval, multilineCells);
+        }
+
+        /**
+         * read the next buffer from the Reader or InputStream on a pooled daemon thread while the current buffer is parsed.
+         * Overlaps the io latency with the parsing and the mapping on slow sources like network file systems or gzip streams.
+         * @return this
+         * @see #readAhead(Executor)
+         */
+        public DSL readAhead() {
+            return readAhead(ReadAheadCharBuffer.DAEMON_THREAD_EXECUTOR);
+        }
+
+        /**
+         * read the next buffer from the Reader or InputStream on a task submitted to the executor while the current buffer is parsed.
+         * A task is submitted per reader and runs until the end of the input, or until the CsvReader is released,
+         * the CloseableCsvReader closed or the reader garbage collected. The parse and forEach methods release the reader on exit.
+         * @param executor the executor running the read ahead task
+         * @return this
+         */
+        public DSL readAhead(Executor executor) {
+            return new DSL(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces, executor, bufferPool, columnProjection, rowIndexInterval, multilineCells);
+        }
+
+        /**
+         * take the parse buffers from the default per thread pool instead of allocating a new one for each content.
+         * The buffer goes back to the pool at the end of parse and forEach, once an iterator or a stream has read all the content,
+         * on the close of a stream, on {@link CloseableCsvReader#close()} and on {@link CsvReader#release()}.
+         * An iterator or a stream left before the end of the content keeps its buffer, release the CsvReader to give it back.
+         * With {@link #readAhead(Executor)} only the parse buffer is pooled, the blocks read on the executor thread
+         * are allocated per reader as a per thread pool would keep them on that thread.
+         * @return this
+         * @see #pooledBuffers(CharArrayPool)
+         */
+        public DSL pooledBuffers() {
+            return pooledBuffers(CharArrayPool.DEFAULT_POOL);
+        }
+
+        /**
+         * take the parse buffers from the specified pool instead of allocating a new one for each content.
+         * @param pool the pool
+         * @return this
+         */
+        public DSL pooledBuffers(CharArrayPool pool) {
+            return new DSL(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces, readAheadExecutor, pool, columnProjection, rowIndexInterval, multilineCells);
+        }
+
+        /**
+         * only report the cells of the specified columns, the other cells are skipped without being unescaped.
+         * The selected cells are reported in the order of the content and the String[] rows only contains them.
+         * @param indexes the 0 based indexes of the columns
+         * @return this
+         */
+        public DSL columns(int... indexes) {
+            return new DSL(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces, readAheadExecutor, bufferPool, ColumnProjection.ofIndexes(indexes), rowIndexInterval, multilineCells);
+        }
+
+        /**
+         * only report the cells of the columns with the specified names in the first row after the skipped rows,
+         * the header cells of those columns are reported. The match ignores the case.
+         * @param names the names of the columns
+         * @return this
+         * @see #columns(int...)
+         */
+        public DSL columns(String... names) {
+            return new DSL(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces, readAheadExecutor, bufferPool, ColumnProjection.ofNames(names), rowIndexInterval, multilineCells);
+        }
+
+        /**
+         * seek to the first row after the skipped rows of a file through a row offset index instead of parsing the skipped rows.
+         * The index is read from a sidecar file next to the content, see {@link CsvRowIndex#indexFile(File)},
+         * it is built and persisted on the first read or when the size or the last modified time of the file changed.
+         * Only used on utf-8 content read from a File or a Path with an ascii quote char.
+         * @param interval the number of rows between 2 indexed offsets
+         * @return this
+         */
+        public DSL rowIndex(int interval) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException("interval should be positive " + interval);
+            }
+            return new DSL(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces, readAheadExecutor, bufferPool, columnProjection, interval, multilineCells);
+        }
+
+        /**
+         * declare that no quoted cell of the content contains a line break, so that a line break always ends a row.
+         * <p>
+         * The streams on a File or a Path can then be split for parallel processing by cutting the file at any line break,
+         * see {@link #stream(Path)}. Without it the file is read sequentially.
+         * A quoted cell with a line break is then wrongly split when the stream is parallel.
+         * @return this
+         */
+        public DSL noMultilineCells() {
+            return new DSL(separatorChar, quoteChar, bufferSize, skip, limit, maxBufferSize, trimSpaces, readAheadExecutor, bufferPool, columnProjection, rowIndexInterval, false);
         }
 
         /**
@@ -327,25 +493,77 @@ public final class CsvParser {
         public <CC extends CellConsumer> CC parse(CharSequence content, CC cellConsumer) throws IOException {
             return parse(charBuffer(content), cellConsumer);
         }
-		private <CC extends CellConsumer> CC parse(CharBuffer charBuffer, CC cellConsumer) throws IOException {
-			CsvReader csvreader = reader(charBuffer);
 
-			if (limit == -1) {
-                return csvreader.parseAll(cellConsumer);
-            } else {
-                return csvreader.parseRows(cellConsumer, limit);
+        /**
+         * Parse the utf-8 content from the inputStream as a csv and call back the cellConsumer with the cell values.
+         * The bytes are decoded straight into the parser buffer without going through a Reader.
+         * When the separator and the quote are ascii, the buffer is not pooled, not read ahead and the spaces are not trimmed,
+         * the rows and cells are found on the bytes and a {@link org.sfm.csv.parser.Utf8CellConsumer} reads the cells without decoding them.
+         * @param inputStream the utf-8 content
+         * @param cellConsumer the callback object for each cell value
+         * @param <CC> the type of the cell consumer
+         * @return cellConsumer
+         * @throws java.io.IOException if and error occurs in the inputStream
+         */
+        public <CC extends CellConsumer> CC parse(InputStream inputStream, CC cellConsumer) throws IOException {
+            return parse(reader(inputStream), cellConsumer);
+        }
 
-            }
+        /**
+         * Create a parser the content is pushed to chunk by chunk, the cells being reported to the cellConsumer as they complete.
+         * The skip, trimSpaces, columns and buffer options apply, limit and readAhead are ignored.
+         * @param cellConsumer the callback object for each cell value
+         * @return the push parser
+         * @see CsvPushParser
+         */
+        public CsvPushParser pushParser(CellConsumer cellConsumer) {
+            PushCharBuffer charBuffer = new PushCharBuffer(bufferSize, maxBufferSize, bufferPool);
+            return new CsvPushParser(charBuffer, charConsumer(charBuffer), cellConsumer, skip,
+                    columnProjection != null ? columnProjection.newInstance() : null);
+        }
+
+        /**
+         * Follow the utf-8 content appended to the file, each {@link CsvFileFollower#poll()} parses the bytes added since the previous one.
+         * When the file is truncated or replaced the cellConsumer is ended and receives the new content from its start.
+         * @param file the file
+         * @param cellConsumer the callback object for each cell value
+         * @return the follower, to close when done
+         * @see CsvFileFollower
+         */
+        public CsvFileFollower follow(File file, CellConsumer cellConsumer) {
+            return new CsvFileFollower(this, file, new ConstantSupplier<CellConsumer>(cellConsumer));
+        }
+		private <CC extends CellConsumer> CC parse(CharBuffer charBuffer, CC cellConsumer) throws IOException {
+			return parse(reader(charBuffer), cellConsumer);
+		}
+
+		private <CC extends CellConsumer> CC parse(CsvReader csvreader, CC cellConsumer) throws IOException {
+			try {
+				if (limit == -1) {
+					return csvreader.parseAll(cellConsumer);
+				} else {
+					return csvreader.parseRows(cellConsumer, limit);
+				}
+			} finally {
+				csvreader.release();
+			}
 		}
 
 
 		public <CC extends CellConsumer> CC parse(File file, CC cellConsumer) throws IOException {
-			Reader reader = new FileReader(file);
+			return parse(reader(file), cellConsumer);
+		}
+
+		private <CC extends CellConsumer> CC parse(CloseableCsvReader csvReader, CC cellConsumer) throws IOException {
 			try {
-				return parse(reader, cellConsumer);
+				if (limit == -1) {
+					return csvReader.parseAll(cellConsumer);
+				} else {
+					return csvReader.parseRows(cellConsumer, limit);
+				}
 			} finally {
 				try {
-					reader.close();
+					csvReader.close();
 				} catch(IOException e) {
 					// ignore
 				}
@@ -366,22 +584,147 @@ public final class CsvParser {
 			return reader(charBuffer(content));
 		}
 
+		/**
+		 * Create a CsvReader on the utf-8 content of the inputStream. Will skip the number of specified rows.
+		 * @param inputStream the utf-8 content
+		 * @return a CsvReader on the inputStream.
+		 * @throws java.io.IOException if an io error occurs
+		 * @see #parse(InputStream, CellConsumer)
+		 */
+		public CsvReader reader(InputStream inputStream) throws IOException {
+			if (bufferPool == null && readAheadExecutor == null && !trimSpaces
+					&& Utf8CsvByteConsumer.isSupported(separatorChar, quoteChar)) {
+				Utf8CsvByteConsumer byteConsumer = new Utf8CsvByteConsumer(inputStream, separatorChar, quoteChar, bufferSize, maxBufferSize);
+				CsvReader csvReader = new CsvReader(byteConsumer);
+				csvReader.skipRows(skip);
+				if (columnProjection != null) {
+					byteConsumer.setColumnProjection(columnProjection.newInstance());
+				}
+				return csvReader;
+			}
+			return reader(charBuffer(inputStream));
+		}
+
 		private CsvReader reader(CharBuffer charBuffer) throws IOException {
-			CsvReader csvReader = new CsvReader(charConsumer(charBuffer));
+			return reader(charBuffer, skip);
+		}
+
+		private CsvReader reader(CharBuffer charBuffer, int skip) throws IOException {
+			AbstractCsvCharConsumer charConsumer = charConsumer(charBuffer);
+			CsvReader csvReader = new CsvReader(charConsumer);
 			csvReader.skipRows(skip);
+			if (columnProjection != null) {
+				charConsumer.setColumnProjection(columnProjection.newInstance());
+			}
 			return csvReader;
 		}
 
 		private CharBuffer charBuffer(Reader reader) throws IOException {
-			return new ReaderCharBuffer(bufferSize, maxBufferSize, reader);
+			if (readAheadExecutor != null) {
+				return readAhead(new ReaderCharBuffer(bufferSize, maxBufferSize, reader));
+			}
+			return new ReaderCharBuffer(bufferSize, maxBufferSize, reader, bufferPool);
 		}
 
 		private CharBuffer charBuffer(CharSequence content) throws IOException {
+			if (bufferPool != null) {
+				return new CharSequenceCharBuffer(content, bufferPool, bufferSize);
+			}
 			return new CharSequenceCharBuffer(content);
 		}
 
+		private CharBuffer charBuffer(InputStream inputStream) throws IOException {
+			if (readAheadExecutor != null) {
+				return readAhead(new InputStreamCharBuffer(bufferSize, maxBufferSize, inputStream));
+			}
+			return new InputStreamCharBuffer(bufferSize, maxBufferSize, inputStream, bufferPool);
+		}
+
+		private CharBuffer readAhead(CharBuffer source) {
+			return new ReadAheadCharBuffer(bufferSize, maxBufferSize, source, readAheadExecutor, bufferPool);
+		}
+
+		/**
+		 * Create a CsvReader on the file content decoded with the default charset.
+		 * When the default charset is utf-8 the bytes are decoded straight into the parser buffer.
+		 * @param file the file
+		 * @return a CloseableCsvReader on the file.
+		 * @throws java.io.IOException if an io error occurs
+		 */
 		public CloseableCsvReader reader(File file) throws IOException {
-			return onReader(file, CREATE_CLOSEABLE_CSV_READER);
+			if (DEFAULT_CHARSET_IS_UTF8 && useRowIndex()) {
+				return reader(new RandomAccessFile(file, "r").getChannel(), file);
+			} else if (DEFAULT_CHARSET_IS_UTF8) {
+				InputStream inputStream = new FileInputStream(file);
+				try {
+					return new CloseableCsvReader(reader(inputStream), inputStream);
+				} catch(IOException e) {
+					closeQuietly(inputStream);
+					throw e;
+				}
+			} else {
+				Reader reader = new FileReader(file);
+				try {
+					return new CloseableCsvReader(reader(reader), reader);
+				} catch(IOException e) {
+					closeQuietly(reader);
+					throw e;
+				}
+			}
+		}
+
+		private CloseableCsvReader reader(FileChannel channel, File file) throws IOException {
+			try {
+				long size = channel.size();
+				if (useRowIndex()) {
+					long start = firstRowStart(channel, file);
+					return new CloseableCsvReader(reader(charBuffer(channel, start, size, bufferPool), 0), channel);
+				}
+				return new CloseableCsvReader(reader(charBuffer(channel, 0, size, bufferPool)), channel);
+			} catch(IOException e) {
+				closeQuietly(channel);
+				throw e;
+			}
+		}
+
+		private boolean useRowIndex() {
+			return rowIndexInterval > 0 && FileRowScanner.isSupportedQuoteChar(quoteChar);
+		}
+
+		/**
+		 * @return the position of the row following the skipped rows found through the row index of the file
+		 */
+		private long firstRowStart(FileChannel channel, File file) throws IOException {
+			if (skip <= 0) {
+				return 0;
+			}
+			return CsvRowIndex.load(file, channel, quoteChar, rowIndexInterval).rowStart(channel, skip);
+		}
+
+		private CharBuffer charBuffer(FileChannel channel, long start, long end, CharArrayPool pool) {
+			return new MappedFileCharBuffer(bufferSize, maxBufferSize, channel, start, end, MappedFileCharBuffer.DEFAULT_WINDOW_SIZE, pool);
+		}
+
+		/**
+		 * @return a CsvReader on the byte range of the file, the rows are not skipped.
+		 */
+		CsvReader segmentReader(FileChannel channel, long start, long end) throws IOException {
+			AbstractCsvCharConsumer charConsumer = charConsumer(charBuffer(channel, start, end, null));
+			charConsumer.setColumnProjection(columnProjection);
+			return new CsvReader(charConsumer);
+		}
+
+		private <R> R onFile(File file, IOFunction<CloseableCsvReader, R> function) throws IOException {
+			return onCsvReader(reader(file), function);
+		}
+
+		private <R> R onCsvReader(CloseableCsvReader csvReader, IOFunction<CloseableCsvReader, R> function) throws IOException {
+			try {
+				return function.apply(csvReader);
+			} catch(IOException ioe) {
+				closeQuietly(csvReader);
+				throw ioe;
+			}
 		}
 
         public Iterator<String[]> iterator(Reader reader) throws IOException {
@@ -392,8 +735,12 @@ public final class CsvParser {
 			return reader(content).iterator();
 		}
 
+		public Iterator<String[]> iterator(InputStream inputStream) throws IOException {
+			return reader(inputStream).iterator();
+		}
+
 		public CloseableIterator<String[]> iterator(File file) throws IOException {
-			return onReader(file, CREATE_CLOSEABLE_ITERATOR);
+			return onFile(file, CREATE_CLOSEABLE_ITERATOR);
 		}
 
 		public <T> MapToDSL<T> mapTo(Type target) {
@@ -449,28 +796,196 @@ public final class CsvParser {
 			return reader(content).stream();
 		}
 
+		public Stream<String[]> stream(InputStream inputStream) throws IOException {
+			return reader(inputStream).stream();
+		}
+        //IFJAVA8_END
+
+		/**
+		 * When the dsl is set to {@link #noMultilineCells()} the stream is the one of {@link #stream(Path)}
+		 * that can be split for parallel processing.
+		 * @param file the file
+		 * @return a stream on the rows of the file
+		 * @throws IOException if an io error occurs
+		 */
+        //IFJAVA8_START
 		public Stream<String[]> stream(File file) throws IOException {
-			return onReader(file, CREATE_CLOSEABLE_STREAM);
+			if (!multilineCells) {
+				return stream(file.toPath());
+			}
+			return onFile(file, CREATE_CLOSEABLE_STREAM);
 		}
+        //IFJAVA8_END
 
-		private final IOFunction<Reader, Stream<String[]>> CREATE_CLOSEABLE_STREAM =
-				reader -> stream(reader).onClose(() -> { try { reader.close(); } catch (IOException e) {} });
+		/**
+		 * Parse the content of the file decoded with the default charset as a csv and call back the cellConsumer with the cell values.
+		 * @param path the file
+		 * @param cellConsumer the callback object for each cell value
+		 * @param <CC> the type of the cell consumer
+		 * @return cellConsumer
+		 * @throws java.io.IOException if and error occurs reading the file
+		 */
+        //IFJAVA8_START
+		public <CC extends CellConsumer> CC parse(Path path, CC cellConsumer) throws IOException {
+			return parse(reader(path), cellConsumer);
+		}
         //IFJAVA8_END
 
-        private CsvCharConsumer charConsumer(CharBuffer charBuffer) throws IOException {
+		/**
+		 * Create a CsvReader on the file content decoded with the default charset, as {@link #reader(File)} does.
+		 * When the default charset is utf-8 the file is mapped in memory with FileChannel.map
+		 * in windows of at most 64M, so that files bigger than 2G can be read.
+		 * @param path the file
+		 * @return a CloseableCsvReader on the file.
+		 * @throws java.io.IOException if an io error occurs
+		 */
+        //IFJAVA8_START
+		public CloseableCsvReader reader(Path path) throws IOException {
+			if (DEFAULT_CHARSET_IS_UTF8) {
+				return reader(FileChannel.open(path, StandardOpenOption.READ), path.toFile());
+			}
+			return reader(path.toFile());
+		}
+
+		public CloseableIterator<String[]> iterator(Path path) throws IOException {
+			return onCsvReader(reader(path), CREATE_CLOSEABLE_ITERATOR);
+		}
+        //IFJAVA8_END
+
+		/**
+		 * Stream the rows of the file decoded with the default charset, see {@link #reader(Path)}.
+		 * When the dsl is set to {@link #noMultilineCells()} and the default charset is utf-8 the stream can be split
+		 * for parallel processing, the file is cut in byte ranges that start after a line break.
+		 * @param path the file
+		 * @return a stream on the rows of the file
+		 * @throws IOException if an io error occurs
+		 */
+        //IFJAVA8_START
+		public Stream<String[]> stream(Path path) throws IOException {
+			return splittableStream(path, 0, header -> csvReader -> csvReader.stream().spliterator());
+		}
+        //IFJAVA8_END
+
+		/**
+		 * @param path the file
+		 * @param cellConsumer the callback object for each cell value
+		 * @return the follower, to close when done
+		 * @see #follow(File, CellConsumer)
+		 */
+        //IFJAVA8_START
+		public CsvFileFollower follow(Path path, CellConsumer cellConsumer) {
+			return follow(path.toFile(), cellConsumer);
+		}
+        //IFJAVA8_END
+
+		/**
+		 * Create a stream on the file that can be split on line breaks when there is no multiline cells.
+		 * @param path the file
+		 * @param headerRows the number of header rows following the skipped rows
+		 * @param headerHandler callback with a CsvReader on the header rows returning the factory of the spliterator of a byte range
+		 * @param <T> the type of the element
+		 * @return the stream
+		 * @throws IOException if an io error occurs
+		 */
+        //IFJAVA8_START
+		<T> Stream<T> splittableStream(Path path, int headerRows,
+									   IOFunction<CsvReader, IOFunction<CsvReader, Spliterator<T>>> headerHandler) throws IOException {
+			if (!DEFAULT_CHARSET_IS_UTF8) {
+				// decoded with the default charset as reader(Path) does, the rows are read sequentially
+				CloseableCsvReader csvReader = reader(path.toFile());
+				try {
+					Spliterator<T> spliterator = headerHandler.apply(csvReader.getDelegate()).apply(csvReader.getDelegate());
+					return StreamSupport.stream(spliterator, false).onClose(() -> closeQuietly(csvReader));
+				} catch (IOException e) {
+					closeQuietly(csvReader);
+					throw e;
+				} catch (RuntimeException e) {
+					closeQuietly(csvReader);
+					throw e;
+				}
+			}
+			FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+			try {
+				Spliterator<T> spliterator;
+				long size = channel.size();
+				if (!multilineCells && FileRowScanner.isSupportedQuoteChar(quoteChar)
+						&& (columnProjection == null || !columnProjection.needsHeader())) {
+					FileRowScanner rowScanner = new FileRowScanner(channel, quoteChar);
+					long headerStart = useRowIndex() ? firstRowStart(channel, path.toFile()) : rowScanner.skipRows(0, skip, size);
+					long dataStart = rowScanner.skipRows(headerStart, headerRows, size);
+					IOFunction<CsvReader, Spliterator<T>> segmentSpliteratorFactory =
+							headerHandler.apply(segmentReader(channel, headerStart, dataStart));
+					spliterator = new CsvFileSpliterator<T>(this, channel, rowScanner,
+							dataStart, size, CsvFileSpliterator.DEFAULT_MIN_SPLIT_SIZE, segmentSpliteratorFactory);
+				} else {
+					// cells can span lines, the row boundaries cannot be found on the bytes
+					// or the columns are resolved on the header, read the file sequentially
+					CsvReader csvReader = useRowIndex()
+							? reader(charBuffer(channel, firstRowStart(channel, path.toFile()), size, null), 0)
+							: reader(charBuffer(channel, 0, size, null));
+					spliterator = headerHandler.apply(csvReader).apply(csvReader);
+				}
+				return StreamSupport.stream(spliterator, false).onClose(() -> closeQuietly(channel));
+			} catch (IOException e) {
+				closeQuietly(channel);
+				throw e;
+			} catch (RuntimeException e) {
+				closeQuietly(channel);
+				throw e;
+			}
+		}
+
+		private final IOFunction<CloseableCsvReader, Stream<String[]>> CREATE_CLOSEABLE_STREAM =
+				csvReader -> csvReader.stream().onClose(() -> { try { csvReader.close(); } catch (IOException e) {} });
+        //IFJAVA8_END
+
+        private AbstractCsvCharConsumer charConsumer(CharBuffer charBuffer) {
 
             if (separatorChar == ',' && quoteChar == '"' && !trimSpaces) {
                 return new StandardCsvCharConsumer(charBuffer);
             } else {
-                if (!trimSpaces) {
-                    return new ConfigurableCsvCharConsumer(charBuffer, separatorChar, quoteChar);
-                } else {
-                    return new ConfigurableTrimCsvCharConsumer(charBuffer, separatorChar, quoteChar);
-                }
+                return charConsumerFactory().newCharConsumer(charBuffer);
             }
 
         }
 
+        /**
+         * the factory of the consumer generated for the separator and quote chars, or of the configurable consumer
+         * if asm is not available or the generated class fails to be created, defined or verified.
+         * Concurrent calls resolve the same factory, the AsmFactory generating the classes of a dialect once.
+         */
+        private CsvCharConsumerFactory charConsumerFactory() {
+            CsvCharConsumerFactory factory = charConsumerFactory;
+            if (factory == null) {
+                factory = newCharConsumerFactory();
+                charConsumerFactory = factory;
+            }
+            return factory;
+        }
+
+        private CsvCharConsumerFactory newCharConsumerFactory() {
+            AsmFactory asmFactory = ReflectionService.newInstance().getAsmFactory();
+            if (asmFactory != null) {
+                try {
+                    return asmFactory.createCsvCharConsumerFactory(separatorChar, quoteChar, trimSpaces);
+                } catch (Exception e) {
+                    // use the configurable consumers
+                } catch (LinkageError e) {
+                    // the generated class failed to define or verify, use the configurable consumers
+                }
+            }
+            return new CsvCharConsumerFactory() {
+                @Override
+                public AbstractCsvCharConsumer newCharConsumer(CharBuffer charBuffer) {
+                    if (!trimSpaces) {
+                        return new ConfigurableCsvCharConsumer(charBuffer, separatorChar, quoteChar);
+                    } else {
+                        return new ConfigurableTrimCsvCharConsumer(charBuffer, separatorChar, quoteChar);
+                    }
+                }
+            };
+        }
+
 		public int maxBufferSize() {
 			return maxBufferSize;
 		}
@@ -495,6 +1010,26 @@ public final class CsvParser {
 			return quoteChar;
 		}
 
+		public Executor readAheadExecutor() {
+			return readAheadExecutor;
+		}
+
+		public CharArrayPool bufferPool() {
+			return bufferPool;
+		}
+
+		public ColumnProjection columnProjection() {
+			return columnProjection;
+		}
+
+		public int rowIndexInterval() {
+			return rowIndexInterval;
+		}
+
+		public boolean multilineCells() {
+			return multilineCells;
+		}
+
     }
 
     /**
@@ -634,20 +1169,37 @@ public final class CsvParser {
      * @see org.sfm.csv.CsvMapper
      */
     public static class MapWithDSL<T> {
+		private final DSL sourceDsl;
+		private final CsvMapper<T> sourceMapper;
 		private final DSL dsl;
 		private final CsvMapper<T> mapper;
 
+		/**
+		 * When the dsl has no column projection and the mapper leaves some of its columns unmapped,
+		 * the unmapped columns are projected out of the parser so that their cells are skipped without being unescaped.
+		 * @param dsl the parser dsl
+		 * @param mapper the mapper
+		 */
 		public MapWithDSL(DSL dsl, CsvMapper<T> mapper) {
-			this.dsl = dsl;
-			this.mapper = mapper;
+			this.sourceDsl = dsl;
+			this.sourceMapper = mapper;
+			int[] mappedColumns = dsl.columnProjection == null && mapper instanceof CsvMapperImpl
+					? ((CsvMapperImpl<T>) mapper).mappedColumns() : null;
+			if (mappedColumns != null) {
+				this.dsl = dsl.columns(mappedColumns);
+				this.mapper = ((CsvMapperImpl<T>) mapper).withColumnProjection(mappedColumns);
+			} else {
+				this.dsl = dsl;
+				this.mapper = mapper;
+			}
 		}
 
         protected final DSL getDsl() {
-            return dsl;
+            return sourceDsl;
         }
 
         protected final CsvMapper<T> getMapper() {
-            return mapper;
+            return sourceMapper;
         }
 
 		public final Iterator<T> iterator(Reader reader) throws IOException {
@@ -658,21 +1210,31 @@ public final class CsvParser {
 			return mapper.iterator(dsl.reader(content));
 		}
 
+		public final Iterator<T> iterator(InputStream inputStream) throws IOException {
+			return mapper.iterator(dsl.reader(inputStream));
+		}
+
 		public final CloseableIterator<T> iterator(File file) throws IOException {
-			return onReader(file, new IOFunction<Reader, CloseableIterator<T>>() {
-				@Override
-				public CloseableIterator<T> apply(Reader reader) throws IOException {
-					return new CloseableIterator<T>(iterator(reader), reader);
-				}
-			});
+			return dsl.onFile(file, createCloseableIterator);
 		}
 
+		private final IOFunction<CloseableCsvReader, CloseableIterator<T>> createCloseableIterator =
+				new IOFunction<CloseableCsvReader, CloseableIterator<T>>() {
+			@Override
+			public CloseableIterator<T> apply(CloseableCsvReader csvReader) throws IOException {
+				return new CloseableIterator<T>(mapper.iterator(csvReader.getDelegate()), csvReader);
+			}
+		};
+
 		public final <H extends RowHandler<T>> H forEach(File file, H rowHandler) throws IOException {
-			Reader reader = new FileReader(file);
+			return forEach(rowHandler, dsl.reader(file));
+		}
+
+		private <H extends RowHandler<T>> H forEach(H rowHandler, CloseableCsvReader csvReader) throws IOException {
 			try {
-				return forEach(reader, rowHandler);
+				return forEach(rowHandler, csvReader.getDelegate());
 			} finally {
-				try { reader.close(); } catch (IOException e) { }
+				try { csvReader.close(); } catch (IOException e) { }
 			}
 		}
 
@@ -684,12 +1246,47 @@ public final class CsvParser {
 			return forEach(rowHandler, dsl.reader(content));
 		}
 
+		public final <H extends RowHandler<T>> H forEach(InputStream inputStream, H rowHandler) throws IOException {
+			return forEach(rowHandler, dsl.reader(inputStream));
+		}
+
+		/**
+		 * Create a parser the content is pushed to chunk by chunk, the objects being passed to the rowHandler as their row completes.
+		 * @param rowHandler the callback for each object
+		 * @return the push parser
+		 * @see CsvParser.DSL#pushParser(CellConsumer)
+		 */
+		public final CsvPushParser pushParser(RowHandler<? super T> rowHandler) {
+			return dsl.pushParser(mapper.newCellConsumer(rowHandler));
+		}
+
+		/**
+		 * Follow the utf-8 content appended to the file, the objects being passed to the rowHandler as their row is appended.
+		 * When the file is truncated or replaced the new content is mapped with a new cell consumer, reading the header again.
+		 * @param file the file
+		 * @param rowHandler the callback for each object
+		 * @return the follower, to close when done
+		 * @see CsvParser.DSL#follow(File, CellConsumer)
+		 */
+		public final CsvFileFollower follow(File file, final RowHandler<? super T> rowHandler) {
+			return new CsvFileFollower(dsl, file, new Supplier<CellConsumer>() {
+				@Override
+				public CellConsumer get() {
+					return mapper.newCellConsumer(rowHandler);
+				}
+			});
+		}
+
 		private <H extends RowHandler<T>> H forEach(H rowHandler, CsvReader csvReader) throws IOException {
-			if (dsl.limit == -1) {
-                mapper.forEach(csvReader, rowHandler);
-            } else {
-                mapper.forEach(csvReader, rowHandler, dsl.limit);
-            }
+			try {
+				if (dsl.limit == -1) {
+					mapper.forEach(csvReader, rowHandler);
+				} else {
+					mapper.forEach(csvReader, rowHandler, dsl.limit);
+				}
+			} finally {
+				csvReader.release();
+			}
 			return rowHandler;
 		}
 
@@ -702,50 +1299,87 @@ public final class CsvParser {
 			return mapper.stream(dsl.reader(content));
 		}
 
+		public final Stream<T> stream(InputStream inputStream) throws IOException {
+			return mapper.stream(dsl.reader(inputStream));
+		}
+		//IFJAVA8_END
+
+		/**
+		 * When the dsl is set to {@link DSL#noMultilineCells()} the stream is the one of {@link #stream(Path)}
+		 * that can be split for parallel processing.
+		 * @param file the file
+		 * @return a stream on the objects mapped from the file
+		 * @throws IOException if an io error occurs
+		 */
+		//IFJAVA8_START
 		public final Stream<T> stream(File file) throws IOException {
-			return onReader(file, new IOFunction<Reader, Stream<T>>() {
-				@Override
-				public Stream<T> apply(Reader reader) throws IOException {
-					return stream(reader).onClose(() -> {
-						try {
-							reader.close();
-						} catch (IOException e) {
-							// ignore
-						}
-					});
+			if (!dsl.multilineCells) {
+				return stream(file.toPath());
+			}
+			return dsl.onFile(file, this::closeableStream);
+		}
+		//IFJAVA8_END
+
+		/**
+		 * Stream the objects mapped from the file decoded with the default charset, see {@link DSL#reader(Path)}.
+		 * When the dsl is set to {@link DSL#noMultilineCells()} and the default charset is utf-8 the stream can be split
+		 * for parallel processing, each byte range of the file being mapped with its own cell consumer.
+		 * @param path the file
+		 * @return a stream on the objects mapped from the file
+		 * @throws IOException if an io error occurs
+		 */
+		//IFJAVA8_START
+		public final Stream<T> stream(Path path) throws IOException {
+			if (mapper instanceof DynamicCsvMapper) {
+				final DynamicCsvMapper<T> dynamicCsvMapper = (DynamicCsvMapper<T>) mapper;
+				return dsl.splittableStream(path, 1, header -> {
+					CsvMapper<T> headerMapper = dynamicCsvMapper.getDelegateMapper(header);
+					return csvReader -> headerMapper.stream(csvReader).spliterator();
+				});
+			} else {
+				return dsl.splittableStream(path, 0, header -> csvReader -> mapper.stream(csvReader).spliterator());
+			}
+		}
+
+		public final CloseableIterator<T> iterator(Path path) throws IOException {
+			return dsl.onCsvReader(dsl.reader(path), createCloseableIterator);
+		}
+
+		public final <H extends RowHandler<T>> H forEach(Path path, H rowHandler) throws IOException {
+			return forEach(rowHandler, dsl.reader(path));
+		}
+
+		public final CsvFileFollower follow(Path path, RowHandler<? super T> rowHandler) {
+			return follow(path.toFile(), rowHandler);
+		}
+
+		private Stream<T> closeableStream(CloseableCsvReader csvReader) throws IOException {
+			return mapper.stream(csvReader.getDelegate()).onClose(() -> {
+				try {
+					csvReader.close();
+				} catch (IOException e) {
+					// ignore
 				}
 			});
 		}
 		//IFJAVA8_END
 	}
 
-	private static final IOFunction<Reader, CloseableCsvReader> CREATE_CLOSEABLE_CSV_READER =
-			new IOFunction<Reader, CloseableCsvReader>() {
-				@Override
-				public CloseableCsvReader apply(Reader reader) throws IOException {
-					return new CloseableCsvReader(reader(reader), reader);
-				}
-			};
-	private static final IOFunction<Reader, CloseableIterator<String[]>> CREATE_CLOSEABLE_ITERATOR =
-			new IOFunction<Reader, CloseableIterator<String[]>>() {
+	private static final boolean DEFAULT_CHARSET_IS_UTF8 = Charset.forName("UTF-8").equals(Charset.defaultCharset());
+
+	private static final IOFunction<CloseableCsvReader, CloseableIterator<String[]>> CREATE_CLOSEABLE_ITERATOR =
+			new IOFunction<CloseableCsvReader, CloseableIterator<String[]>>() {
 				@Override
-				public CloseableIterator<String[]> apply(Reader reader) throws IOException {
-					return new CloseableIterator<String[]>(iterator(reader), reader);
+				public CloseableIterator<String[]> apply(CloseableCsvReader csvReader) throws IOException {
+					return new CloseableIterator<String[]>(csvReader.iterator(), csvReader);
 				}
 			};
 
-
-	private static <R> R onReader(File file, IOFunction<Reader, R> IOFunction) throws IOException {
-		Reader reader = new FileReader(file);
+	private static void closeQuietly(Closeable closeable) {
 		try {
-			return IOFunction.apply(reader);
-		} catch(IOException ioe) {
-			try {
-				reader.close();
-			} catch(IOException ioe2) {
-				// ignore
-			}
-			throw ioe;
+			closeable.close();
+		} catch(IOException e) {
+			// ignore
 		}
 	}
 }
@@ -0,0 +1,134 @@
+package org.sfm.csv;
+
+import org.sfm.csv.parser.AbstractCsvCharConsumer;
+import org.sfm.csv.parser.CellConsumer;
+import org.sfm.csv.parser.ColumnProjection;
+import org.sfm.csv.parser.PushCharBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Csv parser the content is pushed to chunk by chunk, the cells are reported to the CellConsumer as soon as they are complete.
+ * <p>
+ * It never blocks waiting for content so it can be called from an event loop as the chunks arrive,
+ * the state of a row split across chunks is kept between the calls.
+ * The chunks are copied in the parser buffer and can be reused after the call returns.
+ * <p>
+ * A CsvPushParser is not thread safe, the calls to feed and endOfInput need to be serialized.
+ * @see CsvParser.DSL#pushParser(CellConsumer)
+ */
+public final class CsvPushParser {
+
+	private final PushCharBuffer charBuffer;
+	private final AbstractCsvCharConsumer charConsumer;
+	private final CellConsumer cellConsumer;
+
+	CsvPushParser(PushCharBuffer charBuffer, AbstractCsvCharConsumer charConsumer, CellConsumer cellConsumer,
+				  int skip, ColumnProjection columnProjection) {
+		this.charBuffer = charBuffer;
+		this.charConsumer = charConsumer;
+		if (skip > 0) {
+			this.cellConsumer = new SkipRowsCellConsumer(cellConsumer, skip, columnProjection);
+		} else {
+			this.cellConsumer = cellConsumer;
+			charConsumer.setColumnProjection(columnProjection);
+		}
+	}
+
+	/**
+	 * parse the chars of the chunk.
+	 * @param chars the chars
+	 * @param offset the index of the first char
+	 * @param length the number of chars
+	 * @throws IOException if the content of a cell exceeds the max buffer size
+	 */
+	public void feed(char[] chars, int offset, int length) throws IOException {
+		charBuffer.push(chars, offset, length);
+		consumeChunk();
+	}
+
+	/**
+	 * parse the utf-8 bytes between the position and the limit of the chunk, the position is moved to the limit.
+	 * @param bytes the utf-8 bytes
+	 * @throws IOException if the content of a cell exceeds the max buffer size
+	 */
+	public void feed(ByteBuffer bytes) throws IOException {
+		charBuffer.push(bytes);
+		consumeChunk();
+	}
+
+	/**
+	 * parse the utf-8 bytes of the chunk.
+	 * @param bytes the utf-8 bytes
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @throws IOException if the content of a cell exceeds the max buffer size
+	 */
+	public void feed(byte[] bytes, int offset, int length) throws IOException {
+		feed(ByteBuffer.wrap(bytes, offset, length));
+	}
+
+	/**
+	 * report the last cell and call end on the CellConsumer, the parser buffer is released.
+	 * @throws IOException if the content of a cell exceeds the max buffer size
+	 */
+	public void endOfInput() throws IOException {
+		charBuffer.endOfInput();
+		try {
+			consumeChunk();
+			charConsumer.finish(cellConsumer);
+		} finally {
+			charConsumer.release();
+		}
+	}
+
+	/**
+	 * give back the parser buffer without reporting the pending cells, the parser must not be used after.
+	 */
+	public void release() {
+		charConsumer.release();
+	}
+
+	private void consumeChunk() throws IOException {
+		do {
+			charConsumer.consumeAllBuffer(cellConsumer);
+		} while(charConsumer.refillBuffer());
+	}
+
+	/**
+	 * drop the cells of the skipped rows, the column projection starts on the row following them.
+	 */
+	private final class SkipRowsCellConsumer implements CellConsumer {
+		private final CellConsumer delegate;
+		private final ColumnProjection columnProjection;
+		private int rowsToSkip;
+
+		private SkipRowsCellConsumer(CellConsumer delegate, int rowsToSkip, ColumnProjection columnProjection) {
+			this.delegate = delegate;
+			this.rowsToSkip = rowsToSkip;
+			this.columnProjection = columnProjection;
+		}
+
+		@Override
+		public void newCell(char[] chars, int offset, int length) {
+			if (rowsToSkip == 0) {
+				delegate.newCell(chars, offset, length);
+			}
+		}
+
+		@Override
+		public void endOfRow() {
+			if (rowsToSkip == 0) {
+				delegate.endOfRow();
+			} else if (--rowsToSkip == 0) {
+				charConsumer.setColumnProjection(columnProjection);
+			}
+		}
+
+		@Override
+		public void end() {
+			delegate.end();
+		}
+	}
+}
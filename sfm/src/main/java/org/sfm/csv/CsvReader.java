@@ -4,6 +4,7 @@ import org.sfm.csv.parser.CellConsumer;
 import org.sfm.csv.parser.CsvCharConsumer;
 import org.sfm.csv.parser.CsvStringArrayIterator;
 import org.sfm.csv.parser.StringArrayConsumer;
+import org.sfm.csv.parser.Utf8CellConsumer;
 import org.sfm.utils.ErrorHelper;
 import org.sfm.utils.RowHandler;
 
@@ -20,12 +21,17 @@ import java.util.stream.StreamSupport;
 
 public final class CsvReader implements Iterable<String[]> {
 
-	private final static CellConsumer DUMMY_CONSUMER = new CellConsumer() {
+	private final static CellConsumer DUMMY_CONSUMER = new Utf8CellConsumer() {
 
 		@Override
 		public void newCell(char[] chars, int offset, int length) {
 		}
 
+		@Override
+		public boolean newUtf8Cell(byte[] bytes, int offset, int length) {
+			return true;
+		}
+
 		@Override
 		public void endOfRow() {
 		}
@@ -99,14 +105,73 @@ public final class CsvReader implements Iterable<String[]> {
 		return handler;
 	}
 
+	/**
+	 * call the handler for each row with a reused {@link CsvRow} view instead of allocating a String[] per row.
+	 * @param handler the row handler
+	 * @param <RH> the type of the handler
+	 * @return the handler
+	 * @throws IOException if an io error occurs
+	 */
+	public <RH extends RowHandler<? super CsvRow>> RH forEachRow(RH handler) throws IOException {
+		parseAll(new CsvRowConsumer(handler));
+		return handler;
+	}
+
+	public <RH extends RowHandler<? super CsvRow>> RH forEachRow(RH handler, int limit) throws IOException {
+		parseRows(new CsvRowConsumer(handler), limit);
+		return handler;
+	}
+
+	/**
+	 * give back the parse buffer to the pool set up with {@link CsvParser.DSL#pooledBuffers()}
+	 * and stop the task set up with {@link CsvParser.DSL#readAhead()}, no-op otherwise.
+	 * The iterators and streams of the reader call it once all the content is read, and the streams on close.
+	 * The reader must not be used after.
+	 */
+	public void release() {
+		consumer.release();
+	}
+
 	@Override
 	public Iterator<String[]> iterator() {
 		return new CsvStringArrayIterator(this);
 	}
 
+	private static final class CsvRowConsumer implements CellConsumer {
+		private final RowHandler<? super CsvRow> handler;
+		private final CsvRow row = new CsvRow();
+
+		private CsvRowConsumer(RowHandler<? super CsvRow> handler) {
+			this.handler = handler;
+		}
+
+		@Override
+		public void newCell(char[] chars, int offset, int length) {
+			row.addCell(chars, offset, length);
+		}
+
+		@Override
+		public void endOfRow() {
+			try {
+				handler.handle(row);
+			} catch (Exception e) {
+				ErrorHelper.rethrow(e);
+			} finally {
+				row.reset();
+			}
+		}
+
+		@Override
+		public void end() {
+			if (row.getNbCells() > 0) {
+				endOfRow();
+			}
+		}
+	}
+
 	//IFJAVA8_START
 	public Stream<String[]> stream() {
-		return StreamSupport.stream(new CsvStringArraySpliterator(this), false);
+		return StreamSupport.stream(new CsvStringArraySpliterator(this), false).onClose(this::release);
 	}
 
 	private static class CsvStringArraySpliterator implements Spliterator<String[]> {
@@ -119,7 +184,11 @@ public final class CsvReader implements Iterable<String[]> {
 		@Override
 		public boolean tryAdvance(Consumer<? super String[]> action) {
 			try {
-				return reader.parseRow(new StringArrayConsumer<RowHandler<String[]>>((strings) -> action.accept(strings)));
+				if (reader.parseRow(new StringArrayConsumer<RowHandler<String[]>>((strings) -> action.accept(strings)))) {
+					return true;
+				}
+				reader.release();
+				return false;
 			} catch (IOException e) {
                return ErrorHelper.rethrow(e);
 			}
@@ -129,6 +198,7 @@ public final class CsvReader implements Iterable<String[]> {
 		public void forEachRemaining(Consumer<? super String[]> action) {
 			try {
 				reader.parseAll(new StringArrayConsumer<RowHandler<String[]>>((strings) -> action.accept(strings)));
+				reader.release();
 			} catch (IOException e) {
                 ErrorHelper.rethrow(e);
 			}
@@ -0,0 +1,126 @@
+package org.sfm.csv;
+
+import org.sfm.csv.impl.cellreader.DoubleCellValueReaderImpl;
+import org.sfm.csv.impl.cellreader.IntegerCellValueReaderImpl;
+import org.sfm.csv.impl.cellreader.LongCellValueReaderImpl;
+import org.sfm.csv.impl.cellreader.StringCellValueReader;
+
+/**
+ * Flyweight view of the current row, see {@link CsvReader#forEachRow(org.sfm.utils.RowHandler)}.
+ * <p>
+ * The same instance is reused for every row, its content is only valid until the handler returns.
+ * The cells are copied in a char array owned by the row so that the view is not affected by the parser buffer shifting,
+ * reading the values as int, long, double or comparing them does not allocate.
+ */
+public final class CsvRow {
+
+	private char[] chars = new char[256];
+	private int[] offsets = new int[16];
+	private int[] lengths = new int[16];
+	private int nbCells;
+	private int charsLength;
+
+	void addCell(char[] buffer, int offset, int length) {
+		if (nbCells == offsets.length) {
+			offsets = grow(offsets);
+			lengths = grow(lengths);
+		}
+		if (charsLength + length > chars.length) {
+			char[] newChars = new char[Math.max(chars.length << 1, charsLength + length)];
+			System.arraycopy(chars, 0, newChars, 0, charsLength);
+			chars = newChars;
+		}
+		System.arraycopy(buffer, offset, chars, charsLength, length);
+		offsets[nbCells] = charsLength;
+		lengths[nbCells] = length;
+		charsLength += length;
+		nbCells++;
+	}
+
+	private static int[] grow(int[] array) {
+		int[] newArray = new int[array.length << 1];
+		System.arraycopy(array, 0, newArray, 0, array.length);
+		return newArray;
+	}
+
+	void reset() {
+		nbCells = 0;
+		charsLength = 0;
+	}
+
+	public int getNbCells() {
+		return nbCells;
+	}
+
+	public int getLength(int i) {
+		checkIndex(i);
+		return lengths[i];
+	}
+
+	public int getInt(int i) {
+		checkIndex(i);
+		return IntegerCellValueReaderImpl.parseInt(chars, offsets[i], lengths[i]);
+	}
+
+	public long getLong(int i) {
+		checkIndex(i);
+		return LongCellValueReaderImpl.parseLong(chars, offsets[i], lengths[i]);
+	}
+
+	public double getDouble(int i) {
+		checkIndex(i);
+		return DoubleCellValueReaderImpl.parseDouble(chars, offsets[i], lengths[i]);
+	}
+
+	public String getString(int i) {
+		checkIndex(i);
+		return StringCellValueReader.readString(chars, offsets[i], lengths[i]);
+	}
+
+	/**
+	 * @param i the cell index
+	 * @return a view on the cell content, only valid until the next row
+	 */
+	public CharSequence getCharSequence(int i) {
+		checkIndex(i);
+		return java.nio.CharBuffer.wrap(chars, offsets[i], lengths[i]);
+	}
+
+	/**
+	 * @param i the cell index
+	 * @param value the value to compare to
+	 * @return true if the content of the cell is equal to value
+	 */
+	public boolean equals(int i, CharSequence value) {
+		checkIndex(i);
+		int length = lengths[i];
+		if (value.length() != length) {
+			return false;
+		}
+		int offset = offsets[i];
+		for(int j = 0; j < length; j++) {
+			if (chars[offset + j] != value.charAt(j)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void checkIndex(int i) {
+		if (i < 0 || i >= nbCells) {
+			throw new IndexOutOfBoundsException("Cell " + i + " out of " + nbCells);
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("CsvRow{");
+		for(int i = 0; i < nbCells; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(chars, offsets[i], lengths[i]);
+		}
+		return sb.append('}').toString();
+	}
+}
@@ -1,8 +1,10 @@
 package org.sfm.csv;
 
+import org.sfm.csv.impl.writer.AppendableBuffer;
+import org.sfm.csv.impl.writer.ByteOutput;
 import org.sfm.csv.impl.writer.CsvCellWriter;
+import org.sfm.csv.impl.writer.ParallelCsvWriterRunner;
 import org.sfm.csv.mapper.FieldMapperToAppendableFactory;
-import org.sfm.map.Mapper;
 import org.sfm.map.MappingContext;
 import org.sfm.map.column.ColumnProperty;
 import org.sfm.map.column.FormatProperty;
@@ -16,8 +18,17 @@ import org.sfm.tuples.Tuple2;
 import org.sfm.utils.ErrorHelper;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 import java.text.Format;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+//IFJAVA8_START
+import java.util.stream.Stream;
+//IFJAVA8_END
 
 /**
  * A CsvWriter allows the caller to write object of type T to an appendable in a specified format. See {@link org.sfm.csv.CsvWriter#from(Class)} to create one.
@@ -52,11 +63,13 @@ import java.text.Format;
  */
 public class CsvWriter<T>  {
 
-    private final Mapper<T, Appendable> mapper;
-    private final Appendable appendable;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final ContextualMapper<T, Appendable> mapper;
+    private final AppendableBuffer appendable;
     private final MappingContext<T> mappingContext;
 
-    private CsvWriter(Mapper<T, Appendable> mapper, Appendable appendable, MappingContext<T> mappingContext) {
+    private CsvWriter(ContextualMapper<T, Appendable> mapper, AppendableBuffer appendable, MappingContext<T> mappingContext) {
         this.mapper = mapper;
         this.appendable = appendable;
         this.mappingContext = mappingContext;
@@ -64,6 +77,8 @@ public class CsvWriter<T>  {
 
     /**
      * write the specified value to the underlying appendable.
+     * <p>
+     * The row is formatted in a buffer and appended to the underlying appendable in one call.
      * @param value the value to write
      * @return the current writer
      * @throws IOException If an I/O error occurs
@@ -73,10 +88,60 @@ public class CsvWriter<T>  {
             mapper.mapTo(value, appendable, mappingContext);
         } catch(Exception e) {
             ErrorHelper.rethrow(e);
+        } finally {
+            appendable.flush();
         }
         return this;
     }
 
+    /**
+     * write the specified values to the underlying appendable, formatting them in parallel on the executor.
+     * <p>
+     * The values are split in chunks of chunkSize rows, each chunk is formatted by a task on the executor
+     * with its own mapping context and the chunks are appended on the calling thread in the order of the values.
+     * The output is the same as appending the values one by one.
+     * @param values the values to write
+     * @param executor the executor to format the chunks on
+     * @param chunkSize the number of rows formatted by a task
+     * @return the current writer
+     * @throws IOException If an I/O error occurs
+     */
+    public CsvWriter<T> appendAll(Iterable<? extends T> values, Executor executor, int chunkSize) throws IOException {
+        return appendAll(values.iterator(), executor, chunkSize);
+    }
+
+    /**
+     * write the values of the stream to the underlying appendable, formatting them in parallel on the executor.
+     * @param values the values to write
+     * @param executor the executor to format the chunks on
+     * @param chunkSize the number of rows formatted by a task
+     * @return the current writer
+     * @throws IOException If an I/O error occurs
+     * @see #appendAll(Iterable, Executor, int)
+     */
+    //IFJAVA8_START
+    public CsvWriter<T> appendAll(Stream<? extends T> values, Executor executor, int chunkSize) throws IOException {
+        return appendAll(values.iterator(), executor, chunkSize);
+    }
+    //IFJAVA8_END
+
+    private CsvWriter<T> appendAll(Iterator<? extends T> values, Executor executor, int chunkSize) throws IOException {
+        new ParallelCsvWriterRunner<T>(mapper, appendable, executor, chunkSize, 2 * Runtime.getRuntime().availableProcessors()).appendAll(values);
+        return this;
+    }
+
+    /**
+     * write the pending bytes to the underlying stream, channel or buffer and flush it.
+     * <p>
+     * The writers created on an OutputStream or a WritableByteChannel keep the encoded rows in a buffer,
+     * flush needs to be called once the last row is appended.
+     * On an appendable, flush the appendable if it is Flushable.
+     * @throws IOException If an I/O error occurs
+     */
+    public void flush() throws IOException {
+        appendable.flushAll();
+    }
+
     /**
      * Create a DSL on the specified type.
      * @param type the type of object to write
@@ -175,8 +240,95 @@ public class CsvWriter<T>  {
          * @throws IOException If an I/O error occurs
          */
         public CsvWriter<T> to(Appendable appendable) throws IOException {
+            return newCsvWriter(new AppendableBuffer(appendable));
+        }
+
+        /**
+         * Create a writer on the specified stream for the type T, encoding the rows in UTF-8.
+         * <p>
+         * The encoded rows are buffered, call {@link CsvWriter#flush()} once the last row is appended.
+         * @param outputStream the stream to write to
+         * @return a CsvWriter on the specified stream
+         * @throws IOException If an I/O error occurs
+         */
+        public CsvWriter<T> to(OutputStream outputStream) throws IOException {
+            return to(outputStream, UTF_8);
+        }
+
+        /**
+         * Create a writer on the specified stream for the type T.
+         * <p>
+         * The encoded rows are buffered, call {@link CsvWriter#flush()} once the last row is appended.
+         * @param outputStream the stream to write to
+         * @param charset the charset to encode the rows with
+         * @return a CsvWriter on the specified stream
+         * @throws IOException If an I/O error occurs
+         */
+        public CsvWriter<T> to(OutputStream outputStream, Charset charset) throws IOException {
+            return newCsvWriter(new AppendableBuffer(ByteOutput.to(outputStream, charset)));
+        }
+
+        /**
+         * Create a writer on the specified channel for the type T, encoding the rows in UTF-8.
+         * <p>
+         * The encoded rows are buffered, call {@link CsvWriter#flush()} once the last row is appended.
+         * @param channel the channel to write to
+         * @return a CsvWriter on the specified channel
+         * @throws IOException If an I/O error occurs
+         */
+        public CsvWriter<T> to(WritableByteChannel channel) throws IOException {
+            return to(channel, UTF_8);
+        }
+
+        /**
+         * Create a writer on the specified channel for the type T.
+         * <p>
+         * The encoded rows are buffered, call {@link CsvWriter#flush()} once the last row is appended.
+         * @param channel the channel to write to
+         * @param charset the charset to encode the rows with
+         * @return a CsvWriter on the specified channel
+         * @throws IOException If an I/O error occurs
+         */
+        public CsvWriter<T> to(WritableByteChannel channel, Charset charset) throws IOException {
+            return newCsvWriter(new AppendableBuffer(ByteOutput.to(channel, charset)));
+        }
+
+        /**
+         * Create a writer on the specified buffer for the type T, encoding the rows in UTF-8.
+         * <p>
+         * Each row is put in the buffer when appended,
+         * a row that does not fit in the remaining bytes throws a {@link java.nio.BufferOverflowException}, is dropped and leaves the buffer unchanged,
+         * the next rows can be appended once the buffer is drained.
+         * @param byteBuffer the buffer to write to
+         * @return a CsvWriter on the specified buffer
+         * @throws IOException If an I/O error occurs
+         */
+        public CsvWriter<T> to(ByteBuffer byteBuffer) throws IOException {
+            return to(byteBuffer, UTF_8);
+        }
+
+        /**
+         * Create a writer on the specified buffer for the type T.
+         * <p>
+         * Each row is put in the buffer when appended,
+         * a row that does not fit in the remaining bytes throws a {@link java.nio.BufferOverflowException}, is dropped and leaves the buffer unchanged,
+         * the next rows can be appended once the buffer is drained.
+         * @param byteBuffer the buffer to write to
+         * @param charset the charset to encode the rows with
+         * @return a CsvWriter on the specified buffer
+         * @throws IOException If an I/O error occurs
+         */
+        public CsvWriter<T> to(ByteBuffer byteBuffer, Charset charset) throws IOException {
+            return newCsvWriter(new AppendableBuffer(ByteOutput.to(byteBuffer, charset)));
+        }
+
+        protected CsvWriter<T> newCsvWriter(AppendableBuffer appendable) throws IOException {
             if (!skipHeaders) {
-                addHeaders(appendable);
+                try {
+                    addHeaders(appendable);
+                } finally {
+                    appendable.flush();
+                }
             }
             return new CsvWriter<T>(mapper, appendable, mapper.newMappingContext());
         }
@@ -359,6 +511,11 @@ public class CsvWriter<T>  {
         public CsvWriter<T> to(Appendable appendable) throws IOException {
             throw new IllegalStateException("No columned defined");
         }
+
+        @Override
+        protected CsvWriter<T> newCsvWriter(AppendableBuffer appendable) throws IOException {
+            throw new IllegalStateException("No columned defined");
+        }
         protected NoColumnCsvWriterDSL<T> newCsvWriterDSL(Tuple2<String, FieldMapperColumnDefinition<CsvColumnKey>>[] columns,
                                                   CellWriter cellWriter,
                                                   ContextualMapper<T, Appendable> mapper, ClassMeta<T> classMeta,
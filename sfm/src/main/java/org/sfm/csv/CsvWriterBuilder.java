@@ -73,6 +73,17 @@ public class CsvWriterBuilder<T> extends AbstractWriterBuilder<Appendable, T, Cs
         }
     }
 
+    @Override
+    protected Mapper<T, Appendable> newAsmMapper(FieldKey<?>[] keys, FieldMapper<T, Appendable>[] fields, Instantiator<T, Appendable> instantiator) throws Exception {
+        if (cellWriter instanceof CsvCellWriter) {
+            // the generated writer splits the row in methods, no limit on the number of columns
+            return classMeta.getReflectionService()
+                    .getAsmFactory()
+                    .createCsvWriterMapper(keys, fields, instantiator, TypeHelper.<T>toClass(classMeta.getType()), (CsvCellWriter) cellWriter);
+        }
+        return super.newAsmMapper(keys, fields, instantiator);
+    }
+
     @Override
     protected void postMapperProcess(List<FieldMapper<T, Appendable>> fieldMappers) {
         fieldMappers.add(new EndOfRowAppender<T>(cellWriter));
@@ -0,0 +1,372 @@
+package org.sfm.csv;
+
+import org.sfm.csv.parser.CellConsumer;
+import org.sfm.csv.parser.CharBuffer;
+import org.sfm.csv.parser.CharSequenceCharBuffer;
+import org.sfm.csv.parser.FixedWidthCharConsumer;
+import org.sfm.csv.parser.InputStreamCharBuffer;
+import org.sfm.csv.parser.ReaderCharBuffer;
+import org.sfm.utils.CloseableIterator;
+import org.sfm.utils.RowHandler;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Iterator;
+//IFJAVA8_START
+import java.util.stream.Stream;
+//IFJAVA8_END
+
+/**
+ * FixedWidthParser provides a fluent DSL to parse or map fixed width records, one record per line.<p>
+ * The cells are sliced at the column offsets and pushed to the same {@link CellConsumer} as the csv parser,
+ * so the {@link CsvReader} it creates can be used with any {@link CsvMapper}.<br>
+ * <br>
+ * <code>
+ *     FixedWidthParser
+ *     <br>&nbsp;&nbsp;&nbsp;&nbsp;.widths(8, 20, 10)
+ *     <br>&nbsp;&nbsp;&nbsp;&nbsp;.trimSpaces()
+ *     <br>&nbsp;&nbsp;&nbsp;&nbsp;.mapTo(MyClass.class)
+ *     <br>&nbsp;&nbsp;&nbsp;&nbsp;.headers("id", "name", "amount")
+ *     <br>&nbsp;&nbsp;&nbsp;&nbsp;.forEach(reader, handler);
+ * </code>
+ * <p>
+ * Each call to the DSL return an immutable representation of the current setup.
+ */
+public final class FixedWidthParser {
+
+	/**
+	 * @param widths the width of each column, the columns are contiguous from the start of the record
+	 * @return the DSL
+	 */
+	public static DSL widths(int... widths) {
+		int[] columnStarts = new int[widths.length];
+		int[] columnEnds = new int[widths.length];
+		int offset = 0;
+		for(int i = 0; i < widths.length; i++) {
+			if (widths[i] < 0) {
+				throw new IllegalArgumentException("width needs to be positive " + widths[i]);
+			}
+			columnStarts[i] = offset;
+			offset += widths[i];
+			columnEnds[i] = offset;
+		}
+		return new DSL(columnStarts, columnEnds, 8192, CsvParser.DSL.DEFAULT_MAX_BUFFER_SIZE_8M, 0, -1, false);
+	}
+
+	public static final class DSL {
+		private final int[] columnStarts;
+		private final int[] columnEnds;
+		private final int bufferSize;
+		private final int maxBufferSize;
+		private final int skip;
+		private final int limit;
+		private final boolean trimSpaces;
+
+		private DSL(int[] columnStarts, int[] columnEnds, int bufferSize, int maxBufferSize, int skip, int limit, boolean trimSpaces) {
+			this.columnStarts = columnStarts;
+			this.columnEnds = columnEnds;
+			this.bufferSize = bufferSize;
+			this.maxBufferSize = maxBufferSize;
+			this.skip = skip;
+			this.limit = limit;
+			this.trimSpaces = trimSpaces;
+		}
+
+		/**
+		 * add a column after the previous ones.
+		 * @param start the offset of the first char of the column in the record
+		 * @param end the offset after the last char of the column
+		 * @return this is an immutable object and this returns a new instance
+		 */
+		public DSL column(int start, int end) {
+			if (start < 0 || end < start) {
+				throw new IllegalArgumentException("invalid column [" + start + ", " + end + "[");
+			}
+			int[] starts = Arrays.copyOf(columnStarts, columnStarts.length + 1);
+			int[] ends = Arrays.copyOf(columnEnds, columnEnds.length + 1);
+			starts[columnStarts.length] = start;
+			ends[columnEnds.length] = end;
+			return new DSL(starts, ends, bufferSize, maxBufferSize, skip, limit, trimSpaces);
+		}
+
+		/**
+		 * set the size of the char buffer to read from.
+		 * @param size the size in chars
+		 * @return this is an immutable object and this returns a new instance
+		 */
+		public DSL bufferSize(int size) {
+			return new DSL(columnStarts, columnEnds, size, maxBufferSize, skip, limit, trimSpaces);
+		}
+
+		public DSL maxBufferSize(int maxBufferSize) {
+			return new DSL(columnStarts, columnEnds, bufferSize, maxBufferSize, skip, limit, trimSpaces);
+		}
+
+		/**
+		 * set the number of records to skip.
+		 * @param skip number of records to skip.
+		 * @return this is an immutable object and this returns a new instance
+		 */
+		public DSL skip(int skip) {
+			return new DSL(columnStarts, columnEnds, bufferSize, maxBufferSize, skip, limit, trimSpaces);
+		}
+
+		/**
+		 * set the number of records to parse, only affects parse on the DSL and forEach on the mapTo/mapWith DSL.
+		 * @param limit number of records to parse
+		 * @return this is an immutable object and this returns a new instance
+		 */
+		public DSL limit(int limit) {
+			return new DSL(columnStarts, columnEnds, bufferSize, maxBufferSize, skip, limit, trimSpaces);
+		}
+
+		/**
+		 * trim the padding spaces around the cell values.
+		 * @return this is an immutable object and this returns a new instance
+		 */
+		public DSL trimSpaces() {
+			return new DSL(columnStarts, columnEnds, bufferSize, maxBufferSize, skip, limit, true);
+		}
+
+		public <CC extends CellConsumer> CC parse(Reader reader, CC cellConsumer) throws IOException {
+			return parse(reader(reader), cellConsumer);
+		}
+
+		public <CC extends CellConsumer> CC parse(CharSequence content, CC cellConsumer) throws IOException {
+			return parse(reader(content), cellConsumer);
+		}
+
+		public <CC extends CellConsumer> CC parse(InputStream inputStream, CC cellConsumer) throws IOException {
+			return parse(reader(inputStream), cellConsumer);
+		}
+
+		public <CC extends CellConsumer> CC parse(File file, CC cellConsumer) throws IOException {
+			CloseableCsvReader csvReader = reader(file);
+			try {
+				return parse(csvReader.getDelegate(), cellConsumer);
+			} finally {
+				csvReader.close();
+			}
+		}
+
+		private <CC extends CellConsumer> CC parse(CsvReader csvReader, CC cellConsumer) throws IOException {
+			try {
+				if (limit == -1) {
+					return csvReader.parseAll(cellConsumer);
+				} else {
+					return csvReader.parseRows(cellConsumer, limit);
+				}
+			} finally {
+				csvReader.release();
+			}
+		}
+
+		public CsvReader reader(Reader reader) throws IOException {
+			return reader(new ReaderCharBuffer(bufferSize, maxBufferSize, reader));
+		}
+
+		public CsvReader reader(CharSequence content) throws IOException {
+			return reader(new CharSequenceCharBuffer(content));
+		}
+
+		/**
+		 * Create a CsvReader on the utf-8 content of the inputStream. Will skip the number of specified records.
+		 * @param inputStream the utf-8 content
+		 * @return a CsvReader on the inputStream.
+		 * @throws java.io.IOException if an io error occurs
+		 */
+		public CsvReader reader(InputStream inputStream) throws IOException {
+			return reader(new InputStreamCharBuffer(bufferSize, maxBufferSize, inputStream));
+		}
+
+		/**
+		 * Create a CsvReader on the file content decoded with the default charset.
+		 * @param file the file
+		 * @return a CloseableCsvReader on the file.
+		 * @throws java.io.IOException if an io error occurs
+		 */
+		public CloseableCsvReader reader(File file) throws IOException {
+			if (DEFAULT_CHARSET_IS_UTF8) {
+				InputStream inputStream = new FileInputStream(file);
+				try {
+					return new CloseableCsvReader(reader(inputStream), inputStream);
+				} catch(IOException e) {
+					inputStream.close();
+					throw e;
+				}
+			} else {
+				Reader reader = new FileReader(file);
+				try {
+					return new CloseableCsvReader(reader(reader), reader);
+				} catch(IOException e) {
+					reader.close();
+					throw e;
+				}
+			}
+		}
+
+		private CsvReader reader(CharBuffer charBuffer) throws IOException {
+			CsvReader csvReader = new CsvReader(new FixedWidthCharConsumer(charBuffer, columnStarts, columnEnds, trimSpaces));
+			csvReader.skipRows(skip);
+			return csvReader;
+		}
+
+		public Iterator<String[]> iterator(Reader reader) throws IOException {
+			return reader(reader).iterator();
+		}
+
+		public Iterator<String[]> iterator(CharSequence content) throws IOException {
+			return reader(content).iterator();
+		}
+
+		public CloseableIterator<String[]> iterator(File file) throws IOException {
+			CloseableCsvReader csvReader = reader(file);
+			return new CloseableIterator<String[]>(csvReader.iterator(), csvReader);
+		}
+
+		/**
+		 * map the records to the target, the first record, after the skipped ones, is the header.
+		 * @param target the target type
+		 * @param <T> the target type
+		 * @return the mapping DSL
+		 */
+		public <T> MapToDSL<T> mapTo(Class<T> target) {
+			return new MapToDSL<T>(this, target);
+		}
+
+		public <T> MapToDSL<T> mapTo(Type target) {
+			return new MapToDSL<T>(this, target);
+		}
+
+		public <T> MapWithDSL<T> mapWith(CsvMapper<T> mapper) {
+			return new MapWithDSL<T>(this, mapper);
+		}
+
+		//IFJAVA8_START
+		public Stream<String[]> stream(Reader reader) throws IOException {
+			return reader(reader).stream();
+		}
+
+		public Stream<String[]> stream(CharSequence content) throws IOException {
+			return reader(content).stream();
+		}
+		//IFJAVA8_END
+
+		public int bufferSize() {
+			return bufferSize;
+		}
+
+		public int maxBufferSize() {
+			return maxBufferSize;
+		}
+
+		public int skip() {
+			return skip;
+		}
+
+		public int limit() {
+			return limit;
+		}
+	}
+
+	/**
+	 * DSL to map to a type, by default the mapper reads the column names in the first record.
+	 * @param <T> the target type
+	 */
+	public static final class MapToDSL<T> extends MapWithDSL<T> {
+		private final Type target;
+
+		private MapToDSL(DSL dsl, Type target) {
+			super(dsl, CsvMapperFactory.newInstance().<T>newMapper(target));
+			this.target = target;
+		}
+
+		/**
+		 * map the columns to the specified property names, all the records are data records.
+		 * @param headers the property name of each column
+		 * @return the mapping DSL
+		 */
+		public MapWithDSL<T> headers(String... headers) {
+			CsvMapperBuilder<T> builder = CsvMapperFactory.newInstance().newBuilder(target);
+			for(String header : headers) {
+				builder.addMapping(header);
+			}
+			return new MapWithDSL<T>(getDsl(), builder.mapper());
+		}
+	}
+
+	public static class MapWithDSL<T> {
+		private final DSL dsl;
+		private final CsvMapper<T> mapper;
+
+		private MapWithDSL(DSL dsl, CsvMapper<T> mapper) {
+			this.dsl = dsl;
+			this.mapper = mapper;
+		}
+
+		protected final DSL getDsl() {
+			return dsl;
+		}
+
+		public final Iterator<T> iterator(Reader reader) throws IOException {
+			return mapper.iterator(dsl.reader(reader));
+		}
+
+		public final Iterator<T> iterator(CharSequence content) throws IOException {
+			return mapper.iterator(dsl.reader(content));
+		}
+
+		public final <H extends RowHandler<T>> H forEach(Reader reader, H rowHandler) throws IOException {
+			return forEach(rowHandler, dsl.reader(reader));
+		}
+
+		public final <H extends RowHandler<T>> H forEach(CharSequence content, H rowHandler) throws IOException {
+			return forEach(rowHandler, dsl.reader(content));
+		}
+
+		public final <H extends RowHandler<T>> H forEach(InputStream inputStream, H rowHandler) throws IOException {
+			return forEach(rowHandler, dsl.reader(inputStream));
+		}
+
+		public final <H extends RowHandler<T>> H forEach(File file, H rowHandler) throws IOException {
+			CloseableCsvReader csvReader = dsl.reader(file);
+			try {
+				return forEach(rowHandler, csvReader.getDelegate());
+			} finally {
+				csvReader.close();
+			}
+		}
+
+		private <H extends RowHandler<T>> H forEach(H rowHandler, CsvReader csvReader) throws IOException {
+			try {
+				if (dsl.limit == -1) {
+					mapper.forEach(csvReader, rowHandler);
+				} else {
+					mapper.forEach(csvReader, rowHandler, dsl.limit);
+				}
+			} finally {
+				csvReader.release();
+			}
+			return rowHandler;
+		}
+
+		//IFJAVA8_START
+		public final Stream<T> stream(Reader reader) throws IOException {
+			return mapper.stream(dsl.reader(reader));
+		}
+
+		public final Stream<T> stream(CharSequence content) throws IOException {
+			return mapper.stream(dsl.reader(content));
+		}
+		//IFJAVA8_END
+	}
+
+	private static final boolean DEFAULT_CHARSET_IS_UTF8 = Charset.forName("UTF-8").equals(Charset.defaultCharset());
+}
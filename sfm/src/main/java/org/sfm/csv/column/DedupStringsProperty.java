@@ -0,0 +1,27 @@
+package org.sfm.csv.column;
+
+import org.sfm.map.column.ColumnProperty;
+
+/**
+ * Read the String values of the column through a bounded table of the previously read values,
+ * a value already in the table is returned without allocating a new String.
+ */
+public class DedupStringsProperty implements ColumnProperty {
+    private final int maxEntries;
+
+    public DedupStringsProperty(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries needs to be positive " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @Override
+    public String toString() {
+        return "DedupStrings{" + maxEntries + "}";
+    }
+}
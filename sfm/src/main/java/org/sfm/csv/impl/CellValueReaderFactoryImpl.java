@@ -6,10 +6,13 @@ import org.sfm.csv.CsvColumnDefinition;
 import org.sfm.csv.impl.cellreader.*;
 import org.sfm.csv.impl.cellreader.joda.JodaTimeCellValueReaderHelper;
 import org.sfm.csv.ParsingContextFactoryBuilder;
+import org.sfm.csv.column.DedupStringsProperty;
 import org.sfm.map.impl.JodaTimeClasses;
 import org.sfm.reflect.TypeHelper;
 
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -46,6 +49,8 @@ public final class CellValueReaderFactoryImpl implements CellValueReaderFactory
 		READERS.put(String.class,    new StringCellValueReader());
 		READERS.put(CharSequence.class,    new StringCellValueReader());
 		READERS.put(Object.class,    new StringCellValueReader());
+		READERS.put(BigDecimal.class,    new BigDecimalCellValueReader());
+		READERS.put(BigInteger.class,    new BigIntegerCellValueReader());
 	}
 
 	@Override
@@ -61,9 +66,9 @@ public final class CellValueReaderFactoryImpl implements CellValueReaderFactory
 			parsingContextFactoryBuilder.addParsingContextProvider(index, dateCellValueReader);
 		//IFJAVA8_START
 		} else if (propertyClass.equals(LocalDate.class)) {
-			reader = (CellValueReader<P>) new JavaLocalDateCellValueReader(JavaTimeHelper.getDateTimeFormatter(columnDefinition));
+			reader = (CellValueReader<P>) new JavaLocalDateCellValueReader(JavaTimeHelper.getDateTimeFormatter(columnDefinition), datePatternParser(columnDefinition));
 		} else if (propertyClass.equals(LocalDateTime.class)) {
-			reader = (CellValueReader<P>) new JavaLocalDateTimeCellValueReader(JavaTimeHelper.getDateTimeFormatter(columnDefinition));
+			reader = (CellValueReader<P>) new JavaLocalDateTimeCellValueReader(JavaTimeHelper.getDateTimeFormatter(columnDefinition), datePatternParser(columnDefinition));
 		} else if (propertyClass.equals(LocalTime.class)) {
 			reader = (CellValueReader<P>) new JavaLocalTimeCellValueReader(JavaTimeHelper.getDateTimeFormatter(columnDefinition));
 		} else if (propertyClass.equals(ZonedDateTime.class)) {
@@ -71,9 +76,9 @@ public final class CellValueReaderFactoryImpl implements CellValueReaderFactory
 		} else if (propertyClass.equals(OffsetTime.class)) {
 			reader = (CellValueReader<P>) new JavaOffsetTimeCellValueReader(JavaTimeHelper.getDateTimeFormatter(columnDefinition));
 		} else if (propertyClass.equals(OffsetDateTime.class)) {
-			reader = (CellValueReader<P>) new JavaOffsetDateTimeCellValueReader(JavaTimeHelper.getDateTimeFormatter(columnDefinition));
+			reader = (CellValueReader<P>) new JavaOffsetDateTimeCellValueReader(JavaTimeHelper.getDateTimeFormatter(columnDefinition), datePatternParser(columnDefinition));
 		} else if (propertyClass.equals(Instant.class)) {
-			reader = (CellValueReader<P>) new JavaInstantCellValueReader(JavaTimeHelper.getDateTimeFormatter(columnDefinition));
+			reader = (CellValueReader<P>) new JavaInstantCellValueReader(JavaTimeHelper.getDateTimeFormatter(columnDefinition), datePatternParser(columnDefinition));
 		} else if (propertyClass.equals(Year.class)) {
 			reader = (CellValueReader<P>) new JavaYearCellValueReader(JavaTimeHelper.getDateTimeFormatter(columnDefinition));
 		} else if (propertyClass.equals(YearMonth.class)) {
@@ -84,11 +89,14 @@ public final class CellValueReaderFactoryImpl implements CellValueReaderFactory
             reader = (CellValueReader<P>) calendarCellValueReader;
             parsingContextFactoryBuilder.addParsingContextProvider(index, calendarCellValueReader);
 		}  else if (Enum.class.isAssignableFrom(propertyClass)) {
-			reader = new EnumCellValueReader(propertyClass);
+			reader = (CellValueReader<P>) newEnumCellValueReader(propertyClass, columnDefinition);
 		} else if (JodaTimeClasses.isJoda(propertyClass)){
 			reader = (CellValueReader<P>) JodaTimeCellValueReaderHelper.getReader(propertyClass, columnDefinition);
 		} else if (UUID.class.equals(propertyClass)) {
 			reader = (CellValueReader<P>) new UUIDCellValueReader();
+		} else if ((String.class.equals(propertyClass) || CharSequence.class.equals(propertyClass))
+				&& columnDefinition.has(DedupStringsProperty.class)) {
+			reader = (CellValueReader<P>) new DedupStringCellValueReader(columnDefinition.lookFor(DedupStringsProperty.class).getMaxEntries());
 		}
 
 		if (reader == null) {
@@ -98,6 +106,24 @@ public final class CellValueReaderFactoryImpl implements CellValueReaderFactory
 		return reader;
 	}
 
+	/**
+	 * @return the parser compiled from the date format pattern, null if a formatter is specified or the pattern is not supported
+	 */
+	//IFJAVA8_START
+	private static DatePatternParser datePatternParser(CsvColumnDefinition columnDefinition) {
+		if (columnDefinition.has(JavaDateTimeFormatterProperty.class)) {
+			return null;
+		}
+		return DatePatternParser.compile(columnDefinition.dateFormat());
+	}
+	//IFJAVA8_END
+
+	private static <E extends Enum<E>> CellValueReader<E> newEnumCellValueReader(Class<?> propertyClass, CsvColumnDefinition columnDefinition) {
+		@SuppressWarnings("unchecked")
+		Class<E> enumClass = (Class<E>) propertyClass;
+		return new EnumCellValueReader<E>(columnDefinition.enumLookup(enumClass));
+	}
+
     @SuppressWarnings("unchecked")
 	private <P> CellValueReader<P> getCellValueTransformer(Class<? extends P> propertyType) {
 		return (CellValueReader<P>) READERS.get(propertyType);
@@ -4,6 +4,7 @@ import org.sfm.csv.CsvColumnKey;
 import org.sfm.csv.CsvMapper;
 import org.sfm.csv.CsvParser;
 import org.sfm.csv.CsvReader;
+import org.sfm.csv.ParsingContext;
 import org.sfm.csv.mapper.*;
 import org.sfm.csv.parser.CellConsumer;
 import org.sfm.map.MappingException;
@@ -14,6 +15,7 @@ import org.sfm.utils.RowHandler;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.*;
+import java.util.concurrent.Executor;
 //IFJAVA8_START
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -24,10 +26,20 @@ import java.util.stream.StreamSupport;
 
 public final class CsvMapperImpl<T> implements CsvMapper<T> {
     private static final DelayedCellSetter[] EMPTY_DELAYED_CELL_SETTERS = new DelayedCellSetter[0];
+    private static final Utf8CellSetter<Object> IGNORE_UTF8_CELL = new Utf8CellSetter<Object>() {
+        @Override
+        public void set(Object target, byte[] bytes, int offset, int length, ParsingContext parsingContext) {
+        }
+
+        @Override
+        public boolean readsUtf8() {
+            return true;
+        }
+    };
 
     private final DelayedCellSetterFactory<T, ?>[] delayedCellSetterFactories;
     private final CellSetter<T>[] setters;
-
+    private final Utf8CellSetter<T>[] utf8Setters;
 
     private final CsvColumnKey[] joinKeys;
 	private final RowHandlerErrorHandler rowHandlerErrorHandlers;
@@ -36,12 +48,24 @@ public final class CsvMapperImpl<T> implements CsvMapper<T> {
     private final boolean hasSetterSubProperties;
     private final boolean hasSubProperties;
 
+    private final int[] projectedCellIndexes;
+
 	public CsvMapperImpl(CsvMapperCellHandlerFactory<T> csvMapperCellHandlerFactory,
                          DelayedCellSetterFactory<T, ?>[] delayedCellSetterFactories,
                          CellSetter<T>[] setters,
                          CsvColumnKey[] joinKeys,
                          RowHandlerErrorHandler rowHandlerErrorHandlers) {
+		this(csvMapperCellHandlerFactory, delayedCellSetterFactories, setters, joinKeys, rowHandlerErrorHandlers, null);
+	}
+
+	private CsvMapperImpl(CsvMapperCellHandlerFactory<T> csvMapperCellHandlerFactory,
+                         DelayedCellSetterFactory<T, ?>[] delayedCellSetterFactories,
+                         CellSetter<T>[] setters,
+                         CsvColumnKey[] joinKeys,
+                         RowHandlerErrorHandler rowHandlerErrorHandlers,
+                         int[] projectedCellIndexes) {
 		super();
+		this.projectedCellIndexes = projectedCellIndexes;
 		this.csvMapperCellHandlerFactory = csvMapperCellHandlerFactory;
 		this.delayedCellSetterFactories = delayedCellSetterFactories;
 		this.setters = setters;
@@ -49,8 +73,61 @@ public final class CsvMapperImpl<T> implements CsvMapper<T> {
 		this.rowHandlerErrorHandlers = rowHandlerErrorHandlers;
         this.hasSetterSubProperties = hasSetterSubProperties(setters);
         this.hasSubProperties = hasSetterSubProperties || hasDelayedMarker(delayedCellSetterFactories);
+        this.utf8Setters = utf8Setters(delayedCellSetterFactories.length, setters);
 	}
 
+    /**
+     * the delayed cells and the cells without a utf-8 setter are decoded, the unmapped cells are ignored.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Utf8CellSetter<T>[] utf8Setters(int delayedSettersLength, CellSetter<T>[] setters) {
+        Utf8CellSetter<T>[] utf8Setters = (Utf8CellSetter<T>[]) new Utf8CellSetter<?>[delayedSettersLength + setters.length];
+        for(int i = 0; i < setters.length; i++) {
+            CellSetter<T> setter = setters[i];
+            if (setter == null) {
+                utf8Setters[i + delayedSettersLength] = (Utf8CellSetter<T>) IGNORE_UTF8_CELL;
+            } else if (setter instanceof Utf8CellSetter && ((Utf8CellSetter<T>) setter).readsUtf8()) {
+                utf8Setters[i + delayedSettersLength] = (Utf8CellSetter<T>) setter;
+            }
+        }
+        return utf8Setters;
+    }
+
+    /**
+     * @return the indexes of the mapped columns, null if no column in the range of the mapper is left unmapped
+     */
+    public int[] mappedColumns() {
+        int[] indexes = new int[delayedCellSetterFactories.length + setters.length];
+        int nbMapped = 0;
+        for(int i = 0; i < indexes.length; i++) {
+            if (i < delayedCellSetterFactories.length ? delayedCellSetterFactories[i] != null : setters[i - delayedCellSetterFactories.length] != null) {
+                indexes[nbMapped++] = i;
+            }
+        }
+        if (nbMapped == indexes.length || nbMapped == 0) {
+            return null;
+        }
+        return Arrays.copyOf(indexes, nbMapped);
+    }
+
+    /**
+     * @param mappedColumns the indexes of the columns selected by the {@link org.sfm.csv.parser.ColumnProjection} of the parser
+     * @return a mapper which cell consumers only receive the cells of the selected columns
+     * @see org.sfm.csv.CsvParser.DSL#columns(int...)
+     */
+    public CsvMapperImpl<T> withColumnProjection(int[] mappedColumns) {
+        int last = mappedColumns[mappedColumns.length - 1];
+        // the index of the next selected column for each position in the row
+        int[] nextCellIndexes = new int[last + 1];
+        for(int cellIndex = 0, i = 0; cellIndex <= last; cellIndex++) {
+            if (mappedColumns[i] < cellIndex) {
+                i++;
+            }
+            nextCellIndexes[cellIndex] = mappedColumns[i];
+        }
+        return new CsvMapperImpl<T>(csvMapperCellHandlerFactory, delayedCellSetterFactories, setters, joinKeys, rowHandlerErrorHandlers, nextCellIndexes);
+    }
+
     private boolean hasDelayedMarker(DelayedCellSetterFactory<T, ?>[] delayedCellSetterFactories) {
         for(DelayedCellSetterFactory<T, ?> setter : delayedCellSetterFactories) {
             if (setter instanceof DelegateMarkerDelayedCellSetterFactory) {
@@ -96,6 +173,21 @@ public final class CsvMapperImpl<T> implements CsvMapper<T> {
 		return handle;
 	}
 
+	@Override
+	public final <H extends RowHandler<? super T>> H forEachParallel(Reader reader, H handle, Executor executor, int workers, boolean ordered) throws IOException, MappingException {
+		return forEachParallel(CsvParser.reader(reader), handle, executor, workers, ordered);
+	}
+
+	@Override
+	public <H extends RowHandler<? super T>> H forEachParallel(CsvReader reader, H handle, Executor executor, int workers, boolean ordered) throws IOException, MappingException {
+		if (joinKeys.length > 0) {
+			// the rows of an object can span over 2 batches
+			return forEach(reader, handle);
+		}
+		new ParallelCsvMapperRunner<T>(this, rowHandlerErrorHandlers, executor, workers, ordered).forEach(reader, handle);
+		return handle;
+	}
+
 	@Override
 	public Iterator<T> iterator(Reader reader) throws IOException {
 		return iterator(CsvParser.reader(reader));
@@ -119,7 +211,7 @@ public final class CsvMapperImpl<T> implements CsvMapper<T> {
 
 	@Override
 	public Stream<T> stream(CsvReader csvReader) {
-		return StreamSupport.stream(new CsvSpliterator(csvReader), false);
+		return StreamSupport.stream(new CsvSpliterator(csvReader), false).onClose(csvReader::release);
 	}
 
 	@Override
@@ -131,6 +223,7 @@ public final class CsvMapperImpl<T> implements CsvMapper<T> {
 		private final CsvReader csvReader;
 		private final CellConsumer cellConsumer;
 		private T current;
+		private boolean ended;
 
 		public CsvSpliterator(CsvReader csvReader) {
 			this.csvReader = csvReader;
@@ -146,7 +239,11 @@ public final class CsvMapperImpl<T> implements CsvMapper<T> {
 		public boolean tryAdvance(Consumer<? super T> action) {
 			current = null;
 			try {
-				csvReader.parseRow(cellConsumer);
+				// give back the pooled buffer once the content is consumed
+				if (!ended && !csvReader.parseRow(cellConsumer)) {
+					ended = true;
+					csvReader.release();
+				}
 			} catch (IOException e) {
                 return ErrorHelper.rethrow(e);
 			}
@@ -167,6 +264,7 @@ public final class CsvMapperImpl<T> implements CsvMapper<T> {
 						action.accept(t);
                     }
                 }));
+				csvReader.release();
 			} catch (IOException e) {
                 ErrorHelper.rethrow(e);
 			}
@@ -190,7 +288,8 @@ public final class CsvMapperImpl<T> implements CsvMapper<T> {
 
 	//IFJAVA8_END
 
-    protected CsvMapperCellConsumer newCellConsumer(final RowHandler<? super T> handler) {
+    @Override
+    public CsvMapperCellConsumer<T> newCellConsumer(final RowHandler<? super T> handler) {
         return newCellConsumer(handler, null);
     }
 
@@ -210,7 +309,7 @@ public final class CsvMapperImpl<T> implements CsvMapper<T> {
         return new CsvMapperCellConsumer<T>(mapperSetters,
                 rowHandlerErrorHandlers,
                 handler,
-                breakDetector, toList(cellHandlers));
+                breakDetector, toList(cellHandlers), utf8Setters, projectedCellIndexes);
 	}
 
     @SuppressWarnings("unchecked")
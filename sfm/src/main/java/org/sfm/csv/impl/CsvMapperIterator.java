@@ -13,6 +13,7 @@ public class CsvMapperIterator<T> implements Iterator<T> {
 	
 	private T currentValue;
 	private boolean isFetched;
+	private boolean ended;
 	
 	private final CsvReader reader;
 	private final CellConsumer cellConsumer;
@@ -37,7 +38,11 @@ public class CsvMapperIterator<T> implements Iterator<T> {
 		if (isFetched) return;
 		try {
 			currentValue = null;
-			reader.parseRow(cellConsumer);
+			// give back the pooled buffer once the content is consumed
+			if (!ended && !reader.parseRow(cellConsumer)) {
+				ended = true;
+				reader.release();
+			}
 			isFetched = true;
 		} catch (IOException e) {
             ErrorHelper.rethrow(e);
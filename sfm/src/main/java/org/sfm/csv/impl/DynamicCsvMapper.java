@@ -14,6 +14,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.lang.reflect.Type;
 import java.util.Iterator;
+import java.util.concurrent.Executor;
 
 //IFJAVA8_START
 import java.util.stream.Stream;
@@ -83,6 +84,16 @@ public final class DynamicCsvMapper<T> implements CsvMapper<T> {
 		return forEach(CsvParser.skip(skip).reader(reader), handle, limit);
 	}
 
+	@Override
+	public <H extends RowHandler<? super T>> H forEachParallel(Reader reader, H handle, Executor executor, int workers, boolean ordered) throws IOException, MappingException {
+		return forEachParallel(CsvParser.reader(reader), handle, executor, workers, ordered);
+	}
+
+	@Override
+	public <H extends RowHandler<? super T>> H forEachParallel(CsvReader csvReader, H handle, Executor executor, int workers, boolean ordered) throws IOException, MappingException {
+		return getDelegateMapper(csvReader).forEachParallel(csvReader, handle, executor, workers, ordered);
+	}
+
 	@Override
     public Iterator<T> iterator(Reader reader) throws IOException {
 		CsvReader csvReader = CsvParser.reader(reader);
@@ -101,7 +112,13 @@ public final class DynamicCsvMapper<T> implements CsvMapper<T> {
 	}
 
 
-	private CsvMapperImpl<T> getDelegateMapper(CsvReader reader) throws IOException {
+	/**
+	 * read the header row from the reader.
+	 * @param reader the reader positioned on the header row
+	 * @return the mapper for the columns of the header
+	 * @throws IOException if an io error occurs
+	 */
+	public CsvMapperImpl<T> getDelegateMapper(CsvReader reader) throws IOException {
 		ColumnsMapperKeyBuilderCellConsumer keyBuilderCellConsumer = new ColumnsMapperKeyBuilderCellConsumer();
 		reader.parseRow(keyBuilderCellConsumer);
 		return getCsvMapper(keyBuilderCellConsumer.getKey());
@@ -128,6 +145,55 @@ public final class DynamicCsvMapper<T> implements CsvMapper<T> {
 
 	//IFJAVA8_END
 
+	@Override
+	public CellConsumer newCellConsumer(RowHandler<? super T> handler) {
+		return new HeaderResolvingCellConsumer(handler);
+	}
+
+	/**
+	 * build the key from the cells of the first row, then delegates to the cell consumer of the mapper of that key.
+	 */
+	private final class HeaderResolvingCellConsumer implements CellConsumer {
+		private final RowHandler<? super T> handler;
+		private ColumnsMapperKeyBuilderCellConsumer keyBuilderCellConsumer = new ColumnsMapperKeyBuilderCellConsumer();
+		private CellConsumer delegate;
+
+		private HeaderResolvingCellConsumer(RowHandler<? super T> handler) {
+			this.handler = handler;
+		}
+
+		@Override
+		public void newCell(char[] chars, int offset, int length) {
+			if (delegate != null) {
+				delegate.newCell(chars, offset, length);
+			} else {
+				keyBuilderCellConsumer.newCell(chars, offset, length);
+			}
+		}
+
+		@Override
+		public void endOfRow() {
+			if (delegate != null) {
+				delegate.endOfRow();
+			} else {
+				resolveDelegate();
+			}
+		}
+
+		@Override
+		public void end() {
+			if (delegate == null) {
+				resolveDelegate();
+			}
+			delegate.end();
+		}
+
+		private void resolveDelegate() {
+			delegate = getCsvMapper(keyBuilderCellConsumer.getKey()).newCellConsumer(handler);
+			keyBuilderCellConsumer = null;
+		}
+	}
+
 	protected CsvMapperImpl<T> getCsvMapper(MapperKey<CsvColumnKey> key) {
 		CsvMapperImpl<T> csvMapperImpl = mapperCache.get(key);
 		if (csvMapperImpl == null) {
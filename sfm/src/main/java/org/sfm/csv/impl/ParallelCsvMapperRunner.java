@@ -0,0 +1,305 @@
+package org.sfm.csv.impl;
+
+import org.sfm.csv.CsvReader;
+import org.sfm.csv.parser.CellConsumer;
+import org.sfm.map.RowHandlerErrorHandler;
+import org.sfm.utils.ErrorHelper;
+import org.sfm.utils.RowHandler;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Parse the csv on the calling thread and map the rows on the executor.
+ * <p>
+ * The calling thread copies the cells of consecutive rows into a batch and submits a task per batch,
+ * the task replays the cells on a cell consumer of the mapper owned by the task while it runs.
+ * At most workers batches are mapped at the same time.
+ * <p>
+ * In ordered mode the mapped objects are passed to the handler on the calling thread in the order of the rows,
+ * otherwise they are passed on the worker threads as soon as they are mapped, one call at a time.
+ * <p>
+ * On failure the batches in flight are cancelled and waited for before the error is rethrown,
+ * so the handler is not called once forEach has returned.
+ */
+final class ParallelCsvMapperRunner<T> {
+
+    static final int BATCH_ROWS = 1024;
+    static final int BATCH_CHARS = 1 << 16;
+
+    private final CsvMapperImpl<T> mapper;
+    private final RowHandlerErrorHandler rowHandlerErrorHandler;
+    private final Executor executor;
+    private final int workers;
+    private final boolean ordered;
+
+    private final Semaphore running;
+    private final Queue<BatchMapper> batchMappers = new ConcurrentLinkedQueue<BatchMapper>();
+    private final ArrayDeque<Batch<T>> inFlight = new ArrayDeque<Batch<T>>();
+    private volatile boolean cancelled;
+
+    ParallelCsvMapperRunner(CsvMapperImpl<T> mapper, RowHandlerErrorHandler rowHandlerErrorHandler, Executor executor, int workers, boolean ordered) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be at least 1, was " + workers);
+        }
+        this.mapper = mapper;
+        this.rowHandlerErrorHandler = rowHandlerErrorHandler;
+        this.executor = executor;
+        this.workers = workers;
+        this.ordered = ordered;
+        this.running = new Semaphore(workers);
+    }
+
+    void forEach(CsvReader csvReader, RowHandler<? super T> handler) throws IOException {
+        RowHandler<? super T> workerHandler = ordered ? null : new SynchronizedRowHandler<T>(handler);
+        boolean completed = false;
+        try {
+            BatchCellConsumer batchCellConsumer = new BatchCellConsumer(handler, workerHandler);
+            csvReader.parseAll(batchCellConsumer);
+            batchCellConsumer.submit();
+            while (!inFlight.isEmpty()) {
+                complete(inFlight.poll(), handler);
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                cancel();
+            }
+        }
+    }
+
+    /**
+     * skip the batches not started yet, drop the results of the running ones and wait for them to end.
+     * An interrupt stops the wait.
+     */
+    private void cancel() {
+        cancelled = true;
+        try {
+            for (Batch<T> batch : inFlight) {
+                batch.done.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        inFlight.clear();
+    }
+
+    private void submit(Batch<T> batch, RowHandler<? super T> handler, RowHandler<? super T> workerHandler) {
+        // keep the mapped batches waiting for delivery bounded
+        while (inFlight.size() >= 2 * workers) {
+            complete(inFlight.poll(), handler);
+        }
+        try {
+            running.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ErrorHelper.rethrow(e);
+        }
+        inFlight.add(batch);
+        try {
+            executor.execute(new MapBatchTask(batch, workerHandler));
+        } catch (RuntimeException e) {
+            running.release();
+            inFlight.removeLast();
+            throw e;
+        }
+    }
+
+    private void complete(Batch<T> batch, RowHandler<? super T> handler) {
+        try {
+            batch.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ErrorHelper.rethrow(e);
+        }
+        if (batch.error != null) {
+            ErrorHelper.rethrow(batch.error);
+        }
+        if (ordered) {
+            callHandler(handler, batch.results);
+        }
+    }
+
+    private void callHandler(RowHandler<? super T> handler, List<T> results) {
+        for (T t : results) {
+            try {
+                handler.handle(t);
+            } catch (Exception e) {
+                rowHandlerErrorHandler.handlerError(e, t);
+            }
+        }
+    }
+
+    private static final class Batch<T> {
+        private char[] chars = new char[1024];
+        private int[] cells = new int[256];
+        private int[] rowEnds = new int[BATCH_ROWS];
+        private int nbChars;
+        private int nbCells;
+        private int nbRows;
+
+        private final List<T> results = new ArrayList<T>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Throwable error;
+
+        void addCell(char[] chars, int offset, int length) {
+            if (nbChars + length > this.chars.length) {
+                this.chars = Arrays.copyOf(this.chars, Math.max(this.chars.length * 2, nbChars + length));
+            }
+            System.arraycopy(chars, offset, this.chars, nbChars, length);
+            if (2 * nbCells + 2 > cells.length) {
+                cells = Arrays.copyOf(cells, cells.length * 2);
+            }
+            cells[2 * nbCells] = nbChars;
+            cells[2 * nbCells + 1] = length;
+            nbChars += length;
+            nbCells++;
+        }
+
+        void endOfRow() {
+            if (nbRows == rowEnds.length) {
+                rowEnds = Arrays.copyOf(rowEnds, rowEnds.length * 2);
+            }
+            rowEnds[nbRows++] = nbCells;
+        }
+
+        boolean hasPendingCells() {
+            return nbCells > (nbRows > 0 ? rowEnds[nbRows - 1] : 0);
+        }
+
+        boolean isFull() {
+            return nbRows >= BATCH_ROWS || nbChars >= BATCH_CHARS;
+        }
+
+        boolean isEmpty() {
+            return nbRows == 0;
+        }
+
+        void replay(CellConsumer cellConsumer) {
+            int cell = 0;
+            for (int row = 0; row < nbRows; row++) {
+                int rowEnd = rowEnds[row];
+                for (; cell < rowEnd; cell++) {
+                    cellConsumer.newCell(chars, cells[2 * cell], cells[2 * cell + 1]);
+                }
+                cellConsumer.endOfRow();
+            }
+        }
+    }
+
+    /**
+     * copy the cells of the parsed rows into the current batch.
+     */
+    private final class BatchCellConsumer implements CellConsumer {
+        private final RowHandler<? super T> handler;
+        private final RowHandler<? super T> workerHandler;
+        private Batch<T> batch = new Batch<T>();
+
+        private BatchCellConsumer(RowHandler<? super T> handler, RowHandler<? super T> workerHandler) {
+            this.handler = handler;
+            this.workerHandler = workerHandler;
+        }
+
+        @Override
+        public void newCell(char[] chars, int offset, int length) {
+            batch.addCell(chars, offset, length);
+        }
+
+        @Override
+        public void endOfRow() {
+            batch.endOfRow();
+            if (batch.isFull()) {
+                submit();
+            }
+        }
+
+        @Override
+        public void end() {
+            if (batch.hasPendingCells()) {
+                batch.endOfRow();
+            }
+        }
+
+        void submit() {
+            if (!batch.isEmpty()) {
+                ParallelCsvMapperRunner.this.submit(batch, handler, workerHandler);
+                batch = new Batch<T>();
+            }
+        }
+    }
+
+    /**
+     * a cell consumer of the mapper and the list its objects are added to, used by one task at a time.
+     */
+    private final class BatchMapper implements RowHandler<T> {
+        private final CellConsumer cellConsumer = mapper.newCellConsumer(this);
+        private List<T> results;
+
+        @Override
+        public void handle(T t) throws Exception {
+            results.add(t);
+        }
+    }
+
+    private final class MapBatchTask implements Runnable {
+        private final Batch<T> batch;
+        private final RowHandler<? super T> workerHandler;
+
+        private MapBatchTask(Batch<T> batch, RowHandler<? super T> workerHandler) {
+            this.batch = batch;
+            this.workerHandler = workerHandler;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (!cancelled) {
+                    mapBatch();
+                }
+            } catch (Throwable e) {
+                batch.error = e;
+            } finally {
+                running.release();
+                batch.done.countDown();
+            }
+        }
+
+        private void mapBatch() {
+            BatchMapper batchMapper = batchMappers.poll();
+            if (batchMapper == null) {
+                batchMapper = new BatchMapper();
+            }
+            batchMapper.results = batch.results;
+            // a failing batch leaves the consumer in an unknown state, it is not reused
+            batch.replay(batchMapper.cellConsumer);
+            batchMapper.results = null;
+            batchMappers.offer(batchMapper);
+
+            if (workerHandler != null && !cancelled) {
+                callHandler(workerHandler, batch.results);
+                batch.results.clear();
+            }
+        }
+    }
+
+    private static final class SynchronizedRowHandler<T> implements RowHandler<T> {
+        private final RowHandler<? super T> handler;
+
+        private SynchronizedRowHandler(RowHandler<? super T> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public synchronized void handle(T t) throws Exception {
+            handler.handle(t);
+        }
+    }
+}
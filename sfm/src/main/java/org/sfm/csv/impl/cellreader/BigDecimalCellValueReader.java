@@ -0,0 +1,96 @@
+package org.sfm.csv.impl.cellreader;
+
+import org.sfm.csv.CellValueReader;
+import org.sfm.csv.ParsingContext;
+
+import java.math.BigDecimal;
+
+public final class BigDecimalCellValueReader implements CellValueReader<BigDecimal> {
+
+	private static final int MAX_LONG_DIGITS = 18;
+	private static final int MAX_EXPONENT_DIGITS = 9;
+
+	@Override
+	public BigDecimal read(char[] chars, int offset, int length, ParsingContext parsingContext) {
+		if (length == 0) return null;
+		return parseBigDecimal(chars, offset, length);
+	}
+
+	/**
+	 * build the BigDecimal from the unscaled long when the digits fit in a long,
+	 * same result as new BigDecimal(String) otherwise.
+	 */
+	public static BigDecimal parseBigDecimal(char[] chars, int offset, int length) {
+		int end = offset + length;
+		int i = offset;
+		boolean negative = false;
+		if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+			negative = chars[i] == '-';
+			i++;
+		}
+
+		long unscaled = 0;
+		int nbSignificantDigits = 0;
+		int nbDigits = 0;
+		int scale = 0;
+		boolean dot = false;
+		for(; i < end; i++) {
+			char c = chars[i];
+			if (c >= '0' && c <= '9') {
+				nbDigits++;
+				if (unscaled != 0 || c != '0') {
+					if (++nbSignificantDigits > MAX_LONG_DIGITS) {
+						return fallback(chars, offset, length);
+					}
+					unscaled = unscaled * 10 + (c - '0');
+				}
+				if (dot) {
+					scale++;
+				}
+			} else if (c == '.' && !dot) {
+				dot = true;
+			} else {
+				break;
+			}
+		}
+		if (nbDigits == 0) {
+			return fallback(chars, offset, length);
+		}
+
+		if (i < end) {
+			char c = chars[i];
+			if (c != 'e' && c != 'E') {
+				return fallback(chars, offset, length);
+			}
+			i++;
+			boolean negativeExponent = false;
+			if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+				negativeExponent = chars[i] == '-';
+				i++;
+			}
+			if (i == end || end - i > MAX_EXPONENT_DIGITS) {
+				return fallback(chars, offset, length);
+			}
+			int exponent = 0;
+			for(; i < end; i++) {
+				c = chars[i];
+				if (c < '0' || c > '9') {
+					return fallback(chars, offset, length);
+				}
+				exponent = exponent * 10 + (c - '0');
+			}
+			scale += negativeExponent ? exponent : -exponent;
+		}
+
+		return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+	}
+
+	private static BigDecimal fallback(char[] chars, int offset, int length) {
+		return new BigDecimal(chars, offset, length);
+	}
+
+    @Override
+    public String toString() {
+        return "BigDecimalCellValueReader{}";
+    }
+}
@@ -0,0 +1,59 @@
+package org.sfm.csv.impl.cellreader;
+
+import org.sfm.csv.CellValueReader;
+import org.sfm.csv.ParsingContext;
+
+import java.math.BigInteger;
+
+public final class BigIntegerCellValueReader implements CellValueReader<BigInteger> {
+
+	private static final int MAX_LONG_DIGITS = 18;
+
+	@Override
+	public BigInteger read(char[] chars, int offset, int length, ParsingContext parsingContext) {
+		if (length == 0) return null;
+		return parseBigInteger(chars, offset, length);
+	}
+
+	/**
+	 * use BigInteger.valueOf when the digits fit in a long,
+	 * same result as new BigInteger(String) otherwise.
+	 */
+	public static BigInteger parseBigInteger(char[] chars, int offset, int length) {
+		int end = offset + length;
+		int i = offset;
+		boolean negative = false;
+		if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+			negative = chars[i] == '-';
+			i++;
+		}
+		if (i == end) {
+			return fallback(chars, offset, length);
+		}
+
+		long value = 0;
+		int nbSignificantDigits = 0;
+		for(; i < end; i++) {
+			char c = chars[i];
+			if (c < '0' || c > '9') {
+				return fallback(chars, offset, length);
+			}
+			if (value != 0 || c != '0') {
+				if (++nbSignificantDigits > MAX_LONG_DIGITS) {
+					return fallback(chars, offset, length);
+				}
+				value = value * 10 + (c - '0');
+			}
+		}
+		return BigInteger.valueOf(negative ? -value : value);
+	}
+
+	private static BigInteger fallback(char[] chars, int offset, int length) {
+		return new BigInteger(StringCellValueReader.readString(chars, offset, length));
+	}
+
+    @Override
+    public String toString() {
+        return "BigIntegerCellValueReader{}";
+    }
+}
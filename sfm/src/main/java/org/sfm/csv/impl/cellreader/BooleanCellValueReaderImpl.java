@@ -36,6 +36,7 @@ public final class BooleanCellValueReaderImpl implements BooleanCellValueReader
 				&& (chars[offset + 1] == 'O' || chars[offset + 1] == 'o')) {
 				return false;
 			}
+			return true;
 		case 5:
 			if (
 				(chars[offset] == 'F' || chars[offset] == 'f')
@@ -3,17 +3,21 @@ package org.sfm.csv.impl.cellreader;
 import org.sfm.csv.CellValueReader;
 import org.sfm.csv.mapper.CellSetter;
 import org.sfm.csv.ParsingContext;
+import org.sfm.csv.mapper.Utf8CellSetter;
 import org.sfm.reflect.Setter;
 
-public final class CellSetterImpl<T, P> implements CellSetter<T> {
+public final class CellSetterImpl<T, P> implements CellSetter<T>, Utf8CellSetter<T> {
 
 	private final CellValueReader<? extends P> reader;
 	private final Setter<T, ? super P> setter;
+	private final Utf8CellValueReader<? extends P> utf8Reader;
 
+	@SuppressWarnings("unchecked")
 	public CellSetterImpl(CellValueReader<? extends P> reader,
 			Setter<T, ? super P> setter) {
 		this.reader = reader;
 		this.setter = setter;
+		this.utf8Reader = reader instanceof Utf8CellValueReader ? (Utf8CellValueReader<? extends P>) reader : null;
 	}
 
 	@Override
@@ -22,6 +26,23 @@ public final class CellSetterImpl<T, P> implements CellSetter<T> {
         setter.set(target, value);
 	}
 
+	@Override
+	public void set(T target, byte[] bytes, int offset, int length, ParsingContext parsingContext) throws Exception {
+		final P value;
+		if (utf8Reader != null) {
+			value = utf8Reader.read(bytes, offset, length, parsingContext);
+		} else {
+			char[] chars = new String(bytes, offset, length, "UTF-8").toCharArray();
+			value = reader.read(chars, 0, chars.length, parsingContext);
+		}
+		setter.set(target, value);
+	}
+
+	@Override
+	public boolean readsUtf8() {
+		return utf8Reader != null;
+	}
+
     @Override
     public String toString() {
         return "CellSetterImpl{" +
@@ -5,37 +5,86 @@ import org.sfm.csv.ParsingContext;
 import org.sfm.csv.impl.ParsingException;
 import org.sfm.map.ParsingContextProvider;
 
+import java.nio.charset.Charset;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
 
 import static org.sfm.utils.Asserts.requireNonNull;
 
-public class DateCellValueReader implements CellValueReader<Date>, ParsingContextProvider {
+public class DateCellValueReader implements CellValueReader<Date>, Utf8CellValueReader<Date>, ParsingContextProvider {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
 	
 	private final int index;
     private final SimpleDateFormat sdf;
+    private final DatePatternParser datePatternParser;
+
 	public DateCellValueReader(int index, String pattern, TimeZone timeZone) {
         this.index = index;
         this.sdf =  new SimpleDateFormat(pattern);
         this.sdf.setTimeZone(requireNonNull("timeZone", timeZone));
+        this.datePatternParser = DatePatternParser.compile(pattern);
 	}
 	
 	@Override
 	public Date read(char[] chars, int offset, int length, ParsingContext parsingContext) {
 		if (length == 0) return null;
 
+		DateFormat df = (DateFormat) parsingContext.getContext(index);
+		if (datePatternParser != null) {
+			long value = datePatternParser.parse(chars, offset, length);
+			if (value != DatePatternParser.NO_MATCH) {
+				return toDate(value, df.getCalendar());
+			}
+		}
+
 		String str = StringCellValueReader.readString(chars, offset, length);
 		try {
-			DateFormat df = (DateFormat) parsingContext.getContext(index);
 			return df.parse(str);
 		} catch (ParseException e) {
 			throw new ParsingException(e.getMessage());
 		}
 	}
 
+	@Override
+	public Date read(byte[] bytes, int offset, int length, ParsingContext parsingContext) {
+		if (length == 0) return null;
+
+		DateFormat df = (DateFormat) parsingContext.getContext(index);
+		if (datePatternParser != null) {
+			long value = datePatternParser.parse(bytes, offset, length);
+			if (value != DatePatternParser.NO_MATCH) {
+				return toDate(value, df.getCalendar());
+			}
+		}
+
+		String str = new String(bytes, offset, length, UTF8);
+		try {
+			return df.parse(str);
+		} catch (ParseException e) {
+			throw new ParsingException(e.getMessage());
+		}
+	}
+
+	/**
+	 * resolve the fields with the calendar of the format, as the format would do.
+	 */
+	private Date toDate(long value, Calendar calendar) {
+		calendar.clear();
+		calendar.set(DatePatternParser.year(value), DatePatternParser.month(value) - 1, DatePatternParser.day(value),
+				DatePatternParser.hour(value), DatePatternParser.minute(value), DatePatternParser.second(value));
+		calendar.set(Calendar.MILLISECOND, DatePatternParser.millis(value));
+		if (datePatternParser.hasOffset()) {
+			calendar.set(Calendar.ZONE_OFFSET, DatePatternParser.offsetSeconds(value) * 1000);
+			calendar.set(Calendar.DST_OFFSET, 0);
+		}
+		return calendar.getTime();
+	}
+
     @Override
     public Object newContext() {
         return sdf.clone();
@@ -0,0 +1,373 @@
+package org.sfm.csv.impl.cellreader;
+
+import java.util.Arrays;
+
+/**
+ * Parser compiled from a fixed width date pattern, reading the fields straight from the char range or from the utf-8 bytes.
+ * <p>
+ * The supported pattern letters are yyyy, MM, dd, HH, mm, ss, SSS and XXX, the other chars being literals,
+ * quoted with ' when they are letters, e.g. yyyy-MM-dd'T'HH:mm:ss.SSSXXX.
+ * The same letters have the same meaning for SimpleDateFormat and DateTimeFormatter.
+ * <p>
+ * The parser only accepts the exact fixed width form with valid field values, it returns {@link #NO_MATCH}
+ * for any other content so that the caller can fall back to the formatter of the pattern.
+ * The parsed fields are packed in the returned long to avoid any allocation.
+ */
+public final class DatePatternParser {
+
+	public static final long NO_MATCH = -1;
+
+	private static final int YEAR = 0;
+	private static final int MONTH = 1;
+	private static final int DAY = 2;
+	private static final int HOUR = 3;
+	private static final int MINUTE = 4;
+	private static final int SECOND = 5;
+	private static final int MILLIS = 6;
+	private static final int OFFSET = 7;
+	private static final int LITERAL = 8;
+
+	private static final int[] FIELD_WIDTHS = { 4, 2, 2, 2, 2, 2, 3 };
+	private static final char[] FIELD_LETTERS = { 'y', 'M', 'd', 'H', 'm', 's', 'S', 'X' };
+
+	// bit layout of the packed value
+	private static final int MILLIS_SHIFT = 0;
+	private static final int SECOND_SHIFT = 10;
+	private static final int MINUTE_SHIFT = 16;
+	private static final int HOUR_SHIFT = 22;
+	private static final int DAY_SHIFT = 27;
+	private static final int MONTH_SHIFT = 32;
+	private static final int YEAR_SHIFT = 36;
+	private static final int OFFSET_SHIFT = 50;
+	private static final int OFFSET_BIAS = 2048;
+	private static final int MAX_OFFSET_MINUTES = 18 * 60;
+
+	private static final int[] DAYS_BEFORE_MONTH = { 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334 };
+
+	private final int[] steps;
+	private final char[] literals;
+	private final int fields;
+
+	private DatePatternParser(int[] steps, char[] literals, int fields) {
+		this.steps = steps;
+		this.literals = literals;
+		this.fields = fields;
+	}
+
+	/**
+	 * @param pattern the date pattern
+	 * @return the parser, null if the pattern is not supported
+	 */
+	public static DatePatternParser compile(String pattern) {
+		if (pattern == null || pattern.length() == 0) {
+			return null;
+		}
+		int[] steps = new int[pattern.length()];
+		char[] literals = new char[pattern.length()];
+		int nbSteps = 0;
+		int fields = 0;
+		int i = 0;
+		while(i < pattern.length()) {
+			char c = pattern.charAt(i);
+			if (c == '\'') {
+				int endQuote = pattern.indexOf('\'', i + 1);
+				if (endQuote <= i + 1) {
+					// unterminated or escaped quote
+					return null;
+				}
+				for(int j = i + 1; j < endQuote; j++) {
+					steps[nbSteps] = LITERAL;
+					literals[nbSteps] = pattern.charAt(j);
+					nbSteps++;
+				}
+				i = endQuote + 1;
+			} else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+				int field = fieldOf(c);
+				int end = i;
+				while(end < pattern.length() && pattern.charAt(end) == c) {
+					end++;
+				}
+				int width = field == OFFSET ? 3 : field >= 0 ? FIELD_WIDTHS[field] : -1;
+				if (field < 0 || end - i != width || (fields & (1 << field)) != 0) {
+					return null;
+				}
+				fields |= 1 << field;
+				steps[nbSteps++] = field;
+				i = end;
+			} else {
+				steps[nbSteps] = LITERAL;
+				literals[nbSteps] = c;
+				nbSteps++;
+				i++;
+			}
+		}
+		return new DatePatternParser(Arrays.copyOf(steps, nbSteps), Arrays.copyOf(literals, nbSteps), fields);
+	}
+
+	private static int fieldOf(char c) {
+		for(int i = 0; i < FIELD_LETTERS.length; i++) {
+			if (FIELD_LETTERS[i] == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public boolean hasDate() {
+		return hasField(YEAR) && hasField(MONTH) && hasField(DAY);
+	}
+
+	/**
+	 * @return true if the pattern has the hours and the minutes, and the seconds if it has the millis
+	 */
+	public boolean hasTime() {
+		return hasField(HOUR) && hasField(MINUTE) && (hasField(SECOND) || !hasField(MILLIS));
+	}
+
+	public boolean hasOffset() {
+		return hasField(OFFSET);
+	}
+
+	private boolean hasField(int field) {
+		return (fields & (1 << field)) != 0;
+	}
+
+	/**
+	 * @return the packed fields, NO_MATCH if the content does not match the pattern or a field is out of range.
+	 * The fields missing from the pattern are the ones of 1970-01-01T00:00:00.000Z.
+	 */
+	public long parse(char[] chars, int offset, int length) {
+		int end = offset + length;
+		int index = offset;
+		int year = 1970;
+		int month = 1;
+		int day = 1;
+		int hour = 0;
+		int minute = 0;
+		int second = 0;
+		int millis = 0;
+		int offsetMinutes = 0;
+		for(int i = 0; i < steps.length; i++) {
+			int step = steps[i];
+			if (step == LITERAL) {
+				if (index >= end || chars[index] != literals[i]) {
+					return NO_MATCH;
+				}
+				index++;
+			} else if (step == OFFSET) {
+				if (index >= end) {
+					return NO_MATCH;
+				}
+				char sign = chars[index];
+				if (sign == 'Z') {
+					index++;
+				} else if ((sign == '+' || sign == '-') && index + 6 <= end && chars[index + 3] == ':') {
+					int offsetHours = digits(chars, index + 1, 2);
+					int offsetMins = digits(chars, index + 4, 2);
+					offsetMinutes = offsetHours * 60 + offsetMins;
+					if (offsetHours < 0 || offsetMins < 0 || offsetMins > 59 || offsetMinutes > MAX_OFFSET_MINUTES) {
+						return NO_MATCH;
+					}
+					if (sign == '-') {
+						offsetMinutes = -offsetMinutes;
+					}
+					index += 6;
+				} else {
+					return NO_MATCH;
+				}
+			} else {
+				int width = FIELD_WIDTHS[step];
+				if (index + width > end) {
+					return NO_MATCH;
+				}
+				int value = digits(chars, index, width);
+				index += width;
+				switch (step) {
+					case YEAR: year = value; break;
+					case MONTH: month = value; break;
+					case DAY: day = value; break;
+					case HOUR: hour = value; break;
+					case MINUTE: minute = value; break;
+					case SECOND: second = value; break;
+					default: millis = value;
+				}
+			}
+		}
+		return index != end ? NO_MATCH : pack(year, month, day, hour, minute, second, millis, offsetMinutes);
+	}
+
+	/**
+	 * same as {@link #parse(char[], int, int)} on the utf-8 bytes of the content.
+	 */
+	public long parse(byte[] bytes, int offset, int length) {
+		int end = offset + length;
+		int index = offset;
+		int year = 1970;
+		int month = 1;
+		int day = 1;
+		int hour = 0;
+		int minute = 0;
+		int second = 0;
+		int millis = 0;
+		int offsetMinutes = 0;
+		for(int i = 0; i < steps.length; i++) {
+			int step = steps[i];
+			if (step == LITERAL) {
+				if (index >= end || bytes[index] != literals[i]) {
+					return NO_MATCH;
+				}
+				index++;
+			} else if (step == OFFSET) {
+				if (index >= end) {
+					return NO_MATCH;
+				}
+				int sign = bytes[index];
+				if (sign == 'Z') {
+					index++;
+				} else if ((sign == '+' || sign == '-') && index + 6 <= end && bytes[index + 3] == ':') {
+					int offsetHours = digits(bytes, index + 1, 2);
+					int offsetMins = digits(bytes, index + 4, 2);
+					offsetMinutes = offsetHours * 60 + offsetMins;
+					if (offsetHours < 0 || offsetMins < 0 || offsetMins > 59 || offsetMinutes > MAX_OFFSET_MINUTES) {
+						return NO_MATCH;
+					}
+					if (sign == '-') {
+						offsetMinutes = -offsetMinutes;
+					}
+					index += 6;
+				} else {
+					return NO_MATCH;
+				}
+			} else {
+				int width = FIELD_WIDTHS[step];
+				if (index + width > end) {
+					return NO_MATCH;
+				}
+				int value = digits(bytes, index, width);
+				index += width;
+				switch (step) {
+					case YEAR: year = value; break;
+					case MONTH: month = value; break;
+					case DAY: day = value; break;
+					case HOUR: hour = value; break;
+					case MINUTE: minute = value; break;
+					case SECOND: second = value; break;
+					default: millis = value;
+				}
+			}
+		}
+		return index != end ? NO_MATCH : pack(year, month, day, hour, minute, second, millis, offsetMinutes);
+	}
+
+	private static long pack(int year, int month, int day, int hour, int minute, int second, int millis, int offsetMinutes) {
+		if (year < 1
+				|| month < 1 || month > 12
+				|| day < 1 || day > daysInMonth(year, month)
+				|| hour < 0 || hour > 23
+				|| minute < 0 || minute > 59
+				|| second < 0 || second > 59
+				|| millis < 0) {
+			return NO_MATCH;
+		}
+		return ((long) (offsetMinutes + OFFSET_BIAS) << OFFSET_SHIFT)
+				| ((long) year << YEAR_SHIFT)
+				| ((long) month << MONTH_SHIFT)
+				| ((long) day << DAY_SHIFT)
+				| ((long) hour << HOUR_SHIFT)
+				| ((long) minute << MINUTE_SHIFT)
+				| ((long) second << SECOND_SHIFT)
+				| ((long) millis << MILLIS_SHIFT);
+	}
+
+	/**
+	 * @return the value of the width digits, -1 if a char is not a digit
+	 */
+	private static int digits(char[] chars, int offset, int width) {
+		int value = 0;
+		for(int i = offset; i < offset + width; i++) {
+			int digit = chars[i] - '0';
+			if (digit < 0 || digit > 9) {
+				return -1;
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	private static int digits(byte[] bytes, int offset, int width) {
+		int value = 0;
+		for(int i = offset; i < offset + width; i++) {
+			int digit = bytes[i] - '0';
+			if (digit < 0 || digit > 9) {
+				return -1;
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	private static boolean isLeapYear(int year) {
+		return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+	}
+
+	private static int daysInMonth(int year, int month) {
+		switch (month) {
+			case 2: return isLeapYear(year) ? 29 : 28;
+			case 4: case 6: case 9: case 11: return 30;
+			default: return 31;
+		}
+	}
+
+	public static int year(long value) {
+		return (int) (value >>> YEAR_SHIFT) & 0x3fff;
+	}
+
+	public static int month(long value) {
+		return (int) (value >>> MONTH_SHIFT) & 0xf;
+	}
+
+	public static int day(long value) {
+		return (int) (value >>> DAY_SHIFT) & 0x1f;
+	}
+
+	public static int hour(long value) {
+		return (int) (value >>> HOUR_SHIFT) & 0x1f;
+	}
+
+	public static int minute(long value) {
+		return (int) (value >>> MINUTE_SHIFT) & 0x3f;
+	}
+
+	public static int second(long value) {
+		return (int) (value >>> SECOND_SHIFT) & 0x3f;
+	}
+
+	public static int millis(long value) {
+		return (int) (value >>> MILLIS_SHIFT) & 0x3ff;
+	}
+
+	public static int offsetSeconds(long value) {
+		return (((int) (value >>> OFFSET_SHIFT) & 0xfff) - OFFSET_BIAS) * 60;
+	}
+
+	/**
+	 * @return the number of days from 1970-01-01 in the proleptic gregorian calendar
+	 */
+	public static long epochDay(long value) {
+		int year = year(value);
+		int month = month(value);
+		long yearsBefore = year - 1;
+		long days = 365 * yearsBefore + yearsBefore / 4 - yearsBefore / 100 + yearsBefore / 400
+				+ DAYS_BEFORE_MONTH[month - 1] + (month > 2 && isLeapYear(year) ? 1 : 0)
+				+ day(value) - 1;
+		// days from 0001-01-01 to 1970-01-01
+		return days - 719162;
+	}
+
+	/**
+	 * @return the seconds of the day
+	 */
+	public static int secondOfDay(long value) {
+		return hour(value) * 3600 + minute(value) * 60 + second(value);
+	}
+}
@@ -0,0 +1,81 @@
+package org.sfm.csv.impl.cellreader;
+
+import org.sfm.csv.CellValueReader;
+import org.sfm.csv.ParsingContext;
+
+/**
+ * Return the same String instance for the same chars, from a table of the first values read.
+ * <p>
+ * The table is open addressed on the hash of the chars with linear probing, it is sized to twice maxEntries
+ * so a probe always ends on a match or an empty slot. Once maxEntries values are stored no more are inserted,
+ * the values not in the table are returned as new Strings, a stored value is never evicted.
+ * It is shared by the threads using the mapper without synchronization, a String being immutable
+ * a race only loses an entry or stores a few more than maxEntries.
+ */
+public final class DedupStringCellValueReader implements CellValueReader<String> {
+
+	private final String[] table;
+	private final int mask;
+	private final int maxEntries;
+	private int size;
+
+	/**
+	 * @param maxEntries the maximum number of values kept
+	 */
+	public DedupStringCellValueReader(int maxEntries) {
+		this.maxEntries = Math.max(1, maxEntries);
+		int tableSize = Integer.highestOneBit(this.maxEntries) << 1;
+		if (tableSize < this.maxEntries << 1) {
+			tableSize <<= 1;
+		}
+		this.table = new String[tableSize];
+		this.mask = tableSize - 1;
+	}
+
+	@Override
+	public String read(char[] chars, int offset, int length, ParsingContext parsingContext) {
+		int hash = 0;
+		for(int i = offset; i < offset + length; i++) {
+			hash = 31 * hash + chars[i];
+		}
+		// spread the high bits as the mask only keeps the low ones
+		int index = (hash ^ (hash >>> 16)) & mask;
+
+		String[] table = this.table;
+		for(int probe = 0; probe < table.length; probe++) {
+			String value = table[index];
+			if (value == null) {
+				value = new String(chars, offset, length);
+				if (size < maxEntries) {
+					table[index] = value;
+					size++;
+				}
+				return value;
+			}
+			if (value.hashCode() == hash && equals(value, chars, offset, length)) {
+				return value;
+			}
+			index = (index + 1) & mask;
+		}
+		return new String(chars, offset, length);
+	}
+
+	private static boolean equals(String value, char[] chars, int offset, int length) {
+		if (value.length() != length) {
+			return false;
+		}
+		for(int i = 0; i < length; i++) {
+			if (value.charAt(i) != chars[offset + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+    @Override
+    public String toString() {
+        return "DedupStringCellValueReader{" +
+                "maxEntries=" + maxEntries +
+                '}';
+    }
+}
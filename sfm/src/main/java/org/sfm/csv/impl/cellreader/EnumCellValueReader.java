@@ -3,21 +3,27 @@ package org.sfm.csv.impl.cellreader;
 import org.sfm.csv.CellValueReader;
 import org.sfm.csv.ParsingContext;
 import org.sfm.reflect.EnumHelper;
+import org.sfm.reflect.EnumLookup;
 
 public class EnumCellValueReader<E extends Enum<E>> implements CellValueReader<E> {
 
 	final static char CZERO = '0';
 	final static char CNINE = '9';
 	
-	private final StringCellValueReader stringCellValueReader = new StringCellValueReader();
 	private final Class<E> enumClass;
 	private final E[] values;
+	private final EnumLookup<E> lookup;
 	
 	
 	public EnumCellValueReader(Class<E> enumClass) {
+		this(EnumLookup.of(enumClass));
+	}
+
+	public EnumCellValueReader(EnumLookup<E> lookup) {
 		super();
-		this.enumClass = enumClass;
+		this.enumClass = lookup.getEnumClass();
 		this.values = EnumHelper.getValues(enumClass);
+		this.lookup = lookup;
 	}
 
 	@Override
@@ -27,7 +33,7 @@ public class EnumCellValueReader<E extends Enum<E>> implements CellValueReader<E
 		if (n >= 0 && n < values.length) {
 			return values[n];
 		} else {
-			return Enum.valueOf(enumClass, stringCellValueReader.read(chars, offset, length, parsingContext));
+			return lookup.valueOf(chars, offset, length);
 		}
 	}
 	
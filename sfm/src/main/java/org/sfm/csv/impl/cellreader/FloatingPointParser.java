@@ -0,0 +1,157 @@
+package org.sfm.csv.impl.cellreader;
+
+/**
+ * Parse decimal floating point numbers from a char range without creating a String.
+ * <p>
+ * When the significant digits fit in a long and the value is exactly representable from them with
+ * one correctly rounded multiplication or division by an exact power of ten, the result is computed directly
+ * (Clinger's fast path), otherwise the parsing is delegated to Double.parseDouble or Float.parseFloat.
+ * Both paths return the correctly rounded value.
+ */
+final class FloatingPointParser {
+
+	private static final long MAX_EXACT_DOUBLE_MANTISSA = 1l << 53;
+	private static final long MAX_EXACT_FLOAT_MANTISSA = 1l << 24;
+	private static final int MAX_EXACT_DOUBLE_POW10 = 22;
+	private static final int MAX_EXACT_FLOAT_POW10 = 10;
+	private static final int MAX_LONG_DIGITS = 18;
+
+	private static final double[] DOUBLE_POW10 = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+			1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+	private static final float[] FLOAT_POW10 = {
+			1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+	};
+	private static final long[] LONG_POW10 = {
+			1l, 10l, 100l, 1000l, 10000l, 100000l, 1000000l, 10000000l, 100000000l, 1000000000l,
+			10000000000l, 100000000000l, 1000000000000l, 10000000000000l, 100000000000000l, 1000000000000000l
+	};
+
+	private FloatingPointParser() {
+	}
+
+	public static double parseDouble(char[] chars, int offset, int length) {
+		double value = fastPath(chars, offset, length, false);
+		if (value != value) {
+			return Double.parseDouble(new String(chars, offset, length));
+		}
+		return value;
+	}
+
+	public static float parseFloat(char[] chars, int offset, int length) {
+		double value = fastPath(chars, offset, length, true);
+		if (value != value) {
+			return Float.parseFloat(new String(chars, offset, length));
+		}
+		return (float) value;
+	}
+
+	/**
+	 * @return the value, a float value widened to double if asFloat, NaN if the fast path does not apply
+	 */
+	private static double fastPath(char[] chars, int offset, int length, boolean asFloat) {
+		int end = offset + length;
+		int i = offset;
+		// same trimming as Double.parseDouble
+		while(i < end && chars[i] <= ' ') {
+			i++;
+		}
+		while(end > i && chars[end - 1] <= ' ') {
+			end--;
+		}
+
+		boolean negative = false;
+		if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+			negative = chars[i] == '-';
+			i++;
+		}
+
+		long mantissa = 0;
+		int nbSignificantDigits = 0;
+		int nbDigits = 0;
+		int exponent = 0;
+		boolean dot = false;
+		for(; i < end; i++) {
+			char c = chars[i];
+			if (c >= '0' && c <= '9') {
+				nbDigits++;
+				if (mantissa == 0 && c == '0') {
+					// leading zero
+					if (dot) {
+						exponent--;
+					}
+				} else if (nbSignificantDigits < MAX_LONG_DIGITS) {
+					mantissa = mantissa * 10 + (c - '0');
+					nbSignificantDigits++;
+					if (dot) {
+						exponent--;
+					}
+				} else {
+					return Double.NaN;
+				}
+			} else if (c == '.' && !dot) {
+				dot = true;
+			} else {
+				break;
+			}
+		}
+		if (nbDigits == 0) {
+			return Double.NaN;
+		}
+
+		if (i < end) {
+			char c = chars[i];
+			if (c != 'e' && c != 'E') {
+				return Double.NaN;
+			}
+			i++;
+			boolean negativeExponent = false;
+			if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+				negativeExponent = chars[i] == '-';
+				i++;
+			}
+			if (i == end) {
+				return Double.NaN;
+			}
+			int exponentValue = 0;
+			for(; i < end; i++) {
+				c = chars[i];
+				if (c < '0' || c > '9' || exponentValue > 1000) {
+					return Double.NaN;
+				}
+				exponentValue = exponentValue * 10 + (c - '0');
+			}
+			exponent += negativeExponent ? -exponentValue : exponentValue;
+		}
+
+		if (mantissa == 0) {
+			return negative ? -0.0 : 0.0;
+		}
+
+		double value;
+		if (asFloat) {
+			if (mantissa > MAX_EXACT_FLOAT_MANTISSA || exponent < -MAX_EXACT_FLOAT_POW10 || exponent > MAX_EXACT_FLOAT_POW10) {
+				return Double.NaN;
+			}
+			float f = (float) mantissa;
+			value = exponent < 0 ? f / FLOAT_POW10[-exponent] : f * FLOAT_POW10[exponent];
+		} else {
+			if (exponent > MAX_EXACT_DOUBLE_POW10 && exponent - MAX_EXACT_DOUBLE_POW10 < LONG_POW10.length) {
+				// 12e25 is 12000e22, the mantissa can take some of the exponent while it stays exact
+				long multiplier = LONG_POW10[exponent - MAX_EXACT_DOUBLE_POW10];
+				if (mantissa > MAX_EXACT_DOUBLE_MANTISSA / multiplier) {
+					return Double.NaN;
+				}
+				mantissa *= multiplier;
+				exponent = MAX_EXACT_DOUBLE_POW10;
+			}
+			if (mantissa > MAX_EXACT_DOUBLE_MANTISSA || exponent < -MAX_EXACT_DOUBLE_POW10 || exponent > MAX_EXACT_DOUBLE_POW10) {
+				return Double.NaN;
+			}
+			double d = (double) mantissa;
+			value = exponent < 0 ? d / DOUBLE_POW10[-exponent] : d * DOUBLE_POW10[exponent];
+		}
+		return negative ? -value : value;
+	}
+}
@@ -3,12 +3,15 @@ package org.sfm.csv.impl.cellreader;
 import org.sfm.csv.ParsingContext;
 import org.sfm.csv.impl.ParsingException;
 
+import java.nio.charset.Charset;
 
-public final class IntegerCellValueReaderImpl implements IntegerCellValueReader {
+
+public final class IntegerCellValueReaderImpl implements IntegerCellValueReader, Utf8CellValueReader<Integer> {
 
 	private final static char C_ZERO = '0';
 	private final static char C_NINE = '9';
 	private final static char C_NEG_SIGN = '-';
+	private final static Charset UTF8 = Charset.forName("UTF-8");
 
 	@Override
 	public Integer read(char[] chars, int offset, int length, ParsingContext parsingContext) {
@@ -21,6 +24,12 @@ public final class IntegerCellValueReaderImpl implements IntegerCellValueReader
 		return parseInt(chars, offset, length);
 	}
 
+	@Override
+	public Integer read(byte[] bytes, int offset, int length, ParsingContext parsingContext) {
+		if (length == 0) return null;
+		return parseInt(bytes, offset, length);
+	}
+
 	public static int parseInt(char[] chars, int offset, int length) {
 		int n = 0;
 		boolean negative = false;
@@ -42,6 +51,27 @@ public final class IntegerCellValueReaderImpl implements IntegerCellValueReader
 		return n;
 	}
 
+	public static int parseInt(byte[] bytes, int offset, int length) {
+		int n = 0;
+		boolean negative = false;
+		for(int i = offset; i < offset + length; i++) {
+			byte b = bytes[i];
+			if (b >= C_ZERO && b <= C_NINE) {
+				n  = n * 10 +  b - C_ZERO;
+			} else {
+				if (b == C_NEG_SIGN && i == offset) {
+					negative = true;
+				} else if (b != ' ') {
+					throw new ParsingException("Cannot parse " + new String(bytes, offset, length, UTF8) + " as an int");
+				}
+			}
+		}
+		if (negative) {
+			n = 0 - n;
+		}
+		return n;
+	}
+
     @Override
     public String toString() {
         return "IntegerCellValueReaderImpl{}";
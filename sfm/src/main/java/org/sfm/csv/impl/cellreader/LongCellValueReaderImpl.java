@@ -3,12 +3,15 @@ package org.sfm.csv.impl.cellreader;
 import org.sfm.csv.ParsingContext;
 import org.sfm.csv.impl.ParsingException;
 
+import java.nio.charset.Charset;
 
-public final class LongCellValueReaderImpl implements LongCellValueReader {
+
+public final class LongCellValueReaderImpl implements LongCellValueReader, Utf8CellValueReader<Long> {
 	
 	private final static char C_ZERO = '0';
 	private final static char C_NINE = '9';
 	private final static char C_NEG_SIGN = '-';
+	private final static Charset UTF8 = Charset.forName("UTF-8");
 	
 	@Override
 	public Long read(char[] chars, int offset, int length, ParsingContext parsingContext) {
@@ -21,6 +24,12 @@ public final class LongCellValueReaderImpl implements LongCellValueReader {
 		return parseLong(chars, offset, length);
 	}
 
+	@Override
+	public Long read(byte[] bytes, int offset, int length, ParsingContext parsingContext) {
+		if (length == 0) return null;
+		return parseLong(bytes, offset, length);
+	}
+
 	public static long parseLong(char[] chars, int offset, int length) {
 		long n = 0;
 		boolean negative = false;
@@ -42,6 +51,27 @@ public final class LongCellValueReaderImpl implements LongCellValueReader {
 		return n;
 	}
 
+	public static long parseLong(byte[] bytes, int offset, int length) {
+		long n = 0;
+		boolean negative = false;
+		for(int i = offset; i < offset + length; i++) {
+			byte b = bytes[i];
+			if (b >= C_ZERO && b <= C_NINE) {
+				n  = n * 10 +  b - C_ZERO;
+			} else {
+				if (b == C_NEG_SIGN && i == offset) {
+					negative = true;
+				} else if (b != ' ') {
+					throw new ParsingException("Cannot parse " + new String(bytes, offset, length, UTF8) + " as a long");
+				}
+			}
+		}
+		if (negative) {
+			n = 0 - n;
+		}
+		return n;
+	}
+
     @Override
     public String toString() {
         return "LongCellValueReaderImpl{}";
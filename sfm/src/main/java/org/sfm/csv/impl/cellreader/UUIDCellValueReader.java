@@ -2,26 +2,75 @@ package org.sfm.csv.impl.cellreader;
 
 import org.sfm.csv.CellValueReader;
 import org.sfm.csv.ParsingContext;
-import org.sfm.map.ParsingContextProvider;
 
-import java.util.Calendar;
-import java.util.Date;
-import java.util.TimeZone;
 import java.util.UUID;
 
 public class UUIDCellValueReader implements CellValueReader<UUID> {
 
+	private static final int UUID_LENGTH = 36;
+	private static final byte[] HEX_VALUES = new byte[128];
+
+	static {
+		for(int i = 0; i < HEX_VALUES.length; i++) {
+			HEX_VALUES[i] = -1;
+		}
+		for(int i = 0; i < 10; i++) {
+			HEX_VALUES['0' + i] = (byte) i;
+		}
+		for(int i = 0; i < 6; i++) {
+			HEX_VALUES['a' + i] = (byte) (10 + i);
+			HEX_VALUES['A' + i] = (byte) (10 + i);
+		}
+	}
+
 	public UUIDCellValueReader() {
 	}
 	
 	@Override
 	public UUID read(char[] chars, int offset, int length, ParsingContext parsingContext) {
 		if (length > 0) {
-			return UUID.fromString(StringCellValueReader.readString(chars, offset, length));
+			return parseUUID(chars, offset, length);
 		}
 		return null;
 	}
 
+	/**
+	 * decode the canonical 8-4-4-4-12 hex form directly into the 2 longs,
+	 * any other form is left to UUID.fromString.
+	 */
+	public static UUID parseUUID(char[] chars, int offset, int length) {
+		if (length == UUID_LENGTH
+				&& chars[offset + 8] == '-'
+				&& chars[offset + 13] == '-'
+				&& chars[offset + 18] == '-'
+				&& chars[offset + 23] == '-') {
+			long msb1 = parseHex(chars, offset, 8);
+			long msb2 = parseHex(chars, offset + 9, 4);
+			long msb3 = parseHex(chars, offset + 14, 4);
+			long lsb1 = parseHex(chars, offset + 19, 4);
+			long lsb2 = parseHex(chars, offset + 24, 12);
+			if ((msb1 | msb2 | msb3 | lsb1 | lsb2) >= 0) {
+				return new UUID(msb1 << 32 | msb2 << 16 | msb3, lsb1 << 48 | lsb2);
+			}
+		}
+		return UUID.fromString(StringCellValueReader.readString(chars, offset, length));
+	}
+
+	/**
+	 * @return the value of the hex digits, -1 if a char is not an hex digit
+	 */
+	private static long parseHex(char[] chars, int offset, int length) {
+		long value = 0;
+		for(int i = offset; i < offset + length; i++) {
+			char c = chars[i];
+			int digit = c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+			if (digit < 0) {
+				return -1;
+			}
+			value = value << 4 | digit;
+		}
+		return value;
+	}
 
     @Override
     public String toString() {
@@ -0,0 +1,10 @@
+package org.sfm.csv.impl.cellreader;
+
+import org.sfm.csv.ParsingContext;
+
+/**
+ * CellValueReader that can also read the value from the utf-8 bytes of the cell without decoding them.
+ */
+public interface Utf8CellValueReader<T> {
+	T read(byte[] bytes, int offset, int length, ParsingContext parsingContext);
+}
@@ -0,0 +1,26 @@
+package org.sfm.csv.impl.cellreader.time;
+
+import org.sfm.csv.impl.cellreader.DatePatternParser;
+
+import java.time.LocalDateTime;
+
+final class JavaDatePatternHelper {
+
+    private JavaDatePatternHelper() {
+    }
+
+    /**
+     * the instant of a pattern without offset depends on the zone rules, those are left to the formatter.
+     * @return true if the pattern has a date, a time and an offset
+     */
+    static boolean isInstantPattern(DatePatternParser datePatternParser) {
+        return datePatternParser != null && datePatternParser.hasDate() && datePatternParser.hasTime() && datePatternParser.hasOffset();
+    }
+
+    static LocalDateTime toLocalDateTime(long value) {
+        return LocalDateTime.of(
+                DatePatternParser.year(value), DatePatternParser.month(value), DatePatternParser.day(value),
+                DatePatternParser.hour(value), DatePatternParser.minute(value), DatePatternParser.second(value),
+                DatePatternParser.millis(value) * 1000000);
+    }
+}
@@ -2,6 +2,7 @@ package org.sfm.csv.impl.cellreader.time;
 
 import org.sfm.csv.CellValueReader;
 import org.sfm.csv.ParsingContext;
+import org.sfm.csv.impl.cellreader.DatePatternParser;
 
 import java.time.Instant;
 import java.time.ZonedDateTime;
@@ -10,13 +11,32 @@ import java.time.format.DateTimeFormatter;
 public class JavaInstantCellValueReader implements CellValueReader<Instant> {
 
     private final DateTimeFormatter formatter;
+    private final DatePatternParser datePatternParser;
 
     public JavaInstantCellValueReader(DateTimeFormatter formatter) {
+        this(formatter, null);
+    }
+
+    /**
+     * @param formatter the formatter
+     * @param datePatternParser the parser compiled from the pattern of the formatter, null if none
+     */
+    public JavaInstantCellValueReader(DateTimeFormatter formatter, DatePatternParser datePatternParser) {
         this.formatter = formatter;
+        this.datePatternParser = JavaDatePatternHelper.isInstantPattern(datePatternParser) ? datePatternParser : null;
     }
 
     @Override
     public Instant read(char[] chars, int offset, int length, ParsingContext parsingContext) {
+        if (datePatternParser != null) {
+            long value = datePatternParser.parse(chars, offset, length);
+            if (value != DatePatternParser.NO_MATCH) {
+                long epochSecond = DatePatternParser.epochDay(value) * 86400
+                        + DatePatternParser.secondOfDay(value)
+                        - DatePatternParser.offsetSeconds(value);
+                return Instant.ofEpochSecond(epochSecond, DatePatternParser.millis(value) * 1000000l);
+            }
+        }
         return ZonedDateTime.parse(new String(chars, offset, length), formatter).toInstant();
     }
 
@@ -2,6 +2,7 @@ package org.sfm.csv.impl.cellreader.time;
 
 import org.sfm.csv.CellValueReader;
 import org.sfm.csv.ParsingContext;
+import org.sfm.csv.impl.cellreader.DatePatternParser;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -9,13 +10,29 @@ import java.time.format.DateTimeFormatter;
 public class JavaLocalDateCellValueReader implements CellValueReader<LocalDate> {
 
     private final DateTimeFormatter formatter;
+    private final DatePatternParser datePatternParser;
 
     public JavaLocalDateCellValueReader(DateTimeFormatter formatter) {
+        this(formatter, null);
+    }
+
+    /**
+     * @param formatter the formatter
+     * @param datePatternParser the parser compiled from the pattern of the formatter, null if none
+     */
+    public JavaLocalDateCellValueReader(DateTimeFormatter formatter, DatePatternParser datePatternParser) {
         this.formatter = formatter;
+        this.datePatternParser = datePatternParser != null && datePatternParser.hasDate() ? datePatternParser : null;
     }
 
     @Override
     public LocalDate read(char[] chars, int offset, int length, ParsingContext parsingContext) {
+        if (datePatternParser != null) {
+            long value = datePatternParser.parse(chars, offset, length);
+            if (value != DatePatternParser.NO_MATCH) {
+                return LocalDate.of(DatePatternParser.year(value), DatePatternParser.month(value), DatePatternParser.day(value));
+            }
+        }
         return LocalDate.parse(new String(chars, offset, length), formatter);
     }
 
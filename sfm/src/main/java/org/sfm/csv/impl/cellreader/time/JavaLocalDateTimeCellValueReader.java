@@ -2,6 +2,7 @@ package org.sfm.csv.impl.cellreader.time;
 
 import org.sfm.csv.CellValueReader;
 import org.sfm.csv.ParsingContext;
+import org.sfm.csv.impl.cellreader.DatePatternParser;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -9,13 +10,29 @@ import java.time.format.DateTimeFormatter;
 public class JavaLocalDateTimeCellValueReader implements CellValueReader<LocalDateTime> {
 
     private final DateTimeFormatter formatter;
+    private final DatePatternParser datePatternParser;
 
     public JavaLocalDateTimeCellValueReader(DateTimeFormatter formatter) {
+        this(formatter, null);
+    }
+
+    /**
+     * @param formatter the formatter
+     * @param datePatternParser the parser compiled from the pattern of the formatter, null if none
+     */
+    public JavaLocalDateTimeCellValueReader(DateTimeFormatter formatter, DatePatternParser datePatternParser) {
         this.formatter = formatter;
+        this.datePatternParser = datePatternParser != null && datePatternParser.hasDate() && datePatternParser.hasTime() ? datePatternParser : null;
     }
 
     @Override
     public LocalDateTime read(char[] chars, int offset, int length, ParsingContext parsingContext) {
+        if (datePatternParser != null) {
+            long value = datePatternParser.parse(chars, offset, length);
+            if (value != DatePatternParser.NO_MATCH) {
+                return JavaDatePatternHelper.toLocalDateTime(value);
+            }
+        }
         return LocalDateTime.parse(new String(chars, offset, length), formatter);
     }
 
@@ -2,20 +2,38 @@ package org.sfm.csv.impl.cellreader.time;
 
 import org.sfm.csv.CellValueReader;
 import org.sfm.csv.ParsingContext;
+import org.sfm.csv.impl.cellreader.DatePatternParser;
 
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
 public class JavaOffsetDateTimeCellValueReader implements CellValueReader<OffsetDateTime> {
 
     private final DateTimeFormatter formatter;
+    private final DatePatternParser datePatternParser;
 
     public JavaOffsetDateTimeCellValueReader(DateTimeFormatter formatter) {
+        this(formatter, null);
+    }
+
+    /**
+     * @param formatter the formatter
+     * @param datePatternParser the parser compiled from the pattern of the formatter, null if none
+     */
+    public JavaOffsetDateTimeCellValueReader(DateTimeFormatter formatter, DatePatternParser datePatternParser) {
         this.formatter = formatter;
+        this.datePatternParser = JavaDatePatternHelper.isInstantPattern(datePatternParser) ? datePatternParser : null;
     }
 
     @Override
     public OffsetDateTime read(char[] chars, int offset, int length, ParsingContext parsingContext) {
+        if (datePatternParser != null) {
+            long value = datePatternParser.parse(chars, offset, length);
+            if (value != DatePatternParser.NO_MATCH) {
+                return OffsetDateTime.of(JavaDatePatternHelper.toLocalDateTime(value), ZoneOffset.ofTotalSeconds(DatePatternParser.offsetSeconds(value)));
+            }
+        }
         return OffsetDateTime.parse(new String(chars, offset, length), formatter);
     }
 
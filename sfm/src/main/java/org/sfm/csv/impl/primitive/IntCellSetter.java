@@ -3,16 +3,20 @@ package org.sfm.csv.impl.primitive;
 import org.sfm.csv.mapper.CellSetter;
 import org.sfm.csv.ParsingContext;
 import org.sfm.csv.impl.cellreader.IntegerCellValueReader;
+import org.sfm.csv.impl.cellreader.IntegerCellValueReaderImpl;
+import org.sfm.csv.mapper.Utf8CellSetter;
 import org.sfm.reflect.primitive.IntSetter;
 
-public class IntCellSetter<T> implements CellSetter<T> {
+public class IntCellSetter<T> implements CellSetter<T>, Utf8CellSetter<T> {
 
 	private final IntSetter<T> setter;
 	private final IntegerCellValueReader reader;
+	private final boolean readsUtf8;
 
 	public IntCellSetter(IntSetter<T> setter, IntegerCellValueReader reader) {
 		this.setter = setter;
 		this.reader = reader;
+		this.readsUtf8 = reader instanceof IntegerCellValueReaderImpl;
 	}
 	
 	@Override
@@ -22,6 +26,23 @@ public class IntCellSetter<T> implements CellSetter<T> {
         setter.setInt(target, reader.readInt(chars, offset, length, parsingContext));
 	}
 
+	@Override
+	public void set(T target, byte[] bytes, int offset, int length, ParsingContext parsingContext)
+			throws Exception {
+        if (target == null) return;
+        if (readsUtf8) {
+            setter.setInt(target, IntegerCellValueReaderImpl.parseInt(bytes, offset, length));
+        } else {
+            char[] chars = new String(bytes, offset, length, "UTF-8").toCharArray();
+            setter.setInt(target, reader.readInt(chars, 0, chars.length, parsingContext));
+        }
+	}
+
+	@Override
+	public boolean readsUtf8() {
+		return readsUtf8;
+	}
+
     @Override
     public String toString() {
         return "IntCellSetter{" +
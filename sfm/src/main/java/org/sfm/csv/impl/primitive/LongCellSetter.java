@@ -3,16 +3,20 @@ package org.sfm.csv.impl.primitive;
 import org.sfm.csv.mapper.CellSetter;
 import org.sfm.csv.ParsingContext;
 import org.sfm.csv.impl.cellreader.LongCellValueReader;
+import org.sfm.csv.impl.cellreader.LongCellValueReaderImpl;
+import org.sfm.csv.mapper.Utf8CellSetter;
 import org.sfm.reflect.primitive.LongSetter;
 
-public class LongCellSetter<T> implements CellSetter<T> {
+public class LongCellSetter<T> implements CellSetter<T>, Utf8CellSetter<T> {
 
 	private final LongSetter<T> setter;
 	private final LongCellValueReader reader;
+	private final boolean readsUtf8;
 
 	public LongCellSetter(LongSetter<T> setter, LongCellValueReader reader) {
 		this.setter = setter;
 		this.reader = reader;
+		this.readsUtf8 = reader instanceof LongCellValueReaderImpl;
 	}
 	
 	@Override
@@ -22,6 +26,23 @@ public class LongCellSetter<T> implements CellSetter<T> {
         setter.setLong(target, reader.readLong(chars, offset, length, parsingContext));
 	}
 
+	@Override
+	public void set(T target, byte[] bytes, int offset, int length, ParsingContext parsingContext)
+			throws Exception {
+        if (target == null) return;
+        if (readsUtf8) {
+            setter.setLong(target, LongCellValueReaderImpl.parseLong(bytes, offset, length));
+        } else {
+            char[] chars = new String(bytes, offset, length, "UTF-8").toCharArray();
+            setter.setLong(target, reader.readLong(chars, 0, chars.length, parsingContext));
+        }
+	}
+
+	@Override
+	public boolean readsUtf8() {
+		return readsUtf8;
+	}
+
     @Override
     public String toString() {
         return "LongCellSetter{" +
@@ -0,0 +1,208 @@
+package org.sfm.csv.impl.writer;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Accumulate the chars of a row in a reusable char array and append them to the underlying appendable in one call on flush.
+ * <p>
+ * The ints, longs and doubles are formatted directly in the array without creating a String.
+ * When created on a {@link ByteOutput} the chars are encoded by the output on flush instead.
+ */
+public final class AppendableBuffer implements Appendable {
+
+    private static final int MAX_PLAIN_FRACTION_DIGITS = 8;
+    private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8 };
+
+    private final Appendable appendable;
+    private final ByteOutput byteOutput;
+    private char[] buffer;
+    private int length;
+
+    public AppendableBuffer(Appendable appendable) {
+        this(appendable, 1024);
+    }
+
+    public AppendableBuffer(Appendable appendable, int initialCapacity) {
+        this(appendable, null, initialCapacity);
+    }
+
+    public AppendableBuffer(ByteOutput byteOutput) {
+        this(null, byteOutput, 1024);
+    }
+
+    private AppendableBuffer(Appendable appendable, ByteOutput byteOutput, int initialCapacity) {
+        this.appendable = appendable;
+        this.byteOutput = byteOutput;
+        this.buffer = new char[initialCapacity];
+    }
+
+    @Override
+    public AppendableBuffer append(CharSequence csq) {
+        if (csq == null) {
+            return append("null");
+        }
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public AppendableBuffer append(CharSequence csq, int start, int end) {
+        if (csq == null) {
+            return append("null", start, end);
+        }
+        int l = end - start;
+        ensureCapacity(l);
+        if (csq instanceof String) {
+            ((String) csq).getChars(start, end, buffer, length);
+            length += l;
+        } else {
+            for(int i = start; i < end; i++) {
+                buffer[length++] = csq.charAt(i);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public AppendableBuffer append(char c) {
+        ensureCapacity(1);
+        buffer[length++] = c;
+        return this;
+    }
+
+    public AppendableBuffer append(char[] chars, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(chars, offset, buffer, this.length, length);
+        this.length += length;
+        return this;
+    }
+
+    public AppendableBuffer appendInt(int value) {
+        return appendLong(value);
+    }
+
+    public AppendableBuffer appendLong(long value) {
+        ensureCapacity(20);
+        if (value >= 0) {
+            // work on the negative value as Long.MIN_VALUE has no positive counterpart
+            value = -value;
+        } else {
+            buffer[length++] = '-';
+        }
+        int nbDigits = 1;
+        for(long v = value; v <= -10; v /= 10) {
+            nbDigits++;
+        }
+        int end = length + nbDigits;
+        for(int i = end - 1; i >= length; i--) {
+            buffer[i] = (char) ('0' - (value % 10));
+            value /= 10;
+        }
+        length = end;
+        return this;
+    }
+
+    /**
+     * Append the value in the format of Double.toString when it is between 1e-3 and 1e7 and has at most 8 fraction digits,
+     * using the fewest fraction digits that parse back to the same value.
+     * @param value the value
+     * @return true if the value was appended, false if it needs to go through Double.toString
+     */
+    public boolean appendDouble(double value) {
+        if (value == 0) {
+            if (Double.doubleToRawLongBits(value) != 0) {
+                append('-');
+            }
+            append('0').append('.').append('0');
+            return true;
+        }
+        double abs = Math.abs(value);
+        if (!(abs >= 1e-3 && abs < 1e7)) {
+            return false;
+        }
+        for(int nbFractionDigits = 0; nbFractionDigits <= MAX_PLAIN_FRACTION_DIGITS; nbFractionDigits++) {
+            double pow10 = POW10[nbFractionDigits];
+            double scaled = Math.rint(abs * pow10);
+            // scaled is below 2^53 and pow10 is exact, the division is correctly rounded like the parsing of the decimal
+            if (scaled / pow10 == abs) {
+                appendDecimal(value < 0, (long) scaled, nbFractionDigits);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void appendDecimal(boolean negative, long unscaled, int nbFractionDigits) {
+        if (negative) {
+            append('-');
+        }
+        long pow10 = (long) POW10[nbFractionDigits];
+        appendLong(unscaled / pow10);
+        append('.');
+        if (nbFractionDigits == 0) {
+            append('0');
+            return;
+        }
+        ensureCapacity(nbFractionDigits);
+        long fraction = unscaled % pow10;
+        for(int i = length + nbFractionDigits - 1; i >= length; i--) {
+            buffer[i] = (char) ('0' + (fraction % 10));
+            fraction /= 10;
+        }
+        length += nbFractionDigits;
+    }
+
+    /**
+     * append the buffered chars to the underlying appendable and reset the buffer.
+     * The buffer is reset even if the underlying appendable fails, the chars are then dropped.
+     * @throws IOException if the underlying appendable fails
+     */
+    public void flush() throws IOException {
+        int length = this.length;
+        if (length == 0) {
+            return;
+        }
+        this.length = 0;
+        if (byteOutput != null) {
+            byteOutput.write(buffer, 0, length);
+        } else if (appendable instanceof AppendableBuffer) {
+            ((AppendableBuffer) appendable).append(buffer, 0, length);
+        } else if (appendable instanceof Writer) {
+            ((Writer) appendable).write(buffer, 0, length);
+        } else if (appendable instanceof StringBuilder) {
+            ((StringBuilder) appendable).append(buffer, 0, length);
+        } else if (appendable instanceof StringBuffer) {
+            ((StringBuffer) appendable).append(buffer, 0, length);
+        } else {
+            appendable.append(CharBuffer.wrap(buffer, 0, length));
+        }
+    }
+
+    /**
+     * flush the buffered chars, then the bytes pending in the byte output and the underlying flushable if any.
+     * @throws IOException if the underlying appendable or output fails
+     */
+    public void flushAll() throws IOException {
+        flush();
+        if (byteOutput != null) {
+            byteOutput.flush();
+        } else if (appendable instanceof Flushable) {
+            ((Flushable) appendable).flush();
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            char[] newBuffer = new char[Math.max(buffer.length * 2, length + extra)];
+            System.arraycopy(buffer, 0, newBuffer, 0, length);
+            buffer = newBuffer;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length);
+    }
+}
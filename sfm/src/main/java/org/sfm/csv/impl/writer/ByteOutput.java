@@ -0,0 +1,277 @@
+package org.sfm.csv.impl.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Encode the chars of the rows into a reusable byte array and write the bytes to the target.
+ * <p>
+ * UTF-8, US-ASCII and ISO-8859-1 are encoded by a plain loop over the chars, the other charsets go through a CharsetEncoder.
+ * Unmappable chars are replaced the same way String.getBytes does.
+ * <p>
+ * The CharsetEncoder keeps its state from one row to the next, so a byte order mark is only written once.
+ * {@link #flush()} ends the encoded sequence; after a flush in the middle of the rows a stateful charset starts a new one.
+ */
+public abstract class ByteOutput {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    private static final int UTF8 = 0;
+    private static final int ASCII = 1;
+    private static final int LATIN1 = 2;
+    private static final int OTHER = 3;
+
+    private final int encoding;
+    private final CharsetEncoder encoder;
+    private final int bufferSize;
+
+    private byte[] bytes;
+    private int nbBytes;
+
+    // the encoder is between reset and flush, the chars it did not encode yet are kept for the next write
+    private boolean encoderStarted;
+    private char[] leftoverChars = new char[0];
+    private int nbLeftoverChars;
+
+    protected ByteOutput(Charset charset, int bufferSize) {
+        if (UTF_8.equals(charset)) {
+            encoding = UTF8;
+        } else if (US_ASCII.equals(charset)) {
+            encoding = ASCII;
+        } else if (ISO_8859_1.equals(charset)) {
+            encoding = LATIN1;
+        } else {
+            encoding = OTHER;
+        }
+        this.encoder = encoding == OTHER ? charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE) : null;
+        this.bufferSize = bufferSize;
+        this.bytes = new byte[Math.max(bufferSize, 1024)];
+    }
+
+    public static ByteOutput to(OutputStream outputStream, Charset charset) {
+        return new OutputStreamByteOutput(outputStream, charset);
+    }
+
+    public static ByteOutput to(WritableByteChannel channel, Charset charset) {
+        return new ChannelByteOutput(channel, charset);
+    }
+
+    public static ByteOutput to(ByteBuffer byteBuffer, Charset charset) {
+        return new ByteBufferByteOutput(byteBuffer, charset);
+    }
+
+    /**
+     * encode the chars, the bytes are written to the target once bufferSize bytes are pending.
+     * @param chars the chars
+     * @param offset the offset of the first char
+     * @param length the number of chars
+     * @throws IOException if the target fails
+     */
+    public final void write(char[] chars, int offset, int length) throws IOException {
+        switch (encoding) {
+            case UTF8:
+                encodeUtf8(chars, offset, length);
+                break;
+            case ASCII:
+                encodeSingleByte(chars, offset, length, 0x7f);
+                break;
+            case LATIN1:
+                encodeSingleByte(chars, offset, length, 0xff);
+                break;
+            default:
+                encode(chars, offset, length);
+        }
+        if (nbBytes >= bufferSize) {
+            writePending();
+        }
+    }
+
+    /**
+     * write the pending bytes to the target and flush it.
+     * @throws IOException if the target fails
+     */
+    public void flush() throws IOException {
+        if (encoderStarted) {
+            endEncoder();
+        }
+        writePending();
+    }
+
+    private void writePending() throws IOException {
+        int length = nbBytes;
+        if (length > 0) {
+            // reset before writing, bytes the target refused are dropped and not sent again with the next row
+            nbBytes = 0;
+            writeBytes(bytes, length);
+        }
+    }
+
+    protected abstract void writeBytes(byte[] bytes, int length) throws IOException;
+
+    private void encodeUtf8(char[] chars, int offset, int length) {
+        ensureCapacity(length * 3);
+        byte[] bytes = this.bytes;
+        int j = nbBytes;
+        int end = offset + length;
+        for(int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c < 0x80) {
+                bytes[j++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[j++] = (byte) (0xc0 | (c >> 6));
+                bytes[j++] = (byte) (0x80 | (c & 0x3f));
+            } else if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) {
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                    int cp = Character.toCodePoint(c, chars[++i]);
+                    bytes[j++] = (byte) (0xf0 | (cp >> 18));
+                    bytes[j++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                    bytes[j++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                    bytes[j++] = (byte) (0x80 | (cp & 0x3f));
+                } else {
+                    bytes[j++] = '?';
+                }
+            } else {
+                bytes[j++] = (byte) (0xe0 | (c >> 12));
+                bytes[j++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                bytes[j++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        nbBytes = j;
+    }
+
+    private void encodeSingleByte(char[] chars, int offset, int length, int max) {
+        ensureCapacity(length);
+        byte[] bytes = this.bytes;
+        int j = nbBytes;
+        int end = offset + length;
+        for(int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c <= max) {
+                bytes[j++] = (byte) c;
+            } else {
+                // a surrogate pair is one unmappable code point
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                    i++;
+                }
+                bytes[j++] = '?';
+            }
+        }
+        nbBytes = j;
+    }
+
+    private void encode(char[] chars, int offset, int length) {
+        if (!encoderStarted) {
+            encoder.reset();
+            encoderStarted = true;
+        }
+        CharBuffer in;
+        if (nbLeftoverChars > 0) {
+            // a surrogate pair split between two writes
+            char[] joinedChars = new char[nbLeftoverChars + length];
+            System.arraycopy(leftoverChars, 0, joinedChars, 0, nbLeftoverChars);
+            System.arraycopy(chars, offset, joinedChars, nbLeftoverChars, length);
+            in = CharBuffer.wrap(joinedChars);
+        } else {
+            in = CharBuffer.wrap(chars, offset, length);
+        }
+        ensureCapacity((int) (in.remaining() * encoder.maxBytesPerChar()));
+        ByteBuffer out = ByteBuffer.wrap(bytes, nbBytes, bytes.length - nbBytes);
+        CoderResult result = encoder.encode(in, out, false);
+        if (!result.isUnderflow()) {
+            throw new IllegalStateException("Unexpected encoder result " + result);
+        }
+        nbBytes = out.position();
+
+        nbLeftoverChars = in.remaining();
+        if (nbLeftoverChars > 0) {
+            if (leftoverChars.length < nbLeftoverChars) {
+                leftoverChars = new char[nbLeftoverChars];
+            }
+            in.get(leftoverChars, 0, nbLeftoverChars);
+        }
+    }
+
+    private void endEncoder() {
+        ensureCapacity((int) ((nbLeftoverChars + 1) * encoder.maxBytesPerChar()));
+        CharBuffer in = CharBuffer.wrap(leftoverChars, 0, nbLeftoverChars);
+        ByteBuffer out = ByteBuffer.wrap(bytes, nbBytes, bytes.length - nbBytes);
+        nbLeftoverChars = 0;
+        encoderStarted = false;
+        CoderResult result = encoder.encode(in, out, true);
+        if (!result.isUnderflow() || !encoder.flush(out).isUnderflow()) {
+            throw new IllegalStateException("Unexpected encoder result " + result);
+        }
+        nbBytes = out.position();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (nbBytes + extra > bytes.length) {
+            byte[] newBytes = new byte[Math.max(bytes.length * 2, nbBytes + extra)];
+            System.arraycopy(bytes, 0, newBytes, 0, nbBytes);
+            bytes = newBytes;
+        }
+    }
+
+    private static final class OutputStreamByteOutput extends ByteOutput {
+        private final OutputStream outputStream;
+
+        private OutputStreamByteOutput(OutputStream outputStream, Charset charset) {
+            super(charset, 8192);
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        protected void writeBytes(byte[] bytes, int length) throws IOException {
+            outputStream.write(bytes, 0, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            super.flush();
+            outputStream.flush();
+        }
+    }
+
+    private static final class ChannelByteOutput extends ByteOutput {
+        private final WritableByteChannel channel;
+
+        private ChannelByteOutput(WritableByteChannel channel, Charset charset) {
+            super(charset, 1 << 16);
+            this.channel = channel;
+        }
+
+        @Override
+        protected void writeBytes(byte[] bytes, int length) throws IOException {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(bytes, 0, length);
+            while (byteBuffer.hasRemaining()) {
+                channel.write(byteBuffer);
+            }
+        }
+    }
+
+    private static final class ByteBufferByteOutput extends ByteOutput {
+        private final ByteBuffer byteBuffer;
+
+        private ByteBufferByteOutput(ByteBuffer byteBuffer, Charset charset) {
+            // the bytes of each row go straight to the buffer
+            super(charset, 1);
+            this.byteBuffer = byteBuffer;
+        }
+
+        @Override
+        protected void writeBytes(byte[] bytes, int length) {
+            byteBuffer.put(bytes, 0, length);
+        }
+    }
+}
@@ -13,14 +13,35 @@ public final class CsvCellWriter implements CellWriter {
     private final char separator;
     private final char quote;
     private final String endOfLine;
-    private final char[] specialCharacters;
+    // bitset of the chars that need escaping, the chars above the highest one are rejected on one comparison
+    private final long[] specialCharacters;
+    private final int specialCharactersLimit;
+    private final boolean numbersNeedEscaping;
 
     public CsvCellWriter(char separator, char quote, boolean alwaysEscape, String endOfLine) {
         this.separator = separator;
         this.quote = quote;
         this.alwaysEscape = alwaysEscape;
         this.endOfLine = endOfLine;
-        this.specialCharacters = (getSpecialCharacterForEndOfLine(endOfLine) + quote + separator).toCharArray();
+        char[] specialCharacters = (getSpecialCharacterForEndOfLine(endOfLine) + quote + separator).toCharArray();
+        int limit = 0;
+        for(char c : specialCharacters) {
+            limit = Math.max(limit, c + 1);
+        }
+        this.specialCharactersLimit = limit;
+        this.specialCharacters = new long[(limit + 63) >>> 6];
+        for(char c : specialCharacters) {
+            this.specialCharacters[c >>> 6] |= 1l << c;
+        }
+        this.numbersNeedEscaping = alwaysEscape || needsEscaping("-.0123456789");
+    }
+
+    /**
+     * @param cellWriter the cell writer
+     * @return true if the digits, sign and dot of a plain number are written as is by the cell writer
+     */
+    public static boolean writesNumbersAsIs(CellWriter cellWriter) {
+        return cellWriter instanceof CsvCellWriter && !((CsvCellWriter) cellWriter).numbersNeedEscaping;
     }
 
     private String getSpecialCharacterForEndOfLine(String endOfLine) {
@@ -40,27 +61,32 @@ public final class CsvCellWriter implements CellWriter {
     }
 
     private boolean needsEscaping(CharSequence sequence) {
-        char[] specialCharacters = this.specialCharacters;
-        for(int i = 0; i < sequence.length(); i++) {
+        final long[] specialCharacters = this.specialCharacters;
+        final int limit = this.specialCharactersLimit;
+        final int length = sequence.length();
+        for(int i = 0; i < length; i++) {
             char c = sequence.charAt(i);
-            for(int j = 0; j < specialCharacters.length; j++) {
-                char s = specialCharacters[j];
-                if (c == s) return true;
+            if (c < limit && (specialCharacters[c >>> 6] & (1l << c)) != 0) {
+                return true;
             }
         }
         return false;
     }
 
     private void escapeCharSequence(CharSequence sequence, Appendable appendable) throws IOException {
-        char quote = this.quote;
+        final char quote = this.quote;
+        final int length = sequence.length();
         appendable.append(quote);
-        for(int i = 0; i < sequence.length(); i++) {
-            char c = sequence.charAt(i);
-            appendable.append(c);
-            if (c == quote) {
+        // append the runs between the quotes in one call, doubling the quotes
+        int start = 0;
+        for(int i = 0; i < length; i++) {
+            if (sequence.charAt(i) == quote) {
+                appendable.append(sequence, start, i + 1);
                 appendable.append(quote);
+                start = i + 1;
             }
         }
+        appendable.append(sequence, start, length);
         appendable.append(quote);
     }
 
@@ -74,6 +100,14 @@ public final class CsvCellWriter implements CellWriter {
         target.append(endOfLine);
     }
 
+    public char getSeparator() {
+        return separator;
+    }
+
+    public String getEndOfLine() {
+        return endOfLine;
+    }
+
     public CsvCellWriter separator(char separator) {
         return new CsvCellWriter(separator, quote, alwaysEscape, endOfLine);
     }
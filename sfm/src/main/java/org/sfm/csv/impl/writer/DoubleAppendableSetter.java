@@ -6,13 +6,19 @@ import org.sfm.reflect.primitive.DoubleSetter;
 public class DoubleAppendableSetter implements DoubleSetter<Appendable> {
 
     private final CellWriter cellWriter;
+    private final boolean writesNumbersAsIs;
 
     public DoubleAppendableSetter(CellWriter cellWriter) {
         this.cellWriter = cellWriter;
+        this.writesNumbersAsIs = CsvCellWriter.writesNumbersAsIs(cellWriter);
     }
 
     @Override
     public void setDouble(Appendable target, double value) throws Exception {
+        if (writesNumbersAsIs && target instanceof AppendableBuffer
+                && ((AppendableBuffer) target).appendDouble(value)) {
+            return;
+        }
         cellWriter.writeValue(Double.toString(value), target);
     }
 }
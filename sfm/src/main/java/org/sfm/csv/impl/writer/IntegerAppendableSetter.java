@@ -6,13 +6,19 @@ import org.sfm.reflect.primitive.IntSetter;
 public class IntegerAppendableSetter implements IntSetter<Appendable> {
 
     private final CellWriter cellWriter;
+    private final boolean writesNumbersAsIs;
 
     public IntegerAppendableSetter(CellWriter cellWriter) {
         this.cellWriter = cellWriter;
+        this.writesNumbersAsIs = CsvCellWriter.writesNumbersAsIs(cellWriter);
     }
 
     @Override
     public void setInt(Appendable target, int value) throws Exception {
-        cellWriter.writeValue(Integer.toString(value), target);
+        if (writesNumbersAsIs && target instanceof AppendableBuffer) {
+            ((AppendableBuffer) target).appendInt(value);
+        } else {
+            cellWriter.writeValue(Integer.toString(value), target);
+        }
     }
 }
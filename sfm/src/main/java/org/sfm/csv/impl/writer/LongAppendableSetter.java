@@ -6,13 +6,19 @@ import org.sfm.reflect.primitive.LongSetter;
 public class LongAppendableSetter implements LongSetter<Appendable> {
 
     private final CellWriter cellWriter;
+    private final boolean writesNumbersAsIs;
 
     public LongAppendableSetter(CellWriter cellWriter) {
         this.cellWriter = cellWriter;
+        this.writesNumbersAsIs = CsvCellWriter.writesNumbersAsIs(cellWriter);
     }
 
     @Override
     public void setLong(Appendable target, long value) throws Exception {
-        cellWriter.writeValue(Long.toString(value), target);
+        if (writesNumbersAsIs && target instanceof AppendableBuffer) {
+            ((AppendableBuffer) target).appendLong(value);
+        } else {
+            cellWriter.writeValue(Long.toString(value), target);
+        }
     }
 }
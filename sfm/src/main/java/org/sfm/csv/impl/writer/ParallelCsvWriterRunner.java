@@ -0,0 +1,117 @@
+package org.sfm.csv.impl.writer;
+
+import org.sfm.map.MappingContext;
+import org.sfm.map.mapper.ContextualMapper;
+import org.sfm.utils.ErrorHelper;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Format the rows in chunks on the executor and append the chunks to the target on the calling thread in the order of the values.
+ * <p>
+ * Each chunk is formatted in its own buffer with its own mapping context, so the formatters are not shared between threads.
+ * The chunks waiting to be appended are bounded to maxInFlight, the buffers are reused once appended.
+ */
+public final class ParallelCsvWriterRunner<T> {
+
+    private final ContextualMapper<T, Appendable> mapper;
+    private final AppendableBuffer target;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int maxInFlight;
+
+    private final Queue<AppendableBuffer> buffers = new ConcurrentLinkedQueue<AppendableBuffer>();
+    private volatile boolean cancelled;
+
+    public ParallelCsvWriterRunner(ContextualMapper<T, Appendable> mapper, AppendableBuffer target, Executor executor, int chunkSize, int maxInFlight) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1, was " + chunkSize);
+        }
+        this.mapper = mapper;
+        this.target = target;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public void appendAll(Iterator<? extends T> values) throws IOException {
+        ArrayDeque<FutureTask<AppendableBuffer>> inFlight = new ArrayDeque<FutureTask<AppendableBuffer>>();
+        boolean completed = false;
+        try {
+            while (values.hasNext()) {
+                List<T> chunk = new ArrayList<T>(chunkSize);
+                while (chunk.size() < chunkSize && values.hasNext()) {
+                    chunk.add(values.next());
+                }
+                if (inFlight.size() >= maxInFlight) {
+                    append(inFlight.poll());
+                }
+                FutureTask<AppendableBuffer> task = new FutureTask<AppendableBuffer>(new FormatChunk(chunk));
+                inFlight.add(task);
+                executor.execute(task);
+            }
+            while (!inFlight.isEmpty()) {
+                append(inFlight.poll());
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                cancelled = true;
+                for (FutureTask<AppendableBuffer> task : inFlight) {
+                    task.cancel(false);
+                }
+            }
+        }
+    }
+
+    private void append(FutureTask<AppendableBuffer> task) throws IOException {
+        AppendableBuffer buffer = null;
+        try {
+            buffer = task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ErrorHelper.rethrow(e);
+        } catch (ExecutionException e) {
+            ErrorHelper.rethrow(e.getCause());
+        }
+        buffer.flush();
+        target.flush();
+        buffers.offer(buffer);
+    }
+
+    private final class FormatChunk implements Callable<AppendableBuffer> {
+        private final List<T> values;
+
+        private FormatChunk(List<T> values) {
+            this.values = values;
+        }
+
+        @Override
+        public AppendableBuffer call() throws Exception {
+            if (cancelled) {
+                throw new IllegalStateException("Cancelled");
+            }
+            AppendableBuffer buffer = buffers.poll();
+            if (buffer == null) {
+                buffer = new AppendableBuffer(target);
+            }
+            ContextualMapper<T, Appendable> mapper = ParallelCsvWriterRunner.this.mapper;
+            // a context per chunk, the formatters it holds are only used by this thread
+            MappingContext<T> mappingContext = mapper.newMappingContext();
+            for (T value : values) {
+                mapper.mapTo(value, buffer, mappingContext);
+            }
+            return buffer;
+        }
+    }
+}
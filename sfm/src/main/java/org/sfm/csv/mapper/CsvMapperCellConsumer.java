@@ -1,12 +1,12 @@
 package org.sfm.csv.mapper;
 
-import org.sfm.csv.parser.CellConsumer;
+import org.sfm.csv.parser.Utf8CellConsumer;
 import org.sfm.map.RowHandlerErrorHandler;
 import org.sfm.utils.RowHandler;
 
 import java.util.Collection;
 
-public final class CsvMapperCellConsumer<T> implements CellConsumer {
+public final class CsvMapperCellConsumer<T> implements Utf8CellConsumer {
 
 
     private final CsvMapperCellHandler<T> mapperSetters;
@@ -21,16 +21,37 @@ public final class CsvMapperCellConsumer<T> implements CellConsumer {
 
     protected final CsvMapperCellConsumer[] children;
 
+    private final Utf8CellSetter<T>[] utf8Setters;
+
+    private final int[] nextCellIndexes;
+
     protected int cellIndex = 0;
 
-    @SuppressWarnings("ToArrayCallWithZeroLengthArrayArgument")
     public CsvMapperCellConsumer(
             CsvMapperCellHandler<T> csvMapperCellHandler,
             RowHandlerErrorHandler rowHandlerErrorHandlers,
             RowHandler<? super T> handler,
             BreakDetector breakDetector, Collection<CsvMapperCellConsumer<?>> children) {
+        this(csvMapperCellHandler, rowHandlerErrorHandlers, handler, breakDetector, children, null, null);
+    }
+
+    /**
+     * @param utf8Setters the setters reading the utf-8 bytes by cell index, a null entry for a cell that needs to be decoded,
+     *                    null if all the cells need to be decoded.
+     * @param nextCellIndexes the index of the next cell reported by the column projection of the parser
+     *                        for each position in the row, null if all the cells are reported.
+     */
+    @SuppressWarnings("ToArrayCallWithZeroLengthArrayArgument")
+    public CsvMapperCellConsumer(
+            CsvMapperCellHandler<T> csvMapperCellHandler,
+            RowHandlerErrorHandler rowHandlerErrorHandlers,
+            RowHandler<? super T> handler,
+            BreakDetector breakDetector, Collection<CsvMapperCellConsumer<?>> children,
+            Utf8CellSetter<T>[] utf8Setters, int[] nextCellIndexes) {
         super();
         this.mapperSetters = csvMapperCellHandler;
+        this.utf8Setters = utf8Setters;
+        this.nextCellIndexes = nextCellIndexes;
         this.rowHandlerErrorHandlers = rowHandlerErrorHandlers;
         this.handler = handler;
         this.breakDetector = breakDetector;
@@ -72,7 +93,7 @@ public final class CsvMapperCellConsumer<T> implements CellConsumer {
 
     @Override
     public final void newCell(char[] chars, int offset, int length) {
-        int index = cellIndex;
+        int index = nextCellIndex();
         newCell(chars, offset, length, index);
         afterNewCell(index);
     }
@@ -86,6 +107,27 @@ public final class CsvMapperCellConsumer<T> implements CellConsumer {
         this.cellIndex = cellIndex + 1;
     }
 
+    @Override
+    public final boolean newUtf8Cell(byte[] bytes, int offset, int length) {
+        if (utf8Setters == null) return false;
+        int index = nextCellIndex();
+        Utf8CellSetter<T> setter = null;
+        if (index < utf8Setters.length) {
+            setter = utf8Setters[index];
+            if (setter == null) return false;
+        }
+        if (isNotNull()) {
+            mapperSetters.utf8CellValue(setter, bytes, offset, length, index);
+        }
+        this.cellIndex = index + 1;
+        afterNewCell(index);
+        return true;
+    }
+
+    private int nextCellIndex() {
+        return nextCellIndexes == null ? cellIndex : nextCellIndexes[cellIndex];
+    }
+
     private boolean isNotNull() {
         if (breakDetector == null) {
             mapperSetters.createInstanceIfNull();
@@ -33,6 +33,19 @@ public abstract class CsvMapperCellHandler<T> {
 
     public abstract void cellValue(char[] chars, int offset, int length, int cellIndex);
 
+    /**
+     * set the value read from the utf-8 bytes of the cell.
+     * @param setter the setter of the cell, null if the cell is not mapped
+     */
+    public final void utf8CellValue(Utf8CellSetter<T> setter, byte[] bytes, int offset, int length, int cellIndex) {
+        if (setter == null) return;
+        try {
+            setter.set(currentInstance, bytes, offset, length, parsingContext);
+        } catch (Exception e) {
+            fieldError(cellIndex, e);
+        }
+    }
+
     public abstract void applyDelayedSetters();
 
     public abstract DelayedCellSetter<T, ?> getDelayedCellSetter(int index);
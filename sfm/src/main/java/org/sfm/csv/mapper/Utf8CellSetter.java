@@ -0,0 +1,15 @@
+package org.sfm.csv.mapper;
+
+import org.sfm.csv.ParsingContext;
+
+/**
+ * Set the value read from the utf-8 bytes of a cell.
+ */
+public interface Utf8CellSetter<T> {
+	void set(T target, byte[] bytes, int offset, int length, ParsingContext parsingContext) throws Exception;
+
+	/**
+	 * @return true if the value is read straight from the bytes, false if they are decoded first
+	 */
+	boolean readsUtf8();
+}
@@ -15,12 +15,15 @@ public abstract class AbstractCsvCharConsumer extends CsvCharConsumer {
 	protected int _currentIndex;
 	protected int currentState = NONE;
 
+	private ColumnProjection columnProjection;
+	private int cellIndex;
+
 	public AbstractCsvCharConsumer(CharBuffer csvBuffer) {
 		this.csvBuffer = csvBuffer;
 	}
 
 	@Override
-	public final void consumeAllBuffer(CellConsumer cellConsumer) {
+	public void consumeAllBuffer(CellConsumer cellConsumer) {
 		int bufferLength = csvBuffer.getBufferSize();
 		char[] buffer = csvBuffer.getCharBuffer();
 		for(int i = _currentIndex; i  < bufferLength; i++) {
@@ -73,9 +76,22 @@ public abstract class AbstractCsvCharConsumer extends CsvCharConsumer {
 
 	private void endOfRow(int currentIndex, CellConsumer cellConsumer) {
 		newCell(currentIndex, cellConsumer);
+		if (columnProjection != null) {
+			columnProjection.endOfRow();
+			cellIndex = 0;
+		}
 		cellConsumer.endOfRow();
 	}
 
+	/**
+	 * only report the cells of the selected columns from the next row.
+	 * @param columnProjection the projection, null to report all the cells
+	 */
+	public final void setColumnProjection(ColumnProjection columnProjection) {
+		this.columnProjection = columnProjection;
+		this.cellIndex = 0;
+	}
+
 	protected void quote(int currentIndex) {
 		if (isAllConsumedFromMark(currentIndex)) {
 			currentState |= IN_QUOTE;
@@ -84,7 +100,21 @@ public abstract class AbstractCsvCharConsumer extends CsvCharConsumer {
 		}
 	}
 
-	protected void newCell(int currentIndex, CellConsumer cellConsumer) {
+	protected final void newCell(int currentIndex, CellConsumer cellConsumer) {
+		if (columnProjection == null) {
+			pushCell(currentIndex, cellConsumer);
+		} else {
+			int index = cellIndex++;
+			if (columnProjection.isSelected(index)) {
+				pushCell(currentIndex,
+						columnProjection.isResolving() ? columnProjection.headerCellConsumer(index, cellConsumer) : cellConsumer);
+			}
+		}
+		csvBuffer.mark(currentIndex + 1);
+		currentState = NONE;
+	}
+
+	protected void pushCell(int currentIndex, CellConsumer cellConsumer) {
 		char[] charBuffer = csvBuffer.getCharBuffer();
 		int start = csvBuffer.getMark();
 		int length = currentIndex - start;
@@ -96,8 +126,11 @@ public abstract class AbstractCsvCharConsumer extends CsvCharConsumer {
 		}
 
 		cellConsumer.newCell(charBuffer, start, length);
-		csvBuffer.mark(currentIndex + 1);
-		currentState = NONE;
+	}
+
+	@Override
+	public void release() {
+		csvBuffer.release();
 	}
 
 	@Override
@@ -0,0 +1,65 @@
+package org.sfm.csv.parser;
+
+/**
+ * CharBuffer that shifts the content to the mark and doubles its capacity when the content from the mark
+ * takes more than half of it, up to maxBufferSize.
+ */
+public abstract class AbstractGrowableCharBuffer extends CharBuffer {
+
+	private static final char[] RELEASED_BUFFER = new char[0];
+
+	protected final int maxBufferSize;
+	private CharArrayPool pool;
+
+	public AbstractGrowableCharBuffer(final int bufferSize, int maxBufferSize) {
+		this(bufferSize, maxBufferSize, null);
+	}
+
+	/**
+	 * @param bufferSize the initial size of the buffer
+	 * @param maxBufferSize the maximum size of the buffer
+	 * @param pool the pool to take the buffer array from, null to allocate a new one
+	 */
+	public AbstractGrowableCharBuffer(final int bufferSize, int maxBufferSize, CharArrayPool pool) {
+		super(pool != null ? pool.acquire(bufferSize) : new char[bufferSize], 0);
+		this.maxBufferSize = maxBufferSize;
+		this.pool = pool;
+	}
+
+	public final int shiftBufferToMark() throws BufferOverflowException {
+		// shift buffer consumer data
+		int usedLength = Math.max(bufferSize - mark, 0);
+
+		// compact in place while the pending chars leave half of the capacity to fill, double the capacity otherwise
+		if (usedLength <= (buffer.length >> 1) || buffer.length >= maxBufferSize) {
+			if (usedLength == buffer.length) {
+				throw new BufferOverflowException("The content in the csv cell exceed the maxSizeBuffer " + maxBufferSize + ", see CsvParser.DSL.maxSizeBuffer(int) to change the default value");
+			}
+			System.arraycopy(buffer, mark, buffer, 0, usedLength);
+		} else {
+			// double buffer size
+			char[] newBuffer = new char[Math.min(maxBufferSize, buffer.length << 1)];
+			System.arraycopy(buffer, mark, newBuffer, 0, usedLength);
+			if (pool != null) {
+				pool.release(buffer);
+			}
+			buffer = newBuffer;
+		}
+		bufferSize = usedLength;
+
+		int m = mark;
+		mark = 0;
+		return m;
+	}
+
+	@Override
+	public void release() {
+		if (pool != null) {
+			pool.release(buffer);
+			pool = null;
+			buffer = RELEASED_BUFFER;
+			bufferSize = 0;
+			mark = 0;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package org.sfm.csv.parser;
+
+
+/**
+ * Trim the spaces around the content of the cells, the spaces inside the quotes are kept.
+ * <p>
+ * The consuming loop needs to set HAS_CONTENT on the chars other than space, the separator, the quote and the end of lines.
+ */
+public abstract class AbstractTrimCsvCharConsumer extends AbstractCsvCharConsumer {
+
+	public AbstractTrimCsvCharConsumer(CharBuffer csvBuffer) {
+		super(csvBuffer);
+	}
+
+	protected final void quote(int currentIndex) {
+		if (isAllConsumedFromMark(currentIndex)) {
+			currentState |= IN_QUOTE;
+		} else if ((currentState & (HAS_CONTENT | ALL_QUOTES)) == 0) {
+			currentState |= IN_QUOTE;
+			csvBuffer.mark(currentIndex);
+		} else {
+			currentState ^= ALL_QUOTES;
+		}
+	}
+
+	protected void pushCell(int currentIndex, CellConsumer cellConsumer) {
+		char[] charBuffer = csvBuffer.getCharBuffer();
+		int start = csvBuffer.getMark();
+		int length = currentIndex - start;
+
+		final char quoteChar = quoteChar();
+		if (charBuffer[start] == quoteChar) {
+			length = unescape(charBuffer, start, length, quoteChar);
+			start++;
+		} else {
+			int newStart = firstNonSpaceChar(charBuffer, start, length);
+			length = length - newStart + start;
+			start = newStart;
+
+			length = lastNonSpaceChar(charBuffer, start + length, start) - start;
+		}
+
+		cellConsumer.newCell(charBuffer, start, length);
+	}
+
+	private int lastNonSpaceChar(char[] charBuffer, int end, int start) {
+		for(int i = end; i > start; i--) {
+			if (charBuffer[i - 1] != ' ') return i;
+		}
+		return start;
+	}
+
+	private int firstNonSpaceChar(char[] charBuffer, int start, int length) {
+		for(int i = start; i < start + length; i++) {
+			if (charBuffer[i] != ' ') return i;
+		}
+		return start + length;
+	}
+
+	protected int unescape(final char[] chars, final int offset, final int length, char quoteChar) {
+		int start = offset + 1;
+		int shiftedIndex = start;
+		boolean notEscaped = true;
+
+		int lastCharacter = offset + length - 1;
+
+		while(chars[lastCharacter]  == ' ' && lastCharacter > offset) {
+			lastCharacter --;
+		}
+
+		// copy chars apart from escape chars
+		for(int i = start; i < lastCharacter; i++) {
+			notEscaped = chars[i] != quoteChar || !notEscaped;
+			if (notEscaped) {
+				chars[shiftedIndex++] = chars[i];
+			}
+		}
+
+		// if last is not quote add to shifted char
+		if (chars[(lastCharacter)] != quoteChar || !notEscaped) {
+			chars[shiftedIndex++] = chars[(lastCharacter)];
+		}
+
+		return shiftedIndex - start;
+	}
+}
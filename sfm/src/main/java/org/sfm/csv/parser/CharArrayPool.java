@@ -0,0 +1,68 @@
+package org.sfm.csv.parser;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Bounded per thread pool of char arrays used to recycle the parser buffers.
+ * <p>
+ * Each thread keeps at most maxArraysPerThread arrays, arrays bigger than maxArraySize are left to the GC.
+ * An array released on a different thread goes to the pool of that thread.
+ */
+public final class CharArrayPool {
+
+	public static final CharArrayPool DEFAULT_POOL = new CharArrayPool(4, 1 << 16);
+
+	private final int maxArraysPerThread;
+	private final int maxArraySize;
+
+	private final ThreadLocal<ArrayDeque<char[]>> pools = new ThreadLocal<ArrayDeque<char[]>>() {
+		@Override
+		protected ArrayDeque<char[]> initialValue() {
+			return new ArrayDeque<char[]>(maxArraysPerThread);
+		}
+	};
+
+	public CharArrayPool(int maxArraysPerThread, int maxArraySize) {
+		this.maxArraysPerThread = maxArraysPerThread;
+		this.maxArraySize = maxArraySize;
+	}
+
+	/**
+	 * @param minSize the minimum size of the array
+	 * @return a pooled array of at least minSize chars or a new one if none is available
+	 */
+	public char[] acquire(int minSize) {
+		Iterator<char[]> iterator = pools.get().iterator();
+		while(iterator.hasNext()) {
+			char[] array = iterator.next();
+			if (array.length >= minSize) {
+				iterator.remove();
+				return array;
+			}
+		}
+		return new char[minSize];
+	}
+
+	/**
+	 * give back the array to the pool of the current thread, the array must not be used after.
+	 * @param array the array
+	 */
+	public void release(char[] array) {
+		if (array.length == 0 || array.length > maxArraySize) {
+			return;
+		}
+		ArrayDeque<char[]> pool = pools.get();
+		if (pool.size() < maxArraysPerThread) {
+			pool.push(array);
+		}
+	}
+
+	public int maxArraysPerThread() {
+		return maxArraysPerThread;
+	}
+
+	public int maxArraySize() {
+		return maxArraySize;
+	}
+}
@@ -31,4 +31,10 @@ public abstract class CharBuffer {
 	public int getBufferSize() {
 		return bufferSize;
 	}
+
+	/**
+	 * give back the char array to its pool if any, the buffer must not be used after.
+	 */
+	public void release() {
+	}
 }
@@ -5,11 +5,49 @@ import java.io.Reader;
 
 public final class CharSequenceCharBuffer extends CharBuffer {
 
+	private CharArrayPool pool;
+
 	public CharSequenceCharBuffer(final CharSequence charSequence)
 			throws IOException {
 		super(toCharArray(charSequence), charSequence.length());
 	}
 
+	/**
+	 * copy the content into an array taken from the pool.
+	 * @param charSequence the content
+	 * @param pool the pool
+	 * @param minBufferSize the minimum size of the array to take, so that the arrays are interchangeable with the other buffers
+	 * @throws IOException never
+	 */
+	public CharSequenceCharBuffer(final CharSequence charSequence, CharArrayPool pool, int minBufferSize)
+			throws IOException {
+		super(copy(charSequence, pool.acquire(Math.max(minBufferSize, charSequence.length()))), charSequence.length());
+		this.pool = pool;
+	}
+
+	private static char[] copy(CharSequence charSequence, char[] buffer) {
+		int length = charSequence.length();
+		if (charSequence instanceof String) {
+			((String) charSequence).getChars(0, length, buffer, 0);
+		} else {
+			for(int i = 0; i < length; i++) {
+				buffer[i] = charSequence.charAt(i);
+			}
+		}
+		return buffer;
+	}
+
+	@Override
+	public void release() {
+		if (pool != null) {
+			pool.release(buffer);
+			pool = null;
+			buffer = new char[0];
+			bufferSize = 0;
+			mark = 0;
+		}
+	}
+
 	private static char[] toCharArray(CharSequence charSequence) {
 		if (charSequence instanceof String) {
 			return ((String)charSequence).toCharArray();
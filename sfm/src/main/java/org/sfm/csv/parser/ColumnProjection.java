@@ -0,0 +1,148 @@
+package org.sfm.csv.parser;
+
+/**
+ * Selection of the columns the char consumer reports to the CellConsumer.
+ * <p>
+ * The cells of the unselected columns are skipped after the separator detection, they are not unescaped
+ * and not passed to the CellConsumer. The selected cells are reported in the order of the content.
+ * <p>
+ * A projection on names selects the columns on the first row the consumer reads, the matching header cells are reported.
+ * As it holds that resolution state a projection on names must not be shared between consumers, see {@link #newInstance()}.
+ */
+public final class ColumnProjection {
+
+	private final String[] names;
+	private boolean[] selected;
+	private boolean resolving;
+	private final HeaderCellConsumer headerCellConsumer;
+
+	private ColumnProjection(boolean[] selected) {
+		this.names = null;
+		this.selected = selected;
+		this.resolving = false;
+		this.headerCellConsumer = null;
+	}
+
+	private ColumnProjection(String[] names) {
+		this.names = names;
+		this.selected = new boolean[0];
+		this.resolving = true;
+		this.headerCellConsumer = new HeaderCellConsumer();
+	}
+
+	/**
+	 * @param indexes the 0 based indexes of the selected columns
+	 * @return a projection on the columns
+	 */
+	public static ColumnProjection ofIndexes(int... indexes) {
+		int length = 0;
+		for(int index : indexes) {
+			if (index < 0) {
+				throw new IllegalArgumentException("Invalid column index " + index);
+			}
+			length = Math.max(length, index + 1);
+		}
+		boolean[] selected = new boolean[length];
+		for(int index : indexes) {
+			selected[index] = true;
+		}
+		return new ColumnProjection(selected);
+	}
+
+	/**
+	 * @param names the names of the selected columns in the header row, the match ignores the case
+	 * @return a projection on the columns resolved on the first row
+	 */
+	public static ColumnProjection ofNames(String... names) {
+		return new ColumnProjection(names.clone());
+	}
+
+	/**
+	 * @return true if the columns are resolved on a header row
+	 */
+	public boolean needsHeader() {
+		return names != null;
+	}
+
+	/**
+	 * @return a projection with the same selection and no resolution state
+	 */
+	public ColumnProjection newInstance() {
+		if (names == null) {
+			return this;
+		}
+		return new ColumnProjection(names);
+	}
+
+	/**
+	 * @param index the index of the cell in the row
+	 * @return true if the cell needs to be reported, always true while the header is being resolved
+	 */
+	public boolean isSelected(int index) {
+		return resolving || (index < selected.length && selected[index]);
+	}
+
+	public boolean isResolving() {
+		return resolving;
+	}
+
+	/**
+	 * @param index the index of the header cell
+	 * @param delegate the consumer the header cell is reported to if it matches one of the names
+	 * @return the CellConsumer resolving the column of the header cell
+	 */
+	public CellConsumer headerCellConsumer(int index, CellConsumer delegate) {
+		headerCellConsumer.index = index;
+		headerCellConsumer.delegate = delegate;
+		return headerCellConsumer;
+	}
+
+	public void endOfRow() {
+		if (resolving) {
+			resolving = false;
+			headerCellConsumer.delegate = null;
+		}
+	}
+
+	private boolean matchesName(char[] chars, int offset, int length) {
+		String cell = new String(chars, offset, length);
+		for(String name : names) {
+			if (name.equalsIgnoreCase(cell)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void select(int index) {
+		if (index >= selected.length) {
+			boolean[] newSelected = new boolean[index + 1];
+			System.arraycopy(selected, 0, newSelected, 0, selected.length);
+			selected = newSelected;
+		}
+		selected[index] = true;
+	}
+
+	private final class HeaderCellConsumer implements CellConsumer {
+		private int index;
+		private CellConsumer delegate;
+
+		@Override
+		public void newCell(char[] chars, int offset, int length) {
+			if (matchesName(chars, offset, length)) {
+				select(index);
+				delegate.newCell(chars, offset, length);
+			}
+		}
+
+		@Override
+		public void endOfRow() {
+			delegate.endOfRow();
+		}
+
+		@Override
+		public void end() {
+			delegate.end();
+		}
+	}
+}
@@ -13,4 +13,10 @@ public abstract class CsvCharConsumer {
     public abstract boolean refillBuffer() throws IOException;
 
     public abstract char quoteChar();
+
+    /**
+     * give back the buffer to its pool if any, the consumer must not be used after.
+     */
+    public void release() {
+    }
 }
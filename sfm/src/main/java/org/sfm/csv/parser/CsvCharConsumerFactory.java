@@ -0,0 +1,9 @@
+package org.sfm.csv.parser;
+
+/**
+ * Create the char consumer of a csv dialect.
+ * @see org.sfm.reflect.asm.AsmFactory#createCsvCharConsumerFactory(char, char, boolean)
+ */
+public abstract class CsvCharConsumerFactory {
+	public abstract AbstractCsvCharConsumer newCharConsumer(CharBuffer charBuffer);
+}
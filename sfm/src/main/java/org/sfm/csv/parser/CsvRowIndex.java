@@ -0,0 +1,215 @@
+package org.sfm.csv.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Byte offsets of every interval rows of the utf-8 or ascii content of a file.
+ * <p>
+ * The start of a row is found by seeking to the closest indexed row before it and
+ * scanning at most interval - 1 rows with a {@link FileRowScanner}, the skipped rows are not parsed.
+ * <p>
+ * The index is persisted in a sidecar file next to the content, see {@link #indexFile(File)}.
+ * It is only valid for the size and the last modified time of the file it was built on.
+ */
+public final class CsvRowIndex {
+
+	public static final String FILE_SUFFIX = ".sfmidx";
+
+	private static final int MAGIC = 0x53464d49;
+	private static final int VERSION = 1;
+
+	private final char quoteChar;
+	private final int interval;
+	private final long fileSize;
+	private final long lastModified;
+	private final long[] offsets;
+
+	private CsvRowIndex(char quoteChar, int interval, long fileSize, long lastModified, long[] offsets) {
+		this.quoteChar = quoteChar;
+		this.interval = interval;
+		this.fileSize = fileSize;
+		this.lastModified = lastModified;
+		this.offsets = offsets;
+	}
+
+	/**
+	 * Read the sidecar index of the file if it is valid, otherwise build it and persist it.
+	 * A failure to persist the index is ignored, the built index is still returned.
+	 * @param file the file
+	 * @param channel a channel on the file
+	 * @param quoteChar the quote char of the content
+	 * @param interval the number of rows between 2 offsets
+	 * @return the index of the file
+	 * @throws IOException if an error occurs reading the file
+	 */
+	public static CsvRowIndex load(File file, FileChannel channel, char quoteChar, int interval) throws IOException {
+		File indexFile = indexFile(file);
+		long fileSize = channel.size();
+		long lastModified = file.lastModified();
+		if (indexFile.exists()) {
+			try {
+				CsvRowIndex index = read(indexFile);
+				if (index.isValidFor(fileSize, lastModified, quoteChar, interval)) {
+					return index;
+				}
+			} catch (IOException e) {
+				// corrupted index, rebuild it
+			}
+		}
+
+		CsvRowIndex index = build(channel, quoteChar, interval, lastModified);
+		try {
+			index.write(indexFile);
+		} catch (IOException e) {
+			// read only location, the index is rebuilt next time
+		}
+		return index;
+	}
+
+	/**
+	 * @param channel a channel on the file
+	 * @param quoteChar the quote char of the content
+	 * @param interval the number of rows between 2 offsets
+	 * @param lastModified the last modified time of the file
+	 * @return the index of the content of the channel
+	 * @throws IOException if an error occurs reading the file
+	 */
+	public static CsvRowIndex build(FileChannel channel, char quoteChar, int interval, long lastModified) throws IOException {
+		if (interval <= 0) {
+			throw new IllegalArgumentException("interval should be positive " + interval);
+		}
+		FileRowScanner rowScanner = new FileRowScanner(channel, quoteChar);
+		long fileSize = channel.size();
+
+		long[] offsets = new long[16];
+		int nbOffsets = 1;
+		long rowStart = 0;
+		while((rowStart = rowScanner.skipRows(rowStart, interval, fileSize)) < fileSize) {
+			if (nbOffsets == offsets.length) {
+				offsets = Arrays.copyOf(offsets, offsets.length * 2);
+			}
+			offsets[nbOffsets++] = rowStart;
+		}
+		return new CsvRowIndex(quoteChar, interval, fileSize, lastModified, Arrays.copyOf(offsets, nbOffsets));
+	}
+
+	/**
+	 * @param channel a channel on the indexed file
+	 * @param row the 0 based index of the row
+	 * @return the position of the start of the row, the size of the file if there is less rows
+	 * @throws IOException if an error occurs reading the file
+	 */
+	public long rowStart(FileChannel channel, long row) throws IOException {
+		if (row < 0) {
+			throw new IllegalArgumentException("Invalid row " + row);
+		}
+		int offsetIndex = (int) Math.min(row / interval, offsets.length - 1);
+		long remainingRows = row - (long) offsetIndex * interval;
+		if (remainingRows >= interval) {
+			// past the last indexed row, the file has less rows
+			return fileSize;
+		}
+		return new FileRowScanner(channel, quoteChar).skipRows(offsets[offsetIndex], (int) remainingRows, fileSize);
+	}
+
+	public boolean isValidFor(long fileSize, long lastModified, char quoteChar, int interval) {
+		return this.fileSize == fileSize
+				&& this.lastModified == lastModified
+				&& this.quoteChar == quoteChar
+				&& this.interval == interval;
+	}
+
+	/**
+	 * @param file the file
+	 * @return the sidecar file of the index of file
+	 */
+	public static File indexFile(File file) {
+		return new File(file.getPath() + FILE_SUFFIX);
+	}
+
+	/**
+	 * write the index to a temporary file renamed to indexFile, so that a concurrent reader never sees a partial index.
+	 * @param indexFile the file
+	 * @throws IOException if an error occurs writing the file
+	 */
+	public void write(File indexFile) throws IOException {
+		File tmpFile = File.createTempFile(indexFile.getName(), ".tmp", indexFile.getAbsoluteFile().getParentFile());
+		try {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+			try {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeChar(quoteChar);
+				out.writeInt(interval);
+				out.writeLong(fileSize);
+				out.writeLong(lastModified);
+				out.writeInt(offsets.length);
+				for(long offset : offsets) {
+					out.writeLong(offset);
+				}
+			} finally {
+				out.close();
+			}
+			if (!tmpFile.renameTo(indexFile) && !(indexFile.delete() && tmpFile.renameTo(indexFile))) {
+				throw new IOException("Could not rename " + tmpFile + " to " + indexFile);
+			}
+		} finally {
+			if (tmpFile.exists()) {
+				tmpFile.delete();
+			}
+		}
+	}
+
+	/**
+	 * @param indexFile the file
+	 * @return the index persisted in indexFile
+	 * @throws IOException if an error occurs reading the file or if it is not an index
+	 */
+	public static CsvRowIndex read(File indexFile) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)));
+		try {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Not a row index " + indexFile);
+			}
+			char quoteChar = in.readChar();
+			int interval = in.readInt();
+			long fileSize = in.readLong();
+			long lastModified = in.readLong();
+			int nbOffsets = in.readInt();
+			if (interval <= 0 || nbOffsets <= 0) {
+				throw new IOException("Corrupted row index " + indexFile);
+			}
+			long[] offsets = new long[nbOffsets];
+			for(int i = 0; i < nbOffsets; i++) {
+				offsets[i] = in.readLong();
+			}
+			return new CsvRowIndex(quoteChar, interval, fileSize, lastModified, offsets);
+		} finally {
+			in.close();
+		}
+	}
+
+	public int interval() {
+		return interval;
+	}
+
+	public long fileSize() {
+		return fileSize;
+	}
+
+	/**
+	 * @return the number of indexed offsets, the first one being the start of the file
+	 */
+	public int nbOffsets() {
+		return offsets.length;
+	}
+}
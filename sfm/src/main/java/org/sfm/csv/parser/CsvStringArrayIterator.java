@@ -14,6 +14,7 @@ public class CsvStringArrayIterator implements Iterator<String[]> {
     private final CellConsumer cellConsumer;
 
     private boolean isFetched;
+    private boolean ended;
     private String[] value;
 
     @SuppressWarnings("unchecked")
@@ -37,7 +38,11 @@ public class CsvStringArrayIterator implements Iterator<String[]> {
         if (!isFetched) {
             try {
                 value = null;
-                reader.parseRow(cellConsumer);
+                // give back the pooled buffer once the content is consumed
+                if (!ended && !reader.parseRow(cellConsumer)) {
+                    ended = true;
+                    reader.release();
+                }
             } catch (IOException e) {
                 ErrorHelper.rethrow(e);
             }
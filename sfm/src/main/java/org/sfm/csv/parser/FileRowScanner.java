@@ -0,0 +1,137 @@
+package org.sfm.csv.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Find row boundaries in the utf-8 or ascii content of a file without decoding it.
+ * <p>
+ * The scan starts from a known row start and tracks the parity of the quote char the same way the parser does,
+ * so that a line break inside a quoted cell is not taken as the end of a row.
+ * A lone '\r', '\n' or "\r\n" ends a row.
+ * The quote char needs to be ascii as multi-byte utf-8 sequences never contain an ascii byte.
+ * <p>
+ * When the content has no multiline cells {@link #nextLineStart(long, long)} finds a row start from any position
+ * by only reading up to the next line break.
+ */
+public final class FileRowScanner {
+
+	private static final int CHUNK_SIZE = 1 << 16;
+	private static final int LINE_CHUNK_SIZE = 1 << 12;
+
+	private final FileChannel channel;
+	private final byte quoteChar;
+
+	public FileRowScanner(FileChannel channel, char quoteChar) {
+		if (!isSupportedQuoteChar(quoteChar)) {
+			throw new IllegalArgumentException("Quote char needs to be ascii " + quoteChar);
+		}
+		this.channel = channel;
+		this.quoteChar = (byte) quoteChar;
+	}
+
+	public static boolean isSupportedQuoteChar(char quoteChar) {
+		return quoteChar < 128;
+	}
+
+	/**
+	 * @param rowStart the position of the start of a row
+	 * @param nbRows the number of rows to skip
+	 * @param end the end of the content
+	 * @return the position of the row following the nbRows rows starting at rowStart, end if there is less rows.
+	 * @throws IOException if an error occurs reading the file
+	 */
+	public long skipRows(long rowStart, int nbRows, long end) throws IOException {
+		if (nbRows <= 0) {
+			return rowStart;
+		}
+		return scan(rowStart, nbRows, end);
+	}
+
+	/**
+	 * Only valid if no quoted cell contains a line break, the quotes are ignored.
+	 * @param position the position from which to look for a line start
+	 * @param end the end of the content
+	 * @return the position following the first line break at or after position, end if there is none.
+	 * @throws IOException if an error occurs reading the file
+	 */
+	public long nextLineStart(long position, long end) throws IOException {
+		ByteBuffer byteBuffer = ByteBuffer.allocate(LINE_CHUNK_SIZE);
+		byte[] bytes = byteBuffer.array();
+
+		boolean afterCr = false;
+		long chunkStart = position;
+
+		while(chunkStart < end) {
+			byteBuffer.clear();
+			byteBuffer.limit((int) Math.min(bytes.length, end - chunkStart));
+			int length = channel.read(byteBuffer, chunkStart);
+			if (length <= 0) {
+				break;
+			}
+
+			for(int i = 0; i < length; i++) {
+				byte b = bytes[i];
+				if (afterCr) {
+					return b == '\n' ? chunkStart + i + 1 : chunkStart + i;
+				}
+				if (b == '\n') {
+					return chunkStart + i + 1;
+				} else if (b == '\r') {
+					afterCr = true;
+				}
+			}
+			chunkStart += length;
+		}
+		return end;
+	}
+
+	private long scan(long rowStart, int nbRows, long end) throws IOException {
+		ByteBuffer byteBuffer = ByteBuffer.allocate((int) Math.min(CHUNK_SIZE, Math.max(end - rowStart, 1)));
+		byte[] bytes = byteBuffer.array();
+
+		boolean inQuote = false;
+		boolean afterCr = false;
+		long chunkStart = rowStart;
+
+		while(chunkStart < end) {
+			byteBuffer.clear();
+			byteBuffer.limit((int) Math.min(bytes.length, end - chunkStart));
+			int length = channel.read(byteBuffer, chunkStart);
+			if (length <= 0) {
+				break;
+			}
+
+			for(int i = 0; i < length; i++) {
+				byte b = bytes[i];
+				if (afterCr) {
+					afterCr = false;
+					long candidate = chunkStart + i;
+					if (b == '\n') {
+						candidate++;
+					}
+					if (--nbRows == 0) {
+						return candidate;
+					}
+					if (b == '\n') {
+						continue;
+					}
+				}
+				if (b == quoteChar) {
+					inQuote = !inQuote;
+				} else if (!inQuote) {
+					if (b == '\n') {
+						if (--nbRows == 0) {
+							return chunkStart + i + 1;
+						}
+					} else if (b == '\r') {
+						afterCr = true;
+					}
+				}
+			}
+			chunkStart += length;
+		}
+		return end;
+	}
+}
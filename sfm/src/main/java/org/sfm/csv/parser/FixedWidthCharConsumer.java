@@ -0,0 +1,127 @@
+package org.sfm.csv.parser;
+
+import java.io.IOException;
+
+/**
+ * Consume fixed width records, one per line.
+ * <p>
+ * The only chars looked at are the line ends, the cells are sliced from the record at the column offsets
+ * without separator or quote handling. The cells of a short record are truncated, or empty past its end.
+ * Empty lines are skipped.
+ */
+public final class FixedWidthCharConsumer extends CsvCharConsumer {
+
+	private final CharBuffer csvBuffer;
+	private final int[] columnStarts;
+	private final int[] columnEnds;
+	private final boolean trimSpaces;
+
+	private int _currentIndex;
+
+	/**
+	 * @param csvBuffer the buffer
+	 * @param columnStarts the offset of the first char of each column in the record
+	 * @param columnEnds the offset after the last char of each column in the record
+	 * @param trimSpaces true to trim the padding spaces around the cell value
+	 */
+	public FixedWidthCharConsumer(CharBuffer csvBuffer, int[] columnStarts, int[] columnEnds, boolean trimSpaces) {
+		if (columnStarts.length != columnEnds.length) {
+			throw new IllegalArgumentException("columnStarts and columnEnds need to be the same length");
+		}
+		this.csvBuffer = csvBuffer;
+		this.columnStarts = columnStarts;
+		this.columnEnds = columnEnds;
+		this.trimSpaces = trimSpaces;
+	}
+
+	@Override
+	public void consumeAllBuffer(CellConsumer cellConsumer) {
+		int bufferLength = csvBuffer.getBufferSize();
+		char[] buffer = csvBuffer.getCharBuffer();
+		for(int index = _currentIndex; index < bufferLength; index++) {
+			char c = buffer[index];
+			if (c == '\n' || c == '\r') {
+				endOfLine(index, cellConsumer);
+			}
+		}
+		_currentIndex = bufferLength;
+	}
+
+	@Override
+	public boolean consumeToNextRow(CellConsumer cellConsumer) {
+		int bufferLength = csvBuffer.getBufferSize();
+		char[] buffer = csvBuffer.getCharBuffer();
+		for(int index = _currentIndex; index < bufferLength; index++) {
+			char c = buffer[index];
+			if ((c == '\n' || c == '\r') && endOfLine(index, cellConsumer)) {
+				_currentIndex = index + 1;
+				return true;
+			}
+		}
+		_currentIndex = bufferLength;
+		return false;
+	}
+
+	/**
+	 * the lf of a crlf is seen as an empty line.
+	 * @return true if a record was pushed
+	 */
+	private boolean endOfLine(int index, CellConsumer cellConsumer) {
+		int recordStart = csvBuffer.getMark();
+		csvBuffer.mark(index + 1);
+		if (recordStart == index) {
+			return false;
+		}
+		pushRecord(recordStart, index, cellConsumer);
+		cellConsumer.endOfRow();
+		return true;
+	}
+
+	private void pushRecord(int recordStart, int recordEnd, CellConsumer cellConsumer) {
+		char[] buffer = csvBuffer.getCharBuffer();
+		int recordLength = recordEnd - recordStart;
+		for(int i = 0; i < columnStarts.length; i++) {
+			int start = recordStart + Math.min(columnStarts[i], recordLength);
+			int end = recordStart + Math.min(columnEnds[i], recordLength);
+			if (trimSpaces) {
+				while(start < end && buffer[start] == ' ') {
+					start++;
+				}
+				while(end > start && buffer[end - 1] == ' ') {
+					end--;
+				}
+			}
+			cellConsumer.newCell(buffer, start, end - start);
+		}
+	}
+
+	@Override
+	public void finish(CellConsumer cellConsumer) {
+		int recordStart = csvBuffer.getMark();
+		if (recordStart < _currentIndex) {
+			pushRecord(recordStart, _currentIndex, cellConsumer);
+			csvBuffer.mark(_currentIndex);
+			cellConsumer.endOfRow();
+		}
+		cellConsumer.end();
+	}
+
+	@Override
+	public boolean refillBuffer() throws IOException {
+		_currentIndex -= csvBuffer.shiftBufferToMark();
+		return csvBuffer.fillBuffer();
+	}
+
+	/**
+	 * @return 0, fixed width records are not quoted
+	 */
+	@Override
+	public char quoteChar() {
+		return 0;
+	}
+
+	@Override
+	public void release() {
+		csvBuffer.release();
+	}
+}
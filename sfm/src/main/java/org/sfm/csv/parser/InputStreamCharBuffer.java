@@ -0,0 +1,80 @@
+package org.sfm.csv.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * CharBuffer reading utf-8 content from an InputStream.
+ * <p>
+ * The bytes are decoded straight into the parser buffer by {@link Utf8Decoder}, skipping the Reader and CharsetDecoder layers.
+ */
+public final class InputStreamCharBuffer extends AbstractGrowableCharBuffer {
+
+	private final InputStream inputStream;
+	private final ByteBuffer bytes;
+	private boolean endOfInput;
+
+	public InputStreamCharBuffer(final int bufferSize, int maxBufferLength, InputStream inputStream) {
+		this(bufferSize, maxBufferLength, inputStream, null);
+	}
+
+	public InputStreamCharBuffer(final int bufferSize, int maxBufferLength, InputStream inputStream, CharArrayPool pool) {
+		super(bufferSize, maxBufferLength, pool);
+		this.inputStream = inputStream;
+		this.bytes = ByteBuffer.allocate(Math.max(bufferSize, 4));
+		this.bytes.flip();
+	}
+
+	public boolean fillBuffer() throws IOException {
+		while(true) {
+			int newBufferSize = endOfInput
+					? Utf8Decoder.decodeEndOfInput(bytes, buffer, bufferSize, buffer.length)
+					: Utf8Decoder.decode(bytes, buffer, bufferSize, buffer.length);
+
+			if (newBufferSize != bufferSize) {
+				bufferSize = newBufferSize;
+				return true;
+			}
+
+			if (endOfInput) {
+				// the buffer can be full with bytes left to decode once shifted to the mark
+				return bytes.hasRemaining();
+			}
+
+			if (buffer.length - bufferSize < 2 && bytes.hasRemaining()) {
+				// buffer full, need to shift to mark first
+				return true;
+			}
+
+			readBytes();
+		}
+	}
+
+	private void readBytes() throws IOException {
+		bytes.compact();
+		int length = inputStream.read(bytes.array(), bytes.position(), bytes.remaining());
+		if (length == -1) {
+			endOfInput = true;
+		} else {
+			bytes.position(bytes.position() + length);
+		}
+		bytes.flip();
+	}
+
+	public char[] getCharBuffer() {
+		return buffer;
+	}
+
+	public int getMark() {
+		return mark;
+	}
+
+	public char getChar(int bufferIndex) {
+		return buffer[bufferIndex];
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+}
@@ -0,0 +1,105 @@
+package org.sfm.csv.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * CharBuffer reading utf-8 content from a range of a file mapped in memory.
+ * <p>
+ * The file is mapped as a sequence of read only windows of at most windowSize bytes so that files bigger than 2G can be read,
+ * the bytes are decoded by {@link Utf8Decoder} straight from the page cache into the parser buffer.
+ */
+public final class MappedFileCharBuffer extends AbstractGrowableCharBuffer {
+
+	public static final int DEFAULT_WINDOW_SIZE = 1 << 26;
+
+	private final FileChannel channel;
+	private final long end;
+	private final int windowSize;
+
+	private long windowStart;
+	private ByteBuffer window;
+
+	/**
+	 * @param bufferSize the initial size of the char buffer
+	 * @param maxBufferLength the maximum size of the char buffer
+	 * @param channel the file channel
+	 * @param start the position of the first byte to read
+	 * @param end the position after the last byte to read
+	 * @param windowSize the maximum size of a mapped window
+	 */
+	public MappedFileCharBuffer(final int bufferSize, int maxBufferLength, FileChannel channel, long start, long end, int windowSize) {
+		this(bufferSize, maxBufferLength, channel, start, end, windowSize, null);
+	}
+
+	/**
+	 * @param bufferSize the initial size of the char buffer
+	 * @param maxBufferLength the maximum size of the char buffer
+	 * @param channel the file channel
+	 * @param start the position of the first byte to read
+	 * @param end the position after the last byte to read
+	 * @param windowSize the maximum size of a mapped window
+	 * @param pool the pool to take the char buffer from, null to allocate a new one
+	 */
+	public MappedFileCharBuffer(final int bufferSize, int maxBufferLength, FileChannel channel, long start, long end, int windowSize, CharArrayPool pool) {
+		super(bufferSize, maxBufferLength, pool);
+		if (windowSize < 4) {
+			throw new IllegalArgumentException("windowSize should be at least 4 bytes " + windowSize);
+		}
+		this.channel = channel;
+		this.end = end;
+		this.windowSize = windowSize;
+		this.windowStart = start;
+		this.window = ByteBuffer.allocate(0);
+	}
+
+	public boolean fillBuffer() throws IOException {
+		while(true) {
+			boolean lastWindow = windowStart + window.limit() >= end;
+			int newBufferSize = lastWindow
+					? Utf8Decoder.decodeEndOfInput(window, buffer, bufferSize, buffer.length)
+					: Utf8Decoder.decode(window, buffer, bufferSize, buffer.length);
+
+			if (newBufferSize != bufferSize) {
+				bufferSize = newBufferSize;
+				return true;
+			}
+
+			if (lastWindow) {
+				return window.hasRemaining();
+			}
+
+			if (buffer.length - bufferSize < 2 && window.hasRemaining()) {
+				// buffer full, need to shift to mark first
+				return true;
+			}
+
+			mapNextWindow();
+		}
+	}
+
+	private void mapNextWindow() throws IOException {
+		// restart from the first byte not decoded, an incomplete sequence is mapped again.
+		long nextWindowStart = windowStart + window.position();
+		long size = Math.min(windowSize, end - nextWindowStart);
+		window = channel.map(FileChannel.MapMode.READ_ONLY, nextWindowStart, size);
+		windowStart = nextWindowStart;
+	}
+
+	public char[] getCharBuffer() {
+		return buffer;
+	}
+
+	public int getMark() {
+		return mark;
+	}
+
+	public char getChar(int bufferIndex) {
+		return buffer[bufferIndex];
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+}
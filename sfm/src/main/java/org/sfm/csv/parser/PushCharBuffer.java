@@ -0,0 +1,115 @@
+package org.sfm.csv.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * CharBuffer filled with the chunks of content pushed by the caller instead of pulling them from a source.
+ * <p>
+ * {@link #fillBuffer()} copies the pending chunk into the buffer and returns false once it is all copied,
+ * so that the consumer stops and waits for the next chunk while keeping its state.
+ * Byte chunks are decoded as utf-8 by {@link Utf8Decoder},
+ * an incomplete sequence at the end of a chunk is kept and completed with the bytes of the next chunk.
+ */
+public final class PushCharBuffer extends AbstractGrowableCharBuffer {
+
+	private char[] chars;
+	private int charsOffset;
+	private int charsEnd;
+
+	private ByteBuffer bytes;
+	private ByteBuffer pendingBytes = ByteBuffer.allocate(0);
+	private boolean endOfInput;
+
+	public PushCharBuffer(final int bufferSize, int maxBufferSize) {
+		this(bufferSize, maxBufferSize, null);
+	}
+
+	public PushCharBuffer(final int bufferSize, int maxBufferSize, CharArrayPool pool) {
+		super(bufferSize, maxBufferSize, pool);
+	}
+
+	/**
+	 * @param chars the chunk, it is not used after the next call to fillBuffer returning false
+	 * @param offset the index of the first char
+	 * @param length the number of chars
+	 */
+	public void push(char[] chars, int offset, int length) {
+		checkPending();
+		if (pendingBytes.hasRemaining()) {
+			throw new IllegalStateException("Cannot push chars after an incomplete utf-8 sequence");
+		}
+		this.chars = chars;
+		this.charsOffset = offset;
+		this.charsEnd = offset + length;
+	}
+
+	/**
+	 * @param bytes the utf-8 chunk between its position and its limit, it is not used after the next call to fillBuffer returning false
+	 */
+	public void push(ByteBuffer bytes) {
+		checkPending();
+		if (pendingBytes.hasRemaining()) {
+			// complete the sequence started in the previous chunk
+			ByteBuffer joinedBytes = ByteBuffer.allocate(pendingBytes.remaining() + bytes.remaining());
+			joinedBytes.put(pendingBytes).put(bytes).flip();
+			bytes = joinedBytes;
+		}
+		this.bytes = bytes;
+	}
+
+	/**
+	 * mark the end of the content, an incomplete utf-8 sequence left by the last chunk is replaced by U+FFFD.
+	 */
+	public void endOfInput() {
+		checkPending();
+		endOfInput = true;
+		if (pendingBytes.hasRemaining()) {
+			bytes = pendingBytes;
+		}
+	}
+
+	private void checkPending() {
+		if (endOfInput) {
+			throw new IllegalStateException("End of input already reached");
+		}
+		if (chars != null || bytes != null) {
+			throw new IllegalStateException("The previous chunk is not consumed");
+		}
+	}
+
+	public boolean fillBuffer() throws IOException {
+		if (chars != null) {
+			int length = Math.min(charsEnd - charsOffset, buffer.length - bufferSize);
+			System.arraycopy(chars, charsOffset, buffer, bufferSize, length);
+			bufferSize += length;
+			charsOffset += length;
+			if (charsOffset == charsEnd) {
+				chars = null;
+			}
+			return true;
+		}
+		if (bytes != null) {
+			int newBufferSize = endOfInput
+					? Utf8Decoder.decodeEndOfInput(bytes, buffer, bufferSize, buffer.length)
+					: Utf8Decoder.decode(bytes, buffer, bufferSize, buffer.length);
+			if (newBufferSize != bufferSize) {
+				bufferSize = newBufferSize;
+				return true;
+			}
+			if (buffer.length - bufferSize < 2 && bytes.hasRemaining()) {
+				// buffer full, need to shift to mark first
+				return true;
+			}
+			if (bytes.hasRemaining()) {
+				// incomplete sequence at the end of the chunk
+				pendingBytes = ByteBuffer.allocate(bytes.remaining());
+				pendingBytes.put(bytes).flip();
+			} else {
+				pendingBytes.position(pendingBytes.limit());
+			}
+			bytes = null;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,220 @@
+package org.sfm.csv.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CharBuffer that fills the next block of content on a background task while the current one is parsed.
+ * <p>
+ * The task reads from the source CharBuffer and hands over blocks through a queue of 2,
+ * so at most 2 blocks are read ahead of the parser.
+ * The task stops at the end of the input, on error, when the buffer is closed or released - as done when the CsvReader
+ * is released or the CloseableCsvReader closed - or when it is garbage collected.
+ * Only the parse buffer comes from the CharArrayPool, the source buffer and the blocks are filled on the executor thread
+ * and are left to the GC, released there they would only feed the pool of that thread.
+ */
+public final class ReadAheadCharBuffer extends AbstractGrowableCharBuffer implements Closeable {
+
+	/**
+	 * Executor that runs the read ahead tasks on a shared pool of daemon threads.
+	 * A task holds its thread until the end of the input or until the buffer is closed,
+	 * the threads are then reused by the next tasks and end after 60s idle.
+	 */
+	public static final Executor DAEMON_THREAD_EXECUTOR =
+			new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new ThreadFactory() {
+				private final AtomicInteger index = new AtomicInteger();
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "sfm-csv-read-ahead-" + index.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	private static final int QUEUE_SIZE = 2;
+	private static final long OFFER_TIMEOUT_MS = 100;
+
+	private final BlockingQueue<Block> filledBlocks = new ArrayBlockingQueue<Block>(QUEUE_SIZE);
+	private final BlockingQueue<char[]> freeBlocks = new ArrayBlockingQueue<char[]>(QUEUE_SIZE + 1);
+	private final ReadAheadTask task;
+	private final FutureTask<Void> future;
+
+	private Block currentBlock;
+	private int currentBlockIndex;
+
+	public ReadAheadCharBuffer(final int bufferSize, int maxBufferLength, CharBuffer source, Executor executor) {
+		this(bufferSize, maxBufferLength, source, executor, null);
+	}
+
+	public ReadAheadCharBuffer(final int bufferSize, int maxBufferLength, CharBuffer source, Executor executor, CharArrayPool pool) {
+		super(bufferSize, maxBufferLength, pool);
+		this.task = new ReadAheadTask(source, filledBlocks, freeBlocks, this);
+		this.future = new FutureTask<Void>(task, null);
+		executor.execute(future);
+	}
+
+	public boolean fillBuffer() throws IOException {
+		if (currentBlock == null || currentBlockIndex == currentBlock.length) {
+			nextBlock();
+		}
+		if (currentBlock.length == -1) {
+			return false;
+		}
+
+		int length = Math.min(buffer.length - bufferSize, currentBlock.length - currentBlockIndex);
+		System.arraycopy(currentBlock.chars, currentBlockIndex, buffer, bufferSize, length);
+		bufferSize += length;
+		currentBlockIndex += length;
+
+		if (currentBlockIndex == currentBlock.length) {
+			freeBlocks.offer(currentBlock.chars);
+		}
+		return true;
+	}
+
+	private void nextBlock() throws IOException {
+		if (currentBlock != null && currentBlock.length == -1) {
+			return;
+		}
+		try {
+			currentBlock = filledBlocks.take();
+			currentBlockIndex = 0;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for read ahead");
+		}
+		if (currentBlock.error != null) {
+			Throwable error = currentBlock.error;
+			currentBlock = Block.END_OF_INPUT;
+			if (error instanceof IOException) {
+				throw (IOException) error;
+			} else if (error instanceof RuntimeException) {
+				throw (RuntimeException) error;
+			} else if (error instanceof Error) {
+				throw (Error) error;
+			} else {
+				throw new IOException(error);
+			}
+		}
+	}
+
+	/**
+	 * stop the read ahead task, interrupting it if it is blocked in a read, the source is not closed.
+	 */
+	@Override
+	public void close() {
+		task.stopped = true;
+		future.cancel(true);
+		filledBlocks.clear();
+	}
+
+	/**
+	 * stop the read ahead task and give back the char array to its pool.
+	 */
+	@Override
+	public void release() {
+		close();
+		super.release();
+	}
+
+	public char[] getCharBuffer() {
+		return buffer;
+	}
+
+	public int getMark() {
+		return mark;
+	}
+
+	public char getChar(int bufferIndex) {
+		return buffer[bufferIndex];
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	private static final class Block {
+		private static final Block END_OF_INPUT = new Block(null, -1, null);
+
+		private final char[] chars;
+		private final int length;
+		private final Throwable error;
+
+		private Block(char[] chars, int length, Throwable error) {
+			this.chars = chars;
+			this.length = length;
+			this.error = error;
+		}
+	}
+
+	/**
+	 * only keeps a weak reference on the owner so that an abandoned buffer does not leak the task.
+	 */
+	private static final class ReadAheadTask implements Runnable {
+		private final CharBuffer source;
+		private final BlockingQueue<Block> filledBlocks;
+		private final BlockingQueue<char[]> freeBlocks;
+		private final WeakReference<ReadAheadCharBuffer> owner;
+		private volatile boolean stopped;
+
+		private ReadAheadTask(CharBuffer source, BlockingQueue<Block> filledBlocks, BlockingQueue<char[]> freeBlocks, ReadAheadCharBuffer owner) {
+			this.source = source;
+			this.filledBlocks = filledBlocks;
+			this.freeBlocks = freeBlocks;
+			this.owner = new WeakReference<ReadAheadCharBuffer>(owner);
+		}
+
+		@Override
+		public void run() {
+			try {
+				while(source.fillBuffer()) {
+					int length = source.getBufferSize();
+					if (length == 0) {
+						continue;
+					}
+					char[] chars = freeBlocks.poll();
+					if (chars == null || chars.length < length) {
+						chars = new char[source.getCharBuffer().length];
+					}
+					System.arraycopy(source.getCharBuffer(), 0, chars, 0, length);
+					source.mark(length);
+					source.shiftBufferToMark();
+
+					if (!put(new Block(chars, length, null))) {
+						return;
+					}
+				}
+				put(Block.END_OF_INPUT);
+			} catch (Throwable e) {
+				put(new Block(null, -1, e));
+			}
+		}
+
+		private boolean put(Block block) {
+			try {
+				while (!stopped) {
+					if (filledBlocks.offer(block, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+						return true;
+					}
+					if (owner.get() == null) {
+						return false;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return false;
+		}
+	}
+}
@@ -3,14 +3,16 @@ package org.sfm.csv.parser;
 import java.io.IOException;
 import java.io.Reader;
 
-public final class ReaderCharBuffer extends CharBuffer {
+public final class ReaderCharBuffer extends AbstractGrowableCharBuffer {
 
-	private final int maxBufferSize;
 	private final Reader reader;
 
 	public ReaderCharBuffer(final int bufferSize, int maxBufferLength, Reader reader) {
-		super(new char[bufferSize], 0);
-		this.maxBufferSize = maxBufferLength;
+		this(bufferSize, maxBufferLength, reader, null);
+	}
+
+	public ReaderCharBuffer(final int bufferSize, int maxBufferLength, Reader reader, CharArrayPool pool) {
+		super(bufferSize, maxBufferLength, pool);
 		this.reader = reader;
 	}
 	
@@ -25,31 +27,6 @@ public final class ReaderCharBuffer extends CharBuffer {
 		}
 	}
 
-	public int shiftBufferToMark() throws BufferOverflowException {
-		// shift buffer consumer data
-		int usedLength = Math.max(bufferSize - mark, 0);
-
-		// if buffer tight double the size
-		if (usedLength <= (bufferSize >> 1)) {
-			System.arraycopy(buffer, mark, buffer, 0, usedLength);
-		} else {
-			int newBufferSize = Math.min(maxBufferSize, buffer.length << 1);
-
-			if (newBufferSize == usedLength) {
-				throw new BufferOverflowException("The content in the csv cell exceed the maxSizeBuffer " + maxBufferSize + ", see CsvParser.DSL.maxSizeBuffer(int) to change the default value");
-			}
-			// double buffer size
-			char[] newBuffer = new char[newBufferSize];
-			System.arraycopy(buffer, mark, newBuffer, 0, usedLength);
-			buffer = newBuffer;
-		}
-		bufferSize = usedLength;
-
-		int m = mark;
-		mark = 0;
-		return m;
-	}
-
 	public char[] getCharBuffer() {
 		return buffer;
 	}
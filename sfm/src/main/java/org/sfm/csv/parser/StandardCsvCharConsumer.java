@@ -3,9 +3,17 @@ package org.sfm.csv.parser;
 
 /**
  * Consume the charBuffer.
+ * <p>
+ * Plain text between special characters is skipped 4 chars at a time using a bit mask classification,
+ * the state machine is only called on ',', '"', '\r' and '\n'.
  */
 public final class StandardCsvCharConsumer extends AbstractCsvCharConsumer {
 
+	/**
+	 * bit set of the special chars, they all have a code point below 64.
+	 */
+	private static final long SPECIAL_CHARS = (1L << ',') | (1L << '"') | (1L << '\r') | (1L << '\n');
+
 	public StandardCsvCharConsumer(CharBuffer csvBuffer) {
 		super(csvBuffer);
 	}
@@ -29,12 +37,38 @@ public final class StandardCsvCharConsumer extends AbstractCsvCharConsumer {
 		turnOffCrFlag();
 	}
 
+	@Override
+	public void consumeAllBuffer(CellConsumer cellConsumer) {
+		int bufferLength = csvBuffer.getBufferSize();
+		char[] buffer = csvBuffer.getCharBuffer();
+		for(int index = _currentIndex; index  < bufferLength; index++) {
+			int specialCharIndex = nextSpecialChar(buffer, index, bufferLength);
+			if (specialCharIndex != index) {
+				turnOffCrFlag();
+				index = specialCharIndex;
+				if (index == bufferLength) {
+					break;
+				}
+			}
+			consumeOneChar(buffer[index], index, cellConsumer);
+		}
+		_currentIndex = bufferLength;
+	}
+
 	@Override
 	public boolean consumeToNextRow(CellConsumer cellConsumer) {
 
 		int bufferLength = csvBuffer.getBufferSize();
 		char[] buffer = csvBuffer.getCharBuffer();
 		for(int index = _currentIndex; index  < bufferLength; index++) {
+			int specialCharIndex = nextSpecialChar(buffer, index, bufferLength);
+			if (specialCharIndex != index) {
+				turnOffCrFlag();
+				index = specialCharIndex;
+				if (index == bufferLength) {
+					break;
+				}
+			}
 
 			char character = buffer[index];
 			switch(character) {
@@ -66,6 +100,33 @@ public final class StandardCsvCharConsumer extends AbstractCsvCharConsumer {
 		return false;
 	}
 
+	/**
+	 * @return the index of the first special char at or after index, end if there is none.
+	 */
+	private static int nextSpecialChar(char[] buffer, int index, int end) {
+		int unrolledEnd = end - 3;
+		while(index < unrolledEnd
+				&& (isSpecialChar(buffer[index])
+					| isSpecialChar(buffer[index + 1])
+					| isSpecialChar(buffer[index + 2])
+					| isSpecialChar(buffer[index + 3])) == 0) {
+			index += 4;
+		}
+		while(index < end && isSpecialChar(buffer[index]) == 0) {
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * branch free test of the char against the special chars mask.
+	 * (c - 64) &gt;&gt;&gt; 31 is 1 only for c &lt; 64 as the shift on the mask is modulo 64.
+	 * @return 1 if c is a special char, 0 otherwise
+	 */
+	private static long isSpecialChar(char c) {
+		return (SPECIAL_CHARS >>> c) & ((c - 64) >>> 31);
+	}
+
 	@Override
 	public final char quoteChar() {
 		return '"';
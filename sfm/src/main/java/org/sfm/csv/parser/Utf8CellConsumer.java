@@ -0,0 +1,16 @@
+package org.sfm.csv.parser;
+
+/**
+ * CellConsumer that can read a cell straight from its utf-8 bytes.
+ * <p>
+ * The parsers working on bytes offer each cell to newUtf8Cell first and only decode it when it returns false.
+ */
+public interface Utf8CellConsumer extends CellConsumer {
+	/**
+	 * @param bytes the utf-8 bytes, unescaped
+	 * @param offset the index of the first byte of the cell
+	 * @param length the number of bytes of the cell
+	 * @return true if the cell was consumed, false if it needs to be decoded and passed to newCell
+	 */
+	boolean newUtf8Cell(byte[] bytes, int offset, int length);
+}
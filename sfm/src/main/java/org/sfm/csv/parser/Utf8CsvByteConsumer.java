@@ -0,0 +1,254 @@
+package org.sfm.csv.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Consume the utf-8 bytes of an InputStream, the separators, quotes and line breaks are found on the bytes.
+ * <p>
+ * As a multi-byte utf-8 sequence never contains an ascii byte the separator and the quote char need to be ascii.
+ * Each cell is first offered as bytes to a {@link Utf8CellConsumer}, it is only decoded with {@link Utf8Decoder}
+ * when the consumer needs the chars. The cells of the columns not selected by the {@link ColumnProjection} are not decoded.
+ */
+public final class Utf8CsvByteConsumer extends CsvCharConsumer {
+
+	private static final int IN_QUOTE = 4;
+	private static final int IN_CR = 2;
+	private static final int QUOTE = 1;
+	private static final int NONE = 0;
+	private static final int TURN_OFF_IN_CR_MASK = ~IN_CR;
+	private static final int ALL_QUOTES = QUOTE | IN_QUOTE;
+
+	private final InputStream inputStream;
+	private final byte separator;
+	private final byte quote;
+	private final int maxBufferSize;
+
+	private byte[] buffer;
+	private int bufferSize;
+	private int mark;
+	private int currentIndex;
+	private int currentState = NONE;
+
+	private char[] cellChars = new char[64];
+
+	private ColumnProjection columnProjection;
+	private int cellIndex;
+
+	public Utf8CsvByteConsumer(InputStream inputStream, char separatorChar, char quoteChar, int bufferSize, int maxBufferSize) {
+		if (!isSupported(separatorChar, quoteChar)) {
+			throw new IllegalArgumentException("Separator and quote char need to be ascii " + separatorChar + " " + quoteChar);
+		}
+		this.inputStream = inputStream;
+		this.separator = (byte) separatorChar;
+		this.quote = (byte) quoteChar;
+		this.maxBufferSize = maxBufferSize;
+		this.buffer = new byte[bufferSize];
+	}
+
+	public static boolean isSupported(char separatorChar, char quoteChar) {
+		return separatorChar < 128 && quoteChar < 128;
+	}
+
+	/**
+	 * only report the cells of the selected columns from the next row.
+	 * @param columnProjection the projection, null to report all the cells
+	 */
+	public void setColumnProjection(ColumnProjection columnProjection) {
+		this.columnProjection = columnProjection;
+		this.cellIndex = 0;
+	}
+
+	@Override
+	public void consumeAllBuffer(CellConsumer cellConsumer) {
+		byte[] buffer = this.buffer;
+		int end = bufferSize;
+		for(int index = currentIndex; index < end; index++) {
+			consumeOneByte(buffer[index], index, cellConsumer);
+		}
+		currentIndex = end;
+	}
+
+	@Override
+	public boolean consumeToNextRow(CellConsumer cellConsumer) {
+		byte[] buffer = this.buffer;
+		int end = bufferSize;
+		for(int index = currentIndex; index < end; index++) {
+			if (consumeOneByte(buffer[index], index, cellConsumer)) {
+				currentIndex = index + 1;
+				return true;
+			}
+		}
+		currentIndex = end;
+		return false;
+	}
+
+	/**
+	 * @return true if the byte ends a row
+	 */
+	private boolean consumeOneByte(byte b, int index, CellConsumer cellConsumer) {
+		if (b == separator) {
+			if (!isInQuote()) {
+				newCell(index, cellConsumer);
+			}
+		} else if (b == '\n') {
+			if (!isInQuote()) {
+				if ((currentState & IN_CR) == 0) {
+					endOfRow(index, cellConsumer);
+					return true;
+				}
+				// we had a preceding cr so shift the mark
+				mark = index + 1;
+			}
+		} else if (b == '\r') {
+			if (!isInQuote()) {
+				endOfRow(index, cellConsumer);
+				currentState |= IN_CR;
+				return true;
+			}
+			return false;
+		} else if (b == quote) {
+			if (index <= mark) {
+				currentState |= IN_QUOTE;
+			} else {
+				currentState ^= ALL_QUOTES;
+			}
+		}
+		currentState &= TURN_OFF_IN_CR_MASK;
+		return false;
+	}
+
+	private boolean isInQuote() {
+		return (currentState & IN_QUOTE) != 0;
+	}
+
+	private void endOfRow(int index, CellConsumer cellConsumer) {
+		newCell(index, cellConsumer);
+		if (columnProjection != null) {
+			columnProjection.endOfRow();
+			cellIndex = 0;
+		}
+		cellConsumer.endOfRow();
+	}
+
+	private void newCell(int index, CellConsumer cellConsumer) {
+		if (columnProjection == null) {
+			pushCell(index, cellConsumer);
+		} else {
+			int i = cellIndex++;
+			if (columnProjection.isSelected(i)) {
+				pushCell(index,
+						columnProjection.isResolving() ? columnProjection.headerCellConsumer(i, cellConsumer) : cellConsumer);
+			}
+		}
+		mark = index + 1;
+		currentState = NONE;
+	}
+
+	private void pushCell(int index, CellConsumer cellConsumer) {
+		int start = mark;
+		int length = index - start;
+
+		if (length > 0 && buffer[start] == quote) {
+			length = unescape(buffer, start, length);
+			start++;
+		}
+
+		if (cellConsumer instanceof Utf8CellConsumer
+				&& ((Utf8CellConsumer) cellConsumer).newUtf8Cell(buffer, start, length)) {
+			return;
+		}
+
+		int charLength = decode(buffer, start, length);
+		cellConsumer.newCell(cellChars, 0, charLength);
+	}
+
+	/**
+	 * decode the bytes in cellChars, the ascii bytes are widened without going through the decoder.
+	 * @return the number of chars
+	 */
+	private int decode(byte[] bytes, int offset, int length) {
+		if (cellChars.length <= length) {
+			cellChars = new char[Math.max(cellChars.length << 1, length + 1)];
+		}
+		char[] chars = cellChars;
+		int end = offset + length;
+		for(int i = offset; i < end; i++) {
+			byte b = bytes[i];
+			if (b < 0) {
+				return Utf8Decoder.decodeEndOfInput(ByteBuffer.wrap(bytes, i, end - i), chars, i - offset, chars.length);
+			}
+			chars[i - offset] = (char) b;
+		}
+		return length;
+	}
+
+	private int unescape(final byte[] bytes, final int offset, final int length) {
+		int start = offset + 1;
+		int shiftedIndex = start;
+		boolean notEscaped = true;
+
+		int lastByte = offset + length - 1;
+
+		// copy bytes apart from escape quotes
+		for(int i = start; i < lastByte; i++) {
+			notEscaped = bytes[i] != quote || !notEscaped;
+			if (notEscaped) {
+				bytes[shiftedIndex++] = bytes[i];
+			}
+		}
+
+		// if last is not quote add to shifted bytes
+		if (bytes[lastByte] != quote || !notEscaped) {
+			bytes[shiftedIndex++] = bytes[lastByte];
+		}
+
+		return shiftedIndex - start;
+	}
+
+	@Override
+	public void finish(CellConsumer cellConsumer) {
+		if (currentIndex > mark) {
+			newCell(currentIndex, cellConsumer);
+		}
+		cellConsumer.end();
+	}
+
+	@Override
+	public boolean refillBuffer() throws IOException {
+		shiftBufferToMark();
+		int length = inputStream.read(buffer, bufferSize, buffer.length - bufferSize);
+		if (length == -1) {
+			return false;
+		}
+		bufferSize += length;
+		return true;
+	}
+
+	private void shiftBufferToMark() throws BufferOverflowException {
+		int usedLength = Math.max(bufferSize - mark, 0);
+
+		if (usedLength > (buffer.length >> 1) && buffer.length < maxBufferSize) {
+			// more than half of the buffer is pending, double its size
+			byte[] newBuffer = new byte[Math.min(maxBufferSize, buffer.length << 1)];
+			System.arraycopy(buffer, mark, newBuffer, 0, usedLength);
+			buffer = newBuffer;
+		} else {
+			System.arraycopy(buffer, mark, buffer, 0, usedLength);
+		}
+
+		if (usedLength == buffer.length) {
+			throw new BufferOverflowException("The content in the csv cell exceed the maxSizeBuffer " + maxBufferSize + ", see CsvParser.DSL.maxSizeBuffer(int) to change the default value");
+		}
+
+		bufferSize = usedLength;
+		currentIndex -= mark;
+		mark = 0;
+	}
+
+	@Override
+	public char quoteChar() {
+		return (char) quote;
+	}
+}
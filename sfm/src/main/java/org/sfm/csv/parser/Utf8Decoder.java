@@ -0,0 +1,130 @@
+package org.sfm.csv.parser;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decode utf-8 bytes straight into a char array.
+ * <p>
+ * Ascii bytes are widened without going through a CharsetDecoder, malformed input is replaced by U+FFFD.
+ * An incomplete sequence at the end of the input is left in the ByteBuffer so that it can be completed on the next read.
+ */
+public final class Utf8Decoder {
+
+	public static final char REPLACEMENT_CHAR = '\uFFFD';
+
+	private static final int HIGH_SURROGATE_OFFSET = Character.MIN_HIGH_SURROGATE - (Character.MIN_SUPPLEMENTARY_CODE_POINT >>> 10);
+
+	private Utf8Decoder() {
+	}
+
+	/**
+	 * decode the bytes between the position and the limit of in into chars[offset, end).
+	 * The position of in is moved after the last byte decoded.
+	 * @param in the bytes
+	 * @param chars the char array
+	 * @param offset the index of the first char to write
+	 * @param end the index after the last char that can be written
+	 * @return the index after the last char written
+	 */
+	public static int decode(ByteBuffer in, char[] chars, int offset, int end) {
+		int p = in.position();
+		final int limit = in.limit();
+		int o = offset;
+
+		decodeLoop:
+		while(p < limit && o < end) {
+			int b = in.get(p);
+			if (b >= 0) {
+				chars[o++] = (char) b;
+				p++;
+				continue;
+			}
+
+			int length;
+			int codePoint;
+			int minCodePoint;
+			if ((b & 0xE0) == 0xC0) {
+				length = 2;
+				codePoint = b & 0x1F;
+				minCodePoint = 0x80;
+			} else if ((b & 0xF0) == 0xE0) {
+				length = 3;
+				codePoint = b & 0x0F;
+				minCodePoint = 0x800;
+			} else if ((b & 0xF8) == 0xF0) {
+				length = 4;
+				codePoint = b & 0x07;
+				minCodePoint = 0x10000;
+			} else {
+				chars[o++] = REPLACEMENT_CHAR;
+				p++;
+				continue;
+			}
+
+			int available = Math.min(length, limit - p);
+			for(int i = 1; i < available; i++) {
+				int c = in.get(p + i);
+				if ((c & 0xC0) != 0x80) {
+					chars[o++] = REPLACEMENT_CHAR;
+					p += i;
+					continue decodeLoop;
+				}
+				codePoint = (codePoint << 6) | (c & 0x3F);
+			}
+
+			if (available < length) {
+				// incomplete sequence, wait for more bytes
+				break;
+			}
+
+			if (codePoint < minCodePoint
+					|| codePoint > Character.MAX_CODE_POINT
+					|| (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+				chars[o++] = REPLACEMENT_CHAR;
+			} else if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+				if (o + 1 >= end) {
+					// no room for the surrogate pair
+					break;
+				}
+				chars[o++] = (char) ((codePoint >>> 10) + HIGH_SURROGATE_OFFSET);
+				chars[o++] = (char) ((codePoint & 0x3FF) + Character.MIN_LOW_SURROGATE);
+			} else {
+				chars[o++] = (char) codePoint;
+			}
+			p += length;
+		}
+
+		in.position(p);
+		return o;
+	}
+
+	/**
+	 * decode the remaining bytes when there is no more input, an incomplete sequence is replaced by U+FFFD.
+	 * @param in the bytes
+	 * @param chars the char array
+	 * @param offset the index of the first char to write
+	 * @param end the index after the last char that can be written
+	 * @return the index after the last char written
+	 */
+	public static int decodeEndOfInput(ByteBuffer in, char[] chars, int offset, int end) {
+		int o = decode(in, chars, offset, end);
+		if (in.hasRemaining() && o < end && isIncompleteSequence(in)) {
+			chars[o++] = REPLACEMENT_CHAR;
+			in.position(in.limit());
+		}
+		return o;
+	}
+
+	private static boolean isIncompleteSequence(ByteBuffer in) {
+		int b = in.get(in.position());
+		int length;
+		if ((b & 0xE0) == 0xC0) {
+			length = 2;
+		} else if ((b & 0xF0) == 0xE0) {
+			length = 3;
+		} else {
+			length = 4;
+		}
+		return in.remaining() < length;
+	}
+}
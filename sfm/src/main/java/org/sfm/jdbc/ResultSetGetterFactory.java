@@ -11,6 +11,7 @@ import org.sfm.map.getter.joda.JodaTimeGetterFactory;
 import org.sfm.map.MapperBuildingException;
 import org.sfm.map.GetterFactory;
 import org.sfm.map.mapper.ColumnDefinition;
+import org.sfm.reflect.EnumLookup;
 import org.sfm.reflect.Getter;
 import org.sfm.reflect.TypeHelper;
 
@@ -77,30 +78,31 @@ public final class ResultSetGetterFactory implements GetterFactory<ResultSet, Jd
 		public <P> Getter<ResultSet, P> newGetter(Type type, JdbcColumnKey key, ColumnDefinition<?, ?> columnDefinition) {
 			@SuppressWarnings("rawtypes")
 			Class<? extends Enum> enumClass = TypeHelper.toClass(type);
-			return (Getter<ResultSet, P>) newEnumGetter(enumClass, key);
+			return (Getter<ResultSet, P>) newEnumGetter(enumClass, key, columnDefinition);
 		}
 
-		private <P extends Enum<P>> Getter<ResultSet, P> newEnumGetter(Class<P> type, JdbcColumnKey key) {
+		private <P extends Enum<P>> Getter<ResultSet, P> newEnumGetter(Class<P> enumClass, JdbcColumnKey key, ColumnDefinition<?, ?> columnDefinition) {
 			int column = key.getIndex();
+			EnumLookup<P> lookup = columnDefinition != null ? columnDefinition.enumLookup(enumClass) : EnumLookup.of(enumClass);
 			switch (key.getSqlType()) {
 				case JdbcColumnKey.UNDEFINED_TYPE:
-					return new EnumUnspecifiedTypeGetter<ResultSet, P>(new ObjectResultSetGetter(column), type);
+					return new EnumUnspecifiedTypeGetter<ResultSet, P>(new ObjectResultSetGetter(column), lookup);
 				case Types.BIGINT:
 				case Types.INTEGER:
 				case Types.NUMERIC:
 				case Types.SMALLINT:
 				case Types.TINYINT:
-					return new OrdinalEnumGetter<ResultSet, P>(new IntResultSetGetter(column), type);
+					return new OrdinalEnumGetter<ResultSet, P>(new IntResultSetGetter(column), enumClass);
 				case Types.CHAR:
 				case Types.LONGVARCHAR:
 				case Types.VARCHAR:
 				case Types.CLOB:
-					return new StringEnumGetter<ResultSet, P>(new StringResultSetGetter(column), type);
+					return new StringEnumGetter<ResultSet, P>(new StringResultSetGetter(column), lookup);
 				case Types.LONGNVARCHAR:
 				case Types.NCHAR:
 				case Types.NVARCHAR:
 				case Types.NCLOB:
-					return new StringEnumGetter<ResultSet, P>(new NStringResultSetGetter(column), type);
+					return new StringEnumGetter<ResultSet, P>(new NStringResultSetGetter(column), lookup);
 				default:
 					throw new MapperBuildingException("Incompatible type " + key.getSqlType() + " with enum");
 			}
@@ -119,31 +119,18 @@ public abstract class AbstractWriterBuilder<S, T, K  extends FieldKey<K>, B exte
         postMapperProcess(mappers);
 
 
-        Mapper<T, S> mapper;
-        FieldMapper[] fields = mappers.toArray(new FieldMapper[0]);
+        Mapper<T, S> mapper = null;
+        FieldMapper<T, S>[] fields = mappers.toArray(new FieldMapper[0]);
         Instantiator<T, S> instantiator = getInstantiator();
-        if (mappers.size() < 256) {
-            try {
-                mapper =
-                        reflectionService
-                                .getAsmFactory()
-                                .<T, S>createMapper(
-                                        getKeys(),
-                                        fields,
-                                        new FieldMapper[0],
-                                        instantiator,
-                                        TypeHelper.<T>toClass(classMeta.getType()),
-                                        sourceClass
-                                );
-            } catch (Throwable e) {
-                if (mapperConfig.failOnAsm()) {
-                    return ErrorHelper.rethrow(e);
-                } else {
-                    mapper = new MapperImpl<T, S>(fields, new FieldMapper[0], instantiator);
-                }
+        try {
+            mapper = newAsmMapper(getKeys(), fields, instantiator);
+        } catch (Throwable e) {
+            if (mapperConfig.failOnAsm()) {
+                return ErrorHelper.rethrow(e);
             }
+        }
 
-        } else {
+        if (mapper == null) {
             mapper = new MapperImpl<T, S>(
                     fields,
                     new FieldMapper[0],
@@ -154,6 +141,26 @@ public abstract class AbstractWriterBuilder<S, T, K  extends FieldKey<K>, B exte
             new ContextualMapper<T, S>(mapper, mappingContextFactoryBuilder.newFactory());
     }
 
+    /**
+     * @return the generated mapper, null if the field mappers cannot be generated
+     */
+    @SuppressWarnings("unchecked")
+    protected Mapper<T, S> newAsmMapper(FieldKey<?>[] keys, FieldMapper<T, S>[] fields, Instantiator<T, S> instantiator) throws Exception {
+        if (fields.length >= 256) {
+            return null;
+        }
+        return reflectionService
+                .getAsmFactory()
+                .<T, S>createMapper(
+                        keys,
+                        fields,
+                        new FieldMapper[0],
+                        instantiator,
+                        TypeHelper.<T>toClass(classMeta.getType()),
+                        sourceClass
+                );
+    }
+
     protected void postMapperProcess(List<FieldMapper<T,S>> mappers) {
     }
 
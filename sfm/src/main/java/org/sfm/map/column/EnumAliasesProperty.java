@@ -0,0 +1,28 @@
+package org.sfm.map.column;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.sfm.utils.Asserts.requireNonNull;
+
+public class EnumAliasesProperty implements ColumnProperty {
+
+    private final Map<String, ? extends Enum<?>> aliases;
+
+    /**
+     * @param aliases the extra names matched to an enum constant
+     */
+    public EnumAliasesProperty(Map<String, ? extends Enum<?>> aliases) {
+        this.aliases = Collections.unmodifiableMap(new LinkedHashMap<String, Enum<?>>(requireNonNull("aliases", aliases)));
+    }
+
+    public Map<String, ? extends Enum<?>> getAliases() {
+        return aliases;
+    }
+
+    @Override
+    public String toString() {
+        return "EnumAliases{" + aliases + "}";
+    }
+}
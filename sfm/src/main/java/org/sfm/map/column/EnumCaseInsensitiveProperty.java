@@ -0,0 +1,9 @@
+package org.sfm.map.column;
+
+public class EnumCaseInsensitiveProperty implements ColumnProperty {
+
+    @Override
+    public String toString() {
+        return "EnumCaseInsensitive{}";
+    }
+}
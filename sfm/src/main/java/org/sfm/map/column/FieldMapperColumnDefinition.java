@@ -9,6 +9,7 @@ import org.sfm.reflect.meta.PropertyMeta;
 import org.sfm.utils.Predicate;
 
 import java.lang.reflect.Type;
+import java.util.Map;
 
 public class FieldMapperColumnDefinition<K extends FieldKey<K>> extends ColumnDefinition<K, FieldMapperColumnDefinition<K>> {
 
@@ -98,6 +99,14 @@ public class FieldMapperColumnDefinition<K extends FieldKey<K>> extends ColumnDe
         return FieldMapperColumnDefinition.<K>identity().addIgnore();
     }
 
+    public static <K extends FieldKey<K>> FieldMapperColumnDefinition<K> enumCaseInsensitiveDefinition() {
+        return FieldMapperColumnDefinition.<K>identity().addEnumCaseInsensitive();
+    }
+
+    public static <K extends FieldKey<K>> FieldMapperColumnDefinition<K> enumAliasesDefinition(final Map<String, ? extends Enum<?>> aliases) {
+        return FieldMapperColumnDefinition.<K>identity().addEnumAliases(aliases);
+    }
+
     public static <K extends FieldKey<K>> FieldMapperColumnDefinition<K> key() {
         return FieldMapperColumnDefinition.<K>identity().addKey();
     }
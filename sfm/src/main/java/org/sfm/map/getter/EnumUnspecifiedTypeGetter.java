@@ -1,6 +1,7 @@
 package org.sfm.map.getter;
 
 import org.sfm.reflect.EnumHelper;
+import org.sfm.reflect.EnumLookup;
 import org.sfm.reflect.Getter;
 
 public final class EnumUnspecifiedTypeGetter<R, E extends Enum<E>> implements  Getter<R, E> {
@@ -8,11 +9,17 @@ public final class EnumUnspecifiedTypeGetter<R, E extends Enum<E>> implements  G
 	private final Getter<R, ?> getter;
 	private final Class<E> enumType;
 	private final E[] values;
+	private final EnumLookup<E> lookup;
 	
 	public EnumUnspecifiedTypeGetter(Getter<R, ?> getter, final Class<E> enumType)  {
+		this(getter, EnumLookup.of(enumType));
+	}
+
+	public EnumUnspecifiedTypeGetter(Getter<R, ?> getter, final EnumLookup<E> lookup)  {
 		this.getter = getter;
-		this.enumType = enumType;
+		this.enumType = lookup.getEnumClass();
 		this.values = EnumHelper.getValues(enumType);
+		this.lookup = lookup;
 	}
 
 	@Override
@@ -21,7 +28,7 @@ public final class EnumUnspecifiedTypeGetter<R, E extends Enum<E>> implements  G
 		if (o instanceof Number) {
 			return values[((Number) o).intValue()];
 		} else {
-			return (E) Enum.valueOf(enumType, String.valueOf(o));
+			return lookup.valueOf(String.valueOf(o));
 		}
 	}
 
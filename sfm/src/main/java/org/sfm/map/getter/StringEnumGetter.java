@@ -1,21 +1,28 @@
 package org.sfm.map.getter;
 
+import org.sfm.reflect.EnumLookup;
 import org.sfm.reflect.Getter;
 
 public final class StringEnumGetter<R, E extends Enum<E>> implements Getter<R, E> {
 
 	private final Class<E> enumType;
 	private final Getter<R, String> stringGetter;
+	private final EnumLookup<E> lookup;
 	
 	public StringEnumGetter(final Getter<R, String> stringGetter, final Class<E> enumType)  {
+		this(stringGetter, EnumLookup.of(enumType));
+	}
+
+	public StringEnumGetter(final Getter<R, String> stringGetter, final EnumLookup<E> lookup)  {
 		this.stringGetter = stringGetter;
-		this.enumType = enumType;
+		this.enumType = lookup.getEnumClass();
+		this.lookup = lookup;
 	}
 
 	@Override
 	public E get(final R target) throws Exception {
 		final String o = stringGetter.get(target);
-		return (E) Enum.valueOf(enumType, String.valueOf(o));
+		return lookup.valueOf(String.valueOf(o));
 	}
 
     @Override
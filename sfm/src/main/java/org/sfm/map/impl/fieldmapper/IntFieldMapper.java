@@ -20,6 +20,14 @@ public final class IntFieldMapper<S, T> implements FieldMapper<S, T> {
         setter.setInt(target, getter.getInt(source));
 	}
 
+    public IntGetter<S> getGetter() {
+        return getter;
+    }
+
+    public IntSetter<T> getSetter() {
+        return setter;
+    }
+
     @Override
     public String toString() {
         return "IntFieldMapper{" +
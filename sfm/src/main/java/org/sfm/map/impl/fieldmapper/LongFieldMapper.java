@@ -20,6 +20,14 @@ public final class LongFieldMapper<S, T> implements FieldMapper<S, T> {
 		setter.setLong(target, getter.getLong(source));
 	}
 
+    public LongGetter<S> getGetter() {
+        return getter;
+    }
+
+    public LongSetter<T> getSetter() {
+        return setter;
+    }
+
     @Override
     public String toString() {
         return "LongFieldMapper{" +
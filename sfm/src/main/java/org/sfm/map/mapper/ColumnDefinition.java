@@ -3,13 +3,18 @@ package org.sfm.map.mapper;
 
 import org.sfm.map.FieldKey;
 import org.sfm.map.column.ColumnProperty;
+import org.sfm.map.column.EnumAliasesProperty;
+import org.sfm.map.column.EnumCaseInsensitiveProperty;
 import org.sfm.map.column.IgnoreProperty;
 import org.sfm.map.column.KeyProperty;
 import org.sfm.map.column.RenameProperty;
+import org.sfm.reflect.EnumLookup;
 import org.sfm.reflect.meta.PropertyMeta;
 import org.sfm.utils.Predicate;
 
 import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Map;
 
 import static org.sfm.utils.Asserts.requireNonNull;
 
@@ -58,6 +63,17 @@ public abstract class ColumnDefinition<K extends FieldKey<K>, CD extends ColumnD
         return DEFAULT_APPLIES_TO;
     }
 
+    /**
+     * @param enumClass the enum type of the column
+     * @return the lookup matching the names of enumClass with the case and aliases of this definition
+     */
+    public <E extends Enum<E>> EnumLookup<E> enumLookup(Class<E> enumClass) {
+        EnumAliasesProperty aliases = lookFor(EnumAliasesProperty.class);
+        return EnumLookup.of(enumClass,
+                has(EnumCaseInsensitiveProperty.class),
+                aliases != null ? aliases.getAliases() : Collections.<String, E>emptyMap());
+    }
+
     public CD compose(CD columnDefinition) {
         ColumnDefinition cdi = requireNonNull("columnDefinition", columnDefinition);
         ColumnProperty[] properties = new ColumnProperty[this.properties.length + cdi.properties.length];
@@ -102,6 +118,14 @@ public abstract class ColumnDefinition<K extends FieldKey<K>, CD extends ColumnD
         return add(new KeyProperty(appliesTo));
     }
 
+    public CD addEnumCaseInsensitive() {
+        return add(new EnumCaseInsensitiveProperty());
+    }
+
+    public CD addEnumAliases(Map<String, ? extends Enum<?>> aliases) {
+        return add(new EnumAliasesProperty(aliases));
+    }
+
     protected void appendToStringBuilder(StringBuilder sb) {
         for (int i = 0; i < properties.length; i++) {
             if (i > 0) {
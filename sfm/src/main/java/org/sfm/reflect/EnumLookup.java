@@ -0,0 +1,253 @@
+package org.sfm.reflect;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Find the enum constant matching a name directly from a char range.
+ * <p>
+ * The names and aliases are stored in an open addressing table, the hash multiplier being searched
+ * when the lookup is built so that each name gets its own slot whenever possible.
+ * A match then costs one hash of the chars and one comparison, without creating a String.
+ * <p>
+ * A lookup is immutable and can be shared between threads.
+ */
+public final class EnumLookup<E extends Enum<E>> {
+
+	private static final int MULTIPLIER_ATTEMPTS = 64;
+	private static final int MAX_EXTRA_BITS = 3;
+
+	private final Class<E> enumClass;
+	private final boolean caseInsensitive;
+	private final char[][] keys;
+	private final E[] entries;
+	private final int multiplier;
+	private final int shift;
+	private final int mask;
+
+	private EnumLookup(Class<E> enumClass, boolean caseInsensitive, char[][] keys, E[] entries, int multiplier, int bits) {
+		this.enumClass = enumClass;
+		this.caseInsensitive = caseInsensitive;
+		this.keys = keys;
+		this.entries = entries;
+		this.multiplier = multiplier;
+		this.shift = 32 - bits;
+		this.mask = (1 << bits) - 1;
+	}
+
+	public static <E extends Enum<E>> EnumLookup<E> of(Class<E> enumClass) {
+		return of(enumClass, false, Collections.<String, E>emptyMap());
+	}
+
+	/**
+	 * @param enumClass the enum type
+	 * @param caseInsensitive true if the names and the aliases are matched ignoring the case
+	 * @param aliases the extra names, the values that are not constants of enumClass are ignored
+	 * @return the lookup
+	 * @throws IllegalArgumentException if an alias resolves to 2 different constants
+	 */
+	public static <E extends Enum<E>> EnumLookup<E> of(Class<E> enumClass, boolean caseInsensitive, Map<String, ? extends Enum<?>> aliases) {
+		List<char[]> names = new ArrayList<char[]>();
+		List<E> values = new ArrayList<E>();
+		for(E value : EnumHelper.getValues(enumClass)) {
+			addName(value.name(), value, caseInsensitive, names, values);
+		}
+		for(Map.Entry<String, ? extends Enum<?>> alias : aliases.entrySet()) {
+			if (enumClass.isInstance(alias.getValue())) {
+				addName(alias.getKey(), enumClass.cast(alias.getValue()), caseInsensitive, names, values);
+			}
+		}
+
+		int minBits = 1;
+		while((1 << minBits) < names.size() * 2) {
+			minBits++;
+		}
+		Random random = new Random(enumClass.getName().hashCode());
+		for(int bits = minBits; bits <= minBits + MAX_EXTRA_BITS; bits++) {
+			for(int attempt = 0; attempt < MULTIPLIER_ATTEMPTS; attempt++) {
+				int multiplier = random.nextInt() | 1;
+				EnumLookup<E> lookup = newLookup(enumClass, caseInsensitive, names, values, multiplier, bits, true);
+				if (lookup != null) {
+					return lookup;
+				}
+			}
+		}
+		// names with the same base hash, let them share the probing sequence
+		return newLookup(enumClass, caseInsensitive, names, values, 0x9E3779B9, minBits, false);
+	}
+
+	private static <E extends Enum<E>> void addName(String name, E value, boolean caseInsensitive, List<char[]> names, List<E> values) {
+		char[] key = name.toCharArray();
+		if (caseInsensitive) {
+			for(int i = 0; i < key.length; i++) {
+				key[i] = fold(key[i]);
+			}
+		}
+		for(int i = 0; i < names.size(); i++) {
+			if (Arrays.equals(names.get(i), key)) {
+				if (values.get(i) != value) {
+					throw new IllegalArgumentException("Name " + name + " matches " + values.get(i) + " and " + value);
+				}
+				return;
+			}
+		}
+		names.add(key);
+		values.add(value);
+	}
+
+	/**
+	 * @return the lookup, null if perfect and 2 names land on the same slot
+	 */
+	private static <E extends Enum<E>> EnumLookup<E> newLookup(Class<E> enumClass, boolean caseInsensitive, List<char[]> names, List<E> values, int multiplier, int bits, boolean perfect) {
+		int size = 1 << bits;
+		char[][] keys = new char[size][];
+		@SuppressWarnings("unchecked")
+		E[] entries = (E[]) Array.newInstance(enumClass, size);
+		EnumLookup<E> lookup = new EnumLookup<E>(enumClass, caseInsensitive, keys, entries, multiplier, bits);
+		for(int i = 0; i < names.size(); i++) {
+			char[] key = names.get(i);
+			int index = lookup.index(key, 0, key.length);
+			if (keys[index] != null) {
+				if (perfect) {
+					return null;
+				}
+				do {
+					index = (index + 1) & lookup.mask;
+				} while(keys[index] != null);
+			}
+			keys[index] = key;
+			entries[index] = values.get(i);
+		}
+		return lookup;
+	}
+
+	/**
+	 * @return the constant, null if the chars match no name or alias
+	 */
+	public E get(char[] chars, int offset, int length) {
+		int index = index(chars, offset, length);
+		char[] key;
+		while((key = keys[index]) != null) {
+			if (matches(key, chars, offset, length)) {
+				return entries[index];
+			}
+			index = (index + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * @return the constant, null if the value matches no name or alias
+	 */
+	public E get(CharSequence value) {
+		int length = value.length();
+		int h = length;
+		for(int i = 0; i < length; i++) {
+			h = 31 * h + (caseInsensitive ? fold(value.charAt(i)) : value.charAt(i));
+		}
+		int index = index(h);
+		char[] key;
+		while((key = keys[index]) != null) {
+			if (matches(key, value)) {
+				return entries[index];
+			}
+			index = (index + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * @return the constant
+	 * @throws IllegalArgumentException if the chars match no name or alias
+	 */
+	public E valueOf(char[] chars, int offset, int length) {
+		E value = get(chars, offset, length);
+		if (value == null) {
+			throw new IllegalArgumentException("No enum constant " + enumClass.getCanonicalName() + "." + new String(chars, offset, length));
+		}
+		return value;
+	}
+
+	public E valueOf(CharSequence value) {
+		E e = get(value);
+		if (e == null) {
+			throw new IllegalArgumentException("No enum constant " + enumClass.getCanonicalName() + "." + value);
+		}
+		return e;
+	}
+
+	public Class<E> getEnumClass() {
+		return enumClass;
+	}
+
+	private int index(char[] chars, int offset, int length) {
+		int h = length;
+		if (caseInsensitive) {
+			for(int i = offset; i < offset + length; i++) {
+				h = 31 * h + fold(chars[i]);
+			}
+		} else {
+			for(int i = offset; i < offset + length; i++) {
+				h = 31 * h + chars[i];
+			}
+		}
+		return index(h);
+	}
+
+	private int index(int h) {
+		return (h * multiplier) >>> shift;
+	}
+
+	private boolean matches(char[] key, char[] chars, int offset, int length) {
+		if (key.length != length) {
+			return false;
+		}
+		if (caseInsensitive) {
+			for(int i = 0; i < length; i++) {
+				if (key[i] != fold(chars[offset + i])) {
+					return false;
+				}
+			}
+		} else {
+			for(int i = 0; i < length; i++) {
+				if (key[i] != chars[offset + i]) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean matches(char[] key, CharSequence value) {
+		if (key.length != value.length()) {
+			return false;
+		}
+		for(int i = 0; i < key.length; i++) {
+			char c = value.charAt(i);
+			if (key[i] != (caseInsensitive ? fold(c) : c)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * same folding as String.equalsIgnoreCase.
+	 */
+	private static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	@Override
+	public String toString() {
+		return "EnumLookup{" +
+				"enumClass=" + enumClass +
+				", caseInsensitive=" + caseInsensitive +
+				'}';
+	}
+}
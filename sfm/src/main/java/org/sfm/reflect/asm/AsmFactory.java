@@ -2,10 +2,13 @@ package org.sfm.reflect.asm;
 
 import org.sfm.csv.CsvColumnKey;
 import org.sfm.csv.ParsingContextFactory;
+import org.sfm.csv.impl.writer.CsvCellWriter;
 import org.sfm.csv.mapper.CellSetter;
 import org.sfm.csv.mapper.CsvMapperCellHandler;
 import org.sfm.csv.mapper.CsvMapperCellHandlerFactory;
 import org.sfm.csv.mapper.DelayedCellSetterFactory;
+import org.sfm.csv.parser.AbstractCsvCharConsumer;
+import org.sfm.csv.parser.CsvCharConsumerFactory;
 import org.sfm.map.*;
 import org.sfm.map.error.RethrowFieldMapperErrorHandler;
 import org.sfm.reflect.*;
@@ -28,6 +31,8 @@ public class AsmFactory {
 	private final ConcurrentMap<InstantiatorKey, Class<? extends Instantiator<?, ?>>> instantiatorCache = new ConcurrentHashMap<InstantiatorKey, Class<? extends Instantiator<?, ?>>>();
     private final ConcurrentMap<MapperKey, Class<? extends Mapper<?, ?>>> fieldMapperCache = new ConcurrentHashMap<MapperKey, Class<? extends Mapper<?, ?>>>();
     private final ConcurrentMap<CsvMapperKey, Class<? extends CsvMapperCellHandlerFactory<?>>> csvMapperCache = new ConcurrentHashMap<CsvMapperKey, Class<? extends CsvMapperCellHandlerFactory<?>>>();
+    private final ConcurrentMap<CsvWriterMapperKey, Class<? extends Mapper<?, ?>>> csvWriterMapperCache = new ConcurrentHashMap<CsvWriterMapperKey, Class<? extends Mapper<?, ?>>>();
+    private final ConcurrentMap<String, CsvCharConsumerFactory> csvCharConsumerCache = new ConcurrentHashMap<String, CsvCharConsumerFactory>();
 
 
 	public AsmFactory(ClassLoader cl) {
@@ -196,6 +201,39 @@ public class AsmFactory {
         return (Mapper<S, T>) constructor.newInstance(mappers, constructorMappers, instantiator);
 	}
 
+    @SuppressWarnings("unchecked")
+    public <S> Mapper<S, Appendable> createCsvWriterMapper(final FieldKey<?>[] keys,
+                                                         final FieldMapper<S, Appendable>[] mappers,
+                                                         final Instantiator<? super S, Appendable> instantiator,
+                                                         final Class<? super S> source,
+                                                         final CsvCellWriter cellWriter) throws Exception {
+
+        final int[] kinds = CsvWriterMapperAsmBuilder.cellKinds(mappers, cellWriter);
+        final FieldMapper<S, Appendable>[] constructorMappers = (FieldMapper<S, Appendable>[]) new FieldMapper<?, ?>[0];
+        CsvWriterMapperKey key = new CsvWriterMapperKey(newMapperKey(keys, mappers, constructorMappers, instantiator, Appendable.class, source), kinds, cellWriter.getSeparator(), cellWriter.getEndOfLine());
+        Class<Mapper<S, Appendable>> type = (Class<Mapper<S, Appendable>>) csvWriterMapperCache.get(key);
+        if (type == null) {
+            final String className = generateClassNameForCsvWriterMapper(mappers, source);
+            final byte[] bytes = CsvWriterMapperAsmBuilder.dump(className, mappers, kinds, cellWriter, source);
+
+            type = (Class<Mapper<S, Appendable>>) createClass(className, bytes, source.getClassLoader());
+            csvWriterMapperCache.put(key, type);
+        }
+        final Constructor<?> constructor = type.getDeclaredConstructors()[0];
+        return (Mapper<S, Appendable>) constructor.newInstance(mappers, instantiator);
+    }
+
+    private static <K extends FieldKey<K>> MapperKey<K> newMapperKey(final FieldKey<?>[] keys,
+                                                                     final FieldMapper<?, ?>[] mappers,
+                                                                     final FieldMapper<?, ?>[] constructorMappers,
+                                                                     final Instantiator<?, ?> instantiator,
+                                                                     final Class<?> target,
+                                                                     final Class<?> source) {
+        @SuppressWarnings("unchecked")
+        K[] typedKeys = (K[]) keys;
+        return new MapperKey<K>(typedKeys, mappers, constructorMappers, instantiator, target, source);
+    }
+
     @SuppressWarnings("unchecked")
     public <T> CsvMapperCellHandlerFactory<T> createCsvMapperCellHandler(Type target,
                                                                          DelayedCellSetterFactory<T, ?>[] delayedCellSetterFactories, CellSetter<T>[] setters,
@@ -229,6 +267,37 @@ public class AsmFactory {
     }
 
 
+    public CsvCharConsumerFactory createCsvCharConsumerFactory(char separatorChar, char quoteChar, boolean trimSpaces) throws Exception {
+        final String className = generateClassNameForCsvCharConsumer(separatorChar, quoteChar, trimSpaces);
+        CsvCharConsumerFactory factory = csvCharConsumerCache.get(className);
+        if (factory == null) {
+            // the class name is the same for a dialect, generate it once
+            synchronized (csvCharConsumerCache) {
+                factory = csvCharConsumerCache.get(className);
+                if (factory == null) {
+                    final String factoryName = className + "Factory";
+                    final byte[] bytes = CsvCharConsumerBuilder.createCharConsumer(className, separatorChar, quoteChar, trimSpaces);
+                    final byte[] bytesFactory = CsvCharConsumerBuilder.createCharConsumerFactory(factoryName, className);
+                    ClassLoader classLoader = AbstractCsvCharConsumer.class.getClassLoader();
+                    createClass(className, bytes, classLoader);
+                    factory = (CsvCharConsumerFactory) createClass(factoryName, bytesFactory, classLoader).getDeclaredConstructor().newInstance();
+                    csvCharConsumerCache.put(className, factory);
+                }
+            }
+        }
+        return factory;
+    }
+
+    private String generateClassNameForCsvCharConsumer(char separatorChar, char quoteChar, boolean trimSpaces) {
+        return "org.sfm.reflect.asm."
+                + AbstractCsvCharConsumer.class.getPackage().getName()
+                + ".AsmCsvCharConsumer_"
+                + Integer.toString(separatorChar)
+                + "_"
+                + Integer.toString(quoteChar)
+                + (trimSpaces ? "_Trim" : "");
+    }
+
     private <T> String generateClassNameCsvMapperCellHandler(Type target, DelayedCellSetterFactory<T, ?>[] delayedCellSetterFactories, CellSetter<T>[] setters) {
         StringBuilder sb = new StringBuilder();
 
@@ -334,6 +403,18 @@ public class AsmFactory {
         return sb.toString();
     }
 
+    private <S> String generateClassNameForCsvWriterMapper(final FieldMapper<S, Appendable>[] mappers, final Class<? super S> source) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("org.sfm.reflect.asm.");
+        sb.append(getPackageName(source));
+        sb.append(".AsmCsvWriterFrom").append(replaceArray(source.getSimpleName()));
+        sb.append("Inj").append(mappers.length);
+        sb.append("_I").append(Long.toHexString(classNumber.getAndIncrement()));
+
+        return sb.toString();
+    }
+
     private <T> String getPackageName(Type target) {
 
         Package targetPackage = TypeHelper.toClass(target).getPackage();
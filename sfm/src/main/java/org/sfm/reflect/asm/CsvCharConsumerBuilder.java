@@ -0,0 +1,295 @@
+package org.sfm.reflect.asm;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.sfm.csv.parser.AbstractCsvCharConsumer;
+import org.sfm.csv.parser.AbstractTrimCsvCharConsumer;
+import org.sfm.csv.parser.CellConsumer;
+import org.sfm.csv.parser.CharBuffer;
+import org.sfm.csv.parser.CsvCharConsumerFactory;
+
+/**
+ * Generate a char consumer with the separator and the quote char inlined as constants in the consuming loops.
+ * <p>
+ * The generated code follows the same dispatch as ConfigurableCsvCharConsumer and ConfigurableTrimCsvCharConsumer.
+ */
+public class CsvCharConsumerBuilder implements Opcodes {
+
+	private static final String ABSTRACT_CONSUMER_TYPE = AsmUtils.toType(AbstractCsvCharConsumer.class);
+	private static final String ABSTRACT_TRIM_CONSUMER_TYPE = AsmUtils.toType(AbstractTrimCsvCharConsumer.class);
+	private static final String CHAR_BUFFER_TYPE = AsmUtils.toType(CharBuffer.class);
+	private static final String CELL_CONSUMER_TYPE = AsmUtils.toType(CellConsumer.class);
+	private static final String FACTORY_TYPE = AsmUtils.toType(CsvCharConsumerFactory.class);
+
+	private static final String INDEX_CELL_CONSUMER_DESC = "(IL" + CELL_CONSUMER_TYPE + ";)";
+
+	private static final int HAS_CONTENT = 8;
+
+	private enum LoopMode { ONE_CHAR, ALL_BUFFER, TO_NEXT_ROW }
+
+	public static byte[] createCharConsumer(final String className, char separatorChar, char quoteChar, boolean trimSpaces) throws Exception {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		MethodVisitor mv;
+
+		String classType = AsmUtils.toType(className);
+		String superType = trimSpaces ? ABSTRACT_TRIM_CONSUMER_TYPE : ABSTRACT_CONSUMER_TYPE;
+
+		cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, classType, null, superType, null);
+
+		{
+			mv = cw.visitMethod(ACC_PUBLIC, "<init>", "(L" + CHAR_BUFFER_TYPE + ";)V", null, null);
+			mv.visitCode();
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitVarInsn(ALOAD, 1);
+			mv.visitMethodInsn(INVOKESPECIAL, superType, "<init>", "(L" + CHAR_BUFFER_TYPE + ";)V", false);
+			mv.visitInsn(RETURN);
+			mv.visitMaxs(2, 2);
+			mv.visitEnd();
+		}
+		{
+			mv = cw.visitMethod(ACC_PROTECTED, "consumeOneChar", "(CIL" + CELL_CONSUMER_TYPE + ";)V", null, null);
+			mv.visitCode();
+			appendDispatch(mv, LoopMode.ONE_CHAR, separatorChar, quoteChar, trimSpaces, 1, 2, 3, null);
+			mv.visitMaxs(3, 4);
+			mv.visitEnd();
+		}
+		{
+			mv = cw.visitMethod(ACC_PUBLIC, "consumeAllBuffer", "(L" + CELL_CONSUMER_TYPE + ";)V", null, null);
+			mv.visitCode();
+			appendLoop(mv, LoopMode.ALL_BUFFER, separatorChar, quoteChar, trimSpaces);
+			mv.visitMaxs(3, 6);
+			mv.visitEnd();
+		}
+		{
+			mv = cw.visitMethod(ACC_PUBLIC, "consumeToNextRow", "(L" + CELL_CONSUMER_TYPE + ";)Z", null, null);
+			mv.visitCode();
+			appendLoop(mv, LoopMode.TO_NEXT_ROW, separatorChar, quoteChar, trimSpaces);
+			mv.visitMaxs(3, 6);
+			mv.visitEnd();
+		}
+		{
+			mv = cw.visitMethod(ACC_PUBLIC + ACC_FINAL, "quoteChar", "()C", null, null);
+			mv.visitCode();
+			pushChar(mv, quoteChar);
+			mv.visitInsn(IRETURN);
+			mv.visitMaxs(1, 1);
+			mv.visitEnd();
+		}
+
+		cw.visitEnd();
+
+		return AsmUtils.writeClassToFile(className, cw.toByteArray());
+	}
+
+	public static byte[] createCharConsumerFactory(final String factoryName, final String className) throws Exception {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		MethodVisitor mv;
+
+		String factoryType = AsmUtils.toType(factoryName);
+		String classType = AsmUtils.toType(className);
+
+		cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, factoryType, null, FACTORY_TYPE, null);
+
+		{
+			mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+			mv.visitCode();
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitMethodInsn(INVOKESPECIAL, FACTORY_TYPE, "<init>", "()V", false);
+			mv.visitInsn(RETURN);
+			mv.visitMaxs(1, 1);
+			mv.visitEnd();
+		}
+		{
+			mv = cw.visitMethod(ACC_PUBLIC, "newCharConsumer", "(L" + CHAR_BUFFER_TYPE + ";)L" + ABSTRACT_CONSUMER_TYPE + ";", null, null);
+			mv.visitCode();
+			mv.visitTypeInsn(NEW, classType);
+			mv.visitInsn(DUP);
+			mv.visitVarInsn(ALOAD, 1);
+			mv.visitMethodInsn(INVOKESPECIAL, classType, "<init>", "(L" + CHAR_BUFFER_TYPE + ";)V", false);
+			mv.visitInsn(ARETURN);
+			mv.visitMaxs(3, 2);
+			mv.visitEnd();
+		}
+
+		cw.visitEnd();
+
+		return AsmUtils.writeClassToFile(factoryName, cw.toByteArray());
+	}
+
+	/**
+	 * locals : 0 this, 1 cellConsumer, 2 bufferLength, 3 buffer, 4 index, 5 character.
+	 */
+	private static void appendLoop(MethodVisitor mv, LoopMode mode, char separatorChar, char quoteChar, boolean trimSpaces) {
+		// int bufferLength = csvBuffer.getBufferSize();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitFieldInsn(GETFIELD, ABSTRACT_CONSUMER_TYPE, "csvBuffer", "L" + CHAR_BUFFER_TYPE + ";");
+		mv.visitMethodInsn(INVOKEVIRTUAL, CHAR_BUFFER_TYPE, "getBufferSize", "()I", false);
+		mv.visitVarInsn(ISTORE, 2);
+		// char[] buffer = csvBuffer.getCharBuffer();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitFieldInsn(GETFIELD, ABSTRACT_CONSUMER_TYPE, "csvBuffer", "L" + CHAR_BUFFER_TYPE + ";");
+		mv.visitMethodInsn(INVOKEVIRTUAL, CHAR_BUFFER_TYPE, "getCharBuffer", "()[C", false);
+		mv.visitVarInsn(ASTORE, 3);
+		// for(int index = _currentIndex; index < bufferLength; index++)
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitFieldInsn(GETFIELD, ABSTRACT_CONSUMER_TYPE, "_currentIndex", "I");
+		mv.visitVarInsn(ISTORE, 4);
+
+		Label loop = new Label();
+		Label next = new Label();
+		Label end = new Label();
+
+		mv.visitLabel(loop);
+		mv.visitVarInsn(ILOAD, 4);
+		mv.visitVarInsn(ILOAD, 2);
+		mv.visitJumpInsn(IF_ICMPGE, end);
+
+		// char character = buffer[index];
+		mv.visitVarInsn(ALOAD, 3);
+		mv.visitVarInsn(ILOAD, 4);
+		mv.visitInsn(CALOAD);
+		mv.visitVarInsn(ISTORE, 5);
+
+		appendDispatch(mv, mode, separatorChar, quoteChar, trimSpaces, 5, 4, 1, next);
+
+		mv.visitLabel(next);
+		mv.visitIincInsn(4, 1);
+		mv.visitJumpInsn(GOTO, loop);
+
+		// _currentIndex = bufferLength;
+		mv.visitLabel(end);
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitVarInsn(ILOAD, 2);
+		mv.visitFieldInsn(PUTFIELD, ABSTRACT_CONSUMER_TYPE, "_currentIndex", "I");
+		if (mode == LoopMode.TO_NEXT_ROW) {
+			mv.visitInsn(ICONST_0);
+			mv.visitInsn(IRETURN);
+		} else {
+			mv.visitInsn(RETURN);
+		}
+	}
+
+	/**
+	 * the if chain on the character, continues to next after turning off the cr flag.
+	 * In ONE_CHAR mode next is null and the method returns instead.
+	 */
+	private static void appendDispatch(MethodVisitor mv, LoopMode mode, char separatorChar, char quoteChar, boolean trimSpaces,
+									   int characterVar, int indexVar, int cellConsumerVar, Label next) {
+		Label turnOffCrFlag = new Label();
+		Label notSeparator = new Label();
+		Label notLF = new Label();
+		Label notCR = new Label();
+		Label notQuote = new Label();
+
+		// if (character == separatorChar) newCellIfNotInQuote(index, cellConsumer);
+		mv.visitVarInsn(ILOAD, characterVar);
+		pushChar(mv, separatorChar);
+		mv.visitJumpInsn(IF_ICMPNE, notSeparator);
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitVarInsn(ILOAD, indexVar);
+		mv.visitVarInsn(ALOAD, cellConsumerVar);
+		mv.visitMethodInsn(INVOKEVIRTUAL, ABSTRACT_CONSUMER_TYPE, "newCellIfNotInQuote", INDEX_CELL_CONSUMER_DESC + "V", false);
+		mv.visitJumpInsn(GOTO, turnOffCrFlag);
+
+		// else if (character == '\n')
+		mv.visitLabel(notSeparator);
+		mv.visitVarInsn(ILOAD, characterVar);
+		pushChar(mv, '\n');
+		mv.visitJumpInsn(IF_ICMPNE, notLF);
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitVarInsn(ILOAD, indexVar);
+		mv.visitVarInsn(ALOAD, cellConsumerVar);
+		mv.visitMethodInsn(INVOKEVIRTUAL, ABSTRACT_CONSUMER_TYPE, "handleEndOfLineLF", INDEX_CELL_CONSUMER_DESC + "Z", false);
+		if (mode == LoopMode.TO_NEXT_ROW) {
+			// _currentIndex = index + 1; turnOffCrFlag(); return true;
+			mv.visitJumpInsn(IFEQ, turnOffCrFlag);
+			appendSetCurrentIndexToNext(mv, indexVar);
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitMethodInsn(INVOKEVIRTUAL, ABSTRACT_CONSUMER_TYPE, "turnOffCrFlag", "()V", false);
+			mv.visitInsn(ICONST_1);
+			mv.visitInsn(IRETURN);
+		} else {
+			mv.visitInsn(POP);
+			mv.visitJumpInsn(GOTO, turnOffCrFlag);
+		}
+
+		// else if (character == '\r')
+		mv.visitLabel(notLF);
+		mv.visitVarInsn(ILOAD, characterVar);
+		pushChar(mv, '\r');
+		mv.visitJumpInsn(IF_ICMPNE, notCR);
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitVarInsn(ILOAD, indexVar);
+		mv.visitVarInsn(ALOAD, cellConsumerVar);
+		mv.visitMethodInsn(INVOKEVIRTUAL, ABSTRACT_CONSUMER_TYPE, "handleEndOfLineCR", INDEX_CELL_CONSUMER_DESC + "Z", false);
+		if (mode == LoopMode.TO_NEXT_ROW) {
+			// _currentIndex = index + 1; return true;
+			mv.visitJumpInsn(IFEQ, turnOffCrFlag);
+			appendSetCurrentIndexToNext(mv, indexVar);
+			mv.visitInsn(ICONST_1);
+			mv.visitInsn(IRETURN);
+		} else {
+			// the cr flag stays on
+			mv.visitInsn(POP);
+			if (mode == LoopMode.ONE_CHAR) {
+				mv.visitInsn(RETURN);
+			} else {
+				mv.visitJumpInsn(GOTO, next);
+			}
+		}
+
+		// else if (character == quoteChar) quote(index);
+		mv.visitLabel(notCR);
+		mv.visitVarInsn(ILOAD, characterVar);
+		pushChar(mv, quoteChar);
+		mv.visitJumpInsn(IF_ICMPNE, notQuote);
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitVarInsn(ILOAD, indexVar);
+		mv.visitMethodInsn(INVOKEVIRTUAL, ABSTRACT_CONSUMER_TYPE, "quote", "(I)V", false);
+		mv.visitJumpInsn(GOTO, turnOffCrFlag);
+
+		mv.visitLabel(notQuote);
+		if (trimSpaces) {
+			// else if (character != ' ') currentState |= HAS_CONTENT;
+			mv.visitVarInsn(ILOAD, characterVar);
+			pushChar(mv, ' ');
+			mv.visitJumpInsn(IF_ICMPEQ, turnOffCrFlag);
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitInsn(DUP);
+			mv.visitFieldInsn(GETFIELD, ABSTRACT_CONSUMER_TYPE, "currentState", "I");
+			pushChar(mv, (char) HAS_CONTENT);
+			mv.visitInsn(IOR);
+			mv.visitFieldInsn(PUTFIELD, ABSTRACT_CONSUMER_TYPE, "currentState", "I");
+		}
+
+		// turnOffCrFlag();
+		mv.visitLabel(turnOffCrFlag);
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitMethodInsn(INVOKEVIRTUAL, ABSTRACT_CONSUMER_TYPE, "turnOffCrFlag", "()V", false);
+		if (mode == LoopMode.ONE_CHAR) {
+			mv.visitInsn(RETURN);
+		} else {
+			mv.visitJumpInsn(GOTO, next);
+		}
+	}
+
+	private static void appendSetCurrentIndexToNext(MethodVisitor mv, int indexVar) {
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitVarInsn(ILOAD, indexVar);
+		mv.visitInsn(ICONST_1);
+		mv.visitInsn(IADD);
+		mv.visitFieldInsn(PUTFIELD, ABSTRACT_CONSUMER_TYPE, "_currentIndex", "I");
+	}
+
+	private static void pushChar(MethodVisitor mv, char c) {
+		if (c <= Byte.MAX_VALUE) {
+			mv.visitIntInsn(BIPUSH, c);
+		} else if (c <= Short.MAX_VALUE) {
+			mv.visitIntInsn(SIPUSH, c);
+		} else {
+			mv.visitLdcInsn((int) c);
+		}
+	}
+}
@@ -0,0 +1,351 @@
+package org.sfm.reflect.asm;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.sfm.csv.impl.writer.AppendableBuffer;
+import org.sfm.csv.impl.writer.CellSeparatorAppender;
+import org.sfm.csv.impl.writer.CsvCellWriter;
+import org.sfm.csv.impl.writer.EndOfRowAppender;
+import org.sfm.csv.impl.writer.IntegerAppendableSetter;
+import org.sfm.csv.impl.writer.LongAppendableSetter;
+import org.sfm.map.FieldMapper;
+import org.sfm.map.MappingContext;
+import org.sfm.map.impl.fieldmapper.IntFieldMapper;
+import org.sfm.map.impl.fieldmapper.LongFieldMapper;
+import org.sfm.map.mapper.AbstractMapper;
+import org.sfm.reflect.Instantiator;
+import org.sfm.reflect.primitive.IntGetter;
+import org.sfm.reflect.primitive.LongGetter;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Generate the mapper writing a row of csv for a list of column appenders and a CsvCellWriter.
+ * <p>
+ * When the target is an AppendableBuffer the separators and the end of line are appended as constants
+ * and the int and long columns are formatted by the buffer straight from the getter,
+ * the other columns call their field mapper.
+ * The cells are split in methods of MAX_CELLS_PER_METHOD appenders to keep the methods small enough to be jitted for wide types.
+ */
+public class CsvWriterMapperAsmBuilder {
+
+    public static final int GENERIC = 0;
+    public static final int SEPARATOR = 1;
+    public static final int END_OF_ROW = 2;
+    public static final int INT = 3;
+    public static final int LONG = 4;
+
+    private static final int MAX_CELLS_PER_METHOD = 64;
+
+    private static final String ABSTRACT_MAPPER_TYPE = AsmUtils.toType(AbstractMapper.class);
+    private static final String FIELD_MAPPER_TYPE = AsmUtils.toType(FieldMapper.class);
+    private static final String INSTANTIATOR_TYPE = AsmUtils.toType(Instantiator.class);
+    private static final String MAPPING_CONTEXT_TYPE = AsmUtils.toType(MappingContext.class);
+    private static final String APPENDABLE_TYPE = AsmUtils.toType(Appendable.class);
+    private static final String APPENDABLE_BUFFER_TYPE = AsmUtils.toType(AppendableBuffer.class);
+    private static final String INT_FIELD_MAPPER_TYPE = AsmUtils.toType(IntFieldMapper.class);
+    private static final String LONG_FIELD_MAPPER_TYPE = AsmUtils.toType(LongFieldMapper.class);
+    private static final String INT_GETTER_TYPE = AsmUtils.toType(IntGetter.class);
+    private static final String LONG_GETTER_TYPE = AsmUtils.toType(LongGetter.class);
+
+    /**
+     * @param mappers the appenders of the row
+     * @param cellWriter the cell writer the appenders were created with
+     * @return the kind of code generated for each appender
+     */
+    public static int[] cellKinds(FieldMapper<?, ?>[] mappers, CsvCellWriter cellWriter) {
+        boolean numbersAsIs = CsvCellWriter.writesNumbersAsIs(cellWriter);
+        int[] kinds = new int[mappers.length];
+        for(int i = 0; i < mappers.length; i++) {
+            FieldMapper<?, ?> mapper = mappers[i];
+            if (mapper instanceof CellSeparatorAppender) {
+                kinds[i] = SEPARATOR;
+            } else if (mapper instanceof EndOfRowAppender) {
+                kinds[i] = END_OF_ROW;
+            } else if (numbersAsIs && mapper instanceof IntFieldMapper
+                    && ((IntFieldMapper<?, ?>) mapper).getSetter() instanceof IntegerAppendableSetter) {
+                kinds[i] = INT;
+            } else if (numbersAsIs && mapper instanceof LongFieldMapper
+                    && ((LongFieldMapper<?, ?>) mapper).getSetter() instanceof LongAppendableSetter) {
+                kinds[i] = LONG;
+            } else {
+                kinds[i] = GENERIC;
+            }
+        }
+        return kinds;
+    }
+
+    public static <S> byte[] dump(
+            final String className,
+            final FieldMapper<S, Appendable>[] mappers,
+            final int[] kinds,
+            final CsvCellWriter cellWriter,
+            final Class<? super S> sourceClass) throws Exception {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+
+        final String sourceType = AsmUtils.toType(sourceClass);
+        final String classType = AsmUtils.toType(className);
+
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, classType, "L" + ABSTRACT_MAPPER_TYPE + "<L" + sourceType + ";L" + APPENDABLE_TYPE + ";>;", ABSTRACT_MAPPER_TYPE, null);
+
+        for(int i = 0; i < mappers.length; i++) {
+            declareFields(cw, mappers[i], kinds[i], i);
+        }
+
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", "([L" + FIELD_MAPPER_TYPE + ";L" + INSTANTIATOR_TYPE + ";)V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitMethodInsn(INVOKESPECIAL, ABSTRACT_MAPPER_TYPE, "<init>", "(L" + INSTANTIATOR_TYPE + ";)V", false);
+            for(int i = 0; i < mappers.length; i++) {
+                initFields(mv, mappers[i], kinds[i], i, classType);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(3, 3);
+            mv.visitEnd();
+        }
+
+        int nbMethods = (mappers.length + MAX_CELLS_PER_METHOD - 1) / MAX_CELLS_PER_METHOD;
+        String cellsSignature = "(L" + sourceType + ";L" + APPENDABLE_TYPE + ";L" + MAPPING_CONTEXT_TYPE + ";)V";
+        String bufferCellsSignature = "(L" + sourceType + ";L" + APPENDABLE_BUFFER_TYPE + ";L" + MAPPING_CONTEXT_TYPE + ";)V";
+
+        for(int m = 0; m < nbMethods; m++) {
+            int start = m * MAX_CELLS_PER_METHOD;
+            int end = Math.min(mappers.length, start + MAX_CELLS_PER_METHOD);
+
+            mv = cw.visitMethod(ACC_PRIVATE + ACC_FINAL, "appendCells" + m, bufferCellsSignature, null, new String[] { "java/lang/Exception" });
+            mv.visitCode();
+            for(int i = start; i < end; i++) {
+                appendToBuffer(mv, mappers[i], kinds[i], i, classType, cellWriter);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(3, 3);
+            mv.visitEnd();
+
+            mv = cw.visitMethod(ACC_PRIVATE + ACC_FINAL, "mapCells" + m, cellsSignature, null, new String[] { "java/lang/Exception" });
+            mv.visitCode();
+            for(int i = start; i < end; i++) {
+                appendToAppendable(mv, mappers[i], kinds[i], i, classType, cellWriter);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(3, 3);
+            mv.visitEnd();
+        }
+
+        {
+            mv = cw.visitMethod(ACC_PROTECTED + ACC_FINAL, "mapFields", cellsSignature, null, new String[] { "java/lang/Exception" });
+            mv.visitCode();
+            Label notABuffer = new Label();
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitTypeInsn(INSTANCEOF, APPENDABLE_BUFFER_TYPE);
+            mv.visitJumpInsn(IFEQ, notABuffer);
+            for(int m = 0; m < nbMethods; m++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitTypeInsn(CHECKCAST, APPENDABLE_BUFFER_TYPE);
+                mv.visitVarInsn(ALOAD, 3);
+                mv.visitMethodInsn(INVOKESPECIAL, classType, "appendCells" + m, bufferCellsSignature, false);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitLabel(notABuffer);
+            mv.visitFrame(F_SAME, 0, null, 0, null);
+            for(int m = 0; m < nbMethods; m++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitVarInsn(ALOAD, 3);
+                mv.visitMethodInsn(INVOKESPECIAL, classType, "mapCells" + m, cellsSignature, false);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(4, 4);
+            mv.visitEnd();
+        }
+
+        appendBridge(cw, classType, sourceType, "mapFields", cellsSignature);
+
+        {
+            mv = cw.visitMethod(ACC_PROTECTED + ACC_FINAL, "mapToFields", cellsSignature, null, new String[] { "java/lang/Exception" });
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitMethodInsn(INVOKEVIRTUAL, classType, "mapFields", cellsSignature, false);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(4, 4);
+            mv.visitEnd();
+        }
+
+        appendBridge(cw, classType, sourceType, "mapToFields", cellsSignature);
+
+        {
+            StringBuilder sb = new StringBuilder("{");
+            for(int i = 0; i < mappers.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append("fieldMapper").append(i).append('=').append(String.valueOf(mappers[i]));
+            }
+            sb.append('}');
+
+            mv = cw.visitMethod(ACC_PUBLIC, "toString", "()Ljava/lang/String;", null, null);
+            mv.visitCode();
+            mv.visitTypeInsn(NEW, "java/lang/StringBuilder");
+            mv.visitInsn(DUP);
+            mv.visitMethodInsn(INVOKESPECIAL, "java/lang/StringBuilder", "<init>", "()V", false);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Object", "getClass", "()Ljava/lang/Class;", false);
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Class", "getSimpleName", "()Ljava/lang/String;", false);
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/StringBuilder", "append", "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+            mv.visitLdcInsn(sb.toString());
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/StringBuilder", "append", "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/StringBuilder", "toString", "()Ljava/lang/String;", false);
+            mv.visitInsn(ARETURN);
+            mv.visitMaxs(2, 1);
+            mv.visitEnd();
+        }
+
+        cw.visitEnd();
+
+        return AsmUtils.writeClassToFile(className, cw.toByteArray());
+    }
+
+    private static void appendBridge(ClassWriter cw, String classType, String sourceType, String method, String signature) {
+        MethodVisitor mv = cw.visitMethod(ACC_PROTECTED + ACC_BRIDGE + ACC_SYNTHETIC, method, "(Ljava/lang/Object;Ljava/lang/Object;L" + MAPPING_CONTEXT_TYPE + ";)V", null, new String[] { "java/lang/Exception" });
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, sourceType);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitTypeInsn(CHECKCAST, APPENDABLE_TYPE);
+        mv.visitVarInsn(ALOAD, 3);
+        mv.visitMethodInsn(INVOKEVIRTUAL, classType, method, signature, false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(4, 4);
+        mv.visitEnd();
+    }
+
+    private static void appendToBuffer(MethodVisitor mv, FieldMapper<?, ?> mapper, int kind, int index, String classType, CsvCellWriter cellWriter) {
+        switch (kind) {
+            case SEPARATOR:
+                mv.visitVarInsn(ALOAD, 2);
+                AsmUtils.addIndex(mv, cellWriter.getSeparator());
+                mv.visitMethodInsn(INVOKEVIRTUAL, APPENDABLE_BUFFER_TYPE, "append", "(C)L" + APPENDABLE_BUFFER_TYPE + ";", false);
+                mv.visitInsn(POP);
+                break;
+            case END_OF_ROW:
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitLdcInsn(cellWriter.getEndOfLine());
+                mv.visitMethodInsn(INVOKEVIRTUAL, APPENDABLE_BUFFER_TYPE, "append", "(Ljava/lang/CharSequence;)L" + APPENDABLE_BUFFER_TYPE + ";", false);
+                mv.visitInsn(POP);
+                break;
+            case INT:
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, classType, "getter" + index, "L" + INT_GETTER_TYPE + ";");
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEINTERFACE, INT_GETTER_TYPE, "getInt", "(Ljava/lang/Object;)I", true);
+                mv.visitMethodInsn(INVOKEVIRTUAL, APPENDABLE_BUFFER_TYPE, "appendInt", "(I)L" + APPENDABLE_BUFFER_TYPE + ";", false);
+                mv.visitInsn(POP);
+                break;
+            case LONG:
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, classType, "getter" + index, "L" + LONG_GETTER_TYPE + ";");
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEINTERFACE, LONG_GETTER_TYPE, "getLong", "(Ljava/lang/Object;)J", true);
+                mv.visitMethodInsn(INVOKEVIRTUAL, APPENDABLE_BUFFER_TYPE, "appendLong", "(J)L" + APPENDABLE_BUFFER_TYPE + ";", false);
+                mv.visitInsn(POP);
+                break;
+            default:
+                callFieldMapper(mv, mapper, index, classType);
+        }
+    }
+
+    private static void appendToAppendable(MethodVisitor mv, FieldMapper<?, ?> mapper, int kind, int index, String classType, CsvCellWriter cellWriter) {
+        switch (kind) {
+            case SEPARATOR:
+                mv.visitVarInsn(ALOAD, 2);
+                AsmUtils.addIndex(mv, cellWriter.getSeparator());
+                mv.visitMethodInsn(INVOKEINTERFACE, APPENDABLE_TYPE, "append", "(C)L" + APPENDABLE_TYPE + ";", true);
+                mv.visitInsn(POP);
+                break;
+            case END_OF_ROW:
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitLdcInsn(cellWriter.getEndOfLine());
+                mv.visitMethodInsn(INVOKEINTERFACE, APPENDABLE_TYPE, "append", "(Ljava/lang/CharSequence;)L" + APPENDABLE_TYPE + ";", true);
+                mv.visitInsn(POP);
+                break;
+            default:
+                callFieldMapper(mv, mapper, index, classType);
+        }
+    }
+
+    private static void callFieldMapper(MethodVisitor mv, FieldMapper<?, ?> mapper, int index, String classType) {
+        Class<?> mapperClass = AsmUtils.getPublicOrInterfaceClass(mapper.getClass());
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, classType, "fieldMapper" + index, "L" + AsmUtils.toType(mapperClass) + ";");
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitVarInsn(ALOAD, 3);
+        AsmUtils.invoke(mv, mapperClass, "mapTo", "(Ljava/lang/Object;Ljava/lang/Object;L" + MAPPING_CONTEXT_TYPE + ";)V");
+    }
+
+    private static void declareFields(ClassWriter cw, FieldMapper<?, ?> mapper, int kind, int index) {
+        FieldVisitor fv;
+        switch (kind) {
+            case SEPARATOR:
+            case END_OF_ROW:
+                return;
+            case INT:
+                fv = cw.visitField(ACC_PRIVATE + ACC_FINAL, "getter" + index, "L" + INT_GETTER_TYPE + ";", null, null);
+                fv.visitEnd();
+                break;
+            case LONG:
+                fv = cw.visitField(ACC_PRIVATE + ACC_FINAL, "getter" + index, "L" + LONG_GETTER_TYPE + ";", null, null);
+                fv.visitEnd();
+                break;
+            default:
+        }
+        Class<?> mapperClass = AsmUtils.getPublicOrInterfaceClass(mapper.getClass());
+        fv = cw.visitField(ACC_PRIVATE + ACC_FINAL, "fieldMapper" + index, "L" + AsmUtils.toType(mapperClass) + ";", null, null);
+        fv.visitEnd();
+    }
+
+    private static void initFields(MethodVisitor mv, FieldMapper<?, ?> mapper, int kind, int index, String classType) {
+        switch (kind) {
+            case SEPARATOR:
+            case END_OF_ROW:
+                return;
+            case INT:
+                initGetter(mv, index, classType, INT_FIELD_MAPPER_TYPE, INT_GETTER_TYPE);
+                break;
+            case LONG:
+                initGetter(mv, index, classType, LONG_FIELD_MAPPER_TYPE, LONG_GETTER_TYPE);
+                break;
+            default:
+        }
+        String mapperType = AsmUtils.toType(AsmUtils.getPublicOrInterfaceClass(mapper.getClass()));
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        AsmUtils.addIndex(mv, index);
+        mv.visitInsn(AALOAD);
+        mv.visitTypeInsn(CHECKCAST, mapperType);
+        mv.visitFieldInsn(PUTFIELD, classType, "fieldMapper" + index, "L" + mapperType + ";");
+    }
+
+    private static void initGetter(MethodVisitor mv, int index, String classType, String fieldMapperType, String getterType) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        AsmUtils.addIndex(mv, index);
+        mv.visitInsn(AALOAD);
+        mv.visitTypeInsn(CHECKCAST, fieldMapperType);
+        mv.visitMethodInsn(INVOKEVIRTUAL, fieldMapperType, "getGetter", "()L" + getterType + ";", false);
+        mv.visitFieldInsn(PUTFIELD, classType, "getter" + index, "L" + getterType + ";");
+    }
+}
@@ -0,0 +1,40 @@
+package org.sfm.reflect.asm;
+
+import java.util.Arrays;
+
+public class CsvWriterMapperKey {
+
+    private final MapperKey<?> mapperKey;
+    private final int[] cellKinds;
+    private final char separator;
+    private final String endOfLine;
+
+    public CsvWriterMapperKey(MapperKey<?> mapperKey, int[] cellKinds, char separator, String endOfLine) {
+        this.mapperKey = mapperKey;
+        this.cellKinds = cellKinds;
+        this.separator = separator;
+        this.endOfLine = endOfLine;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        CsvWriterMapperKey that = (CsvWriterMapperKey) o;
+
+        if (separator != that.separator) return false;
+        if (!mapperKey.equals(that.mapperKey)) return false;
+        if (!Arrays.equals(cellKinds, that.cellKinds)) return false;
+        return endOfLine.equals(that.endOfLine);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = mapperKey.hashCode();
+        result = 31 * result + Arrays.hashCode(cellKinds);
+        result = 31 * result + (int) separator;
+        result = 31 * result + endOfLine.hashCode();
+        return result;
+    }
+}
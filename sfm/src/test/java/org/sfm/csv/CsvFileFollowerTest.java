@@ -0,0 +1,152 @@
+package org.sfm.csv;
+
+import org.junit.Test;
+import org.sfm.csv.parser.CellConsumer;
+import org.sfm.utils.ListCollectorHandler;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CsvFileFollowerTest {
+
+	@Test
+	public void testPollReadsOnlyTheAppendedBytes() throws IOException {
+		File file = File.createTempFile("follow", ".csv");
+		file.deleteOnExit();
+		RowCollector collector = new RowCollector();
+		CsvFileFollower follower = CsvParser.bufferSize(4).follow(file, collector);
+		try {
+			assertEquals(0, follower.poll());
+
+			append(file, "a,b\nc,\"d");
+			assertEquals(8, follower.poll());
+			assertEquals("[[a, b]]", collector.rows.toString());
+
+			append(file, "\ne\"\nf");
+			assertEquals(5, follower.poll());
+			assertEquals("[[a, b], [c, d\ne]]", collector.rows.toString());
+
+			assertEquals(0, follower.poll());
+
+			append(file, ",g\n");
+			follower.poll();
+			assertEquals("[[a, b], [c, d\ne], [f, g]]", collector.rows.toString());
+			assertEquals(file.length(), follower.position());
+			assertEquals(0, collector.ends);
+		} finally {
+			follower.close();
+		}
+	}
+
+	@Test
+	public void testTruncationRestartsFromTheBeginning() throws IOException {
+		File file = File.createTempFile("follow", ".csv");
+		file.deleteOnExit();
+		write(file, "header\nrow1\nrow2\n", false);
+
+		RowCollector collector = new RowCollector();
+		CsvFileFollower follower = CsvParser.skip(1).follow(file, collector);
+		try {
+			follower.poll();
+			assertEquals("[[row1], [row2]]", collector.rows.toString());
+
+			write(file, "header\nrow3\n", false);
+			follower.poll();
+			assertEquals("[[row1], [row2], [row3]]", collector.rows.toString());
+			assertEquals(1, collector.ends);
+		} finally {
+			follower.close();
+		}
+	}
+
+	@Test
+	public void testFollowFileCreatedLater() throws IOException {
+		File file = File.createTempFile("follow", ".csv");
+		assertTrue(file.delete());
+		file.deleteOnExit();
+
+		ListCollectorHandler<Long> handler = new ListCollectorHandler<Long>();
+		CsvFileFollower follower = CsvParser.mapTo(Long.class).follow(file, handler);
+		try {
+			assertEquals(0, follower.poll());
+
+			write(file, "value\n1\n2", false);
+			follower.poll();
+			assertEquals(Arrays.asList(1l), handler.getList());
+
+			append(file, "\n");
+			follower.poll();
+			assertEquals(Arrays.asList(1l, 2l), handler.getList());
+		} finally {
+			follower.close();
+		}
+	}
+
+	//IFJAVA8_START
+	@Test
+	public void testReplacedFileIsFollowed() throws IOException {
+		File file = File.createTempFile("follow", ".csv");
+		file.deleteOnExit();
+		File rotated = new File(file.getPath() + ".1");
+		rotated.deleteOnExit();
+		write(file, "value\n1\n", false);
+
+		ListCollectorHandler<Long> handler = new ListCollectorHandler<Long>();
+		CsvFileFollower follower = CsvParser.mapTo(Long.class).follow(file.toPath(), handler);
+		try {
+			follower.poll();
+			assertEquals(Arrays.asList(1l), handler.getList());
+
+			append(file, "2\n");
+			assertTrue(file.renameTo(rotated));
+			write(file, "value\n3\n4\n", false);
+
+			follower.poll();
+			assertEquals(Arrays.asList(1l, 2l, 3l, 4l), handler.getList());
+		} finally {
+			follower.close();
+		}
+	}
+	//IFJAVA8_END
+
+	private static void append(File file, String content) throws IOException {
+		write(file, content, true);
+	}
+
+	private static void write(File file, String content, boolean append) throws IOException {
+		FileOutputStream os = new FileOutputStream(file, append);
+		try {
+			os.write(content.getBytes("UTF-8"));
+		} finally {
+			os.close();
+		}
+	}
+
+	private static class RowCollector implements CellConsumer {
+		private final List<List<String>> rows = new ArrayList<List<String>>();
+		private List<String> currentRow = new ArrayList<String>();
+		private int ends;
+
+		@Override
+		public void newCell(char[] chars, int offset, int length) {
+			currentRow.add(new String(chars, offset, length));
+		}
+
+		@Override
+		public void endOfRow() {
+			rows.add(currentRow);
+			currentRow = new ArrayList<String>();
+		}
+
+		@Override
+		public void end() {
+			ends++;
+		}
+	}
+}
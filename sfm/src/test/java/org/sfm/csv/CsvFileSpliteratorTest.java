@@ -0,0 +1,82 @@
+package org.sfm.csv;
+
+import org.junit.Test;
+import org.sfm.csv.parser.FileRowScanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.Assert.*;
+
+public class CsvFileSpliteratorTest {
+
+    @Test
+    public void testParallelStreamOnSmallSplits() throws IOException {
+        List<String> expected = new ArrayList<String>();
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < 1000; i++) {
+            if (i % 3 == 0) {
+                sb.append(i).append(",\"quoted, \"\" ").append(i).append("\"\r\n");
+                expected.add(i + "|quoted, \" " + i);
+            } else {
+                sb.append(i).append(",value ").append(i).append('\n');
+                expected.add(i + "|value " + i);
+            }
+        }
+        Path path = createTempFile(sb.toString());
+
+        CsvParser.DSL dsl = CsvParser.dsl();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            CsvFileSpliterator<String[]> spliterator =
+                    new CsvFileSpliterator<String[]>(dsl, channel, new FileRowScanner(channel, '"'), 0, channel.size(), 64,
+                            csvReader -> csvReader.stream().spliterator());
+
+            Spliterator<String[]> prefix = new CsvFileSpliterator<String[]>(dsl, channel, new FileRowScanner(channel, '"'), 0, channel.size(), 64,
+                    csvReader -> csvReader.stream().spliterator()).trySplit();
+            assertNotNull(prefix);
+
+            List<String> rows = StreamSupport.stream(spliterator, true)
+                    .map(strings -> strings[0] + "|" + strings[1])
+                    .collect(Collectors.toList());
+            assertEquals(expected, rows);
+        }
+    }
+
+    @Test
+    public void testMapToStreamFromPathWithSkipAndHeader() throws IOException {
+        Path path = createTempFile("skipped\nvalue\n1\n2\n3");
+
+        try (Stream<Long> stream = CsvParser.skip(1).mapTo(Long.class).stream(path)) {
+            assertEquals(6l, stream.parallel().mapToLong(Long::longValue).sum());
+        }
+
+        try (Stream<String[]> stream = CsvParser.skip(2).stream(path)) {
+            assertEquals(3, stream.parallel().count());
+        }
+
+        try (Stream<Long> stream = CsvParser.skip(1).noMultilineCells().mapTo(Long.class).stream(path)) {
+            assertEquals(6l, stream.parallel().mapToLong(Long::longValue).sum());
+        }
+
+        try (Stream<String[]> stream = CsvParser.skip(2).noMultilineCells().stream(path.toFile())) {
+            assertEquals(3, stream.parallel().count());
+        }
+    }
+
+    private Path createTempFile(String content) throws IOException {
+        File file = File.createTempFile("test", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), content.getBytes("UTF-8"));
+        return file.toPath();
+    }
+}
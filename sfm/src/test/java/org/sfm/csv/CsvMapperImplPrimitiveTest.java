@@ -6,6 +6,7 @@ import org.sfm.beans.DbPrimitiveObject;
 import org.sfm.beans.DbPrimitiveObjectWithSetter;
 import org.sfm.utils.ListCollectorHandler;
 
+import java.io.ByteArrayInputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
@@ -84,4 +85,26 @@ public class CsvMapperImplPrimitiveTest {
 		assertEquals(1, list.size());
 		assertDbPrimitiveObject(list.get(0));
 	}
+
+	@Test
+	public void testDbPrimitiveObjectFromUtf8Bytes() throws Exception {
+		CsvMapperBuilder<DbPrimitiveObjectWithSetter> builder = new CsvMapperBuilder<DbPrimitiveObjectWithSetter>(DbPrimitiveObjectWithSetter.class);
+		addMapping(builder);
+
+		List<DbPrimitiveObjectWithSetter> list = CsvParser.mapWith(builder.mapper())
+				.forEach(new ByteArrayInputStream(CONTENT.getBytes("UTF-8")), new ListCollectorHandler<DbPrimitiveObjectWithSetter>()).getList();
+		assertEquals(1, list.size());
+		assertDbPrimitiveObject(list.get(0));
+	}
+
+	@Test
+	public void testFinalDbPrimitiveObjectFromUtf8Bytes() throws Exception {
+		CsvMapperBuilder<DbFinalPrimitiveObject> builder = new CsvMapperBuilder<DbFinalPrimitiveObject>(DbFinalPrimitiveObject.class);
+		addMapping(builder);
+
+		List<DbFinalPrimitiveObject> list = CsvParser.mapWith(builder.mapper())
+				.forEach(new ByteArrayInputStream(CONTENT.getBytes("UTF-8")), new ListCollectorHandler<DbFinalPrimitiveObject>()).getList();
+		assertEquals(1, list.size());
+		assertDbPrimitiveObject(list.get(0));
+	}
 }
@@ -12,7 +12,9 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.text.ParseException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 //IFJAVA8_START
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -231,6 +233,27 @@ public class CsvMapperImplTest {
         assertEquals(TypeRoot.type1, mapper.iterator(new StringReader("0")).next());
     }
 
+    @Test
+    public void testEnumCaseInsensitiveWithAliases() throws IOException {
+        Map<String, TypeRoot> aliases = new HashMap<String, TypeRoot>();
+        aliases.put("first", TypeRoot.type1);
+        CsvMapperBuilder<TypeRoot> builder = new CsvMapperBuilder<TypeRoot>(TypeRoot.class);
+        builder.addMapping("c1", CsvColumnDefinition.enumCaseInsensitiveDefinition().addEnumAliases(aliases));
+        CsvMapper<TypeRoot> mapper = builder.mapper();
+        Iterator<TypeRoot> iterator = mapper.iterator(new StringReader("TYPE3\ntype2\nFirst\n1"));
+        assertEquals(TypeRoot.type3, iterator.next());
+        assertEquals(TypeRoot.type2, iterator.next());
+        assertEquals(TypeRoot.type1, iterator.next());
+        assertEquals(TypeRoot.type2, iterator.next());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEnumUnknownName() throws IOException {
+        CsvMapperBuilder<TypeRoot> builder = new CsvMapperBuilder<TypeRoot>(TypeRoot.class);
+        builder.addMapping("c1");
+        builder.mapper().iterator(new StringReader("TYPE3")).next();
+    }
+
 	@Test
 	public void testStringRoot() throws IOException {
 		CsvMapperBuilder<String> builder = new CsvMapperBuilder<String>(String.class);
@@ -0,0 +1,165 @@
+package org.sfm.csv;
+
+import org.junit.After;
+import org.junit.Test;
+import org.sfm.beans.DbObject;
+import org.sfm.csv.impl.ParsingException;
+import org.sfm.utils.ListCollectorHandler;
+import org.sfm.utils.RowHandler;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class CsvMapperParallelTest {
+
+	private static final int NB_ROWS = 10000;
+
+	private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+	private final CsvMapper<DbObject> mapper = CsvMapperFactory.newInstance().newMapper(DbObject.class);
+
+	@After
+	public void tearDown() {
+		executorService.shutdown();
+	}
+
+	@Test
+	public void testForEachParallelOrdered() throws IOException {
+		List<DbObject> objects = mapper.forEachParallel(new StringReader(csv(NB_ROWS)), new ListCollectorHandler<DbObject>(), executorService, 4, true).getList();
+		assertIds(objects, NB_ROWS);
+	}
+
+	@Test
+	public void testForEachParallelUnordered() throws IOException {
+		final List<DbObject> objects = new ArrayList<DbObject>();
+		final Thread[] concurrentCall = new Thread[1];
+		mapper.forEachParallel(new StringReader(csv(NB_ROWS)), new RowHandler<DbObject>() {
+			private Thread current;
+			@Override
+			public void handle(DbObject dbObject) throws Exception {
+				if (current != null) {
+					concurrentCall[0] = current;
+				}
+				current = Thread.currentThread();
+				objects.add(dbObject);
+				current = null;
+			}
+		}, executorService, 4, false);
+		assertEquals(null, concurrentCall[0]);
+		Collections.sort(objects, new Comparator<DbObject>() {
+			@Override
+			public int compare(DbObject o1, DbObject o2) {
+				return o1.getId() < o2.getId() ? -1 : o1.getId() == o2.getId() ? 0 : 1;
+			}
+		});
+		assertIds(objects, NB_ROWS);
+	}
+
+	@Test
+	public void testForEachParallelOnCallingThread() throws IOException {
+		Executor executor = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+		};
+		String csv = csv(3);
+		List<DbObject> objects = mapper.forEachParallel(new StringReader(csv.substring(0, csv.length() - 1)), new ListCollectorHandler<DbObject>(), executor, 1, true).getList();
+		assertIds(objects, 3);
+	}
+
+	@Test
+	public void testForEachParallelRethrowsMappingError() throws IOException {
+		String csv = csv(NB_ROWS) + "id_not_a_number,name,email\n" + csv(10).substring("id,name,email\n".length());
+		try {
+			mapper.forEachParallel(new StringReader(csv), new ListCollectorHandler<DbObject>(), executorService, 4, true);
+			fail("Expect exception");
+		} catch (ParsingException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testForEachParallelWaitsForTheBatchesInFlightOnError() throws IOException {
+		final CountDownLatch startDelayedBatches = new CountDownLatch(1);
+		final AtomicInteger submitted = new AtomicInteger();
+		// set before the batch task runs, so before it releases the runner waiting for it
+		final AtomicInteger started = new AtomicInteger();
+		Executor executor = new Executor() {
+			@Override
+			public void execute(final Runnable command) {
+				final boolean delayed = submitted.getAndIncrement() > 0;
+				executorService.execute(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							if (delayed) {
+								startDelayedBatches.await();
+							}
+							started.incrementAndGet();
+							command.run();
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					}
+				});
+			}
+		};
+		new Thread() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(100);
+				} catch (InterruptedException e) {
+					// start them now
+				}
+				startDelayedBatches.countDown();
+			}
+		}.start();
+
+		// the first of the 3 batches fails
+		String csv = "id,name,email\nid_not_a_number,name,email\n" + csv(2500).substring("id,name,email\n".length());
+		try {
+			mapper.forEachParallel(new StringReader(csv), new ListCollectorHandler<DbObject>(), executor, 4, true);
+			fail("Expect exception");
+		} catch (ParsingException e) {
+			assertEquals(3, submitted.get());
+			assertEquals(3, started.get());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testForEachParallelInvalidWorkers() throws IOException {
+		mapper.forEachParallel(new StringReader(csv(1)), new ListCollectorHandler<DbObject>(), executorService, 0, true);
+	}
+
+	private static void assertIds(List<DbObject> objects, int nbRows) {
+		assertEquals(nbRows, objects.size());
+		for (int i = 0; i < nbRows; i++) {
+			DbObject object = objects.get(i);
+			assertEquals(i, object.getId());
+			assertEquals("name" + i, object.getName());
+			assertEquals("name" + i + "@mail.com", object.getEmail());
+		}
+	}
+
+	private static String csv(int nbRows) {
+		StringBuilder sb = new StringBuilder("id,name,email\n");
+		for (int i = 0; i < nbRows; i++) {
+			sb.append(i).append(",name").append(i).append(",name").append(i).append("@mail.com\n");
+		}
+		return sb.toString();
+	}
+}
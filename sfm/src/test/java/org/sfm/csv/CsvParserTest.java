@@ -1,20 +1,26 @@
 package org.sfm.csv;
 
 import org.junit.Test;
+import org.sfm.beans.DbObject;
+import org.sfm.csv.impl.CsvMapperImpl;
 import org.sfm.csv.parser.BufferOverflowException;
 import org.sfm.csv.parser.CellConsumer;
+import org.sfm.csv.parser.CharArrayPool;
+import org.sfm.csv.parser.CsvRowIndex;
 import org.sfm.reflect.TypeReference;
 import org.sfm.tuples.*;
 import org.sfm.utils.CloseableIterator;
 import org.sfm.utils.ListCollectorHandler;
 import org.sfm.utils.Predicate;
 
+import java.io.ByteArrayInputStream;
 import java.io.CharArrayReader;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -374,6 +380,40 @@ public class CsvParserTest {
         assertEquals("v2", tuple.second());
     }
 
+	@Test
+	public void testMapWithProjectsOutTheUnmappedColumns() throws Exception {
+		CsvMapper<DbObject> mapper = CsvMapperFactory.newInstance().newBuilder(DbObject.class)
+				.addMapping("id", 1)
+				.addMapping("name", 3)
+				.addMapping("ignored", 4, CsvColumnDefinition.ignoreDefinition())
+				.addMapping("email", 5)
+				.mapper();
+		assertArrayEquals(new int[] {1, 3, 5}, ((CsvMapperImpl<DbObject>) mapper).mappedColumns());
+
+		String content = "\"x\"\"\",1,y,n1,z,e1,tail\n"
+				+ "x,2,\"y\r\ny\",n2,z,e2\n"
+				+ ",3";
+
+		List<DbObject> fromChars = CsvParser.mapWith(mapper).forEach(content, new ListCollectorHandler<DbObject>()).getList();
+		List<DbObject> fromBytes = CsvParser.mapWith(mapper)
+				.forEach(new ByteArrayInputStream(content.getBytes("UTF-8")), new ListCollectorHandler<DbObject>()).getList();
+
+		for(List<DbObject> list : Arrays.asList(fromChars, fromBytes)) {
+			assertEquals(3, list.size());
+			assertEquals(1, list.get(0).getId());
+			assertEquals("n1", list.get(0).getName());
+			assertEquals("e1", list.get(0).getEmail());
+			assertEquals(2, list.get(1).getId());
+			assertEquals("n2", list.get(1).getName());
+			assertEquals("e2", list.get(1).getEmail());
+			assertEquals(3, list.get(2).getId());
+			assertNull(list.get(2).getName());
+		}
+
+		Iterator<DbObject> iterator = CsvParser.mapWith(mapper).iterator(content);
+		assertEquals("e1", iterator.next().getEmail());
+	}
+
 	private Reader getOneRowReader() {
 		return new StringReader("value");
 	}
@@ -580,6 +620,48 @@ public class CsvParserTest {
 		CsvParser.stream(f).forEach(strings -> assertArrayEquals(new String[] {"row" + ++i}, strings));
 		assertEquals(3, i);
 	}
+	@Test
+	public void testStreamRowsFromPath() throws
+			IOException {
+
+		File f = createTempCsv("row1\nrow2\nrow3");
+		i = 0;
+		try (Stream<String[]> stream = CsvParser.bufferSize(4).stream(f.toPath())) {
+			stream.forEach(strings -> assertArrayEquals(new String[]{"row" + ++i}, strings));
+		}
+		assertEquals(3, i);
+	}
+
+	@Test
+	public void testParseAndMapFromPath() throws IOException {
+		File f = createTempCsv("value;v2\n1;2\n3;4");
+
+		String[][] cells = CsvParser.separator(';').skip(1).parse(f.toPath(), new AccumulateCellConsumer()).allValues();
+		assertArrayEquals(new String[][] {{"1", "2"}, {"3", "4"}}, cells);
+
+		try (Stream<Long> stream = CsvParser.mapTo(Long.class).stream(createTempCsv("value\n1\n3").toPath())) {
+			assertEquals(Arrays.asList(1l, 3l), stream.collect(Collectors.toList()));
+		}
+
+		try (CloseableCsvReader reader = CsvParser.reader(f.toPath())) {
+			assertArrayEquals(new String[] {"value;v2"}, reader.iterator().next());
+		}
+	}
+
+	@Test
+	public void testPathAndFileDecodeWithTheSameCharset() throws IOException {
+		File f = createTempCsv("caf\u00e9,na\u00efve\n\u00e0,b");
+
+		try (CloseableCsvReader fileReader = CsvParser.reader(f); CloseableCsvReader pathReader = CsvParser.reader(f.toPath())) {
+			Iterator<String[]> fileRows = fileReader.iterator();
+			Iterator<String[]> pathRows = pathReader.iterator();
+			while (fileRows.hasNext()) {
+				assertArrayEquals(fileRows.next(), pathRows.next());
+			}
+			assertFalse(pathRows.hasNext());
+		}
+	}
+
 	@Test
 	public void testStreamRowsFromString() throws
 			IOException {
@@ -592,6 +674,22 @@ public class CsvParserTest {
 
 	//IFJAVA8_END
 
+	@Test
+	public void testLongPlainTextRunsAcrossBufferBoundaries() throws IOException {
+		String[][] expectations = {
+				{"abcdefghijklmnopqrstuvwxyz", "0123456789\u00e9\u4e2d", ""},
+				{"a\"b", "x,\"y\r\nz", "@AZ[`az{~\u007f"},
+				{"1234567", "12345678"}
+		};
+		for(int bufferSize = 4; bufferSize < 64; bufferSize += 3) {
+			for (String cr : new String[]{"\n", "\r", "\r\n"}) {
+				String[][] cells = CsvParser.bufferSize(bufferSize)
+						.parse(createReader(expectations, ',', '"', cr), new AccumulateCellConsumer()).allValues();
+				assertArrayEquals(expectations, cells);
+			}
+		}
+	}
+
 	private static class AccumulateCellConsumer implements CellConsumer {
 		final List<String[]> rows = new ArrayList<String[]>();
 		final List<String> currentRow = new ArrayList<String>();
@@ -699,6 +797,133 @@ public class CsvParserTest {
 		}
 	}
 
+	@Test
+	public void testIterateStringsFromFileUsesDslSetup() throws IOException {
+		File file = createTempCsv("skipped\n1;2");
+
+		CloseableIterator<String[]> iterator = CsvParser.separator(';').skip(1).iterator(file);
+		try {
+			assertArrayEquals(new String[]{"1", "2"}, iterator.next());
+		} finally {
+			iterator.close();
+		}
+	}
+
+	@Test
+	public void testParseFromInputStream() throws IOException {
+		byte[] bytes = "caf\u00e9,\"\u4e2d\r\n\ud83d\ude00\"\nv3".getBytes("UTF-8");
+		String[][] cells = CsvParser.bufferSize(4).parse(new ByteArrayInputStream(bytes), new AccumulateCellConsumer()).allValues();
+		assertArrayEquals(new String[][] {{"caf\u00e9", "\u4e2d\r\n\ud83d\ude00"}, {"v3"}}, cells);
+	}
+
+	@Test
+	public void testIterateObjectFromInputStream() throws IOException {
+		Iterator<Long> iterator = CsvParser.mapTo(Long.class).iterator(new ByteArrayInputStream("value\n1".getBytes("UTF-8")));
+		assertEquals(1l, iterator.next().longValue());
+	}
+
+	@Test
+	public void testParseWithReadAhead() throws IOException {
+		String[][] expectations = {
+				{"abcdefghijklmnopqrstuvwxyz", "0123456789", ""},
+				{"a\"b", "x,\"y\r\nz"},
+				{"1234567", "12345678"}
+		};
+		String[][] cells = CsvParser.bufferSize(4).readAhead()
+				.parse(createReader(expectations, ',', '"', "\r\n"), new AccumulateCellConsumer()).allValues();
+		assertArrayEquals(expectations, cells);
+
+		Iterator<Long> iterator = CsvParser.dsl().readAhead().mapTo(Long.class).iterator(new ByteArrayInputStream("value\n1\n2".getBytes("UTF-8")));
+		assertEquals(1l, iterator.next().longValue());
+		assertEquals(2l, iterator.next().longValue());
+		assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	public void testPooledBuffersAreReused() throws IOException {
+		CsvParser.DSL dsl = CsvParser.bufferSize(16).pooledBuffers(new CharArrayPool(1, 1024));
+
+		assertSame(parseBuffer(dsl, "a,b\nc"), parseBuffer(dsl, "d,e"));
+		assertSame(parseBuffer(dsl, new StringReader("a,b\nc")), parseBuffer(dsl, new StringReader("d,e\nf")));
+
+		CsvReader csvReader = dsl.reader("f,g");
+		assertArrayEquals(new String[]{"f", "g"}, csvReader.iterator().next());
+		csvReader.release();
+
+		assertEquals(Arrays.asList(1l, 2l), dsl.mapTo(Long.class).forEach("value\n1\n2", new ListCollectorHandler<Long>()).getList());
+	}
+
+	@Test
+	public void testPooledBufferIsReleasedOnIteratorExhaustion() throws IOException {
+		CharArrayPool pool = new CharArrayPool(1, 1024);
+		CsvParser.DSL dsl = CsvParser.bufferSize(16).pooledBuffers(pool);
+		char[] array = new char[16];
+
+		pool.release(array);
+		Iterator<String[]> iterator = dsl.iterator("a,b\nc");
+		assertNotSame(array, pool.acquire(16));
+		iterator.next();
+		iterator.next();
+		assertFalse(iterator.hasNext());
+		assertFalse(iterator.hasNext());
+		assertSame(array, pool.acquire(16));
+
+		pool.release(array);
+		Iterator<Long> longIterator = dsl.mapTo(Long.class).iterator("value\n1\n2");
+		assertEquals(1l, longIterator.next().longValue());
+		assertEquals(2l, longIterator.next().longValue());
+		assertFalse(longIterator.hasNext());
+		assertSame(array, pool.acquire(16));
+	}
+
+	//IFJAVA8_START
+	@Test
+	public void testPooledBufferIsReleasedOnStreamEndAndClose() throws IOException {
+		CharArrayPool pool = new CharArrayPool(1, 1024);
+		CsvParser.DSL dsl = CsvParser.bufferSize(16).pooledBuffers(pool);
+		char[] array = new char[16];
+
+		pool.release(array);
+		assertEquals(2, dsl.stream("a,b\nc").count());
+		assertSame(array, pool.acquire(16));
+
+		pool.release(array);
+		assertEquals(Arrays.asList(1l, 2l), dsl.mapTo(Long.class).stream("value\n1\n2").collect(Collectors.toList()));
+		assertSame(array, pool.acquire(16));
+
+		pool.release(array);
+		try (Stream<String[]> stream = dsl.stream("a,b\nc")) {
+			assertArrayEquals(new String[] {"a", "b"}, stream.findFirst().get());
+			assertNotSame(array, pool.acquire(16));
+		}
+		assertSame(array, pool.acquire(16));
+	}
+	//IFJAVA8_END
+
+	private char[] parseBuffer(CsvParser.DSL dsl, Object content) throws IOException {
+		final char[][] buffer = new char[1][];
+		CellConsumer cellConsumer = new CellConsumer() {
+			@Override
+			public void newCell(char[] chars, int offset, int length) {
+				buffer[0] = chars;
+			}
+
+			@Override
+			public void endOfRow() {
+			}
+
+			@Override
+			public void end() {
+			}
+		};
+		if (content instanceof Reader) {
+			dsl.parse((Reader) content, cellConsumer);
+		} else {
+			dsl.parse((CharSequence) content, cellConsumer);
+		}
+		return buffer[0];
+	}
+
 	@Test
 	public void testIterateObjectFromString() throws IOException {
 		Iterator<Long> iterator = CsvParser.mapTo(Long.class).iterator("value\n1");
@@ -814,4 +1039,83 @@ public class CsvParserTest {
 		final String[] strings = CsvParser.dsl().trimSpaces().iterator("value,\" my val, but oy\"").next();
 		assertArrayEquals(new String[] {"value", " my val, but oy"}, strings);
 	}
+
+	@Test
+	public void testColumnsProjectionOnIndexes() throws IOException {
+		Iterator<String[]> iterator = CsvParser.bufferSize(4).columns(2, 0).iterator("a,\"b,\"\"b\",c,d\n1,2,\"3\"\"\",4\n5");
+		assertArrayEquals(new String[] {"a", "c"}, iterator.next());
+		assertArrayEquals(new String[] {"1", "3\""}, iterator.next());
+		assertArrayEquals(new String[] {"5"}, iterator.next());
+		assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	public void testColumnsProjectionOnNames() throws IOException {
+		Iterator<String[]> iterator = CsvParser.skip(1).columns("Name", "ID").iterator("skipped\nid,age,name\n1,\"2,0\",\"n1\"\r\n3,4,n2");
+		assertArrayEquals(new String[] {"id", "name"}, iterator.next());
+		assertArrayEquals(new String[] {"1", "n1"}, iterator.next());
+		assertArrayEquals(new String[] {"3", "n2"}, iterator.next());
+		assertFalse(iterator.hasNext());
+
+		CsvParser.DSL dsl = CsvParser.separator(';').trimSpaces().columns("age");
+		assertArrayEquals(new String[] {"age", "2"}, toArray(dsl.iterator(" name ; age \n n1 ;  2 ")));
+		assertArrayEquals(new String[] {"age", "3"}, toArray(dsl.iterator("age\n3")));
+
+		assertEquals(Arrays.asList(2l, 4l),
+				CsvParser.dsl().columns("age").mapTo(Long.class).forEach("id,age\n1,2\n3,4", new ListCollectorHandler<Long>()).getList());
+	}
+
+	private String[] toArray(Iterator<String[]> iterator) {
+		List<String> cells = new ArrayList<String>();
+		while(iterator.hasNext()) {
+			cells.addAll(Arrays.asList(iterator.next()));
+		}
+		return cells.toArray(new String[0]);
+	}
+
+	@Test
+	public void testSkipThroughRowIndex() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for(int i = 0; i < 100; i++) {
+			sb.append("r").append(i).append(",\"v\n").append(i).append("\"\r\n");
+		}
+		File file = createTempCsv(sb.toString());
+		file.deleteOnExit();
+		CsvRowIndex.indexFile(file).deleteOnExit();
+
+		CsvParser.DSL dsl = CsvParser.skip(42).rowIndex(10);
+		CloseableCsvReader reader = dsl.reader(file);
+		try {
+			assertArrayEquals(new String[] {"r42", "v\n42"}, reader.iterator().next());
+		} finally {
+			reader.close();
+		}
+
+		CloseableIterator<String[]> iterator = CsvParser.skip(98).rowIndex(10).iterator(file);
+		try {
+			assertArrayEquals(new String[] {"r98", "v\n98"}, iterator.next());
+			assertArrayEquals(new String[] {"r99", "v\n99"}, iterator.next());
+			assertFalse(iterator.hasNext());
+		} finally {
+			iterator.close();
+		}
+
+		assertFalse(CsvParser.skip(100).rowIndex(10).iterator(file).hasNext());
+
+		//IFJAVA8_START
+		CloseableCsvReader pathReader = dsl.reader(file.toPath());
+		try {
+			assertArrayEquals(new String[] {"r42", "v\n42"}, pathReader.iterator().next());
+		} finally {
+			pathReader.close();
+		}
+		// as for a File the row index is only used when the default charset is utf-8
+		assertEquals(Charset.forName("UTF-8").equals(Charset.defaultCharset()), CsvRowIndex.indexFile(file).exists());
+
+		assertEquals(Arrays.asList("r50", "r51"),
+				CsvParser.skip(50).rowIndex(10).stream(file.toPath()).limit(2).map(row -> row[0]).collect(Collectors.toList()));
+		assertEquals(Arrays.asList("r57", "r58"),
+				CsvParser.skip(56).rowIndex(10).columns(0).mapTo(String.class).stream(file.toPath()).limit(2).collect(Collectors.toList()));
+		//IFJAVA8_END
+	}
 }
@@ -0,0 +1,161 @@
+package org.sfm.csv;
+
+import org.junit.Test;
+import org.sfm.csv.parser.CellConsumer;
+import org.sfm.utils.ListCollectorHandler;
+import org.sfm.utils.RowHandler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CsvPushParserTest {
+
+	private static final String CONTENT = "a,\"b\r\n\"\"quoted\"\"\",c\r\nd,e\n\"f,g\"\rh\n";
+
+	@Test
+	public void testFeedCharsOneByOneMatchesPullParsing() throws IOException {
+		List<String[]> expected = CsvParser.reader(CONTENT).read(new ListCollectorHandler<String[]>()).getList();
+
+		for(int chunkSize = 1; chunkSize <= CONTENT.length(); chunkSize++) {
+			CellCollector collector = new CellCollector();
+			CsvPushParser pushParser = CsvParser.bufferSize(4).pushParser(collector);
+			char[] chars = CONTENT.toCharArray();
+			for(int i = 0; i < chars.length; i += chunkSize) {
+				pushParser.feed(chars, i, Math.min(chunkSize, chars.length - i));
+			}
+			pushParser.endOfInput();
+
+			assertEquals("chunk " + chunkSize, toString(expected), collector.rows.toString());
+			assertTrue(collector.ended);
+		}
+	}
+
+	@Test
+	public void testFeedUtf8BytesSplitInsideASequence() throws IOException {
+		byte[] bytes = "été,€\n😀,x".getBytes("UTF-8");
+
+		for(int chunkSize = 1; chunkSize <= bytes.length; chunkSize++) {
+			CellCollector collector = new CellCollector();
+			CsvPushParser pushParser = CsvParser.bufferSize(2).pushParser(collector);
+			for(int i = 0; i < bytes.length; i += chunkSize) {
+				ByteBuffer chunk = ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i));
+				pushParser.feed(chunk);
+				assertFalse(chunk.hasRemaining());
+			}
+			pushParser.endOfInput();
+
+			assertEquals("chunk " + chunkSize, "[[été, €], [😀, x]]", collector.rows.toString());
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testFeedManySmallChunks() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for(int i = 0; i < 10000; i++) {
+			sb.append(i).append(",value").append(i).append('\n');
+		}
+		char[] chars = sb.toString().toCharArray();
+
+		CellCollector collector = new CellCollector();
+		CsvPushParser pushParser = CsvParser.dsl().pushParser(collector);
+		for(int i = 0; i < chars.length; i += 64) {
+			pushParser.feed(chars, i, Math.min(64, chars.length - i));
+		}
+		for(char c : "last,row".toCharArray()) {
+			pushParser.feed(new char[] { c }, 0, 1);
+		}
+		pushParser.endOfInput();
+
+		assertEquals(10001, collector.rows.size());
+		assertEquals("[9999, value9999]", collector.rows.get(9999).toString());
+		assertEquals("[last, row]", collector.rows.get(10000).toString());
+	}
+
+	@Test
+	public void testIncompleteSequenceAtEndOfInput() throws IOException {
+		CellCollector collector = new CellCollector();
+		CsvPushParser pushParser = CsvParser.dsl().pushParser(collector);
+		pushParser.feed(new byte[] { 'a', ',', (byte) 0xE2, (byte) 0x82}, 0, 4);
+		pushParser.endOfInput();
+		assertEquals("[[a, �]]", collector.rows.toString());
+	}
+
+	@Test
+	public void testSkipAndColumns() throws IOException {
+		CellCollector collector = new CellCollector();
+		CsvPushParser pushParser = CsvParser.skip(1).columns("c", "a").pushParser(collector);
+		pushParser.feed("skipped,row\na,b,".toCharArray(), 0, 16);
+		pushParser.feed("c\n1,2,3\n4,5".toCharArray(), 0, 11);
+		pushParser.endOfInput();
+		assertEquals("[[a, c], [1, 3], [4]]", collector.rows.toString());
+	}
+
+	@Test
+	public void testMapperObjectsAreHandledAsRowsComplete() throws IOException {
+		final List<Long> values = new ArrayList<Long>();
+		CsvPushParser pushParser = CsvParser.mapTo(Long.class).pushParser(new RowHandler<Long>() {
+			@Override
+			public void handle(Long aLong) throws Exception {
+				values.add(aLong);
+			}
+		});
+
+		pushParser.feed("val".toCharArray(), 0, 3);
+		pushParser.feed("ue\n1".toCharArray(), 0, 4);
+		assertTrue(values.isEmpty());
+		pushParser.feed("2\n3".toCharArray(), 0, 3);
+		assertEquals(Arrays.asList(12l), values);
+		pushParser.endOfInput();
+		assertEquals(Arrays.asList(12l, 3l), values);
+	}
+
+	@Test
+	public void testFeedAfterEndOfInputFails() throws IOException {
+		CsvPushParser pushParser = CsvParser.dsl().pushParser(new CellCollector());
+		pushParser.endOfInput();
+		try {
+			pushParser.feed(new char[] {'a'}, 0, 1);
+			fail();
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	private String toString(List<String[]> rows) {
+		List<List<String>> list = new ArrayList<List<String>>();
+		for(String[] row : rows) {
+			list.add(Arrays.asList(row));
+		}
+		return list.toString();
+	}
+
+	private static class CellCollector implements CellConsumer {
+		private final List<List<String>> rows = new ArrayList<List<String>>();
+		private List<String> currentRow = new ArrayList<String>();
+		private boolean ended;
+
+		@Override
+		public void newCell(char[] chars, int offset, int length) {
+			currentRow.add(new String(chars, offset, length));
+		}
+
+		@Override
+		public void endOfRow() {
+			rows.add(currentRow);
+			currentRow = new ArrayList<String>();
+		}
+
+		@Override
+		public void end() {
+			if (!currentRow.isEmpty()) {
+				endOfRow();
+			}
+			ended = true;
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package org.sfm.csv;
+
+import org.junit.Test;
+import org.sfm.utils.RowHandler;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CsvRowTest {
+
+    @Test
+    public void testForEachRowReadValues() throws IOException {
+        final List<String> results = new ArrayList<String>();
+        CsvParser.bufferSize(4).reader(new StringReader("1,12345678901,1.5,\"a,\"\"b\"\"\"\n-2,3,-0.25,value\n"))
+                .forEachRow(new RowHandler<CsvRow>() {
+                    @Override
+                    public void handle(CsvRow row) throws Exception {
+                        assertEquals(4, row.getNbCells());
+                        results.add(row.getInt(0) + "|" + row.getLong(1) + "|" + row.getDouble(2) + "|" + row.getCharSequence(3) + "|" + row.getString(3));
+                    }
+                });
+        assertEquals(2, results.size());
+        assertEquals("1|12345678901|1.5|a,\"b\"|a,\"b\"", results.get(0));
+        assertEquals("-2|3|-0.25|value|value", results.get(1));
+    }
+
+    @Test
+    public void testEqualsAndLimit() throws IOException {
+        final int[] count = new int[1];
+        CsvParser.reader("key1,v1\nkey2,v2\nkey1,v3")
+                .forEachRow(new RowHandler<CsvRow>() {
+                    @Override
+                    public void handle(CsvRow row) throws Exception {
+                        if (row.equals(0, "key1")) {
+                            count[0]++;
+                        }
+                        assertFalse(row.equals(0, "key"));
+                    }
+                }, 2);
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    public void testRowIsReusedAndIndexChecked() throws IOException {
+        final List<CsvRow> rows = new ArrayList<CsvRow>();
+        CsvParser.reader("a\nb,c").forEachRow(new RowHandler<CsvRow>() {
+            @Override
+            public void handle(CsvRow row) throws Exception {
+                rows.add(row);
+                if (row.getNbCells() == 1) {
+                    try {
+                        row.getString(1);
+                        fail();
+                    } catch (IndexOutOfBoundsException e) {
+                        // expected
+                    }
+                } else {
+                    assertEquals("CsvRow{b, c}", row.toString());
+                }
+            }
+        });
+        assertEquals(2, rows.size());
+        assertSame(rows.get(0), rows.get(1));
+    }
+}
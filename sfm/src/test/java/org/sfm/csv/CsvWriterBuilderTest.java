@@ -2,11 +2,17 @@ package org.sfm.csv;
 
 import org.junit.Test;
 import org.sfm.beans.DbObject;
+import org.sfm.beans.DbPrimitiveObjectWithSetter;
+import org.sfm.csv.impl.writer.AppendableBuffer;
+import org.sfm.csv.impl.writer.CsvCellWriter;
+import org.sfm.csv.mapper.FieldMapperToAppendableFactory;
 import org.sfm.map.Mapper;
 import org.sfm.map.column.DateFormatProperty;
 import org.sfm.map.column.EnumOrdinalFormatProperty;
 import org.sfm.map.column.FieldMapperColumnDefinition;
 import org.sfm.map.MapperConfig;
+import org.sfm.map.mapper.ContextualMapper;
+import org.sfm.reflect.ReflectionService;
 
 import static org.junit.Assert.*;
 
@@ -36,4 +42,66 @@ public class CsvWriterBuilderTest {
 
     }
 
+    @Test
+    public void testGeneratedWriterOnBufferAndAppendable() throws Exception {
+        MapperConfig<CsvColumnKey,FieldMapperColumnDefinition<CsvColumnKey>> config =
+                MapperConfig.<CsvColumnKey>fieldMapperConfig().failOnAsm(true);
+        for(CsvCellWriter cellWriter : new CsvCellWriter[] { CsvCellWriter.DEFAULT_WRITER, CsvCellWriter.DEFAULT_WRITER.separator(';').endOfLine("\n"), CsvCellWriter.DEFAULT_WRITER.separator('.') }) {
+            CsvWriterBuilder<DbPrimitiveObjectWithSetter> builder =
+                    new CsvWriterBuilder<DbPrimitiveObjectWithSetter>(ReflectionService.newInstance().<DbPrimitiveObjectWithSetter>getClassMeta(DbPrimitiveObjectWithSetter.class), config, new FieldMapperToAppendableFactory(cellWriter), cellWriter);
+            ContextualMapper<DbPrimitiveObjectWithSetter, Appendable> mapper =
+                    (ContextualMapper<DbPrimitiveObjectWithSetter, Appendable>) builder.addColumn("pInt").addColumn("pLong").addColumn("pDouble").addColumn("pBoolean").mapper();
+
+            DbPrimitiveObjectWithSetter object = new DbPrimitiveObjectWithSetter();
+            object.setpInt(-12);
+            object.setpLong(1234567890123l);
+            object.setpDouble(1.5);
+            object.setpBoolean(true);
+
+            StringBuilder expected = new StringBuilder();
+            cellWriter.writeValue("-12", expected);
+            cellWriter.nextCell(expected);
+            cellWriter.writeValue("1234567890123", expected);
+            cellWriter.nextCell(expected);
+            cellWriter.writeValue("1.5", expected);
+            cellWriter.nextCell(expected);
+            cellWriter.writeValue("true", expected);
+            cellWriter.endOfRow(expected);
+
+            assertEquals(expected.toString(), mapper.map(object).toString());
+
+            StringBuilder sb = new StringBuilder();
+            AppendableBuffer buffer = new AppendableBuffer(sb);
+            mapper.mapTo(object, buffer, mapper.newMappingContext());
+            buffer.flush();
+            assertEquals(expected.toString(), sb.toString());
+        }
+    }
+
+    @Test
+    public void testGeneratedWriterOnWideRow() throws Exception {
+        MapperConfig<CsvColumnKey,FieldMapperColumnDefinition<CsvColumnKey>> config =
+                MapperConfig.<CsvColumnKey>fieldMapperConfig().failOnAsm(true);
+        CsvWriterBuilder<DbObject> builder =
+                new CsvWriterBuilder<DbObject>(ReflectionService.newInstance().<DbObject>getClassMeta(DbObject.class), config, new FieldMapperToAppendableFactory(CsvCellWriter.DEFAULT_WRITER), CsvCellWriter.DEFAULT_WRITER);
+        StringBuilder expected = new StringBuilder();
+        for(int i = 0; i < 150; i++) {
+            builder.addColumn(i % 2 == 0 ? "id" : "name");
+            if (i > 0) {
+                expected.append(',');
+            }
+            expected.append(i % 2 == 0 ? "13" : "name");
+        }
+        expected.append("\r\n");
+        Mapper<DbObject, Appendable> mapper = builder.mapper();
+
+        assertEquals(expected.toString(), mapper.map(CsvWriterTest.newDbObject()).toString());
+
+        StringBuilder sb = new StringBuilder();
+        AppendableBuffer buffer = new AppendableBuffer(sb);
+        mapper.mapTo(CsvWriterTest.newDbObject(), buffer, null);
+        buffer.flush();
+        assertEquals(expected.toString(), sb.toString());
+    }
+
 }
\ No newline at end of file
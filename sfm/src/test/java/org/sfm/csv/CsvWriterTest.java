@@ -2,6 +2,7 @@ package org.sfm.csv;
 
 import org.junit.Test;
 import org.sfm.beans.DbObject;
+import org.sfm.beans.DbPrimitiveObjectWithSetter;
 import org.sfm.csv.impl.writer.CsvCellWriter;
 import org.sfm.map.*;
 import org.sfm.map.column.DateFormatProperty;
@@ -10,13 +11,22 @@ import org.sfm.reflect.TypeReference;
 import org.sfm.tuples.Tuple2;
 import org.sfm.tuples.Tuples;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.lang.reflect.Type;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.Assert.*;
 
@@ -43,6 +53,26 @@ public class CsvWriterTest {
                 sw.toString());
     }
 
+    @Test
+    public void testWriterPrimitiveNumbers() throws IOException {
+        DbPrimitiveObjectWithSetter object = new DbPrimitiveObjectWithSetter();
+        object.setpInt(-123);
+        object.setpLong(Long.MIN_VALUE);
+        object.setpDouble(101.25);
+
+        StringWriter sw = new StringWriter();
+        CsvWriter.from(DbPrimitiveObjectWithSetter.class).columns("pInt", "pLong", "pDouble").to(sw).append(object);
+        assertEquals("pInt,pLong,pDouble\r\n-123,-9223372036854775808,101.25\r\n", sw.toString());
+
+        sw = new StringWriter();
+        CsvWriter.from(DbPrimitiveObjectWithSetter.class).columns("pInt", "pLong", "pDouble").separator('.').skipHeaders().to(sw).append(object);
+        assertEquals("-123.-9223372036854775808.\"101.25\"\r\n", sw.toString());
+
+        sw = new StringWriter();
+        CsvWriter.from(DbPrimitiveObjectWithSetter.class).columns("pInt", "pLong", "pDouble").alwaysEscape().skipHeaders().to(sw).append(object);
+        assertEquals("\"-123\",\"-9223372036854775808\",\"101.25\"\r\n", sw.toString());
+    }
+
     @Test
     public void testWriterDefaultBehaviour() throws ParseException, IOException {
         StringWriter sw = new StringWriter();
@@ -53,6 +83,134 @@ public class CsvWriterTest {
                 sw.toString());
     }
 
+    @Test
+    public void testWriterToOutputStream() throws ParseException, IOException {
+        DbObject dbObject = newDbObject();
+        dbObject.setName("na\u00efve \u20ac \ud83d\ude00");
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        CsvWriter<DbObject> writer = CsvWriter.from(DbObject.class).to(os);
+        writer.append(dbObject);
+        assertEquals(0, os.size());
+        writer.flush();
+        String expected = "id,name,email,creation_time,type_ordinal,type_name\r\n" +
+                "13,na\u00efve \u20ac \ud83d\ude00,email,2015-06-06 17:46:23,type2,type3\r\n";
+        assertArrayEquals(expected.getBytes("UTF-8"), os.toByteArray());
+
+        os = new ByteArrayOutputStream();
+        CsvWriter.from(DbObject.class).to(os, Charset.forName("ISO-8859-1")).append(dbObject).flush();
+        assertArrayEquals(expected.getBytes("ISO-8859-1"), os.toByteArray());
+
+        os = new ByteArrayOutputStream();
+        CsvWriter.from(DbObject.class).to(os, Charset.forName("UTF-16LE")).append(dbObject).flush();
+        assertArrayEquals(expected.getBytes("UTF-16LE"), os.toByteArray());
+
+        // the byte order mark is only written before the header
+        os = new ByteArrayOutputStream();
+        CsvWriter.from(DbObject.class).to(os, Charset.forName("UTF-16")).append(dbObject).append(dbObject).flush();
+        assertArrayEquals((expected + expected.substring(expected.indexOf('\n') + 1)).getBytes("UTF-16"), os.toByteArray());
+    }
+
+    @Test
+    public void testWriterToChannel() throws ParseException, IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        CsvWriter<DbObject> writer = CsvWriter.from(DbObject.class).skipHeaders().to(Channels.newChannel(os));
+        for(int i = 0; i < 10000; i++) {
+            writer.append(newDbObject());
+        }
+        writer.flush();
+        StringBuilder expected = new StringBuilder();
+        for(int i = 0; i < 10000; i++) {
+            expected.append("13,name,email,2015-06-06 17:46:23,type2,type3\r\n");
+        }
+        assertEquals(expected.toString(), new String(os.toByteArray(), "UTF-8"));
+    }
+
+    @Test
+    public void testWriterToByteBuffer() throws ParseException, IOException {
+        String row = "13,name,email,2015-06-06 17:46:23,type2,type3\r\n";
+        ByteBuffer byteBuffer = ByteBuffer.allocate(row.length() * 2 + 10);
+        CsvWriter<DbObject> writer = CsvWriter.from(DbObject.class).skipHeaders().to(byteBuffer);
+        writer.append(newDbObject()).append(newDbObject());
+        assertEquals(row.length() * 2, byteBuffer.position());
+        try {
+            writer.append(newDbObject());
+            fail("Expect overflow");
+        } catch (BufferOverflowException e) {
+            // expected
+        }
+        assertEquals(row.length() * 2, byteBuffer.position());
+        byteBuffer.flip();
+        assertEquals(row + row, new String(byteBuffer.array(), 0, byteBuffer.limit(), "UTF-8"));
+    }
+
+    @Test
+    public void testWriterToByteBufferContinuesAfterOverflow() throws ParseException, IOException {
+        String row = "13,name,email,2015-06-06 17:46:23,type2,type3\r\n";
+        ByteBuffer byteBuffer = ByteBuffer.allocate(row.length() + 10);
+        CsvWriter<DbObject> writer = CsvWriter.from(DbObject.class).skipHeaders().to(byteBuffer);
+        writer.append(newDbObject());
+        try {
+            writer.append(newDbObject());
+            fail("Expect overflow");
+        } catch (BufferOverflowException e) {
+            // expected
+        }
+        byteBuffer.clear();
+        writer.append(newDbObject());
+        assertEquals(row.length(), byteBuffer.position());
+        byteBuffer.flip();
+        assertEquals(row, new String(byteBuffer.array(), 0, byteBuffer.limit(), "UTF-8"));
+    }
+
+    @Test
+    public void testAppendAllSameAsSerial() throws ParseException, IOException {
+        List<DbObject> objects = new ArrayList<DbObject>();
+        for(int i = 0; i < 10000; i++) {
+            DbObject dbObject = newDbObject();
+            dbObject.setId(i);
+            dbObject.setName("name" + i + (i % 7 == 0 ? ",\"" : ""));
+            dbObject.setCreationTime(new Date(dbObject.getCreationTime().getTime() + i * 3600000l));
+            objects.add(dbObject);
+        }
+
+        StringWriter serial = new StringWriter();
+        CsvWriter<DbObject> serialWriter = CsvWriter.from(DbObject.class).to(serial);
+        for(DbObject dbObject : objects) {
+            serialWriter.append(dbObject);
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            StringWriter parallel = new StringWriter();
+            CsvWriter.from(DbObject.class).to(parallel).appendAll(objects, executorService, 100);
+            assertEquals(serial.toString(), parallel.toString());
+
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            CsvWriter.from(DbObject.class).to(os).appendAll(objects, executorService, 333).flush();
+            assertEquals(serial.toString(), new String(os.toByteArray(), "UTF-8"));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testAppendAllRethrowsError() throws ParseException, IOException {
+        List<DbObject> objects = new ArrayList<DbObject>();
+        for(int i = 0; i < 1000; i++) {
+            objects.add(newDbObject());
+        }
+        objects.set(500, null);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            CsvWriter.from(DbObject.class).to(new StringWriter()).appendAll(objects, executorService, 10);
+            fail("Expect exception");
+        } catch (NullPointerException e) {
+            // expected
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
     @Test
     public void testWriterSkipHeader() throws ParseException, IOException {
         StringWriter sw = new StringWriter();
@@ -0,0 +1,115 @@
+package org.sfm.csv;
+
+import org.junit.Test;
+import org.sfm.beans.DbObject;
+import org.sfm.csv.parser.StringArrayConsumer;
+import org.sfm.utils.ListCollectorHandler;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FixedWidthParserTest {
+
+	private static final String CONTENT =
+			"0001name one \r\n" +
+			"0002 two     \n" +
+			"\n" +
+			"03\r" +
+			"0004x";
+
+	@Test
+	public void testReadRecords() throws IOException {
+		for(int bufferSize : new int[] {4, 8192}) {
+			FixedWidthParser.DSL dsl = FixedWidthParser.widths(4, 9).bufferSize(bufferSize);
+			assertEquals(
+					"[[0001, name one ], [0002,  two     ], [03, ], [0004, x]]",
+					toString(dsl.iterator(new StringReader(CONTENT))));
+			assertEquals(
+					"[[0001, name one], [0002, two], [03, ], [0004, x]]",
+					toString(dsl.trimSpaces().iterator(new StringReader(CONTENT))));
+		}
+	}
+
+	@Test
+	public void testSkipLimitAndColumns() throws IOException {
+		FixedWidthParser.DSL dsl = FixedWidthParser.widths(2).column(4, 8).bufferSize(4);
+
+		assertEquals("[[00,  two]]",
+				toString(dsl.skip(1).limit(1).parse(CONTENT, StringArrayConsumer.newInstance(new ListCollectorHandler<String[]>())).handler().getList()));
+		assertEquals("[[00, x]]",
+				toString(dsl.skip(3).iterator(CONTENT)));
+		assertEquals("[[00, name], [00,  two]]",
+				toString(dsl.limit(2).parse(new StringReader(CONTENT), StringArrayConsumer.newInstance(new ListCollectorHandler<String[]>())).handler().getList()));
+	}
+
+	@Test
+	public void testMapToWithHeaderRecord() throws IOException {
+		String content = "id  name\n" +
+				"1   n1  \n" +
+				"2   n2";
+		List<DbObject> list = FixedWidthParser.widths(4, 4).trimSpaces().mapTo(DbObject.class)
+				.forEach(content, new ListCollectorHandler<DbObject>()).getList();
+
+		assertEquals(2, list.size());
+		assertEquals(1l, list.get(0).getId());
+		assertEquals("n1", list.get(0).getName());
+		assertEquals(2l, list.get(1).getId());
+		assertEquals("n2", list.get(1).getName());
+	}
+
+	@Test
+	public void testMapToWithHeaders() throws IOException {
+		Iterator<DbObject> iterator = FixedWidthParser.widths(3, 5).trimSpaces().bufferSize(4).mapTo(DbObject.class)
+				.headers("id", "name")
+				.iterator(new StringReader("12 abcde\r\n  3fgh"));
+
+		DbObject o = iterator.next();
+		assertEquals(12l, o.getId());
+		assertEquals("abcde", o.getName());
+		o = iterator.next();
+		assertEquals(3l, o.getId());
+		assertEquals("fgh", o.getName());
+		assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	public void testMapWithCsvMapper() throws IOException {
+		CsvMapper<DbObject> mapper = CsvMapperFactory.newInstance().newBuilder(DbObject.class).addMapping("name").addMapping("id").mapper();
+		List<DbObject> list = FixedWidthParser.widths(2, 2).mapWith(mapper)
+				.forEach(new StringReader("ab01\ncd02\n"), new ListCollectorHandler<DbObject>()).getList();
+
+		assertEquals(2, list.size());
+		assertEquals("ab", list.get(0).getName());
+		assertEquals(1l, list.get(0).getId());
+		assertEquals("cd", list.get(1).getName());
+		assertEquals(2l, list.get(1).getId());
+	}
+
+	@Test
+	public void testFailOnNegativeWidth() {
+		try {
+			FixedWidthParser.widths(2, -1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	private static String toString(Iterator<String[]> iterator) {
+		List<String> rows = new ArrayList<String>();
+		while(iterator.hasNext()) {
+			rows.add(Arrays.toString(iterator.next()));
+		}
+		return rows.toString();
+	}
+
+	private static String toString(List<String[]> rows) {
+		return toString(rows.iterator());
+	}
+}
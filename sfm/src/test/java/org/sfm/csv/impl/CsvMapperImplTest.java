@@ -4,17 +4,49 @@ import org.junit.Test;
 import org.sfm.beans.DbObject;
 import org.sfm.csv.CellValueReader;
 import org.sfm.csv.CsvColumnDefinition;
+import org.sfm.csv.CsvMapper;
 import org.sfm.csv.CsvMapperFactory;
+import org.sfm.csv.CsvParser;
 import org.sfm.csv.ParsingContext;
+import org.sfm.test.jdbc.DbHelper;
+import org.sfm.utils.ListCollectorHandler;
 import org.sfm.utils.RowHandler;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringReader;
+import java.text.ParseException;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
 public class CsvMapperImplTest {
 
+    private static final String UTF8_CONTENT = "id,name,email,creationTime,typeOrdinal,typeName\n"
+            + "1,name 1,name1@mail.com,2014-03-04 11:10:03,2,type4\n"
+            + "2,nàme 2,\"name2@mail.com\",2014-03-04 11:10:03,2,type4";
+
+    @Test
+    public void testMapFromUtf8Bytes() throws IOException, ParseException {
+        testMapFromUtf8Bytes(CsvMapperFactory.newInstance().newMapper(DbObject.class));
+        testMapFromUtf8Bytes(CsvMapperFactory.newInstance().useAsm(false).newMapper(DbObject.class));
+    }
+
+    private void testMapFromUtf8Bytes(CsvMapper<DbObject> mapper) throws IOException, ParseException {
+        List<DbObject> list = CsvParser.mapWith(mapper)
+                .forEach(new ByteArrayInputStream(UTF8_CONTENT.getBytes("UTF-8")), new ListCollectorHandler<DbObject>()).getList();
+        assertEquals(2, list.size());
+        DbHelper.assertDbObjectMapping(list.get(0));
+        assertEquals(2, list.get(1).getId());
+        assertEquals("nàme 2", list.get(1).getName());
+        assertEquals("name2@mail.com", list.get(1).getEmail());
+        assertEquals(list.get(0).getCreationTime(), list.get(1).getCreationTime());
+    }
+
+    @Test(expected = ParsingException.class)
+    public void testMapFromUtf8BytesReportsFieldError() throws IOException {
+        CsvParser.mapTo(DbObject.class).forEach(new ByteArrayInputStream("id\n1x".getBytes("UTF-8")), new ListCollectorHandler<DbObject>());
+    }
 
     @Test
     public void testAsmFactoryTest() throws IOException {
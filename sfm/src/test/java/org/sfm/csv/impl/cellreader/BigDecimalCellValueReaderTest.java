@@ -0,0 +1,58 @@
+package org.sfm.csv.impl.cellreader;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class BigDecimalCellValueReaderTest {
+
+	BigDecimalCellValueReader reader = new BigDecimalCellValueReader();
+
+	@Test
+	public void testSameAsBigDecimalConstructor() {
+		for(String str : new String[] {"0", "-0", "+0", "0.00", "-0.00", ".5", "5.", "00012.50", "-123.456",
+				"1e3", "1E+3", "1.5e-7", "-2.50E10", "999999999999999999", "1000000000000000000",
+				"123456789012345678901234567890.123", "0.000000000000000000000000001", "9223372036854775807"}) {
+			assertSame(str);
+		}
+		Random random = new Random(3);
+		for(int i = 0; i < 10000; i++) {
+			assertSame(BigDecimal.valueOf(random.nextLong(), random.nextInt(40) - 20).toString());
+			assertSame(BigDecimal.valueOf(random.nextInt(), random.nextInt(10)).toPlainString());
+		}
+	}
+
+	@Test
+	public void testInvalidBigDecimal() {
+		for(String str : new String[] {".", "-", "1e", "1.2.3", "a", "1 ", "1e1000000000000"}) {
+			try {
+				read(str);
+				fail("Expect exception on " + str);
+			} catch (NumberFormatException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void testReadEmptyStringReturnNull() {
+		assertNull(reader.read(new char[10], 2, 0, null));
+	}
+
+	private void assertSame(String str) {
+		BigDecimal expected = new BigDecimal(str);
+		BigDecimal actual = read(str);
+		assertEquals(str, expected, actual);
+		assertEquals(str, expected.scale(), actual.scale());
+	}
+
+	private BigDecimal read(String str) {
+		final char[] chars = ("_" + str + "_").toCharArray();
+		return reader.read(chars, 1, chars.length - 2, null);
+	}
+}
@@ -0,0 +1,50 @@
+package org.sfm.csv.impl.cellreader;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class BigIntegerCellValueReaderTest {
+
+	BigIntegerCellValueReader reader = new BigIntegerCellValueReader();
+
+	@Test
+	public void testSameAsBigIntegerConstructor() {
+		for(String str : new String[] {"0", "-0", "+0", "00012", "-123", "999999999999999999", "1000000000000000000",
+				"9223372036854775807", "-9223372036854775808", "123456789012345678901234567890"}) {
+			assertEquals(str, new BigInteger(str), read(str));
+		}
+		Random random = new Random(5);
+		for(int i = 0; i < 10000; i++) {
+			String str = Long.toString(random.nextLong() >> random.nextInt(64));
+			assertEquals(str, new BigInteger(str), read(str));
+		}
+	}
+
+	@Test
+	public void testInvalidBigInteger() {
+		for(String str : new String[] {"-", "+", "1.0", "a", "1 ", "--1"}) {
+			try {
+				read(str);
+				fail("Expect exception on " + str);
+			} catch (NumberFormatException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void testReadEmptyStringReturnNull() {
+		assertNull(reader.read(new char[10], 2, 0, null));
+	}
+
+	private BigInteger read(String str) {
+		final char[] chars = ("_" + str + "_").toCharArray();
+		return reader.read(chars, 1, chars.length - 2, null);
+	}
+}
@@ -24,6 +24,12 @@ public class BooleanCellValueReaderTest {
 		testReadBoolean(true, "1");
 	}
 
+	@Test
+	public void testReadOnlyTheRange() {
+		char[] chars = "false".toCharArray();
+		assertEquals(true, reader.read(chars, 0, 2, null));
+	}
+
 	@Test
 	public void testReadEmptyStringReturnNull() {
 		assertNull(reader.read(new char[10], 2, 0, null));
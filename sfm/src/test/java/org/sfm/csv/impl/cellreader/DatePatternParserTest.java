@@ -0,0 +1,152 @@
+package org.sfm.csv.impl.cellreader;
+
+import org.junit.Test;
+import org.sfm.csv.ParsingContext;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+//IFJAVA8_START
+import org.sfm.csv.impl.cellreader.time.JavaInstantCellValueReader;
+import org.sfm.csv.impl.cellreader.time.JavaLocalDateCellValueReader;
+import org.sfm.csv.impl.cellreader.time.JavaLocalDateTimeCellValueReader;
+import org.sfm.csv.impl.cellreader.time.JavaOffsetDateTimeCellValueReader;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+//IFJAVA8_END
+
+import static org.junit.Assert.*;
+
+public class DatePatternParserTest {
+
+	private static final String[] PATTERNS = {
+			"yyyy-MM-dd", "yyyyMMdd", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm", "dd/MM/yyyy HH:mm:ss.SSS",
+			"yyyy-MM-dd'T'HH:mm:ss.SSSXXX", "yyyy-MM-dd'T'HH:mm:ssXXX", "HH:mm:ss"
+	};
+
+	private static final String[] ZONES = { "UTC", "Europe/Paris", "America/New_York", "Asia/Kolkata" };
+
+	@Test
+	public void testCompileUnsupportedPatterns() {
+		assertNull(DatePatternParser.compile(null));
+		assertNull(DatePatternParser.compile(""));
+		assertNull(DatePatternParser.compile("dd MMM yyyy"));
+		assertNull(DatePatternParser.compile("yy-M-d"));
+		assertNull(DatePatternParser.compile("yyyy-MM-dd'T"));
+		assertNull(DatePatternParser.compile("yyyy-MM-dd Z"));
+		assertNull(DatePatternParser.compile("yyyy-MM-dd yyyy"));
+		assertNotNull(DatePatternParser.compile("yyyy-MM-dd'T'HH:mm:ss.SSSXXX"));
+	}
+
+	@Test
+	public void testParseFields() {
+		DatePatternParser parser = DatePatternParser.compile("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+		long value = parse(parser, "2015-03-28T23:59:07.123-05:30");
+		assertEquals(2015, DatePatternParser.year(value));
+		assertEquals(3, DatePatternParser.month(value));
+		assertEquals(28, DatePatternParser.day(value));
+		assertEquals(23, DatePatternParser.hour(value));
+		assertEquals(59, DatePatternParser.minute(value));
+		assertEquals(7, DatePatternParser.second(value));
+		assertEquals(123, DatePatternParser.millis(value));
+		assertEquals(-(5 * 3600 + 30 * 60), DatePatternParser.offsetSeconds(value));
+		assertEquals(0, DatePatternParser.offsetSeconds(parse(parser, "2015-03-28T23:59:07.123Z")));
+		assertEquals(16522, DatePatternParser.epochDay(value));
+		assertEquals(0, DatePatternParser.epochDay(parse(DatePatternParser.compile("yyyyMMdd"), "19700101")));
+	}
+
+	@Test
+	public void testNoMatch() {
+		DatePatternParser parser = DatePatternParser.compile("yyyy-MM-dd HH:mm");
+		for(String value : new String[] {"2015-3-28 10:00", "2015-02-29 10:00", "2015-13-01 10:00", "2015-01-01 24:00",
+				"2015-01-01 10:00 ", "2015-01-01", "2015-01-01T10:00", "0000-01-01 10:00", "2015-01-01 1a:00"}) {
+			assertEquals(value, DatePatternParser.NO_MATCH, parse(parser, value));
+		}
+		assertEquals(DatePatternParser.NO_MATCH, parse(DatePatternParser.compile("yyyy-MM-ddXXX"), "2015-01-01+19:00"));
+		assertEquals(DatePatternParser.NO_MATCH, parse(DatePatternParser.compile("yyyy-MM-ddXXX"), "2015-01-01+0100"));
+	}
+
+	@Test
+	public void testDateSameAsSimpleDateFormat() throws Exception {
+		Random random = new Random(11);
+		for(String zone : ZONES) {
+			TimeZone timeZone = TimeZone.getTimeZone(zone);
+			for(String pattern : PATTERNS) {
+				DateCellValueReader reader = new DateCellValueReader(0, pattern, timeZone);
+				ParsingContext parsingContext = new ParsingContext(new Object[] { reader.newContext() });
+				SimpleDateFormat sdf = new SimpleDateFormat(pattern);
+				sdf.setTimeZone(timeZone);
+				for(int i = 0; i < 2000; i++) {
+					String value = sdf.format(new Date(randomMillis(random)));
+					char[] chars = ("_" + value + "_").toCharArray();
+					assertEquals(pattern + " " + zone + " " + value,
+							sdf.parse(value), reader.read(chars, 1, value.length(), parsingContext));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testDateFallbackToSimpleDateFormat() throws Exception {
+		TimeZone timeZone = TimeZone.getTimeZone("UTC");
+		DateCellValueReader reader = new DateCellValueReader(0, "yyyy-MM-dd", timeZone);
+		ParsingContext parsingContext = new ParsingContext(new Object[] { reader.newContext() });
+		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
+		sdf.setTimeZone(timeZone);
+		for(String value : new String[] {"2015-3-8", "2015-02-30", "2015-01-01 trailing"}) {
+			char[] chars = value.toCharArray();
+			assertEquals(value, sdf.parse(value), reader.read(chars, 0, chars.length, parsingContext));
+		}
+	}
+
+	//IFJAVA8_START
+	@Test
+	public void testJavaTimeSameAsFormatter() {
+		Random random = new Random(13);
+		for(String zone : ZONES) {
+			ZoneId zoneId = ZoneId.of(zone);
+			for(String pattern : PATTERNS) {
+				DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern).withZone(zoneId);
+				DatePatternParser parser = DatePatternParser.compile(pattern);
+				JavaLocalDateCellValueReader localDateReader = new JavaLocalDateCellValueReader(formatter, parser);
+				JavaLocalDateTimeCellValueReader localDateTimeReader = new JavaLocalDateTimeCellValueReader(formatter, parser);
+				JavaOffsetDateTimeCellValueReader offsetDateTimeReader = new JavaOffsetDateTimeCellValueReader(formatter, parser);
+				JavaInstantCellValueReader instantReader = new JavaInstantCellValueReader(formatter, parser);
+				for(int i = 0; i < 500; i++) {
+					String value = formatter.format(Instant.ofEpochMilli(randomMillis(random)));
+					char[] chars = value.toCharArray();
+					if (parser.hasDate()) {
+						assertEquals(value, LocalDate.parse(value, formatter), localDateReader.read(chars, 0, chars.length, null));
+					}
+					if (parser.hasDate() && parser.hasTime()) {
+						assertEquals(value, LocalDateTime.parse(value, formatter), localDateTimeReader.read(chars, 0, chars.length, null));
+					}
+					if (parser.hasDate() && parser.hasTime() && parser.hasOffset()) {
+						assertEquals(value, OffsetDateTime.parse(value, formatter), offsetDateTimeReader.read(chars, 0, chars.length, null));
+						assertEquals(value, OffsetDateTime.parse(value, formatter).toInstant(), instantReader.read(chars, 0, chars.length, null));
+					} else if (parser.hasDate() && parser.hasTime()) {
+						assertEquals(value, ZonedDateTime.parse(value, formatter).toInstant(), instantReader.read(chars, 0, chars.length, null));
+					}
+				}
+			}
+		}
+	}
+	//IFJAVA8_END
+
+	private static long randomMillis(Random random) {
+		// between 1900 and 2100
+		return -2208988800000l + (long) (random.nextDouble() * 6311433600000l);
+	}
+
+	private static long parse(DatePatternParser parser, String value) {
+		char[] chars = ("__" + value).toCharArray();
+		return parser.parse(chars, 2, value.length());
+	}
+}
@@ -0,0 +1,86 @@
+package org.sfm.csv.impl.cellreader;
+
+import org.junit.Test;
+import org.sfm.csv.CsvColumnDefinition;
+import org.sfm.csv.CsvColumnKey;
+import org.sfm.csv.CsvMapper;
+import org.sfm.csv.CsvMapperFactory;
+import org.sfm.tuples.Tuple2;
+import org.sfm.tuples.Tuples;
+import org.sfm.utils.Predicate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class DedupStringCellValueReaderTest {
+
+	@Test
+	public void testReturnsSameInstanceForSameChars() {
+		DedupStringCellValueReader reader = new DedupStringCellValueReader(16);
+		char[] chars = "_EUR_USD_EUR_".toCharArray();
+
+		String eur = reader.read(chars, 1, 3, null);
+		String usd = reader.read(chars, 5, 3, null);
+		assertEquals("EUR", eur);
+		assertEquals("USD", usd);
+		assertSame(eur, reader.read(chars, 9, 3, null));
+		assertSame(usd, reader.read(chars, 5, 3, null));
+		assertEquals("", reader.read(chars, 0, 0, null));
+	}
+
+	@Test
+	public void testCollidingValuesAreBothKept() {
+		DedupStringCellValueReader reader = new DedupStringCellValueReader(2);
+		// same hash, "Aa" and "BB" land on the same slot
+		char[] chars = "AaBB".toCharArray();
+
+		String aa = reader.read(chars, 0, 2, null);
+		String bb = reader.read(chars, 2, 2, null);
+		assertEquals("Aa", aa);
+		assertEquals("BB", bb);
+		assertSame(aa, reader.read(chars, 0, 2, null));
+		assertSame(bb, reader.read(chars, 2, 2, null));
+	}
+
+	@Test
+	public void testStopsInsertingWhenFull() {
+		DedupStringCellValueReader reader = new DedupStringCellValueReader(1);
+		char[] chars = "ab".toCharArray();
+
+		String a = reader.read(chars, 0, 1, null);
+		String b = reader.read(chars, 1, 1, null);
+		assertEquals("a", a);
+		assertEquals("b", b);
+		assertSame(a, reader.read(chars, 0, 1, null));
+		String b2 = reader.read(chars, 1, 1, null);
+		assertEquals("b", b2);
+		assertNotSame(b, b2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidMaxEntries() {
+		CsvColumnDefinition.dedupStringsDefinition(0);
+	}
+
+	@Test
+	public void testMapperDedupStrings() throws IOException {
+		CsvMapper<Tuple2<String, String>> csvMapper = CsvMapperFactory.newInstance().addColumnDefinition(new Predicate<CsvColumnKey>() {
+			@Override
+			public boolean test(CsvColumnKey csvColumnKey) {
+				return true;
+			}
+		}, CsvColumnDefinition.dedupStringsDefinition(16)).newMapper(Tuples.typeDef(String.class, String.class));
+
+		Iterator<Tuple2<String, String>> iterator = csvMapper.iterator(new StringReader("c0,c1\nEUR,1\nEUR,2"));
+		Tuple2<String, String> row1 = iterator.next();
+		Tuple2<String, String> row2 = iterator.next();
+
+		assertEquals("EUR", row1.first());
+		assertEquals("1", row1.second());
+		assertEquals("2", row2.second());
+		assertSame(row1.first(), row2.first());
+	}
+}
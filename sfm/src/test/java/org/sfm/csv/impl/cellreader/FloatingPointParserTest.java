@@ -0,0 +1,92 @@
+package org.sfm.csv.impl.cellreader;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class FloatingPointParserTest {
+
+	private static final String[] VALUES = {
+			"0", "-0", "+0", "0.0", "-0.0", ".5", "5.", "00012.50", "1", "-1", "123.456", "-123.456",
+			"0.1", "0.2", "0.3", "1e10", "1E-10", "1.5e+3", "12e25", "9007199254740993", "9007199254740992",
+			"123456789012345678901234567890", "0.000000000000000000000000001", "4.9E-324", "1.7976931348623157E308",
+			"1e400", "1e-400", "3.4028235E38", "1.4E-45", "16777217", "16777216", "0.1f", "1.0d", "NaN", "-Infinity",
+			"0x1p3", " 1.234", "1.234 ", "\t-7.5\n", "2.2250738585072011e-308", "1e22", "1e23", "123456789e22",
+			"0.1234567890123456789"
+	};
+
+	@Test
+	public void testSameAsParseDouble() {
+		for(String value : VALUES) {
+			assertDouble(value);
+		}
+	}
+
+	@Test
+	public void testSameAsParseFloat() {
+		for(String value : VALUES) {
+			assertFloat(value);
+		}
+	}
+
+	@Test
+	public void testRandomDecimals() {
+		Random random = new Random(7);
+		for(int i = 0; i < 100000; i++) {
+			StringBuilder sb = new StringBuilder();
+			if (random.nextBoolean()) {
+				sb.append('-');
+			}
+			sb.append(random.nextInt(100000));
+			sb.append('.');
+			int nbDecimals = random.nextInt(12);
+			for(int j = 0; j < nbDecimals; j++) {
+				sb.append(random.nextInt(10));
+			}
+			if (random.nextInt(4) == 0) {
+				sb.append('e').append(random.nextInt(60) - 30);
+			}
+			assertDouble(sb.toString());
+			assertFloat(sb.toString());
+		}
+		for(int i = 0; i < 10000; i++) {
+			assertDouble(Double.toString(Double.longBitsToDouble(random.nextLong())));
+			assertFloat(Float.toString(Float.intBitsToFloat(random.nextInt())));
+		}
+	}
+
+	@Test
+	public void testInvalid() {
+		for(String value : new String[] {"", ".", "-", "1e", "1e+", "1..2", "1.2.3", "a", "1-2", "--1"}) {
+			try {
+				FloatingPointParser.parseDouble(value.toCharArray(), 0, value.length());
+				fail("Expect exception on " + value);
+			} catch(NumberFormatException e) {
+				// expected
+			}
+			try {
+				FloatingPointParser.parseFloat(value.toCharArray(), 0, value.length());
+				fail("Expect exception on " + value);
+			} catch(NumberFormatException e) {
+				// expected
+			}
+		}
+	}
+
+	private void assertDouble(String value) {
+		char[] chars = ("__" + value + "_").toCharArray();
+		assertEquals(value,
+				Double.doubleToRawLongBits(Double.parseDouble(value)),
+				Double.doubleToRawLongBits(FloatingPointParser.parseDouble(chars, 2, value.length())));
+	}
+
+	private void assertFloat(String value) {
+		char[] chars = ("__" + value + "_").toCharArray();
+		assertEquals(value,
+				Float.floatToRawIntBits(Float.parseFloat(value)),
+				Float.floatToRawIntBits(FloatingPointParser.parseFloat(chars, 2, value.length())));
+	}
+}
@@ -0,0 +1,52 @@
+package org.sfm.csv.impl.cellreader;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class UUIDCellValueReaderTest {
+
+	UUIDCellValueReader reader = new UUIDCellValueReader();
+
+	@Test
+	public void testReadUUID() {
+		for(int i = 0; i < 1000; i++) {
+			UUID uuid = UUID.randomUUID();
+			assertEquals(uuid, read(uuid.toString()));
+			assertEquals(uuid, read(uuid.toString().toUpperCase()));
+		}
+		assertEquals(new UUID(0, 0), read("00000000-0000-0000-0000-000000000000"));
+		assertEquals(new UUID(-1, -1), read("ffffffff-ffff-ffff-ffff-ffffffffffff"));
+	}
+
+	@Test
+	public void testReadNonCanonicalUUID() {
+		assertEquals(UUID.fromString("1-2-3-4-5"), read("1-2-3-4-5"));
+	}
+
+	@Test
+	public void testInvalidUUID() {
+		for(String str : new String[] {"0000000g-0000-0000-0000-000000000000", "00000000+0000-0000-0000-000000000000", "uuid"}) {
+			try {
+				read(str);
+				fail("Expect exception on " + str);
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void testReadEmptyStringReturnNull() {
+		assertNull(reader.read(new char[10], 2, 0, null));
+	}
+
+	private UUID read(String str) {
+		final char[] chars = ("_" + str + "_").toCharArray();
+		return reader.read(chars, 1, chars.length - 2, null);
+	}
+}
@@ -0,0 +1,75 @@
+package org.sfm.csv.impl.writer;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AppendableBufferTest {
+
+    @Test
+    public void testAppendIntAndLong() {
+        Random random = new Random(17);
+        for(long value : new long[] {0, 1, -1, 9, 10, -10, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertEquals(Long.toString(value), new AppendableBuffer(new StringBuilder(), 1).appendLong(value).toString());
+        }
+        for(int i = 0; i < 10000; i++) {
+            int intValue = random.nextInt() >> random.nextInt(32);
+            assertEquals(Integer.toString(intValue), new AppendableBuffer(new StringBuilder(), 1).appendInt(intValue).toString());
+            long longValue = random.nextLong() >> random.nextInt(64);
+            assertEquals(Long.toString(longValue), new AppendableBuffer(new StringBuilder(), 1).appendLong(longValue).toString());
+        }
+    }
+
+    @Test
+    public void testAppendDoubleSameAsDoubleToString() {
+        for(double value : new double[] {0.0, -0.0, 1.0, -1.0, 101.25, 0.1, 0.3, 3.14159, 1234567.891, 9999999.0, 0.001, 1.0E-3, 42.5}) {
+            AppendableBuffer buffer = new AppendableBuffer(new StringBuilder());
+            assertTrue(buffer.appendDouble(value));
+            assertEquals(Double.toString(value), buffer.toString());
+        }
+    }
+
+    @Test
+    public void testAppendDoubleShortestRoundTrip() {
+        Random random = new Random(19);
+        for(int i = 0; i < 100000; i++) {
+            double value = Math.rint(random.nextDouble() * 1e8) / Math.pow(10, random.nextInt(9)) * (random.nextBoolean() ? 1 : -1);
+            if (i % 2 == 0) {
+                value = random.nextDouble() * 1e7;
+            }
+            AppendableBuffer buffer = new AppendableBuffer(new StringBuilder());
+            String expected = Double.toString(value);
+            if (buffer.appendDouble(value)) {
+                String actual = buffer.toString();
+                assertEquals(expected, value, Double.parseDouble(actual), 0);
+                assertTrue(expected + " " + actual, actual.length() <= expected.length());
+            } else {
+                assertTrue(expected, Math.abs(value) < 1e-3 || Math.abs(value) >= 1e7 || expected.length() - expected.indexOf('.') - 1 > 8);
+            }
+        }
+        assertFalse(new AppendableBuffer(new StringBuilder()).appendDouble(1e7));
+        assertFalse(new AppendableBuffer(new StringBuilder()).appendDouble(Double.NaN));
+        assertFalse(new AppendableBuffer(new StringBuilder()).appendDouble(Double.NEGATIVE_INFINITY));
+        assertFalse(new AppendableBuffer(new StringBuilder()).appendDouble(0.1 + 0.2));
+    }
+
+    @Test
+    public void testFlush() throws IOException {
+        StringWriter writer = new StringWriter();
+        AppendableBuffer buffer = new AppendableBuffer(writer, 2);
+        buffer.append("abc").append(',').appendInt(12).append(new StringBuilder("xyz"), 1, 3);
+        assertEquals("", writer.toString());
+        buffer.flush();
+        assertEquals("abc,12yz", writer.toString());
+        buffer.append('d').flush();
+        assertEquals("abc,12yzd", writer.toString());
+
+        StringBuilder sb = new StringBuilder();
+        new AppendableBuffer(sb).append("sb").flush();
+        assertEquals("sb", sb.toString());
+    }
+}
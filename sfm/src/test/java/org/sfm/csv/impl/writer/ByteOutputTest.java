@@ -0,0 +1,87 @@
+package org.sfm.csv.impl.writer;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ByteOutputTest {
+
+    @Test
+    public void testEncodeSameAsGetBytes() throws IOException {
+        Random random = new Random(22);
+        for(String charsetName : new String[] {"UTF-8", "US-ASCII", "ISO-8859-1", "UTF-16BE", "windows-1252"}) {
+            Charset charset = Charset.forName(charsetName);
+            for(int i = 0; i < 1000; i++) {
+                char[] chars = new char[random.nextInt(64)];
+                for(int j = 0; j < chars.length; j++) {
+                    switch (random.nextInt(4)) {
+                        case 0: chars[j] = (char) random.nextInt(0x80); break;
+                        case 1: chars[j] = (char) random.nextInt(0x800); break;
+                        case 2: chars[j] = (char) random.nextInt(0x10000); break;
+                        default:
+                            char[] pair = Character.toChars(0x10000 + random.nextInt(0x100000));
+                            chars[j] = pair[0];
+                            if (j + 1 < chars.length) {
+                                chars[++j] = pair[1];
+                            }
+                    }
+                }
+                String str = new String(chars);
+                ByteArrayOutputStream os = new ByteArrayOutputStream();
+                ByteOutput byteOutput = ByteOutput.to(os, charset);
+                byteOutput.write(chars, 0, chars.length);
+                byteOutput.flush();
+                assertArrayEquals(charsetName + " " + str, str.getBytes(charset), os.toByteArray());
+            }
+        }
+    }
+
+    @Test
+    public void testStatefulEncoderKeepsItsStateAcrossRows() throws IOException {
+        for(String charsetName : new String[] {"UTF-16", "x-UTF-16LE-BOM", "ISO-2022-JP"}) {
+            Charset charset = Charset.forName(charsetName);
+            String[] rows = {"a,\u00e9t\u00e9\r\n", "\u65e5\u672c,b\r\n", "c,\u8a9e\r\n"};
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            ByteOutput byteOutput = ByteOutput.to(os, charset);
+            StringBuilder sb = new StringBuilder();
+            for(String row : rows) {
+                byteOutput.write(row.toCharArray(), 0, row.length());
+                sb.append(row);
+            }
+            byteOutput.flush();
+            assertArrayEquals(charsetName, sb.toString().getBytes(charset), os.toByteArray());
+        }
+    }
+
+    @Test
+    public void testSurrogatePairSplitBetweenWrites() throws IOException {
+        char[] chars = "a\ud83d\ude00b".toCharArray();
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ByteOutput byteOutput = ByteOutput.to(os, Charset.forName("UTF-16BE"));
+        byteOutput.write(chars, 0, 2);
+        byteOutput.write(chars, 2, 2);
+        byteOutput.flush();
+        assertArrayEquals(new String(chars).getBytes("UTF-16BE"), os.toByteArray());
+    }
+
+    @Test
+    public void testWritesOnceBufferIsFull() throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ByteOutput byteOutput = ByteOutput.to(os, Charset.forName("UTF-8"));
+        char[] chars = new char[1000];
+        Arrays.fill(chars, 'a');
+        for(int i = 0; i < 8; i++) {
+            byteOutput.write(chars, 0, chars.length);
+        }
+        assertEquals(0, os.size());
+        byteOutput.write(chars, 0, chars.length);
+        assertEquals(9000, os.size());
+    }
+}
@@ -3,6 +3,7 @@ package org.sfm.csv.impl.writer;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -44,6 +45,50 @@ public class CsvCellWriterTest {
         assertEquals("\"va\nl\"", sb.toString());
     }
 
+    @Test
+    public void escapeSameAsCharByCharCheck() throws IOException {
+        Random random = new Random(24);
+        char[] alphabet = { 'a', 'Z', '0', ' ', ',', ';', '"', '\'', '\r', '\n', '\t', '\u00e9', '\u20ac', '|' };
+        CsvCellWriter[] cellWriters = {
+                CsvCellWriter.DEFAULT_WRITER,
+                CsvCellWriter.DEFAULT_WRITER.separator(';').quote('\''),
+                CsvCellWriter.DEFAULT_WRITER.separator('\u20ac').endOfLine("\n"),
+                CsvCellWriter.DEFAULT_WRITER.separator('|').endOfLine("||")
+        };
+        char[][] specialChars = { {',', '"', '\r', '\n'}, {';', '\'', '\r', '\n'}, {'\u20ac', '"', '\r', '\n'}, {'|', '"'} };
+        char[] quotes = { '"', '\'', '"', '"' };
+        for(int k = 0; k < cellWriters.length; k++) {
+            for(int i = 0; i < 1000; i++) {
+                StringBuilder value = new StringBuilder();
+                int length = random.nextInt(20);
+                for(int j = 0; j < length; j++) {
+                    value.append(alphabet[random.nextInt(alphabet.length)]);
+                }
+
+                StringBuilder expected = new StringBuilder();
+                if (containsAny(value, specialChars[k])) {
+                    String quote = String.valueOf(quotes[k]);
+                    expected.append(quote).append(value.toString().replace(quote, quote + quote)).append(quote);
+                } else {
+                    expected.append(value);
+                }
+
+                StringBuilder sb = new StringBuilder();
+                cellWriters[k].writeValue(value, sb);
+                assertEquals(expected.toString(), sb.toString());
+            }
+        }
+    }
+
+    private static boolean containsAny(CharSequence value, char[] chars) {
+        for(int i = 0; i < value.length(); i++) {
+            for(char c : chars) {
+                if (value.charAt(i) == c) return true;
+            }
+        }
+        return false;
+    }
+
     @Test
     public void defaultEscapeQuote() throws IOException {
         StringBuilder sb = new StringBuilder();
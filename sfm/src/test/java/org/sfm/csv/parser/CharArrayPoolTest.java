@@ -0,0 +1,53 @@
+package org.sfm.csv.parser;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CharArrayPoolTest {
+
+    @Test
+    public void testAcquireReleasedArray() {
+        CharArrayPool pool = new CharArrayPool(2, 64);
+        char[] array = pool.acquire(16);
+        assertEquals(16, array.length);
+
+        pool.release(array);
+        assertNotSame(array, pool.acquire(32));
+        assertSame(array, pool.acquire(8));
+        assertNotSame(array, pool.acquire(8));
+    }
+
+    @Test
+    public void testPoolIsBounded() {
+        CharArrayPool pool = new CharArrayPool(1, 64);
+        char[] array1 = new char[16];
+        char[] array2 = new char[16];
+        pool.release(array1);
+        pool.release(array2);
+        pool.release(new char[128]);
+
+        assertSame(array1, pool.acquire(16));
+        assertNotSame(array2, pool.acquire(16));
+    }
+
+    @Test
+    public void testPoolIsPerThread() throws InterruptedException {
+        final CharArrayPool pool = new CharArrayPool(1, 64);
+        final char[] array = new char[16];
+        pool.release(array);
+
+        final char[][] acquired = new char[1][];
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                acquired[0] = pool.acquire(16);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertNotSame(array, acquired[0]);
+        assertSame(array, pool.acquire(16));
+    }
+}
@@ -0,0 +1,102 @@
+package org.sfm.csv.parser;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+
+import static org.junit.Assert.*;
+
+public class CsvRowIndexTest {
+
+    private static final String CONTENT = "r0\n\"r1\ncontinued\",\"\"\"\r\n\"\rr2\r\nr3,\"a\"\"\nb\"\nr4\nr5\nr6";
+
+    @Test
+    public void testRowStart() throws IOException {
+        File file = createTempFile(CONTENT);
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            CsvRowIndex index = CsvRowIndex.build(channel, '"', 2, file.lastModified());
+
+            assertEquals(4, index.nbOffsets());
+            assertEquals(0, index.rowStart(channel, 0));
+            assertEquals(CONTENT.indexOf("\"r1"), index.rowStart(channel, 1));
+            assertEquals(CONTENT.indexOf("r2"), index.rowStart(channel, 2));
+            assertEquals(CONTENT.indexOf("r3"), index.rowStart(channel, 3));
+            assertEquals(CONTENT.indexOf("r4"), index.rowStart(channel, 4));
+            assertEquals(CONTENT.indexOf("r5"), index.rowStart(channel, 5));
+            assertEquals(CONTENT.indexOf("r6"), index.rowStart(channel, 6));
+            assertEquals(channel.size(), index.rowStart(channel, 7));
+            assertEquals(channel.size(), index.rowStart(channel, 100));
+        } finally {
+            raf.close();
+        }
+    }
+
+    @Test
+    public void testLoadPersistsAndValidatesTheIndex() throws IOException {
+        File file = createTempFile(CONTENT);
+        File indexFile = CsvRowIndex.indexFile(file);
+        indexFile.deleteOnExit();
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+
+            CsvRowIndex index = CsvRowIndex.load(file, channel, '"', 3);
+            assertTrue(indexFile.exists());
+
+            CsvRowIndex persisted = CsvRowIndex.read(indexFile);
+            assertTrue(persisted.isValidFor(channel.size(), file.lastModified(), '"', 3));
+            assertEquals(index.nbOffsets(), persisted.nbOffsets());
+            assertEquals(CONTENT.indexOf("r4"), persisted.rowStart(channel, 4));
+
+            assertFalse(persisted.isValidFor(channel.size() + 1, file.lastModified(), '"', 3));
+            assertFalse(persisted.isValidFor(channel.size(), file.lastModified() + 1000, '"', 3));
+            assertFalse(persisted.isValidFor(channel.size(), file.lastModified(), '\'', 3));
+            assertFalse(persisted.isValidFor(channel.size(), file.lastModified(), '"', 2));
+
+            CsvRowIndex rebuilt = CsvRowIndex.load(file, channel, '"', 2);
+            assertEquals(2, rebuilt.interval());
+            assertEquals(2, CsvRowIndex.read(indexFile).interval());
+        } finally {
+            raf.close();
+        }
+    }
+
+    @Test
+    public void testLoadRebuildsACorruptedIndex() throws IOException {
+        File file = createTempFile(CONTENT);
+        File indexFile = CsvRowIndex.indexFile(file);
+        indexFile.deleteOnExit();
+        FileOutputStream os = new FileOutputStream(indexFile);
+        try {
+            os.write(new byte[] { 1, 2, 3});
+        } finally {
+            os.close();
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            assertEquals(CONTENT.indexOf("r5"), CsvRowIndex.load(file, channel, '"', 2).rowStart(channel, 5));
+            assertTrue(CsvRowIndex.read(indexFile).isValidFor(channel.size(), file.lastModified(), '"', 2));
+        } finally {
+            raf.close();
+        }
+    }
+
+    private File createTempFile(String content) throws IOException {
+        File file = File.createTempFile("test", ".csv");
+        file.deleteOnExit();
+        FileOutputStream os = new FileOutputStream(file);
+        try {
+            os.write(content.getBytes("UTF-8"));
+        } finally {
+            os.close();
+        }
+        return file;
+    }
+}
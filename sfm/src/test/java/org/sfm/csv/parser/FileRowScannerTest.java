@@ -0,0 +1,70 @@
+package org.sfm.csv.parser;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+
+import static org.junit.Assert.assertEquals;
+
+public class FileRowScannerTest {
+
+    private static final String CONTENT = "r0\n\"r1\ncontinued\",\"\"\"\r\n\"\rr2\r\nr3,\"a\"\"\nb\"\nr4";
+
+    @Test
+    public void testSkipRows() throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(createTempFile(CONTENT), "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            FileRowScanner scanner = new FileRowScanner(channel, '"');
+            long size = channel.size();
+
+            assertEquals(0, scanner.skipRows(0, 0, size));
+            assertEquals(CONTENT.indexOf("\"r1"), scanner.skipRows(0, 1, size));
+            assertEquals(CONTENT.indexOf("r2"), scanner.skipRows(0, 2, size));
+            assertEquals(CONTENT.indexOf("r3"), scanner.skipRows(0, 3, size));
+            assertEquals(CONTENT.indexOf("r4"), scanner.skipRows(0, 4, size));
+            assertEquals(size, scanner.skipRows(0, 5, size));
+            assertEquals(CONTENT.indexOf("r4"), scanner.skipRows(CONTENT.indexOf("r2"), 2, size));
+        } finally {
+            raf.close();
+        }
+    }
+
+    @Test
+    public void testNextLineStart() throws IOException {
+        String content = "r0,\"a\"\"b\"\nr1\r\nr2\rr3";
+        RandomAccessFile raf = new RandomAccessFile(createTempFile(content), "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            FileRowScanner scanner = new FileRowScanner(channel, '"');
+            long size = channel.size();
+
+            assertEquals(content.indexOf("r1"), scanner.nextLineStart(0, size));
+            assertEquals(content.indexOf("r1"), scanner.nextLineStart(content.indexOf("b"), size));
+            assertEquals(content.indexOf("r1"), scanner.nextLineStart(content.indexOf("\n"), size));
+            assertEquals(content.indexOf("r2"), scanner.nextLineStart(content.indexOf("r1"), size));
+            assertEquals(content.indexOf("r2"), scanner.nextLineStart(content.indexOf("\r\n"), size));
+            assertEquals(content.indexOf("r2"), scanner.nextLineStart(content.indexOf("\r\n") + 1, size));
+            assertEquals(content.indexOf("r3"), scanner.nextLineStart(content.indexOf("r2"), size));
+            assertEquals(size, scanner.nextLineStart(content.indexOf("r3"), size));
+        } finally {
+            raf.close();
+        }
+    }
+
+    private File createTempFile(String content) throws IOException {
+        File file = File.createTempFile("test", ".csv");
+        file.deleteOnExit();
+        FileOutputStream os = new FileOutputStream(file);
+        try {
+            os.write(content.getBytes("UTF-8"));
+        } finally {
+            os.close();
+        }
+        return file;
+    }
+}
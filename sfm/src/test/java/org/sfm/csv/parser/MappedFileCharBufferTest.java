@@ -0,0 +1,73 @@
+package org.sfm.csv.parser;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+
+import static org.junit.Assert.assertEquals;
+
+public class MappedFileCharBufferTest {
+
+    private static final String CONTENT = "ascii,éè,中文,😀𝄞\n";
+
+    @Test
+    public void testReadAcrossWindows() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < 20; i++) {
+            sb.append(CONTENT);
+        }
+        String expected = sb.toString();
+        File file = createTempFile(expected.getBytes("UTF-8"));
+
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            for(int windowSize = 4; windowSize < 12; windowSize++) {
+                for(int bufferSize = 2; bufferSize < 12; bufferSize += 3) {
+                    assertEquals(expected, readAll(new MappedFileCharBuffer(bufferSize, 1 << 16, channel, 0, channel.size(), windowSize)));
+                }
+            }
+        } finally {
+            raf.close();
+        }
+    }
+
+    @Test
+    public void testReadRange() throws IOException {
+        File file = createTempFile("row1\nrow2\nrow3\n".getBytes("UTF-8"));
+
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            assertEquals("row2\n", readAll(new MappedFileCharBuffer(8, 1 << 16, channel, 5, 10, 4)));
+        } finally {
+            raf.close();
+        }
+    }
+
+    private String readAll(CharBuffer charBuffer) throws IOException {
+        StringBuilder actual = new StringBuilder();
+        while(charBuffer.fillBuffer()) {
+            actual.append(charBuffer.getCharBuffer(), 0, charBuffer.getBufferSize());
+            charBuffer.mark(charBuffer.getBufferSize());
+            charBuffer.shiftBufferToMark();
+        }
+        return actual.toString();
+    }
+
+    private File createTempFile(byte[] bytes) throws IOException {
+        File file = File.createTempFile("test", ".csv");
+        file.deleteOnExit();
+        FileOutputStream os = new FileOutputStream(file);
+        try {
+            os.write(bytes);
+        } finally {
+            os.close();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,55 @@
+package org.sfm.csv.parser;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class PushCharBufferTest {
+
+	@Test(timeout = 10000)
+	public void testTinyChunksAreCompactedInPlace() throws IOException {
+		PushCharBuffer charBuffer = new PushCharBuffer(16, 1 << 23);
+		char[] buffer = charBuffer.getCharBuffer();
+		char[] chunk = "ab".toCharArray();
+
+		for(int i = 0; i < 100000; i++) {
+			charBuffer.push(chunk, 0, chunk.length);
+			while (charBuffer.fillBuffer()) {
+				// keep the last 3 chars pending, more than half of what is filled, as a cell spanning the chunks
+				charBuffer.mark(Math.max(charBuffer.getBufferSize() - 3, 0));
+				charBuffer.shiftBufferToMark();
+			}
+		}
+
+		assertSame(buffer, charBuffer.getCharBuffer());
+		assertEquals(16, charBuffer.getCharBuffer().length);
+	}
+
+	@Test
+	public void testGrowsWhenThePendingCharsTakeMoreThanHalfOfTheCapacity() throws IOException {
+		PushCharBuffer charBuffer = new PushCharBuffer(16, 64);
+		char[] chunk = "abcdefghij".toCharArray();
+
+		for(int i = 0; i < 6; i++) {
+			charBuffer.push(chunk, 0, chunk.length);
+			while (charBuffer.fillBuffer()) {
+				charBuffer.shiftBufferToMark();
+			}
+		}
+
+		assertEquals(60, charBuffer.getBufferSize());
+		assertEquals(64, charBuffer.getCharBuffer().length);
+	}
+
+	@Test(expected = BufferOverflowException.class)
+	public void testOverflowWhenFullAtMaxBufferSize() throws IOException {
+		PushCharBuffer charBuffer = new PushCharBuffer(16, 16);
+		char[] chunk = new char[17];
+		charBuffer.push(chunk, 0, chunk.length);
+		while (charBuffer.fillBuffer()) {
+			charBuffer.shiftBufferToMark();
+		}
+	}
+}
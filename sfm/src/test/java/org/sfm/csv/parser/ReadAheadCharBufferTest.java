@@ -0,0 +1,92 @@
+package org.sfm.csv.parser;
+
+import org.junit.Test;
+import org.sfm.csv.CsvParser;
+import org.sfm.csv.CsvReader;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ReadAheadCharBufferTest {
+
+    @Test
+    public void testReadAllContent() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < 1000; i++) {
+            sb.append("row").append(i).append('\n');
+        }
+        String expected = sb.toString();
+
+        for(int bufferSize = 3; bufferSize < 64; bufferSize += 7) {
+            ReadAheadCharBuffer charBuffer = new ReadAheadCharBuffer(bufferSize, 1 << 16,
+                    new ReaderCharBuffer(bufferSize, 1 << 16, new StringReader(expected)),
+                    ReadAheadCharBuffer.DAEMON_THREAD_EXECUTOR);
+            StringBuilder actual = new StringBuilder();
+            while(charBuffer.fillBuffer()) {
+                actual.append(charBuffer.getCharBuffer(), 0, charBuffer.getBufferSize());
+                charBuffer.mark(charBuffer.getBufferSize());
+                charBuffer.shiftBufferToMark();
+            }
+            assertEquals(expected, actual.toString());
+            charBuffer.close();
+        }
+    }
+
+    @Test
+    public void testErrorIsRethrownOnParsingThread() throws IOException {
+        Reader reader = new Reader() {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("failed read");
+            }
+
+            @Override
+            public void close() throws IOException {
+            }
+        };
+        ReadAheadCharBuffer charBuffer = new ReadAheadCharBuffer(8, 16, new ReaderCharBuffer(8, 16, reader),
+                ReadAheadCharBuffer.DAEMON_THREAD_EXECUTOR);
+        try {
+            charBuffer.fillBuffer();
+            fail();
+        } catch (IOException e) {
+            assertEquals("failed read", e.getMessage());
+        }
+        assertEquals(false, charBuffer.fillBuffer());
+    }
+
+    @Test
+    public void testReleaseInterruptsTheBlockedReadAheadTask() throws Exception {
+        final CountDownLatch reading = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        Reader reader = new Reader() {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                reading.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                throw new InterruptedIOException();
+            }
+
+            @Override
+            public void close() throws IOException {
+            }
+        };
+
+        CsvReader csvReader = CsvParser.dsl().readAhead().reader(reader);
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        csvReader.release();
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,110 @@
+package org.sfm.csv.parser;
+
+import org.junit.Test;
+import org.sfm.csv.CsvParser;
+import org.sfm.csv.CsvReader;
+import org.sfm.utils.ListCollectorHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class Utf8CsvByteConsumerTest {
+
+    private static final String CONTENT = "café,\"中\r\n😀\",plain\r\n"
+            + "\"a\"\"b\",,\"\"\n"
+            + "\r\n"
+            + "x,\"y,z\"\r"
+            + "last,éè";
+
+    @Test
+    public void testSameCellsAsTheCharParser() throws IOException {
+        byte[] bytes = CONTENT.getBytes("UTF-8");
+        List<String[]> expected = CsvParser.reader(new StringReader(CONTENT)).read(new ListCollectorHandler<String[]>()).getList();
+
+        for(int bufferSize = 1; bufferSize < 32; bufferSize++) {
+            CsvReader csvReader = new CsvReader(new Utf8CsvByteConsumer(new OneByteInputStream(bytes), ',', '"', bufferSize, 1 << 16));
+            List<String[]> actual = csvReader.read(new ListCollectorHandler<String[]>()).getList();
+            assertRowsEqual(expected, actual);
+        }
+    }
+
+    @Test
+    public void testDslUsesTheByteParserOnInputStream() throws IOException {
+        byte[] bytes = CONTENT.getBytes("UTF-8");
+        List<String[]> expected = CsvParser.skip(1).reader(new StringReader(CONTENT)).read(new ListCollectorHandler<String[]>()).getList();
+        List<String[]> actual = CsvParser.skip(1).bufferSize(4).reader(new ByteArrayInputStream(bytes)).read(new ListCollectorHandler<String[]>()).getList();
+        assertRowsEqual(expected, actual);
+    }
+
+    @Test
+    public void testUtf8CellsAreNotDecoded() throws IOException {
+        byte[] bytes = "1,é\n\"2\"\"\",x".getBytes("UTF-8");
+        final List<String> utf8Cells = new ArrayList<String>();
+        final List<String> charCells = new ArrayList<String>();
+        CsvParser.parse(new ByteArrayInputStream(bytes), new Utf8CellConsumer() {
+            @Override
+            public boolean newUtf8Cell(byte[] bytes, int offset, int length) {
+                if (length > 0 && bytes[offset] >= '0' && bytes[offset] <= '9') {
+                    utf8Cells.add(new String(bytes, offset, length));
+                    return true;
+                }
+                return false;
+            }
+
+            @Override
+            public void newCell(char[] chars, int offset, int length) {
+                charCells.add(new String(chars, offset, length));
+            }
+
+            @Override
+            public void endOfRow() {
+            }
+
+            @Override
+            public void end() {
+            }
+        });
+        assertEquals(2, utf8Cells.size());
+        assertEquals("1", utf8Cells.get(0));
+        assertEquals("2\"", utf8Cells.get(1));
+        assertArrayEquals(new String[] {"é", "x"}, charCells.toArray());
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void testCellLargerThanMaxBufferSize() throws IOException {
+        byte[] bytes = "0123456789abcdef,1".getBytes("UTF-8");
+        new CsvReader(new Utf8CsvByteConsumer(new ByteArrayInputStream(bytes), ',', '"', 4, 8)).read(new ListCollectorHandler<String[]>());
+    }
+
+    private void assertRowsEqual(List<String[]> expected, List<String[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for(int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    private static class OneByteInputStream extends InputStream {
+        private final ByteArrayInputStream delegate;
+
+        private OneByteInputStream(byte[] bytes) {
+            this.delegate = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return delegate.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return delegate.read(b, off, Math.min(len, 1));
+        }
+    }
+}
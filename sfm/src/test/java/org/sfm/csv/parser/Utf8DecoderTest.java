@@ -0,0 +1,88 @@
+package org.sfm.csv.parser;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+
+public class Utf8DecoderTest {
+
+    private static final String CONTENT = "ascii,éè,中文,😀𝄞\n";
+
+    @Test
+    public void testDecodeFullBuffer() throws UnsupportedEncodingException {
+        ByteBuffer in = ByteBuffer.wrap(CONTENT.getBytes("UTF-8"));
+        char[] chars = new char[CONTENT.length()];
+        int end = Utf8Decoder.decode(in, chars, 0, chars.length);
+        assertEquals(CONTENT, new String(chars, 0, end));
+        assertEquals(0, in.remaining());
+    }
+
+    @Test
+    public void testIncompleteSequenceIsLeftInBuffer() throws UnsupportedEncodingException {
+        byte[] bytes = "a中".getBytes("UTF-8");
+        ByteBuffer in = ByteBuffer.wrap(bytes, 0, bytes.length - 1);
+        char[] chars = new char[4];
+        int end = Utf8Decoder.decode(in, chars, 0, chars.length);
+        assertEquals("a", new String(chars, 0, end));
+        assertEquals(2, in.remaining());
+
+        end = Utf8Decoder.decodeEndOfInput(in, chars, 0, chars.length);
+        assertEquals("�", new String(chars, 0, end));
+        assertEquals(0, in.remaining());
+    }
+
+    @Test
+    public void testSurrogatePairNeedsTwoChars() throws UnsupportedEncodingException {
+        ByteBuffer in = ByteBuffer.wrap("a😀".getBytes("UTF-8"));
+        char[] chars = new char[2];
+        int end = Utf8Decoder.decode(in, chars, 0, chars.length);
+        assertEquals(1, end);
+        end = Utf8Decoder.decode(in, chars, 0, chars.length);
+        assertEquals("😀", new String(chars, 0, end));
+    }
+
+    @Test
+    public void testMalformedInput() {
+        ByteBuffer in = ByteBuffer.wrap(new byte[] {'a', (byte)0xFF, 'b', (byte)0xE4, 'c', (byte) 0xC0, (byte) 0x80, (byte)0xED, (byte)0xA0, (byte)0x80, 'd'});
+        char[] chars = new char[20];
+        int end = Utf8Decoder.decodeEndOfInput(in, chars, 0, chars.length);
+        assertEquals("a�b�c��d", new String(chars, 0, end));
+    }
+
+    @Test
+    public void testInputStreamCharBufferSmallBuffers() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < 50; i++) {
+            sb.append(CONTENT);
+        }
+        String expected = sb.toString();
+        byte[] bytes = expected.getBytes("UTF-8");
+
+        for(int bufferSize = 2; bufferSize < 16; bufferSize++) {
+            InputStreamCharBuffer charBuffer = new InputStreamCharBuffer(bufferSize, 1 << 16, new OneByteInputStream(bytes));
+            StringBuilder actual = new StringBuilder();
+            while(charBuffer.fillBuffer()) {
+                actual.append(charBuffer.getCharBuffer(), 0, charBuffer.getBufferSize());
+                charBuffer.mark(charBuffer.getBufferSize());
+                charBuffer.shiftBufferToMark();
+            }
+            assertEquals(expected, actual.toString());
+        }
+    }
+
+    private static class OneByteInputStream extends ByteArrayInputStream {
+        public OneByteInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, 1));
+        }
+    }
+}
@@ -3,12 +3,15 @@ package org.sfm.jdbc;
 import org.junit.Test;
 import org.sfm.beans.DbEnumObject;
 import org.sfm.beans.DbObject;
+import org.sfm.map.column.FieldMapperColumnDefinition;
 import org.sfm.reflect.TypeReference;
 import org.sfm.tuples.Tuple2;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
@@ -52,6 +55,24 @@ public class JdbcMapperEnumTest {
 	}
 	
 	
+	@Test
+	public void testIndexedEnumStringCaseInsensitiveWithAliases() throws Exception {
+		Map<String, DbObject.Type> aliases = new HashMap<String, DbObject.Type>();
+		aliases.put("second", DbObject.Type.type2);
+		JdbcMapperBuilder<DbEnumObject> builder = JdbcMapperFactoryHelper.asm().newBuilder(DbEnumObject.class);
+		builder.addMapping("val",1, Types.VARCHAR, FieldMapperColumnDefinition.<JdbcColumnKey>enumCaseInsensitiveDefinition().addEnumAliases(aliases));
+
+		JdbcMapper<DbEnumObject> mapper = builder.mapper();
+
+		ResultSet rs = mock(ResultSet.class);
+
+		when(rs.getString(1)).thenReturn("TYPE3");
+		assertEquals(DbObject.Type.type3, mapper.map(rs).getVal());
+
+		when(rs.getString(1)).thenReturn("Second");
+		assertEquals(DbObject.Type.type2, mapper.map(rs).getVal());
+	}
+
 	@Test
 	public void testIndexedEnumOrdinal() throws Exception {
 		JdbcMapperBuilder<DbEnumObject> builder = JdbcMapperFactoryHelper.asm().newBuilder(DbEnumObject.class);
@@ -0,0 +1,74 @@
+package org.sfm.reflect;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class EnumLookupTest {
+
+	public enum Currency {
+		EUR, USD, GBP, JPY, CHF, AUD, CAD, NZD, SEK, NOK, DKK, PLN, CZK, HUF, SGD, HKD, Aa, BB
+	}
+
+	public enum Empty {
+	}
+
+	@Test
+	public void testMatchesNames() {
+		EnumLookup<Currency> lookup = EnumLookup.of(Currency.class);
+		for(Currency currency : Currency.values()) {
+			char[] chars = ("__" + currency.name() + "_").toCharArray();
+			assertSame(currency, lookup.get(chars, 2, currency.name().length()));
+			assertSame(currency, lookup.get(currency.name()));
+			assertSame(currency, lookup.valueOf(new StringBuilder(currency.name())));
+		}
+		assertNull(lookup.get("eur"));
+		assertNull(lookup.get("EU"));
+		assertNull(lookup.get("EURO"));
+		assertNull(lookup.get(""));
+		// same String hash
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+		assertSame(Currency.Aa, lookup.get("Aa"));
+		assertSame(Currency.BB, lookup.get("BB"));
+	}
+
+	@Test
+	public void testCaseInsensitiveWithAliases() {
+		Map<String, Enum<?>> aliases = new HashMap<String, Enum<?>>();
+		aliases.put("Euro", Currency.EUR);
+		aliases.put("dollar", Currency.USD);
+		aliases.put("other", Thread.State.NEW);
+		EnumLookup<Currency> lookup = EnumLookup.of(Currency.class, true, aliases);
+
+		assertSame(Currency.EUR, lookup.get("eur"));
+		assertSame(Currency.EUR, lookup.get("EURO"));
+		assertSame(Currency.USD, lookup.get("Dollar"));
+		assertSame(Currency.BB, lookup.get("bb"));
+		assertNull(lookup.get("other"));
+
+		char[] chars = "xxgbPxx".toCharArray();
+		assertSame(Currency.GBP, lookup.get(chars, 2, 3));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAmbiguousName() {
+		Map<String, Currency> aliases = new HashMap<String, Currency>();
+		aliases.put("usd", Currency.EUR);
+		EnumLookup.of(Currency.class, true, aliases);
+	}
+
+	@Test
+	public void testValueOfUnknownName() {
+		EnumLookup<Currency> lookup = EnumLookup.of(Currency.class);
+		try {
+			lookup.valueOf("XXX".toCharArray(), 0, 3);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("No enum constant org.sfm.reflect.EnumLookupTest.Currency.XXX", e.getMessage());
+		}
+		assertNull(EnumLookup.of(Empty.class).get("EUR"));
+	}
+}
@@ -4,6 +4,11 @@ import org.junit.Test;
 import org.sfm.beans.DbFinalObject;
 import org.sfm.beans.DbObject;
 import org.sfm.beans.DbObject.Type;
+import org.sfm.csv.CsvReader;
+import org.sfm.csv.parser.CharSequenceCharBuffer;
+import org.sfm.csv.parser.ConfigurableCsvCharConsumer;
+import org.sfm.csv.parser.ConfigurableTrimCsvCharConsumer;
+import org.sfm.csv.parser.CsvCharConsumerFactory;
 import org.sfm.jdbc.JdbcColumnKey;
 import org.sfm.jdbc.impl.getter.IntResultSetGetter;
 import org.sfm.jdbc.impl.getter.LongResultSetGetter;
@@ -18,11 +23,19 @@ import org.sfm.reflect.InstantiatorDefinition;
 import org.sfm.reflect.Parameter;
 import org.sfm.reflect.Getter;
 import org.sfm.reflect.Instantiator;
+import org.sfm.utils.ListCollectorHandler;
 
 import java.io.IOException;
 import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
@@ -152,4 +165,73 @@ public class AsmFactoryTest {
 			// ok
 		} 
 	}
+
+	@Test
+	public void testCreateCsvCharConsumerFactory() throws Exception {
+		CsvCharConsumerFactory factory = asmFactory.createCsvCharConsumerFactory('\t', '\'', false);
+		assertSame(factory, asmFactory.createCsvCharConsumerFactory('\t', '\'', false));
+		assertNotSame(factory, asmFactory.createCsvCharConsumerFactory('\t', '\'', true));
+
+		String[] contents = {
+				"a\tb\r\n'c\td'\t'e''f'\n\r\ng\t\th\r",
+				" a \t 'b' \t ' c''\n' x\n\t\n last",
+				"\u00e9\t\u00e8\r\r\n\n'\u00e0'"
+		};
+		for(String content : contents) {
+			assertSameCells(content, '\t', '\'');
+			assertSameCells(content.replace('\t', '|'), '|', '\'');
+			assertSameCells(content.replace('\'', '\u00e0').replace('\t', '\u00e9'), '\u00e9', '\u00e0');
+		}
+	}
+
+	@Test
+	public void testCreateCsvCharConsumerFactoryConcurrently() throws Exception {
+		final AsmFactory asmFactory = new AsmFactory(Thread.currentThread().getContextClassLoader());
+		final CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<CsvCharConsumerFactory>> futures = new ArrayList<Future<CsvCharConsumerFactory>>();
+			for(int i = 0; i < 8; i++) {
+				futures.add(executor.submit(new Callable<CsvCharConsumerFactory>() {
+					@Override
+					public CsvCharConsumerFactory call() throws Exception {
+						start.await();
+						return asmFactory.createCsvCharConsumerFactory(';', '\'', true);
+					}
+				}));
+			}
+			start.countDown();
+			CsvCharConsumerFactory factory = futures.get(0).get();
+			for(Future<CsvCharConsumerFactory> future : futures) {
+				assertSame(factory, future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private void assertSameCells(String content, char separator, char quote) throws Exception {
+		CsvReader configurable = new CsvReader(new ConfigurableCsvCharConsumer(new CharSequenceCharBuffer(content), separator, quote));
+		CsvReader generated = new CsvReader(asmFactory.createCsvCharConsumerFactory(separator, quote, false).newCharConsumer(new CharSequenceCharBuffer(content)));
+		assertEquals(toString(configurable), toString(generated));
+
+		CsvReader configurableTrim = new CsvReader(new ConfigurableTrimCsvCharConsumer(new CharSequenceCharBuffer(content), separator, quote));
+		CsvReader generatedTrim = new CsvReader(asmFactory.createCsvCharConsumerFactory(separator, quote, true).newCharConsumer(new CharSequenceCharBuffer(content)));
+		assertEquals(toString(configurableTrim), toString(generatedTrim));
+
+		// row by row uses consumeToNextRow
+		CsvReader configurableRows = new CsvReader(new ConfigurableCsvCharConsumer(new CharSequenceCharBuffer(content), separator, quote));
+		CsvReader generatedRows = new CsvReader(asmFactory.createCsvCharConsumerFactory(separator, quote, false).newCharConsumer(new CharSequenceCharBuffer(content)));
+		configurableRows.skipRows(1);
+		generatedRows.skipRows(1);
+		assertEquals(toString(configurableRows), toString(generatedRows));
+	}
+
+	private String toString(CsvReader reader) throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for(String[] row : reader.read(new ListCollectorHandler<String[]>()).getList()) {
+			sb.append(Arrays.toString(row)).append('\n');
+		}
+		return sb.toString();
+	}
 }